@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.spi.state;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.FileID;
+import com.hedera.hapi.node.base.TokenID;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Maps the keys of a state keyed by entity IDs (shard, realm and number) to and from their entity numbers. All keys of
+ * such a state belong to the same shard and realm, so the entity number alone identifies a key.
+ *
+ * <p>An on-disk state with an {@link EntityNumMapper} (see {@link StateDefinition#withEntityNumKeys(EntityNumMapper)})
+ * stores its keys on disk as fixed-width entity numbers, and looks up keys in an index addressed by the entity number
+ * instead of a hash map. The hash of the state, and thus state proofs, still use the protobuf serialization of the
+ * full key, including shard and realm.
+ *
+ * @param <K> The type of key
+ */
+public interface EntityNumMapper<K> {
+    /**
+     * Gets the entity number of the given key.
+     *
+     * @param key The key
+     * @return The entity number, never negative
+     * @throws IllegalArgumentException if the key has no entity number, or is not in the shard and realm of the state
+     */
+    long toEntityNum(@NonNull K key);
+
+    /**
+     * Gets the key for the given entity number.
+     *
+     * @param entityNum The entity number
+     * @return The key, in the shard and realm of the state
+     */
+    @NonNull
+    K fromEntityNum(long entityNum);
+
+    /**
+     * Creates a mapper for states keyed by {@link AccountID}. Keys must use account numbers, not aliases.
+     *
+     * @param shard The shard of all accounts
+     * @param realm The realm of all accounts
+     * @return The mapper
+     */
+    static EntityNumMapper<AccountID> forAccounts(final long shard, final long realm) {
+        return new EntityNumMapper<>() {
+            @Override
+            public long toEntityNum(@NonNull final AccountID key) {
+                if (!key.hasAccountNum()) {
+                    throw new IllegalArgumentException("Account ID " + key + " has no account number");
+                }
+                return checkedEntityNum(key.shardNum(), key.realmNum(), key.accountNumOrThrow(), shard, realm);
+            }
+
+            @NonNull
+            @Override
+            public AccountID fromEntityNum(final long entityNum) {
+                return AccountID.newBuilder()
+                        .shardNum(shard)
+                        .realmNum(realm)
+                        .accountNum(entityNum)
+                        .build();
+            }
+        };
+    }
+
+    /**
+     * Creates a mapper for states keyed by {@link TokenID}.
+     *
+     * @param shard The shard of all tokens
+     * @param realm The realm of all tokens
+     * @return The mapper
+     */
+    static EntityNumMapper<TokenID> forTokens(final long shard, final long realm) {
+        return new EntityNumMapper<>() {
+            @Override
+            public long toEntityNum(@NonNull final TokenID key) {
+                return checkedEntityNum(key.shardNum(), key.realmNum(), key.tokenNum(), shard, realm);
+            }
+
+            @NonNull
+            @Override
+            public TokenID fromEntityNum(final long entityNum) {
+                return new TokenID(shard, realm, entityNum);
+            }
+        };
+    }
+
+    /**
+     * Creates a mapper for states keyed by {@link FileID}.
+     *
+     * @param shard The shard of all files
+     * @param realm The realm of all files
+     * @return The mapper
+     */
+    static EntityNumMapper<FileID> forFiles(final long shard, final long realm) {
+        return new EntityNumMapper<>() {
+            @Override
+            public long toEntityNum(@NonNull final FileID key) {
+                return checkedEntityNum(key.shardNum(), key.realmNum(), key.fileNum(), shard, realm);
+            }
+
+            @NonNull
+            @Override
+            public FileID fromEntityNum(final long entityNum) {
+                return new FileID(shard, realm, entityNum);
+            }
+        };
+    }
+
+    private static long checkedEntityNum(
+            final long shard, final long realm, final long num, final long expectedShard, final long expectedRealm) {
+        if (shard != expectedShard || realm != expectedRealm) {
+            throw new IllegalArgumentException(
+                    "Entity " + shard + "." + realm + "." + num + " is not in " + expectedShard + "." + expectedRealm);
+        }
+        if (num < 0) {
+            throw new IllegalArgumentException("Entity number " + num + " is negative");
+        }
+        return num;
+    }
+}
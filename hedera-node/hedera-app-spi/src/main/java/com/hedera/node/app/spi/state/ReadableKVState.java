@@ -18,6 +18,7 @@ package com.hedera.node.app.spi.state;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Set;
 
@@ -99,4 +100,18 @@ public interface ReadableKVState<K, V> {
      * @param key the key of the entity
      */
     default void warm(@NonNull final K key) {}
+
+    /**
+     * Warms the system by preloading a batch of entities into memory. Implementations may use it
+     * to deduplicate the keys and to load them from the data source in a single pass.
+     *
+     * <p>The default implementation calls {@link #warm(Object)} for every key.
+     *
+     * @param keys the keys of the entities
+     */
+    default void warmAll(@NonNull final Collection<K> keys) {
+        for (final K key : keys) {
+            warm(key);
+        }
+    }
 }
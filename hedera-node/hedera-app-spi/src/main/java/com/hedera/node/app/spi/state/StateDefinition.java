@@ -19,6 +19,7 @@ package com.hedera.node.app.spi.state;
 import com.hedera.pbj.runtime.Codec;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Objects;
 
 /**
  * @param stateKey The "state key" that uniquely identifies this {@link ReadableKVState} within the
@@ -35,6 +36,13 @@ import edu.umd.cs.findbugs.annotations.Nullable;
  *                  associated with it. It cannot be a singleton and a queue at the same time.
  * @param queue Whether this state is a queue, meaning it is a FIFO queue of values. It cannot be a singleton and  queue
  *              at the same time.
+ * @param readCacheSize The maximum number of deserialized values of an on-disk state to cache for the current round,
+ *                      or 0 to not cache values. Values of hot entities are then only read from disk and deserialized
+ *                      once per round, no matter how many transactions read them.
+ * @param entityNumMapper Maps the keys of an on-disk state keyed by entity IDs to their entity numbers, or null to
+ *                        store keys with their protobuf serialization. Keys with a mapper are stored as fixed-width
+ *                        numbers and found through a direct index instead of a hash map. This changes the on-disk
+ *                        format of the state, so it can only be set for new states, or by a migration to a new state.
  * @param <K> The type of key
  * @param <V> The type of value
  */
@@ -45,7 +53,9 @@ public record StateDefinition<K, V>(
         long maxKeysHint,
         boolean onDisk,
         boolean singleton,
-        boolean queue) {
+        boolean queue,
+        int readCacheSize,
+        @Nullable EntityNumMapper<K> entityNumMapper) {
 
     private static final int NO_MAX = -1;
 
@@ -69,6 +79,71 @@ public record StateDefinition<K, V>(
         if (keyCodec == null && !singleton && !queue) {
             throw new NullPointerException("keyCodec must be specified when using singleton or queue types");
         }
+
+        if (readCacheSize < 0) {
+            throw new IllegalArgumentException("The readCacheSize cannot be negative");
+        }
+
+        if (readCacheSize > 0 && !onDisk) {
+            throw new IllegalArgumentException("Only 'onDisk' states can have a read cache");
+        }
+
+        if (entityNumMapper != null && !onDisk) {
+            throw new IllegalArgumentException("Only 'onDisk' states can have entity number keys");
+        }
+    }
+
+    /**
+     * Create a new instance without a read cache.
+     *
+     * @param stateKey The state key
+     * @param keyCodec The codec for the key
+     * @param valueCodec The codec for the value
+     * @param maxKeysHint A hint as to the maximum number of keys to be stored in this state
+     * @param onDisk Whether to store this state on disk
+     * @param singleton Whether this state is a singleton
+     * @param queue Whether this state is a queue
+     */
+    public StateDefinition(
+            @NonNull final String stateKey,
+            @Nullable final Codec<K> keyCodec,
+            @NonNull final Codec<V> valueCodec,
+            final long maxKeysHint,
+            final boolean onDisk,
+            final boolean singleton,
+            final boolean queue) {
+        this(stateKey, keyCodec, valueCodec, maxKeysHint, onDisk, singleton, queue, 0, null);
+    }
+
+    /**
+     * Creates a copy of this on-disk {@link StateDefinition} that caches up to the given number of deserialized values
+     * for the current round.
+     *
+     * @param readCacheSize The maximum number of values to cache
+     * @return An instance of {@link StateDefinition}
+     */
+    public StateDefinition<K, V> withReadCache(final int readCacheSize) {
+        return new StateDefinition<>(
+                stateKey, keyCodec, valueCodec, maxKeysHint, onDisk, singleton, queue, readCacheSize, entityNumMapper);
+    }
+
+    /**
+     * Creates a copy of this on-disk {@link StateDefinition} that stores its keys as fixed-width entity numbers.
+     *
+     * @param entityNumMapper Maps the keys to their entity numbers
+     * @return An instance of {@link StateDefinition}
+     */
+    public StateDefinition<K, V> withEntityNumKeys(@NonNull final EntityNumMapper<K> entityNumMapper) {
+        return new StateDefinition<>(
+                stateKey,
+                keyCodec,
+                valueCodec,
+                maxKeysHint,
+                onDisk,
+                singleton,
+                queue,
+                readCacheSize,
+                Objects.requireNonNull(entityNumMapper));
     }
 
     /**
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.spi.state;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.FileID;
+import com.hedera.hapi.node.base.TokenID;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import org.junit.jupiter.api.Test;
+
+class EntityNumMapperTest {
+    @Test
+    void accountsRoundTrip() {
+        final var mapper = EntityNumMapper.forAccounts(1, 2);
+        final var id = AccountID.newBuilder()
+                .shardNum(1)
+                .realmNum(2)
+                .accountNum(1001)
+                .build();
+        assertEquals(1001, mapper.toEntityNum(id));
+        assertEquals(id, mapper.fromEntityNum(1001));
+    }
+
+    @Test
+    void accountAliasesAreRejected() {
+        final var mapper = EntityNumMapper.forAccounts(0, 0);
+        final var alias =
+                AccountID.newBuilder().alias(Bytes.wrap(new byte[] {1, 2, 3})).build();
+        assertThrows(IllegalArgumentException.class, () -> mapper.toEntityNum(alias));
+    }
+
+    @Test
+    void tokensRoundTrip() {
+        final var mapper = EntityNumMapper.forTokens(0, 0);
+        final var id = new TokenID(0, 0, 5000);
+        assertEquals(5000, mapper.toEntityNum(id));
+        assertEquals(id, mapper.fromEntityNum(5000));
+    }
+
+    @Test
+    void filesRoundTrip() {
+        final var mapper = EntityNumMapper.forFiles(0, 0);
+        final var id = new FileID(0, 0, 150);
+        assertEquals(150, mapper.toEntityNum(id));
+        assertEquals(id, mapper.fromEntityNum(150));
+    }
+
+    @Test
+    void otherShardsAndRealmsAreRejected() {
+        final var mapper = EntityNumMapper.forTokens(0, 0);
+        assertThrows(IllegalArgumentException.class, () -> mapper.toEntityNum(new TokenID(1, 0, 5000)));
+        assertThrows(IllegalArgumentException.class, () -> mapper.toEntityNum(new TokenID(0, 1, 5000)));
+    }
+
+    @Test
+    void negativeNumbersAreRejected() {
+        final var mapper = EntityNumMapper.forFiles(0, 0);
+        assertThrows(IllegalArgumentException.class, () -> mapper.toEntityNum(new FileID(0, 0, -1)));
+    }
+}
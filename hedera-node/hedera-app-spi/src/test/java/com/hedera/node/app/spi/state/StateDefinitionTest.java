@@ -49,6 +49,43 @@ class StateDefinitionTest {
                 NullPointerException.class, () -> new StateDefinition("KEY", null, mockCodec, 1, true, false, false));
     }
 
+    @Test
+    void readCacheSizeCannotBeNegative() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new StateDefinition<>("KEY", mockCodec, mockCodec, 123, true, false, false, -1, null));
+    }
+
+    @Test
+    void onlyOnDiskStatesCanHaveReadCache() {
+        final var inMemory = StateDefinition.inMemory("KEY", mockCodec, mockCodec);
+        assertThrows(IllegalArgumentException.class, () -> inMemory.withReadCache(100));
+    }
+
+    @Test
+    void withReadCacheWorks() {
+        final var onDisk = StateDefinition.onDisk("KEY", mockCodec, mockCodec, 123);
+        assertEquals(0, onDisk.readCacheSize());
+        final var cached = onDisk.withReadCache(100);
+        assertEquals(100, cached.readCacheSize());
+        assertEquals(onDisk, cached.withReadCache(0));
+    }
+
+    @Test
+    void onlyOnDiskStatesCanHaveEntityNumKeys(@Mock final EntityNumMapper<String> mapper) {
+        final var inMemory = StateDefinition.inMemory("KEY", mockCodec, mockCodec);
+        assertThrows(IllegalArgumentException.class, () -> inMemory.withEntityNumKeys(mapper));
+    }
+
+    @Test
+    void withEntityNumKeysWorks(@Mock final EntityNumMapper<String> mapper) {
+        final var onDisk = StateDefinition.onDisk("KEY", mockCodec, mockCodec, 123);
+        assertNull(onDisk.entityNumMapper());
+        final var withEntityNumKeys = onDisk.withReadCache(100).withEntityNumKeys(mapper);
+        assertSame(mapper, withEntityNumKeys.entityNumMapper());
+        assertEquals(100, withEntityNumKeys.readCacheSize());
+    }
+
     @Test
     void inMemoryFactoryWorks() {
         assertDoesNotThrow(() -> StateDefinition.inMemory("KEY", mockCodec, mockCodec));
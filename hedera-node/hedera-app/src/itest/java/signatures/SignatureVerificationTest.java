@@ -26,6 +26,7 @@ import com.hedera.hapi.node.base.ThresholdKey;
 import com.hedera.node.app.signature.DefaultKeyVerifier;
 import com.hedera.node.app.signature.ExpandedSignaturePair;
 import com.hedera.node.app.signature.impl.SignatureExpanderImpl;
+import com.hedera.node.app.signature.impl.SignatureVerificationCache;
 import com.hedera.node.app.signature.impl.SignatureVerifierImpl;
 import com.hedera.node.app.spi.fixtures.Scenarios;
 import com.hedera.node.app.spi.fixtures.TestKeyInfo;
@@ -35,6 +36,7 @@ import com.hedera.node.config.VersionedConfiguration;
 import com.hedera.node.config.data.HederaConfig;
 import com.hedera.node.config.testfixtures.HederaTestConfigBuilder;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.common.metrics.noop.NoOpMetrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.math.BigInteger;
 import java.security.KeyFactory;
@@ -87,7 +89,9 @@ class SignatureVerificationTest implements Scenarios {
 
         // Second, verify the signatures
         //noinspection removal
-        final var verifier = new SignatureVerifierImpl(com.swirlds.common.crypto.CryptographyHolder.get());
+        final var verifier = new SignatureVerifierImpl(
+                com.swirlds.common.crypto.CryptographyHolder.get(),
+                new SignatureVerificationCache(1024, new NoOpMetrics()));
         final var verificationResults = verifier.verify(testCase.signedBytes, expanded);
 
         // Finally, assert that the verification results are as expected
@@ -116,7 +120,9 @@ class SignatureVerificationTest implements Scenarios {
 
         // Second, verify the signatures
         //noinspection removal
-        final var verifier = new SignatureVerifierImpl(com.swirlds.common.crypto.CryptographyHolder.get());
+        final var verifier = new SignatureVerifierImpl(
+                com.swirlds.common.crypto.CryptographyHolder.get(),
+                new SignatureVerificationCache(1024, new NoOpMetrics()));
         final var verificationResults = verifier.verify(signedBytes, expanded);
 
         // Finally, assert that the verification results are as expected
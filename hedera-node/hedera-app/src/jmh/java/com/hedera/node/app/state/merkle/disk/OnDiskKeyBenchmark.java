@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.state.merkle.disk;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.SemanticVersion;
+import com.hedera.hapi.node.state.token.Account;
+import com.hedera.node.app.spi.state.EntityNumMapper;
+import com.hedera.node.app.spi.state.Schema;
+import com.hedera.node.app.spi.state.StateDefinition;
+import com.hedera.node.app.state.merkle.StateMetadata;
+import com.hedera.node.app.state.merkle.StateUtils;
+import com.swirlds.common.crypto.DigestType;
+import com.swirlds.common.io.utility.TemporaryFileBuilder;
+import com.swirlds.common.merkle.crypto.MerkleCryptoFactory;
+import com.swirlds.merkledb.MerkleDbDataSourceBuilder;
+import com.swirlds.merkledb.MerkleDbTableConfig;
+import com.swirlds.virtualmap.VirtualMap;
+import com.swirlds.virtualmap.internal.merkle.VirtualRootNode;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares looking up accounts on disk with protobuf keys, which MerkleDB finds through its half disk hash map, and
+ * with entity number keys, which MerkleDB finds through its long key index. The disk footprint of both encodings is
+ * printed once the map was populated. Run with {@code -p numAccounts=50000000} for a mainnet-sized state.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, warmups = 0)
+@Threads(4)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OnDiskKeyBenchmark {
+    private static final String SERVICE_NAME = "TokenService";
+    private static final String ACCOUNTS_KEY = "ACCOUNTS";
+    /** The number of accounts added per round before the map is flushed to disk */
+    private static final int ACCOUNTS_PER_FLUSH = 500_000;
+
+    @Param({"1000000"})
+    public int numAccounts;
+
+    @Param({"PROTOBUF", "ENTITY_NUM"})
+    public String keyEncoding;
+
+    private Path storageDir;
+    private VirtualMap<OnDiskKey<AccountID>, OnDiskValue<Account>> virtualMap;
+    private StateMetadata<AccountID, Account> md;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        var def = StateDefinition.onDisk(ACCOUNTS_KEY, AccountID.PROTOBUF, Account.PROTOBUF, numAccounts);
+        if ("ENTITY_NUM".equals(keyEncoding)) {
+            def = def.withEntityNumKeys(EntityNumMapper.forAccounts(0, 0));
+        }
+        final var finalDef = def;
+        //noinspection rawtypes
+        final var schema = new Schema(SemanticVersion.newBuilder().minor(1).build()) {
+            @Override
+            public Set<StateDefinition> statesToCreate() {
+                return Set.of(finalDef);
+            }
+        };
+        md = new StateMetadata<>(SERVICE_NAME, schema, def);
+
+        storageDir = TemporaryFileBuilder.buildTemporaryDirectory("OnDiskKeyBenchmark");
+        final var tableConfig = new MerkleDbTableConfig<>(
+                (short) 1,
+                DigestType.SHA_384,
+                (short) 1,
+                new OnDiskKeySerializer<>(md),
+                (short) 1,
+                new OnDiskValueSerializer<>(md));
+        tableConfig.maxNumberOfKeys(numAccounts);
+        virtualMap = new VirtualMap<>(
+                StateUtils.computeLabel(SERVICE_NAME, ACCOUNTS_KEY),
+                new MerkleDbDataSourceBuilder<>(storageDir, tableConfig));
+
+        for (int num = 1; num <= numAccounts; num++) {
+            final var id = accountId(num);
+            final var account = Account.newBuilder()
+                    .accountId(id)
+                    .tinybarBalance(num)
+                    .ethereumNonce(num % 16)
+                    .build();
+            virtualMap.put(new OnDiskKey<>(md, id), new OnDiskValue<>(md, account));
+            if (num % ACCOUNTS_PER_FLUSH == 0 || num == numAccounts) {
+                flush();
+            }
+        }
+        System.out.printf(
+                "%n%s keys: %,d accounts use %,d bytes on disk%n", keyEncoding, numAccounts, diskFootprint());
+    }
+
+    private void flush() throws InterruptedException {
+        final var copy = virtualMap.copy();
+        MerkleCryptoFactory.getInstance().digestTreeSync(virtualMap);
+        final VirtualRootNode<?, ?> root = virtualMap.getChild(1);
+        root.enableFlush();
+        virtualMap.release();
+        root.waitUntilFlushed();
+        virtualMap = copy;
+    }
+
+    private long diskFootprint() throws IOException {
+        try (final Stream<Path> files = Files.walk(storageDir)) {
+            return files.filter(Files::isRegularFile)
+                    .mapToLong(file -> {
+                        try {
+                            return Files.size(file);
+                        } catch (final IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .sum();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        virtualMap.release();
+    }
+
+    private static AccountID accountId(final long num) {
+        return AccountID.newBuilder().accountNum(num).build();
+    }
+
+    /** Looks up an existing account, which is only on disk */
+    @Benchmark
+    public OnDiskValue<Account> findExisting() {
+        final var num = ThreadLocalRandom.current().nextLong(1, numAccounts + 1L);
+        return virtualMap.get(new OnDiskKey<>(md, accountId(num)));
+    }
+
+    /** Looks up an account that does not exist, so only the key index is used */
+    @Benchmark
+    public OnDiskValue<Account> findMissing() {
+        final var num = numAccounts + ThreadLocalRandom.current().nextLong(1, numAccounts + 1L);
+        return virtualMap.get(new OnDiskKey<>(md, accountId(num)));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.state.merkle.disk;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.Key;
+import com.hedera.hapi.node.base.SemanticVersion;
+import com.hedera.hapi.node.base.TokenID;
+import com.hedera.hapi.node.state.common.EntityIDPair;
+import com.hedera.hapi.node.state.token.Account;
+import com.hedera.hapi.node.state.token.TokenRelation;
+import com.hedera.node.app.spi.state.Schema;
+import com.hedera.node.app.spi.state.StateDefinition;
+import com.hedera.node.app.state.merkle.StateMetadata;
+import com.hedera.pbj.runtime.Codec;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
+import com.swirlds.common.io.streams.SerializableDataOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the serialization work done for every dirty leaf value of an on-disk state: it is hashed once (through
+ * {@link OnDiskValue#serialize(SerializableDataOutputStream)}), and then written to a MerkleDB data file, which
+ * measures it twice and writes it into the file buffer. {@link #flushLeafWithoutSizeCache()} repeats what was done
+ * before the serialized size was kept in {@link OnDiskValue}, for comparison. Run with {@code -prof gc} to compare
+ * the allocation per flushed leaf.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 0)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OnDiskValueSerializerBenchmark {
+    /** The size of the buffer that stands in for the mapped data file buffer */
+    private static final int FILE_BUFFER_SIZE = 1024 * 1024;
+
+    @Param({"ACCOUNT", "TOKEN_RELATION"})
+    public String valueType;
+
+    private Object value;
+    private StateMetadata<Object, Object> md;
+    private OnDiskValueSerializer<Object> serializer;
+    private Codec<Object> codec;
+    private BufferedData fileBuffer;
+    private BufferedData readBuffer;
+    private SerializableDataOutputStream hashingStream;
+
+    @Setup
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setUp() throws NoSuchAlgorithmException {
+        final var accountId = AccountID.newBuilder().accountNum(123_456L).build();
+        final StateDefinition def;
+        if ("ACCOUNT".equals(valueType)) {
+            value = Account.newBuilder()
+                    .accountId(accountId)
+                    .alias(Bytes.wrap(new byte[20]))
+                    .key(Key.newBuilder().ed25519(Bytes.wrap(new byte[32])).build())
+                    .expirationSecond(1_700_000_000L)
+                    .tinybarBalance(123_456_789_000L)
+                    .memo("An account with a memo")
+                    .stakedToMe(1_000_000L)
+                    .stakePeriodStart(19_000L)
+                    .headTokenId(TokenID.newBuilder().tokenNum(5_000L).build())
+                    .maxAutoAssociations(10)
+                    .usedAutoAssociations(2)
+                    .numberAssociations(7)
+                    .numberPositiveBalances(4)
+                    .ethereumNonce(12L)
+                    .autoRenewSeconds(7_776_000L)
+                    .build();
+            def = StateDefinition.onDisk("ACCOUNTS", AccountID.PROTOBUF, Account.PROTOBUF, 1_000);
+        } else {
+            value = TokenRelation.newBuilder()
+                    .tokenId(TokenID.newBuilder().tokenNum(5_000L).build())
+                    .accountId(accountId)
+                    .balance(1_000_000L)
+                    .kycGranted(true)
+                    .automaticAssociation(true)
+                    .previousToken(TokenID.newBuilder().tokenNum(4_000L).build())
+                    .nextToken(TokenID.newBuilder().tokenNum(6_000L).build())
+                    .build();
+            def = StateDefinition.onDisk("TOKEN_RELS", EntityIDPair.PROTOBUF, TokenRelation.PROTOBUF, 1_000);
+        }
+        final var schema = new Schema(SemanticVersion.newBuilder().minor(1).build()) {
+            @Override
+            public Set<StateDefinition> statesToCreate() {
+                return Set.of(def);
+            }
+        };
+        md = new StateMetadata<>("TokenService", schema, def);
+        serializer = new OnDiskValueSerializer<>(md);
+        codec = md.stateDefinition().valueCodec();
+        fileBuffer = BufferedData.allocate(FILE_BUFFER_SIZE);
+        readBuffer = BufferedData.allocate(codec.measureRecord(value));
+        serializer.serialize(new OnDiskValue<>(md, value), readBuffer);
+        hashingStream = new SerializableDataOutputStream(
+                new DigestOutputStream(OutputStream.nullOutputStream(), MessageDigest.getInstance("SHA-384")));
+    }
+
+    private void resetFileBufferIfFull() {
+        if (fileBuffer.remaining() < 4096) {
+            fileBuffer.reset();
+        }
+    }
+
+    /** Hashes and writes a newly put value, the way it is done now */
+    @Benchmark
+    public long flushLeaf() throws IOException {
+        final var onDiskValue = new OnDiskValue<>(md, value);
+        onDiskValue.serialize(hashingStream);
+        resetFileBufferIfFull();
+        // DataFileWriterPbj and VirtualLeafRecordSerializer both ask for the size
+        serializer.getSerializedSize(onDiskValue);
+        serializer.getSerializedSize(onDiskValue);
+        serializer.serialize(onDiskValue, fileBuffer);
+        return fileBuffer.position();
+    }
+
+    /** Hashes and writes a newly put value, measuring it every time and hashing through a growing byte stream */
+    @Benchmark
+    public long flushLeafWithoutSizeCache() throws IOException {
+        final var byteStream = new ByteArrayOutputStream();
+        codec.write(value, new WritableStreamingData(byteStream));
+        final var stream = new WritableStreamingData(hashingStream);
+        stream.writeInt(byteStream.size());
+        stream.writeBytes(byteStream.toByteArray());
+        resetFileBufferIfFull();
+        codec.measureRecord(value);
+        codec.measureRecord(value);
+        codec.write(value, fileBuffer);
+        return fileBuffer.position();
+    }
+
+    /** Parses a value straight from the data file buffer */
+    @Benchmark
+    public OnDiskValue<Object> readLeaf() {
+        readBuffer.position(0);
+        return serializer.deserialize(readBuffer);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.state.recordcache;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.Timestamp;
+import com.hedera.hapi.node.base.TransactionID;
+import com.hedera.node.app.config.ConfigProviderImpl;
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link DeduplicationCacheImpl} under the access pattern of the ingest workflow: every submitted transaction
+ * is checked with {@code contains()} and then added with {@code add()}, unless it is a duplicate. Receipt queries only
+ * call {@code contains()}. Multiple threads submit transactions concurrently, the same way gRPC threads do.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, warmups = 1)
+@Threads(8)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DeduplicationCacheBenchmark {
+    /** The number of recently submitted transaction IDs every thread keeps to submit duplicates and query */
+    private static final int RECENT_IDS = 1 << 12;
+
+    /** The percentage of submitted transactions that are duplicates of earlier ones */
+    @Param({"0", "10"})
+    public int duplicatePercent;
+
+    private DeduplicationCacheImpl cache;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        cache = new DeduplicationCacheImpl(new ConfigProviderImpl(false));
+    }
+
+    /** Transaction IDs submitted by a single thread */
+    @State(Scope.Thread)
+    public static class Submitter {
+        private final TransactionID[] recentIds = new TransactionID[RECENT_IDS];
+        private Random random;
+        private long nowSeconds;
+        private int submitted;
+
+        @Setup(Level.Iteration)
+        public void setUp(final DeduplicationCacheBenchmark benchmark) {
+            random = new Random(Thread.currentThread().getId());
+            nowSeconds = Instant.now().getEpochSecond();
+            submitted = 0;
+            // Start with some transactions already in the cache, so queries and duplicates hit from the start
+            for (int i = 0; i < RECENT_IDS; i++) {
+                benchmark.cache.add(nextSubmitted(0));
+            }
+        }
+
+        TransactionID nextSubmitted(final int duplicatePercent) {
+            if (submitted >= RECENT_IDS && random.nextInt(100) < duplicatePercent) {
+                return recentIds[random.nextInt(RECENT_IDS)];
+            }
+            // Valid start times are spread over the last two minutes, as if clients submitted them with some delay
+            final var txId = TransactionID.newBuilder()
+                    .accountID(AccountID.newBuilder()
+                            .accountNum(1001 + random.nextInt(100_000))
+                            .build())
+                    .transactionValidStart(Timestamp.newBuilder()
+                            .seconds(nowSeconds - random.nextInt(120))
+                            .nanos(random.nextInt(1_000_000_000))
+                            .build())
+                    .build();
+            recentIds[submitted++ & (RECENT_IDS - 1)] = txId;
+            return txId;
+        }
+
+        TransactionID nextQueried() {
+            return recentIds[random.nextInt(RECENT_IDS)];
+        }
+    }
+
+    @Benchmark
+    public void submit(final Submitter submitter, final Blackhole blackhole) {
+        final var txId = submitter.nextSubmitted(duplicatePercent);
+        final var duplicate = cache.contains(txId);
+        if (!duplicate) {
+            cache.add(txId);
+        }
+        blackhole.consume(duplicate);
+    }
+
+    @Benchmark
+    public boolean query(final Submitter submitter) {
+        // Receipt queries for recently submitted transactions
+        return cache.contains(submitter.nextQueried());
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.throttle;
+
+import static com.hedera.node.app.throttle.ThrottleAccumulator.ThrottleType.FRONTEND_THROTTLE;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.HederaFunctionality;
+import com.hedera.hapi.node.base.SignatureMap;
+import com.hedera.hapi.node.base.Timestamp;
+import com.hedera.hapi.node.base.Transaction;
+import com.hedera.hapi.node.base.TransactionID;
+import com.hedera.hapi.node.consensus.ConsensusSubmitMessageTransactionBody;
+import com.hedera.hapi.node.transaction.ThrottleBucket;
+import com.hedera.hapi.node.transaction.ThrottleDefinitions;
+import com.hedera.hapi.node.transaction.ThrottleGroup;
+import com.hedera.hapi.node.transaction.TransactionBody;
+import com.hedera.node.app.config.ConfigProviderImpl;
+import com.hedera.node.app.spi.state.ReadableStates;
+import com.hedera.node.app.spi.state.WritableStates;
+import com.hedera.node.app.state.HederaState;
+import com.hedera.node.app.workflows.TransactionInfo;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures how many transactions per second the ingest throttle admits when many gRPC threads submit messages at the
+ * same time. The throttle allows five million submit messages per second, which is more than the benchmark can
+ * usually submit, so the results mostly show the overhead of the throttle itself. The {@code admitted} and {@code throttled} counters are reported per thread group, run with
+ * different {@code -t} values to see how the throttle scales with the number of ingest threads.
+ *
+ * <p>With {@code maxPermitsPerLease} set to 1 leases are disabled, and every decision is made under a single lock.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, warmups = 1)
+@Threads(8)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IngestThrottleBenchmark {
+    private static final HederaFunctionality FUNCTION = HederaFunctionality.CONSENSUS_SUBMIT_MESSAGE;
+
+    /** Submit messages don't need state to be throttled */
+    private static final HederaState NO_STATE = new HederaState() {
+        @Override
+        public ReadableStates getReadableStates(final String serviceName) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public WritableStates getWritableStates(final String serviceName) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    @Param({"1", "64"})
+    public int maxPermitsPerLease;
+
+    private SynchronizedThrottleAccumulator throttle;
+
+    private TransactionInfo txnInfo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("hedera.ingestThrottle.maxPermitsPerLease", String.valueOf(maxPermitsPerLease));
+        final var configProvider = new ConfigProviderImpl(false);
+        final var frontendThrottle = new ThrottleAccumulator(() -> 1, configProvider, FRONTEND_THROTTLE);
+        frontendThrottle.rebuildFor(ThrottleDefinitions.newBuilder()
+                .throttleBuckets(ThrottleBucket.newBuilder()
+                        .name("SubmitMessages")
+                        .burstPeriodMs(1_000L)
+                        .throttleGroups(ThrottleGroup.newBuilder()
+                                .operations(List.of(FUNCTION))
+                                .milliOpsPerSec(5_000_000_000L)
+                                .build())
+                        .build())
+                .build());
+        throttle = new SynchronizedThrottleAccumulator(frontendThrottle, configProvider);
+
+        final var payerId = AccountID.newBuilder().accountNum(1_234L).build();
+        final var txBody = TransactionBody.newBuilder()
+                .transactionID(TransactionID.newBuilder()
+                        .accountID(payerId)
+                        .transactionValidStart(Timestamp.newBuilder().seconds(1_234_567L)))
+                .consensusSubmitMessage(ConsensusSubmitMessageTransactionBody.DEFAULT)
+                .build();
+        txnInfo = new TransactionInfo(Transaction.DEFAULT, txBody, SignatureMap.DEFAULT, Bytes.EMPTY, FUNCTION);
+    }
+
+    /** Decisions of a single thread */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Decisions {
+        public long admitted;
+        public long throttled;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            admitted = 0;
+            throttled = 0;
+        }
+    }
+
+    @Benchmark
+    public void submitMessage(final Decisions decisions) {
+        if (throttle.shouldThrottle(txnInfo, NO_STATE)) {
+            decisions.throttled++;
+        } else {
+            decisions.admitted++;
+        }
+    }
+}
@@ -21,10 +21,13 @@ import static java.util.Objects.requireNonNull;
 import com.hedera.node.app.Hedera;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.common.metrics.RunningAverageMetric;
 import com.swirlds.common.metrics.SpeedometerMetric;
 import com.swirlds.metrics.api.Counter;
+import com.swirlds.metrics.api.Histogram;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import io.grpc.Status;
 import io.grpc.stub.ServerCalls;
 import io.grpc.stub.StreamObserver;
 import org.apache.logging.log4j.LogManager;
@@ -33,16 +36,15 @@ import org.apache.logging.log4j.Logger;
 /**
  * An instance of either {@link TransactionMethod} or {@link QueryMethod} is created per transaction
  * type and query type.
+ *
+ * <p>Each method runs its workflow through a {@link WorkflowExecutor}, which may hand the call off from the Netty
+ * event loop thread that received it to another thread, and which supplies the response buffers.
  */
 public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData, BufferedData> {
     private static final Logger logger = LogManager.getLogger(MethodBase.class);
 
     // To be set by configuration. See Issue #4294
     private static final int MAX_MESSAGE_SIZE = Hedera.MAX_SIGNED_TXN_SIZE;
-    // To be set by configuration. See Issue #4294. Originally this was intended to be the same max size as
-    // a transaction, but some files and other responses are much larger. So we had to set this larger.
-    private static final int MAX_RESPONSE_SIZE = 1024 * 1024 * 2;
-
     // Constants for metric names and descriptions
     private static final String COUNTER_HANDLED_NAME_TPL = "%sHdl";
     private static final String COUNTER_HANDLED_DESC_TPL = "number of %s handled";
@@ -54,17 +56,17 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
     private static final String SPEEDOMETER_HANDLED_DESC_TPL = "number of %s handled per second";
     private static final String SPEEDOMETER_RECEIVED_NAME_TPL = "%sRcv_per_sec";
     private static final String SPEEDOMETER_RECEIVED_DESC_TPL = "number of %s received per second";
-
-    /**
-     * Per-thread shared {@link BufferedData} for responses. We store these in a thread local, because we do
-     * not have control over the thread pool used by the underlying gRPC server.
-     */
-    @SuppressWarnings(
-            "java:S5164") // looks like a false positive ("ThreadLocal" variables should be cleaned up when no longer
-    // used), but these threads are long-lived and the lifetime of the thread local is the same as
-    // the application
-    private static final ThreadLocal<BufferedData> BUFFER_THREAD_LOCAL =
-            ThreadLocal.withInitial(() -> BufferedData.allocate(MAX_RESPONSE_SIZE));
+    private static final String COUNTER_REJECTED_NAME_TPL = "%sRej";
+    private static final String COUNTER_REJECTED_DESC_TPL = "number of %s rejected because too many were in flight";
+    private static final String AVERAGE_QUEUED_NAME_TPL = "%sQueued";
+    private static final String AVERAGE_QUEUED_DESC_TPL = "average number of calls in flight when a %s was admitted";
+    private static final String AVERAGE_LATENCY_NAME_TPL = "%sLatency";
+    private static final String AVERAGE_LATENCY_DESC_TPL = "average microseconds from receiving a %s to responding";
+    private static final String HISTOGRAM_LATENCY_NAME_TPL = "%sLatencyDist";
+    private static final String HISTOGRAM_LATENCY_DESC_TPL =
+            "distribution of microseconds from receiving a %s to responding";
+    /** Latencies above one minute are all counted in the highest bucket of the latency histogram */
+    private static final long HISTOGRAM_LATENCY_HIGHEST_VALUE = 60_000_000L;
 
     /** The name of the service associated with this method. */
     protected final String serviceName;
@@ -87,16 +89,37 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
     /** A metric for the calls per second successfully handled by this method */
     private final SpeedometerMetric callsHandledSpeedometer;
 
+    /** A metric for the number of times this method was not admitted because too many calls were in flight */
+    private final Counter callsRejectedCounter;
+
+    /** A metric for the number of calls in flight in the executor when a call to this method is admitted */
+    private final RunningAverageMetric callsQueuedAverage;
+
+    /** A metric for the time from receiving a call to this method to responding to it */
+    private final RunningAverageMetric callLatencyAverage;
+
+    /** A metric for the distribution of the times from receiving a call to this method to responding to it */
+    private final Histogram callLatencyHistogram;
+
+    /** Where the workflow for calls to this method runs, and where response buffers come from */
+    private final WorkflowExecutor executor;
+
     /**
      * Create a new instance.
      *
      * @param serviceName a non-null reference to the service name
      * @param methodName a non-null reference to the method name
+     * @param executor a non-null reference to the executor for the workflow of this method
      */
-    MethodBase(@NonNull final String serviceName, @NonNull final String methodName, @NonNull final Metrics metrics) {
+    MethodBase(
+            @NonNull final String serviceName,
+            @NonNull final String methodName,
+            @NonNull final Metrics metrics,
+            @NonNull final WorkflowExecutor executor) {
 
         this.serviceName = requireNonNull(serviceName);
         this.methodName = requireNonNull(methodName);
+        this.executor = requireNonNull(executor);
 
         this.callsHandledCounter = counter(metrics, COUNTER_HANDLED_NAME_TPL, COUNTER_HANDLED_DESC_TPL);
         this.callsReceivedCounter = counter(metrics, COUNTER_RECEIVED_NAME_TPL, COUNTER_RECEIVED_DESC_TPL);
@@ -104,33 +127,69 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
         this.callsHandledSpeedometer = speedometer(metrics, SPEEDOMETER_HANDLED_NAME_TPL, SPEEDOMETER_HANDLED_DESC_TPL);
         this.callsReceivedSpeedometer =
                 speedometer(metrics, SPEEDOMETER_RECEIVED_NAME_TPL, SPEEDOMETER_RECEIVED_DESC_TPL);
+        this.callsRejectedCounter = counter(metrics, COUNTER_REJECTED_NAME_TPL, COUNTER_REJECTED_DESC_TPL);
+        this.callsQueuedAverage = runningAverage(metrics, AVERAGE_QUEUED_NAME_TPL, AVERAGE_QUEUED_DESC_TPL);
+        this.callLatencyAverage = runningAverage(metrics, AVERAGE_LATENCY_NAME_TPL, AVERAGE_LATENCY_DESC_TPL);
+        this.callLatencyHistogram = histogram(metrics, HISTOGRAM_LATENCY_NAME_TPL, HISTOGRAM_LATENCY_DESC_TPL);
     }
 
     @Override
     public void invoke(
             @NonNull final BufferedData requestBuffer, @NonNull final StreamObserver<BufferedData> responseObserver) {
-        try {
-            // Track the number of times this method has been called
-            callsReceivedCounter.increment();
-            callsReceivedSpeedometer.cycle();
+        // Track the number of times this method has been called
+        callsReceivedCounter.increment();
+        callsReceivedSpeedometer.cycle();
+        final var receivedAt = System.nanoTime();
+
+        if (executor.isDirect()) {
+            // Convert the request BufferedData to a Bytes instance without copying the bytes
+            handleCall(requestBuffer.getBytes(0, requestBuffer.length()), responseObserver, receivedAt);
+        } else if (executor.tryAdmit()) {
+            callsQueuedAverage.update(executor.inFlight());
+            // The request buffer is reused for the next message read by this event loop thread, so the call
+            // must get its own copy of the bytes before it is handed off to another thread
+            final var requestBytes = Bytes.wrap(requestBuffer.getBytes(0, requestBuffer.length()).toByteArray());
+            try {
+                executor.execute(() -> handleCall(requestBytes, responseObserver, receivedAt));
+            } catch (final RuntimeException e) {
+                logger.warn("Could not hand off a call to {}.{}", serviceName, methodName, e);
+                callsFailedCounter.increment();
+                responseObserver.onError(e);
+            }
+        } else {
+            callsRejectedCounter.increment();
+            responseObserver.onError(
+                    Status.RESOURCE_EXHAUSTED.withDescription("Too many calls in flight").asRuntimeException());
+        }
+    }
 
+    /**
+     * Runs the workflow for one call and responds to the client.
+     *
+     * @param requestBytes The {@link Bytes} containing the protobuf bytes for the request
+     * @param responseObserver The observer to send the response to
+     * @param receivedAt The {@link System#nanoTime()} at which the call was received
+     */
+    private void handleCall(
+            @NonNull final Bytes requestBytes,
+            @NonNull final StreamObserver<BufferedData> responseObserver,
+            final long receivedAt) {
+        BufferedData responseBuffer = null;
+        try {
             // Fail-fast if the request is too large (Note that the request buffer is sized to allow exactly
             // 1 more byte than MAX_MESSAGE_SIZE, so we can detect this case).
-            if (requestBuffer.length() > MAX_MESSAGE_SIZE) {
+            if (requestBytes.length() > MAX_MESSAGE_SIZE) {
                 throw new RuntimeException("More than " + MAX_MESSAGE_SIZE + " received");
             }
 
             // Prepare the response buffer
-            final var responseBuffer = BUFFER_THREAD_LOCAL.get();
-            responseBuffer.reset();
-
-            // Convert the request BufferedData to a Bytes instance without copying the bytes
-            final var requestBytes = requestBuffer.getBytes(0, requestBuffer.length());
+            responseBuffer = executor.borrowResponseBuffer();
 
             // Call the workflow
             handle(requestBytes, responseBuffer);
 
-            // Respond to the client
+            // Respond to the client. The response is written to the transport before onNext() returns, so the
+            // buffer may be reused as soon as this call completes
             responseBuffer.flip();
             responseObserver.onNext(responseBuffer);
             responseObserver.onCompleted();
@@ -143,6 +202,13 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
             logger.error("Possibly CATASTROPHIC failure while handling a call and running the ingest workflow", e);
             callsFailedCounter.increment();
             responseObserver.onError(e);
+        } finally {
+            if (responseBuffer != null) {
+                executor.returnResponseBuffer(responseBuffer);
+            }
+            final long latencyNanos = System.nanoTime() - receivedAt;
+            callLatencyAverage.update(latencyNanos / 1_000.0);
+            callLatencyHistogram.update(latencyNanos / 1_000L);
         }
     }
 
@@ -190,4 +256,43 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
         final var desc = String.format(descriptionTemplate, baseName);
         return metrics.getOrCreate(new SpeedometerMetric.Config("app", name).withDescription(desc));
     }
+
+    /**
+     * Helper method for creating a {@link RunningAverageMetric} metric.
+     *
+     * @param metrics The {@link Metrics} object to use to create the running average.
+     * @param nameTemplate A template to use for generating the metric name
+     * @param descriptionTemplate A template to use for generating the metric description
+     * @return The metric
+     */
+    protected final @NonNull RunningAverageMetric runningAverage(
+            @NonNull final Metrics metrics,
+            @NonNull final String nameTemplate,
+            @NonNull final String descriptionTemplate) {
+        final var baseName = serviceName.replace('.', ':') + ":" + methodName;
+        final var name = String.format(nameTemplate, baseName);
+        final var desc = String.format(descriptionTemplate, baseName);
+        return metrics.getOrCreate(new RunningAverageMetric.Config("app", name).withDescription(desc));
+    }
+
+    /**
+     * Helper method for creating a {@link Histogram} metric of latencies in microseconds.
+     *
+     * @param metrics The {@link Metrics} object to use to create the histogram.
+     * @param nameTemplate A template to use for generating the metric name
+     * @param descriptionTemplate A template to use for generating the metric description
+     * @return The metric
+     */
+    protected final @NonNull Histogram histogram(
+            @NonNull final Metrics metrics,
+            @NonNull final String nameTemplate,
+            @NonNull final String descriptionTemplate) {
+        final var baseName = serviceName.replace('.', ':') + ":" + methodName;
+        final var name = String.format(nameTemplate, baseName);
+        final var desc = String.format(descriptionTemplate, baseName);
+        return metrics.getOrCreate(new Histogram.Config("app", name)
+                .withDescription(desc)
+                .withUnit("us")
+                .withHighestTrackableValue(HISTOGRAM_LATENCY_HIGHEST_VALUE));
+    }
 }
@@ -63,7 +63,24 @@ public final class QueryMethod extends MethodBase {
             @NonNull final String methodName,
             @NonNull final QueryWorkflow workflow,
             @NonNull final Metrics metrics) {
-        super(serviceName, methodName, metrics);
+        this(serviceName, methodName, workflow, metrics, WorkflowExecutor.direct());
+    }
+
+    /**
+     * Create a new QueryMethod.
+     *
+     * @param serviceName a non-null reference to the service name
+     * @param methodName a non-null reference to the method name
+     * @param workflow a non-null {@link QueryWorkflow}
+     * @param executor a non-null {@link WorkflowExecutor} shared by all query methods
+     */
+    public QueryMethod(
+            @NonNull final String serviceName,
+            @NonNull final String methodName,
+            @NonNull final QueryWorkflow workflow,
+            @NonNull final Metrics metrics,
+            @NonNull final WorkflowExecutor executor) {
+        super(serviceName, methodName, metrics, executor);
         this.workflow = requireNonNull(workflow);
         this.queriesAnsweredCounter = counter(metrics, COUNTER_ANSWERED_NAME_TPL, COUNTER_ANSWERED_DESC_TPL);
         this.queriesAnsweredSpeedometer =
@@ -46,7 +46,22 @@ public final class TransactionMethod extends MethodBase {
             @NonNull final String methodName,
             @NonNull final IngestWorkflow workflow,
             @NonNull final Metrics metrics) {
-        super(serviceName, methodName, metrics);
+        this(serviceName, methodName, workflow, metrics, WorkflowExecutor.direct());
+    }
+
+    /**
+     * @param serviceName a non-null reference to the service name
+     * @param methodName a non-null reference to the method name
+     * @param workflow a non-null {@link IngestWorkflow}
+     * @param executor a non-null {@link WorkflowExecutor} shared by all transaction methods
+     */
+    public TransactionMethod(
+            @NonNull final String serviceName,
+            @NonNull final String methodName,
+            @NonNull final IngestWorkflow workflow,
+            @NonNull final Metrics metrics,
+            @NonNull final WorkflowExecutor executor) {
+        super(serviceName, methodName, metrics, executor);
         this.workflow = Objects.requireNonNull(workflow);
     }
 
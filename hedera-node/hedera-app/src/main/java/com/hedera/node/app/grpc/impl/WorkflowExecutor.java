@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.grpc.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.node.config.types.GrpcExecutorMode;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides where the workflow for a gRPC call runs, and supplies the buffers its responses are written to. One
+ * instance is shared by all transaction methods, and another by all query methods, so transactions and queries have
+ * separate admission limits.
+ *
+ * <p>In {@link GrpcExecutorMode#DIRECT} mode the workflow runs on the Netty event loop thread that received the call,
+ * and there is no admission limit. In the other modes the workflow runs on a virtual thread per call, or on a fixed
+ * pool of threads; and at most {@code maxInFlight} calls may be queued or running at once.
+ *
+ * <p>Response buffers are large, so they are never allocated per call. In {@link GrpcExecutorMode#DIRECT} mode each
+ * event loop thread keeps its own buffer, as there are only a few of these threads. In the other modes buffers are
+ * pooled instead, as there may be very many virtual threads. Pooled buffers are allocated as needed, up to the size
+ * of the pool. Once all of them are in use, further calls wait for a buffer to be returned.
+ */
+/*@ThreadSafe*/
+public final class WorkflowExecutor implements AutoCloseable {
+    /** The maximum size of a response. Some files and other responses are much larger than a transaction. */
+    static final int MAX_RESPONSE_SIZE = 1024 * 1024 * 2;
+    /**
+     * Per-thread response buffers of {@link #direct()} executors. Each thread handles one call at a time, and a buffer
+     * is no longer needed once its call completes, so all direct executors can share the buffer of a thread.
+     */
+    @SuppressWarnings(
+            "java:S5164") // the event loop threads live as long as the server, so there is nothing to clean up
+    private static final ThreadLocal<BufferedData> THREAD_RESPONSE_BUFFER =
+            ThreadLocal.withInitial(() -> BufferedData.allocate(MAX_RESPONSE_SIZE));
+
+    /** The executor to run the workflows on, or {@code null} to run them directly on the calling thread */
+    @Nullable
+    private final ExecutorService executor;
+    /** The permits for calls that may be queued or running at once, or {@code null} if there is no limit */
+    @Nullable
+    private final Semaphore admissions;
+    /** The maximum number of calls that may be queued or running at once */
+    private final int maxInFlight;
+    /** The response buffers available for reuse, or {@code null} if each thread has its own buffer */
+    @Nullable
+    private final BlockingQueue<BufferedData> responseBuffers;
+    /** The maximum number of pooled response buffers */
+    private final int maxResponseBuffers;
+    /** The number of pooled response buffers allocated so far, in use or available for reuse */
+    private final AtomicInteger allocatedResponseBuffers = new AtomicInteger();
+
+    private WorkflowExecutor(
+            @Nullable final ExecutorService executor, final int maxInFlight, final int maxPooledResponseBuffers) {
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.admissions = executor == null ? null : new Semaphore(maxInFlight);
+        this.responseBuffers = executor == null ? null : new ArrayBlockingQueue<>(maxPooledResponseBuffers);
+        this.maxResponseBuffers = maxPooledResponseBuffers;
+    }
+
+    /**
+     * Creates an executor that runs workflows directly on the calling thread, with a response buffer per thread.
+     *
+     * @return the executor
+     */
+    @NonNull
+    public static WorkflowExecutor direct() {
+        return new WorkflowExecutor(null, Integer.MAX_VALUE, 0);
+    }
+
+    /**
+     * Creates an executor for the given mode.
+     *
+     * @param name the name of the calls this executor runs, used to name its threads
+     * @param mode where the workflows run
+     * @param maxInFlight the maximum number of calls that may be queued or running at once
+     * @param poolThreads the number of threads in {@link GrpcExecutorMode#BOUNDED_POOL} mode
+     * @param maxPooledResponseBuffers the maximum number of response buffers shared by the calls, when the workflows
+     *     do not run directly on the calling thread
+     * @return the executor
+     */
+    @NonNull
+    public static WorkflowExecutor create(
+            @NonNull final String name,
+            @NonNull final GrpcExecutorMode mode,
+            final int maxInFlight,
+            final int poolThreads,
+            final int maxPooledResponseBuffers) {
+        requireNonNull(name);
+        return switch (requireNonNull(mode)) {
+            case DIRECT -> direct();
+            case VIRTUAL_THREADS -> new WorkflowExecutor(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-" + name + "-", 0).factory()),
+                    maxInFlight,
+                    maxPooledResponseBuffers);
+            case BOUNDED_POOL -> new WorkflowExecutor(
+                    Executors.newFixedThreadPool(
+                            poolThreads,
+                            Thread.ofPlatform().daemon().name("grpc-" + name + "-", 0).factory()),
+                    maxInFlight,
+                    maxPooledResponseBuffers);
+        };
+    }
+
+    /**
+     * Returns whether workflows run directly on the thread that received the call.
+     *
+     * @return true if workflows are not handed off to another thread
+     */
+    public boolean isDirect() {
+        return executor == null;
+    }
+
+    /**
+     * Tries to admit one more call. Every admitted call must then be passed to {@link #execute(Runnable)}.
+     *
+     * @return true if the call was admitted, false if too many calls are already queued or running
+     */
+    public boolean tryAdmit() {
+        return admissions == null || admissions.tryAcquire();
+    }
+
+    /**
+     * Returns the number of admitted calls that are queued or running.
+     *
+     * @return the number of calls in flight
+     */
+    public int inFlight() {
+        return admissions == null ? 0 : maxInFlight - admissions.availablePermits();
+    }
+
+    /**
+     * Runs the given admitted call, releasing its admission when it completes.
+     *
+     * @param call the call to run
+     * @throws RejectedExecutionException if the executor cannot accept the call
+     */
+    public void execute(@NonNull final Runnable call) {
+        requireNonNull(call);
+        if (executor == null) {
+            call.run();
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    call.run();
+                } finally {
+                    requireNonNull(admissions).release();
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            requireNonNull(admissions).release();
+            throw e;
+        }
+    }
+
+    /**
+     * Takes a cleared response buffer of the current thread or from the pool. If the pool is empty, a new buffer is
+     * allocated while the pool is not yet full, otherwise this waits until another call returns its buffer.
+     *
+     * @return a response buffer ready to be written to
+     * @throws IllegalStateException if the thread is interrupted while waiting for a buffer
+     */
+    @NonNull
+    public BufferedData borrowResponseBuffer() {
+        if (responseBuffers == null) {
+            final var buffer = THREAD_RESPONSE_BUFFER.get();
+            buffer.reset();
+            return buffer;
+        }
+        var buffer = responseBuffers.poll();
+        if (buffer == null) {
+            if (allocatedResponseBuffers.getAndUpdate(n -> n < maxResponseBuffers ? n + 1 : n) < maxResponseBuffers) {
+                return BufferedData.allocate(MAX_RESPONSE_SIZE);
+            }
+            try {
+                buffer = responseBuffers.take();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a response buffer", e);
+            }
+        }
+        buffer.reset();
+        return buffer;
+    }
+
+    /**
+     * Returns a response buffer to the pool once its contents have been sent.
+     *
+     * @param buffer the buffer to return
+     */
+    public void returnResponseBuffer(@NonNull final BufferedData buffer) {
+        requireNonNull(buffer);
+        // A thread's own buffer stays with the thread. No more buffers are allocated than the pool can hold
+        if (responseBuffers != null) {
+            responseBuffers.offer(buffer);
+        }
+    }
+
+    /**
+     * Stops the threads workflows are handed off to. Calls that are already running are completed, but no further
+     * calls are accepted.
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
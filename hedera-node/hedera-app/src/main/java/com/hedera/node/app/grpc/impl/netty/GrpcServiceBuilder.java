@@ -23,6 +23,7 @@ import com.hedera.hapi.node.transaction.Query;
 import com.hedera.node.app.grpc.impl.MethodBase;
 import com.hedera.node.app.grpc.impl.QueryMethod;
 import com.hedera.node.app.grpc.impl.TransactionMethod;
+import com.hedera.node.app.grpc.impl.WorkflowExecutor;
 import com.hedera.node.app.workflows.ingest.IngestWorkflow;
 import com.hedera.node.app.workflows.query.QueryWorkflow;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
@@ -88,6 +89,12 @@ final class GrpcServiceBuilder {
      */
     private final QueryWorkflow queryWorkflow;
 
+    /** The {@link WorkflowExecutor} for transaction methods, shared with the builders of all other services. */
+    private final WorkflowExecutor transactionExecutor;
+
+    /** The {@link WorkflowExecutor} for query methods, shared with the builders of all other services. */
+    private final WorkflowExecutor queryExecutor;
+
     /**
      * The set of transaction method names that need corresponding service method definitions generated.
      *
@@ -117,8 +124,30 @@ final class GrpcServiceBuilder {
             @NonNull final String serviceName,
             @NonNull final IngestWorkflow ingestWorkflow,
             @NonNull final QueryWorkflow queryWorkflow) {
+        this(serviceName, ingestWorkflow, queryWorkflow, WorkflowExecutor.direct(), WorkflowExecutor.direct());
+    }
+
+    /**
+     * Creates a new builder whose methods run their workflows through the given executors.
+     *
+     * @param serviceName The name of the service. Cannot be null or blank.
+     * @param ingestWorkflow The workflow to use for handling all transaction ingestion API calls
+     * @param queryWorkflow The workflow to use for handling all queries
+     * @param transactionExecutor The executor for all transaction methods
+     * @param queryExecutor The executor for all query methods
+     * @throws NullPointerException if any of the parameters are null
+     * @throws IllegalArgumentException if the serviceName is blank
+     */
+    public GrpcServiceBuilder(
+            @NonNull final String serviceName,
+            @NonNull final IngestWorkflow ingestWorkflow,
+            @NonNull final QueryWorkflow queryWorkflow,
+            @NonNull final WorkflowExecutor transactionExecutor,
+            @NonNull final WorkflowExecutor queryExecutor) {
         this.ingestWorkflow = requireNonNull(ingestWorkflow);
         this.queryWorkflow = requireNonNull(queryWorkflow);
+        this.transactionExecutor = requireNonNull(transactionExecutor);
+        this.queryExecutor = requireNonNull(queryExecutor);
         this.serviceName = requireNonNull(serviceName);
         if (serviceName.isBlank()) {
             throw new IllegalArgumentException("serviceName cannot be blank");
@@ -172,12 +201,12 @@ final class GrpcServiceBuilder {
         final var builder = ServerServiceDefinition.builder(serviceName);
         txMethodNames.forEach(methodName -> {
             logger.debug("Registering gRPC transaction method {}.{}", serviceName, methodName);
-            final var method = new TransactionMethod(serviceName, methodName, ingestWorkflow, metrics);
+            final var method = new TransactionMethod(serviceName, methodName, ingestWorkflow, metrics, transactionExecutor);
             addMethod(builder, serviceName, methodName, method);
         });
         queryMethodNames.forEach(methodName -> {
             logger.debug("Registering gRPC query method {}.{}", serviceName, methodName);
-            final var method = new QueryMethod(serviceName, methodName, queryWorkflow, metrics);
+            final var method = new QueryMethod(serviceName, methodName, queryWorkflow, metrics, queryExecutor);
             addMethod(builder, serviceName, methodName, method);
         });
         return builder.build();
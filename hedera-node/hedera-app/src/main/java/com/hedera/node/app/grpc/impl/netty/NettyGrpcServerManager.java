@@ -21,6 +21,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.hedera.hapi.node.base.Transaction;
 import com.hedera.node.app.grpc.GrpcServerManager;
+import com.hedera.node.app.grpc.impl.WorkflowExecutor;
 import com.hedera.node.app.services.ServicesRegistry;
 import com.hedera.node.app.workflows.ingest.IngestWorkflow;
 import com.hedera.node.app.workflows.query.QueryWorkflow;
@@ -76,14 +77,35 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
      */
     private static final List<String> SUPPORTED_PROTOCOLS = List.of("TLSv1.2", "TLSv1.3");
 
-    /**
-     * The set of {@link ServiceDescriptor}s for services that the gRPC server will expose
-     */
-    private final Set<ServerServiceDefinition> services;
     /**
      * The configuration provider, so we can figure out ports and other information.
      */
     private final ConfigProvider configProvider;
+    /**
+     * The set of all services registered with the system
+     */
+    private final ServicesRegistry servicesRegistry;
+    /**
+     * The workflow for transaction rpc methods
+     */
+    private final IngestWorkflow ingestWorkflow;
+    /**
+     * The workflow for query rpc methods
+     */
+    private final QueryWorkflow queryWorkflow;
+    /**
+     * Used to get/create metrics for each transaction and query method
+     */
+    private final Metrics metrics;
+    /**
+     * The set of {@link ServiceDescriptor}s for services that the gRPC server will expose, created when the servers
+     * are started
+     */
+    private Set<ServerServiceDefinition> services = Set.of();
+    /**
+     * The executors the workflows of the services run on, closed when the servers are stopped
+     */
+    private List<WorkflowExecutor> executors = List.of();
     /**
      * The gRPC server listening on the plain (non-tls) port
      */
@@ -110,16 +132,45 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
             @NonNull final QueryWorkflow queryWorkflow,
             @NonNull final Metrics metrics) {
         this.configProvider = requireNonNull(configProvider);
-        requireNonNull(ingestWorkflow);
-        requireNonNull(queryWorkflow);
-        requireNonNull(metrics);
+        this.servicesRegistry = requireNonNull(servicesRegistry);
+        this.ingestWorkflow = requireNonNull(ingestWorkflow);
+        this.queryWorkflow = requireNonNull(queryWorkflow);
+        this.metrics = requireNonNull(metrics);
+    }
+
+    /**
+     * Creates the executors for the workflows, and the services the servers expose.
+     *
+     * @param nettyConfig the netty configuration
+     */
+    private void createServices(@NonNull final NettyConfig nettyConfig) {
+        // Executors left over from a start that failed are not used any more
+        executors.forEach(WorkflowExecutor::close);
+
+        // All transaction methods share one executor, and all query methods another, so that each kind of call has
+        // its own admission limit
+        final var transactionExecutor = WorkflowExecutor.create(
+                "transactions",
+                nettyConfig.workflowsExecutorMode(),
+                nettyConfig.workflowsMaxInFlightTransactions(),
+                nettyConfig.workflowsPoolThreads(),
+                nettyConfig.workflowsMaxPooledResponseBuffers());
+        final var queryExecutor = WorkflowExecutor.create(
+                "queries",
+                nettyConfig.workflowsExecutorMode(),
+                nettyConfig.workflowsMaxInFlightQueries(),
+                nettyConfig.workflowsPoolThreads(),
+                nettyConfig.workflowsMaxPooledResponseBuffers());
+        executors = List.of(transactionExecutor, queryExecutor);
+        logger.info("Running gRPC workflows in {} mode", nettyConfig.workflowsExecutorMode());
 
         // Convert the various RPC service definitions into transaction or query endpoints using the GrpcServiceBuilder.
         services = servicesRegistry.registrations().stream()
                 .map(ServicesRegistry.Registration::service)
                 .flatMap(s -> s.rpcDefinitions().stream())
                 .map(d -> {
-                    final var builder = new GrpcServiceBuilder(d.basePath(), ingestWorkflow, queryWorkflow);
+                    final var builder = new GrpcServiceBuilder(
+                            d.basePath(), ingestWorkflow, queryWorkflow, transactionExecutor, queryExecutor);
                     d.methods().forEach(m -> {
                         if (Transaction.class.equals(m.requestType())) {
                             builder.transaction(m.path());
@@ -165,6 +216,9 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
                 .getConfigData(HederaConfig.class)
                 .activeProfile();
 
+        // The executors of previous runs have been closed, so each run gets new ones
+        createServices(nettyConfig);
+
         // Start the plain-port server
         logger.info("Starting gRPC server on port {}", port);
         var nettyBuilder = builderFor(port, nettyConfig, profile);
@@ -204,6 +258,10 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
         } else {
             logger.info("Cannot shut down an already stopped gRPC server");
         }
+
+        // No more calls can arrive once the servers are down
+        executors.forEach(WorkflowExecutor::close);
+        executors = List.of();
     }
 
     /**
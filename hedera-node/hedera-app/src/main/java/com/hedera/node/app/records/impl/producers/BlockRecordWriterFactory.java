@@ -23,7 +23,7 @@ package com.hedera.node.app.records.impl.producers;
  * for example, if the filesystem is full or the network destination is unavailable. Callers must be prepared to deal
  * with these failures.
  */
-public interface BlockRecordWriterFactory {
+public interface BlockRecordWriterFactory extends AutoCloseable {
     /**
      * Create a new {@link BlockRecordWriter} instance.
      *
@@ -31,4 +31,13 @@ public interface BlockRecordWriterFactory {
      * @throws RuntimeException if creation fails
      */
     BlockRecordWriter create() throws RuntimeException;
+
+    /**
+     * Releases the resources shared by the writers of this factory, e.g. background threads. Must only be called
+     * once all writers are closed.
+     */
+    @Override
+    default void close() {
+        // Nothing to release by default
+    }
 }
@@ -281,6 +281,7 @@ public final class StreamFileProducerConcurrent implements BlockRecordStreamProd
                 lastRecordHashingResultNMinus3 = null;
                 currentRecordFileWriter = null;
             }
+            writerFactory.close();
         } finally {
             lock.unlock(); // Always unlock.
         }
@@ -110,6 +110,7 @@ public final class StreamFileProducerSingleThreaded implements BlockRecordStream
     @Override
     public void close() {
         closeWriter(asHashObject(getRunningHash()), currentBlockNumber);
+        writerFactory.close();
 
         runningHash = null;
         runningHashNMinus1 = null;
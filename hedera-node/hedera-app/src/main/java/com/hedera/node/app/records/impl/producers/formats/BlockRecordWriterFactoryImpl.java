@@ -21,12 +21,16 @@ import static java.util.Objects.requireNonNull;
 import com.hedera.node.app.records.impl.producers.BlockRecordWriter;
 import com.hedera.node.app.records.impl.producers.BlockRecordWriterFactory;
 import com.hedera.node.app.records.impl.producers.formats.v6.BlockRecordWriterV6;
+import com.hedera.node.app.records.impl.producers.formats.v6.RecordFilePipeline;
 import com.hedera.node.app.spi.info.SelfNodeInfo;
 import com.hedera.node.config.ConfigProvider;
 import com.hedera.node.config.data.BlockRecordStreamConfig;
 import com.swirlds.common.stream.Signer;
+import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.nio.file.FileSystem;
+import java.util.concurrent.ForkJoinPool;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -36,23 +40,33 @@ public class BlockRecordWriterFactoryImpl implements BlockRecordWriterFactory {
     private final Signer signer;
     private final SelfNodeInfo nodeInfo;
     private final FileSystem fileSystem;
+    private final Metrics metrics;
+    /** The thread record files are written on, or {@code null} until the first pipelined writer is created */
+    @Nullable
+    private ForkJoinPool ioPool;
+    /** The background stages shared by all record file writers, or {@code null} until first needed */
+    @Nullable
+    private RecordFilePipeline pipeline;
 
     /**
      *
      * @param configProvider
      * @param fileSystem the file system to use, needed for testing to be able to use a non-standard file
      *                   system. If null default is used.
+     * @param metrics the metrics to register the record file pipeline metrics with
      */
     @Inject
     public BlockRecordWriterFactoryImpl(
             @NonNull final ConfigProvider configProvider,
             @NonNull final SelfNodeInfo nodeInfo,
             @NonNull final Signer signer,
-            @NonNull final FileSystem fileSystem) {
+            @NonNull final FileSystem fileSystem,
+            @NonNull final Metrics metrics) {
         this.configProvider = requireNonNull(configProvider);
         this.fileSystem = requireNonNull(fileSystem);
         this.nodeInfo = requireNonNull(nodeInfo);
         this.signer = requireNonNull(signer);
+        this.metrics = requireNonNull(metrics);
     }
 
     @Override
@@ -68,9 +82,38 @@ public class BlockRecordWriterFactoryImpl implements BlockRecordWriterFactory {
                     configProvider.getConfiguration().getConfigData(BlockRecordStreamConfig.class),
                     nodeInfo,
                     signer,
-                    fileSystem);
+                    fileSystem,
+                    recordStreamConfig.pipelinedWrites() ? pipeline() : null);
             case 7 -> throw new IllegalArgumentException("Record file version 7 is not yet supported");
             default -> throw new IllegalArgumentException("Unknown record file version: " + recordFileVersion);
         };
     }
+
+    /**
+     * Stops the thread record files are written on, if it was started. Files that are still being written are
+     * completed first. Writers created afterward start a new thread if needed.
+     */
+    @Override
+    public synchronized void close() {
+        if (ioPool != null) {
+            ioPool.shutdown();
+            ioPool = null;
+            pipeline = null;
+        }
+    }
+
+    @NonNull
+    private synchronized RecordFilePipeline pipeline() {
+        if (pipeline == null) {
+            // Chunks are compressed on the common pool, and written to files on a single dedicated thread, so slow
+            // disks never hold up compression threads
+            ioPool = new ForkJoinPool(
+                    1,
+                    ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+                    Thread.getDefaultUncaughtExceptionHandler(),
+                    true);
+            pipeline = new RecordFilePipeline(ForkJoinPool.commonPool(), ioPool, metrics);
+        }
+        return pipeline;
+    }
 }
@@ -47,6 +47,7 @@ import com.swirlds.common.crypto.DigestType;
 import com.swirlds.common.crypto.HashingOutputStream;
 import com.swirlds.common.stream.Signer;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -90,6 +91,13 @@ public final class BlockRecordWriterV6 implements BlockRecordWriter {
     private final int maxSideCarSizeInBytes;
     /** Whether to compress the record file and sidecar files. */
     private final boolean compressFiles;
+    /** The background stages to write the record file with, or null to write it on the calling thread */
+    @Nullable
+    private final RecordFilePipeline pipeline;
+    /** The size of the chunks the record file is written in, when pipelined */
+    private final int pipelineChunkSize;
+    /** The maximum number of chunks waiting for the background stages, when pipelined */
+    private final int pipelineMaxChunksInFlight;
     /** The node-specific path to the directory where record files are written */
     private final Path nodeScopedRecordDir;
     /**
@@ -137,7 +145,15 @@ public final class BlockRecordWriterV6 implements BlockRecordWriter {
     private GZIPOutputStream gzipOutputStream = null;
     /** HashingOutputStream for hashing the file contents, wraps {@link #gzipOutputStream} or {@link #fileOutputStream} */
     private HashingOutputStream hashingOutputStream;
-    /** The buffered output stream we are writing to, wraps {@link #hashingOutputStream} */
+    /**
+     * The pipelined stream we are writing to instead of {@link #gzipOutputStream} and {@link #hashingOutputStream},
+     * if writing the record file is pipelined. Wraps {@link #fileOutputStream}
+     */
+    private PipelinedRecordFileOutputStream pipelinedOutputStream = null;
+    /**
+     * The buffered output stream we are writing to, wraps {@link #hashingOutputStream} or
+     * {@link #pipelinedOutputStream}
+     */
     private BufferedOutputStream bufferedOutputStream;
     /** WritableStreamingData we are writing to, wraps {@link #bufferedOutputStream} */
     private WritableStreamingData outputStream;
@@ -159,6 +175,28 @@ public final class BlockRecordWriterV6 implements BlockRecordWriter {
             @NonNull final NodeInfo nodeInfo,
             @NonNull final Signer signer,
             @NonNull final FileSystem fileSystem) {
+        this(config, nodeInfo, signer, fileSystem, null);
+    }
+
+    /**
+     * Creates a new incremental record file writer on a new file, which compresses, hashes and writes the record file
+     * with the given pipeline if {@link BlockRecordStreamConfig#pipelinedWrites()} is enabled.
+     *
+     * @param config The configuration to be used for writing this block. Since this cannot change in the middle of
+     *               writing a file, we just need the config, not a config provider.
+     * @param nodeInfo The node info for the node writing this file. This is used to get the node-specific directory
+     *                 where the file will be written.
+     * @param signer The signer to use to sign the file bytes to produce the signature file
+     * @param fileSystem The file system to use to write the file
+     * @param pipeline The background stages to write the record file with, or null to always write it on the calling
+     *                 thread
+     */
+    public BlockRecordWriterV6(
+            @NonNull final BlockRecordStreamConfig config,
+            @NonNull final NodeInfo nodeInfo,
+            @NonNull final Signer signer,
+            @NonNull final FileSystem fileSystem,
+            @Nullable final RecordFilePipeline pipeline) {
 
         if (config.recordFileVersion() != 6) {
             logger.fatal(
@@ -177,6 +215,9 @@ public final class BlockRecordWriterV6 implements BlockRecordWriter {
         this.state = State.UNINITIALIZED;
         this.signer = requireNonNull(signer);
         this.compressFiles = config.compressFilesOnCreation();
+        this.pipeline = config.pipelinedWrites() ? pipeline : null;
+        this.pipelineChunkSize = config.pipelineChunkSizeKb() * 1024;
+        this.pipelineMaxChunksInFlight = config.pipelineMaxChunksInFlight();
         this.maxSideCarSizeInBytes = config.sidecarMaxSizeMb() * 1024 * 1024;
 
         // Compute directories for record and sidecar files
@@ -222,13 +263,22 @@ public final class BlockRecordWriterV6 implements BlockRecordWriter {
         this.recordFilePath = getRecordFilePath(startConsensusTime);
         try {
             fileOutputStream = Files.newOutputStream(recordFilePath);
-            if (compressFiles) {
+            if (pipeline != null) {
+                // Compression, hashing and writing to the file all happen in the background
+                pipelinedOutputStream = pipeline.open(
+                        fileOutputStream,
+                        compressFiles,
+                        pipelineChunkSize,
+                        pipelineMaxChunksInFlight,
+                        createWholeFileMessageDigest());
+            } else if (compressFiles) {
                 gzipOutputStream = new GZIPOutputStream(fileOutputStream);
                 hashingOutputStream = new HashingOutputStream(createWholeFileMessageDigest(), gzipOutputStream);
             } else {
                 hashingOutputStream = new HashingOutputStream(createWholeFileMessageDigest(), fileOutputStream);
             }
-            bufferedOutputStream = new BufferedOutputStream(hashingOutputStream);
+            bufferedOutputStream = new BufferedOutputStream(
+                    pipelinedOutputStream != null ? pipelinedOutputStream : hashingOutputStream);
             outputStream = new WritableStreamingData(bufferedOutputStream);
 
             // Write the header
@@ -267,25 +317,37 @@ public final class BlockRecordWriterV6 implements BlockRecordWriter {
         }
 
         try {
-            // There are a lot of flushes and closes here, but unfortunately it is not guaranteed that a OutputStream
-            // will propagate though a chain of streams. So we have to flush and close each one individually.
-            bufferedOutputStream.flush();
-            if (gzipOutputStream != null) gzipOutputStream.flush();
-            fileOutputStream.flush();
-
-            writeFooter(endRunningHash);
-
-            outputStream.close();
-            bufferedOutputStream.close();
-            if (gzipOutputStream != null) gzipOutputStream.close();
-            fileOutputStream.close();
+            final byte[] fileHash;
+            if (pipelinedOutputStream != null) {
+                // The file stream is only used by the pipeline, closing the pipeline waits for all chunks to be
+                // written, and then closes the file
+                writeFooter(endRunningHash);
+                outputStream.close();
+                bufferedOutputStream.close();
+                fileHash = pipelinedOutputStream.digest();
+            } else {
+                // There are a lot of flushes and closes here, but unfortunately it is not guaranteed that a
+                // OutputStream will propagate though a chain of streams. So we have to flush and close each one
+                // individually.
+                bufferedOutputStream.flush();
+                if (gzipOutputStream != null) gzipOutputStream.flush();
+                fileOutputStream.flush();
+
+                writeFooter(endRunningHash);
+
+                outputStream.close();
+                bufferedOutputStream.close();
+                if (gzipOutputStream != null) gzipOutputStream.close();
+                fileOutputStream.close();
+                fileHash = hashingOutputStream.getDigest();
+            }
 
             closeSidecarFileWriter();
 
             // write signature file, this tells the uploader that this record file set is complete
             writeSignatureFile(
                     recordFilePath,
-                    Bytes.wrap(hashingOutputStream.getDigest()),
+                    Bytes.wrap(fileHash),
                     signer,
                     true,
                     6,
@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.records.impl.producers.formats.v6;
+
+import static java.util.Objects.requireNonNull;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An {@link OutputStream} that splits a record file into fixed size chunks, compresses the chunks in parallel, and
+ * hashes and writes them to the file in order in the background. See {@link RecordFilePipeline}.
+ *
+ * <p>When compressing, every chunk is written as a separate GZip member. The concatenated members are a valid GZip
+ * file, which decompresses to exactly the bytes written to this stream. Chunk boundaries only depend on the number of
+ * bytes written, never on timing or calls to {@link #flush()}, so the same bytes always produce the same file. The
+ * digest is updated with the uncompressed bytes, the same way as when writing without a pipeline.
+ *
+ * <p>The methods of this stream must be called on a single thread. Failures of the background stages are thrown by
+ * the next {@code write()} or by {@link #close()}.
+ */
+final class PipelinedRecordFileOutputStream extends OutputStream {
+    private final OutputStream out;
+    private final boolean compress;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+    private final MessageDigest digest;
+    private final Executor compressionExecutor;
+    private final Executor ioExecutor;
+    private final RecordFilePipeline pipeline;
+
+    /** Chunks that have been written, to be reused. Filled on the I/O executor */
+    private final Queue<byte[]> freeChunks = new ConcurrentLinkedQueue<>();
+    /** Completions of the chunks that have been submitted but may not have been written yet, oldest first */
+    private final ArrayDeque<CompletableFuture<Void>> inFlight = new ArrayDeque<>();
+    /** The completion of the last submitted chunk, which completes after all earlier chunks */
+    private CompletableFuture<Void> lastWrite = CompletableFuture.completedFuture(null);
+    /** The chunk being filled, null until the first byte is written to it */
+    @Nullable
+    private byte[] chunk;
+    /** The number of bytes in {@link #chunk} */
+    private int chunkLength;
+
+    private boolean closed;
+
+    PipelinedRecordFileOutputStream(
+            @NonNull final OutputStream out,
+            final boolean compress,
+            final int chunkSize,
+            final int maxChunksInFlight,
+            @NonNull final MessageDigest digest,
+            @NonNull final Executor compressionExecutor,
+            @NonNull final Executor ioExecutor,
+            @NonNull final RecordFilePipeline pipeline) {
+        if (chunkSize <= 0 || maxChunksInFlight <= 0) {
+            throw new IllegalArgumentException("Chunk size and the number of chunks in flight must be positive");
+        }
+        this.out = requireNonNull(out);
+        this.compress = compress;
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = maxChunksInFlight;
+        this.digest = requireNonNull(digest);
+        this.compressionExecutor = requireNonNull(compressionExecutor);
+        this.ioExecutor = requireNonNull(ioExecutor);
+        this.pipeline = requireNonNull(pipeline);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        ensureOpen();
+        if (chunk == null) {
+            chunk = nextChunk();
+        }
+        chunk[chunkLength++] = (byte) b;
+        if (chunkLength == chunkSize) {
+            submitChunk();
+        }
+    }
+
+    @Override
+    public void write(@NonNull final byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        requireNonNull(b);
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            if (chunk == null) {
+                chunk = nextChunk();
+            }
+            final int n = Math.min(len, chunkSize - chunkLength);
+            System.arraycopy(b, off, chunk, chunkLength, n);
+            chunkLength += n;
+            off += n;
+            len -= n;
+            if (chunkLength == chunkSize) {
+                submitChunk();
+            }
+        }
+    }
+
+    /**
+     * Does nothing. A partially filled chunk is only submitted once it is full or the stream is closed, so that chunk
+     * boundaries don't depend on when the stream is flushed.
+     */
+    @Override
+    public void flush() {
+        // Intentionally empty
+    }
+
+    /**
+     * Submits the last chunk, and waits for all chunks to be written and the file to be closed on the I/O executor.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (chunkLength > 0) {
+                submitChunk();
+            }
+        } finally {
+            // The file is closed after the last write, even if it failed, so it isn't closed while it is written
+            final CompletableFuture<Void> fileClosed = lastWrite.handleAsync(
+                    (ignore, error) -> {
+                        try {
+                            out.close();
+                        } catch (final IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return null;
+                    },
+                    ioExecutor);
+            fileClosed.handle((ignore, error) -> null).join();
+            // A failed write is thrown rather than the failure to close the file it may have caused
+            await(lastWrite);
+            await(fileClosed);
+        }
+    }
+
+    /**
+     * Gets the digest of all uncompressed bytes written to this stream. Must only be called after {@link #close()}.
+     *
+     * @return the digest
+     */
+    @NonNull
+    byte[] digest() {
+        if (!closed) {
+            throw new IllegalStateException("Cannot get the digest of a record file that is still being written");
+        }
+        return digest.digest();
+    }
+
+    private void submitChunk() throws IOException {
+        final byte[] bytes = requireNonNull(chunk);
+        final int length = chunkLength;
+        chunk = null;
+        chunkLength = 0;
+
+        final CompletableFuture<byte[]> compressed = compress
+                ? CompletableFuture.supplyAsync(() -> gzipMember(bytes, length), compressionExecutor)
+                : CompletableFuture.completedFuture(null);
+        // Chaining on the last write keeps chunks in order, no matter which compression finishes first
+        lastWrite = lastWrite.thenCombineAsync(
+                compressed,
+                (ignore, gzipped) -> {
+                    digest.update(bytes, 0, length);
+                    try {
+                        if (gzipped == null) {
+                            out.write(bytes, 0, length);
+                        } else {
+                            out.write(gzipped);
+                        }
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    freeChunks.add(bytes);
+                    return null;
+                },
+                ioExecutor);
+        inFlight.add(lastWrite);
+
+        // Chunks complete in order, so only the oldest ones may be done. Failures are thrown from here
+        while (!inFlight.isEmpty() && inFlight.peek().isDone()) {
+            await(inFlight.poll());
+        }
+        if (inFlight.size() > maxChunksInFlight) {
+            final long start = System.nanoTime();
+            await(inFlight.poll());
+            pipeline.stalled(System.nanoTime() - start);
+        }
+    }
+
+    @NonNull
+    private byte[] nextChunk() {
+        final var free = freeChunks.poll();
+        return free != null ? free : new byte[chunkSize];
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Record file stream is closed");
+        }
+    }
+
+    private static void await(@NonNull final CompletableFuture<Void> stage) throws IOException {
+        try {
+            stage.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @NonNull
+    private static byte[] gzipMember(@NonNull final byte[] bytes, final int length) {
+        final var gzipped = new ByteArrayOutputStream(Math.max(length / 4, 64));
+        try (final var gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(bytes, 0, length);
+        } catch (final IOException e) {
+            // Writing to a byte array never fails
+            throw new UncheckedIOException(e);
+        }
+        return gzipped.toByteArray();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.records.impl.producers.formats.v6;
+
+import static java.util.Objects.requireNonNull;
+
+import com.swirlds.metrics.api.Counter;
+import com.swirlds.metrics.api.Metrics;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The background stages of pipelined record file writing, shared by all {@link BlockRecordWriterV6}s of a node. The
+ * thread writing record stream items only serializes them into chunks. Chunks are compressed in parallel on the
+ * compression executor, and then hashed and written to the file in order on the I/O executor.
+ *
+ * <p>The number of chunks of a record file waiting for the background stages is bounded. When the bound is reached,
+ * the writing thread waits for the oldest chunk to be written, which is counted by the stall metrics.
+ */
+public final class RecordFilePipeline {
+    private final Executor compressionExecutor;
+    private final Executor ioExecutor;
+    private final Counter stalls;
+    private final Counter stallMillis;
+
+    /**
+     * Creates the stages of the pipeline.
+     *
+     * @param compressionExecutor the executor to compress chunks on, should have several threads
+     * @param ioExecutor the executor to hash chunks and write them to files on
+     * @param metrics the metrics to register the stall metrics with
+     */
+    public RecordFilePipeline(
+            @NonNull final Executor compressionExecutor,
+            @NonNull final Executor ioExecutor,
+            @NonNull final Metrics metrics) {
+        this.compressionExecutor = requireNonNull(compressionExecutor);
+        this.ioExecutor = requireNonNull(ioExecutor);
+        requireNonNull(metrics);
+        this.stalls = metrics.getOrCreate(new Counter.Config("app", "recordFileWriteStalls")
+                .withDescription("The number of times writing record stream items waited for the record file "
+                        + "compression and I/O stages to catch up"));
+        this.stallMillis = metrics.getOrCreate(new Counter.Config("app", "recordFileWriteStallTime")
+                .withDescription("The total time writing record stream items waited for the record file "
+                        + "compression and I/O stages to catch up")
+                .withUnit("ms"));
+    }
+
+    /**
+     * Opens a new pipelined stream to write a single record file with.
+     *
+     * @param out the stream of the record file, only written to and closed on the I/O executor
+     * @param compress whether to compress chunks into GZip members
+     * @param chunkSize the size of a chunk in bytes
+     * @param maxChunksInFlight the maximum number of chunks waiting for the background stages
+     * @param digest the digest updated with the uncompressed bytes of the file, in order
+     * @return the new stream
+     */
+    @NonNull
+    PipelinedRecordFileOutputStream open(
+            @NonNull final OutputStream out,
+            final boolean compress,
+            final int chunkSize,
+            final int maxChunksInFlight,
+            @NonNull final MessageDigest digest) {
+        return new PipelinedRecordFileOutputStream(
+                out, compress, chunkSize, maxChunksInFlight, digest, compressionExecutor, ioExecutor, this);
+    }
+
+    /** Records that writing waited for the background stages for the given time */
+    void stalled(final long nanos) {
+        stalls.increment();
+        stallMillis.add(TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+}
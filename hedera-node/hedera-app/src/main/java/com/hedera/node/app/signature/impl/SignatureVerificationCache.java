@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.signature.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.data.SigsConfig;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.common.crypto.DigestType;
+import com.swirlds.common.crypto.SignatureType;
+import com.swirlds.metrics.api.Counter;
+import com.swirlds.metrics.api.Metrics;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * A bounded cache of successful signature verifications. Scheduled transactions, retried submissions and busy payers
+ * make nodes verify the same signature of the same key over the same bytes again and again. A hit in this cache
+ * replaces such a verification.
+ *
+ * <p>A verification is identified by a SHA-384 digest of the signature type, the public key, the signature and a
+ * SHA-384 hash of the signed bytes. Finding a digest in the cache is therefore as trustworthy as the verification it
+ * replaces. Only successful verifications are cached, so a failed verification is always repeated.
+ *
+ * <p>The cache is a direct-mapped table of digests in a single {@code long} array, so adding and looking up entries
+ * doesn't allocate. A newer entry replaces an older entry in the same slot. Every slot is guarded by a version, like a
+ * seqlock: writers make the version odd while they write a digest, and readers that see an odd or changed version
+ * treat the lookup as a miss. A miss is always safe, it only means the signature is verified again.
+ *
+ * <p>Hits and misses are reported as cumulative counters.
+ */
+@Singleton
+public final class SignatureVerificationCache {
+    private static final String CATEGORY = "app";
+
+    /** The number of longs in a SHA-384 digest */
+    private static final int DIGEST_LONGS = 6;
+
+    /** The number of longs in a slot, the version followed by the digest */
+    private static final int SLOT_LONGS = DIGEST_LONGS + 1;
+
+    /** The maximum number of verifications to cache */
+    private static final int MAX_SIZE = 1 << 24;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle BYTES_AS_LONGS =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final ThreadLocal<MessageDigest> DIGESTS =
+            ThreadLocal.withInitial(SignatureVerificationCache::newDigest);
+
+    /** The slots of the cache, or {@code null} if the cache is disabled */
+    private final long[] slots;
+
+    /** The number of slots minus one, the number of slots is a power of two */
+    private final int mask;
+
+    /** Counts the lookups found in the cache */
+    private final Counter hits;
+    /** Counts the lookups not found in the cache */
+    private final Counter misses;
+
+    /**
+     * Create a new instance, configured by {@link SigsConfig}.
+     *
+     * @param configProvider the configuration provider
+     * @param metrics the metrics to report hits and misses to
+     */
+    @Inject
+    public SignatureVerificationCache(@NonNull final ConfigProvider configProvider, @NonNull final Metrics metrics) {
+        this(configProvider.getConfiguration().getConfigData(SigsConfig.class), metrics);
+    }
+
+    private SignatureVerificationCache(@NonNull final SigsConfig sigsConfig, @NonNull final Metrics metrics) {
+        this(sigsConfig.verificationCacheEnabled() ? sigsConfig.verificationCacheSize() : 0, metrics);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param size the maximum number of verifications to cache, rounded up to a power of two, or 0 to disable the cache
+     * @param metrics the metrics to report hits and misses to
+     */
+    public SignatureVerificationCache(final int size, @NonNull final Metrics metrics) {
+        if (size < 0 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("The size must be between 0 and " + MAX_SIZE);
+        }
+        requireNonNull(metrics);
+        if (size == 0) {
+            slots = null;
+            mask = 0;
+        } else {
+            final int slotCount = size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+            slots = new long[slotCount * SLOT_LONGS];
+            mask = slotCount - 1;
+        }
+
+        hits = metrics.getOrCreate(new Counter.Config(CATEGORY, "sigVerificationCacheHits")
+                .withDescription("Number of signature verifications served by the verification cache"));
+        misses = metrics.getOrCreate(new Counter.Config(CATEGORY, "sigVerificationCacheMisses")
+                .withDescription("Number of signature verifications not found in the verification cache"));
+    }
+
+    /**
+     * Gets whether the cache is enabled. If it is not, nothing is ever found in the cache.
+     *
+     * @return {@code true} if the cache is enabled
+     */
+    public boolean isEnabled() {
+        return slots != null;
+    }
+
+    /**
+     * Computes the hash of the signed bytes. The hash is computed once for all signatures over the same bytes, and
+     * passed to {@link #keyOf(Bytes, SignatureType, Bytes, Bytes)}.
+     *
+     * @param signedBytes the signed bytes
+     * @return the hash of the signed bytes
+     */
+    @NonNull
+    public Bytes hashOf(@NonNull final Bytes signedBytes) {
+        final var digest = DIGESTS.get();
+        signedBytes.writeTo(digest);
+        return Bytes.wrap(digest.digest());
+    }
+
+    /**
+     * Computes the cache key of a verification.
+     *
+     * @param signedBytesHash the hash of the signed bytes, see {@link #hashOf(Bytes)}
+     * @param signatureType the type of the signature
+     * @param keyBytes the public key
+     * @param signature the signature
+     * @return the cache key
+     */
+    @NonNull
+    public byte[] keyOf(
+            @NonNull final Bytes signedBytesHash,
+            @NonNull final SignatureType signatureType,
+            @NonNull final Bytes keyBytes,
+            @NonNull final Bytes signature) {
+        final var digest = DIGESTS.get();
+        digest.update((byte) signatureType.ordinal());
+        // lengths are part of the digest, so different splits of the same bytes can't collide
+        updateLength(digest, (int) keyBytes.length());
+        keyBytes.writeTo(digest);
+        updateLength(digest, (int) signature.length());
+        signature.writeTo(digest);
+        signedBytesHash.writeTo(digest);
+        return digest.digest();
+    }
+
+    /**
+     * Gets whether the verification with the given key was successful before. Counts a hit or a miss.
+     *
+     * @param key the cache key, see {@link #keyOf(Bytes, SignatureType, Bytes, Bytes)}
+     * @return {@code true} if the verification is known to be successful
+     */
+    public boolean contains(@NonNull final byte[] key) {
+        if (slots == null) {
+            return false;
+        }
+        final int base = slotOf(key) * SLOT_LONGS;
+        final long version = (long) SLOTS.getAcquire(slots, base);
+        boolean equal = (version & 1) == 0;
+        for (int i = 0; i < DIGEST_LONGS && equal; i++) {
+            equal = (long) SLOTS.getOpaque(slots, base + 1 + i) == (long) BYTES_AS_LONGS.get(key, i * Long.BYTES);
+        }
+        // the digest must be read before the version is checked again
+        VarHandle.loadLoadFence();
+        final boolean hit = equal && (long) SLOTS.getOpaque(slots, base) == version;
+        if (hit) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return hit;
+    }
+
+    /**
+     * Records a successful verification. Must never be called for a failed verification.
+     *
+     * @param key the cache key, see {@link #keyOf(Bytes, SignatureType, Bytes, Bytes)}
+     */
+    public void add(@NonNull final byte[] key) {
+        if (slots == null) {
+            return;
+        }
+        final int base = slotOf(key) * SLOT_LONGS;
+        final long version = (long) SLOTS.getVolatile(slots, base);
+        if ((version & 1) != 0 || !SLOTS.compareAndSet(slots, base, version, version + 1)) {
+            // another thread is writing this slot, skipping a write just costs a future verification
+            return;
+        }
+        for (int i = 0; i < DIGEST_LONGS; i++) {
+            SLOTS.setOpaque(slots, base + 1 + i, (long) BYTES_AS_LONGS.get(key, i * Long.BYTES));
+        }
+        SLOTS.setRelease(slots, base, version + 2);
+    }
+
+    private int slotOf(@NonNull final byte[] key) {
+        // the key is a cryptographic digest, any part of it is uniformly distributed
+        return (int) (long) BYTES_AS_LONGS.get(key, 0) & mask;
+    }
+
+    private static void updateLength(@NonNull final MessageDigest digest, final int length) {
+        digest.update((byte) (length >>> 24));
+        digest.update((byte) (length >>> 16));
+        digest.update((byte) (length >>> 8));
+        digest.update((byte) length);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DigestType.SHA_384.algorithmName());
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-384 is not available", e);
+        }
+    }
+}
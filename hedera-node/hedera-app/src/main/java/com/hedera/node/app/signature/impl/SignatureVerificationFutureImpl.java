@@ -51,6 +51,12 @@ public final class SignatureVerificationFutureImpl implements SignatureVerificat
      * signature check is complete,
      */
     private final TransactionSignature txSig;
+    /**
+     * Optional: the cache to record a successful verification in, and the cache key of the verification.
+     */
+    private final SignatureVerificationCache verificationCache;
+
+    private final byte[] cacheKey;
     /**
      * Whether *this* future has been canceled. Used for properly implementing {@link Future} semantics.
      */
@@ -66,9 +72,30 @@ public final class SignatureVerificationFutureImpl implements SignatureVerificat
      */
     public SignatureVerificationFutureImpl(
             @NonNull final Key key, @Nullable final Bytes evmAlias, @NonNull final TransactionSignature txSig) {
+        this(key, evmAlias, txSig, null, null);
+    }
+
+    /**
+     * Create a new instance that records a successful verification in the given cache.
+     *
+     * @param key The key associated with this sig check. Cannot be null.
+     * @param evmAlias The evm address alias, if any (always set if the key is an ECDSA_SECP256K1 key)
+     * @param txSig The {@link TransactionSignature}s, from which the pass/fail status of the
+     * {@link SignatureVerification} is derived. This list must contain at least one element.
+     * @param verificationCache The cache to record a successful verification in, if any
+     * @param cacheKey The cache key of the verification, if any
+     */
+    public SignatureVerificationFutureImpl(
+            @NonNull final Key key,
+            @Nullable final Bytes evmAlias,
+            @NonNull final TransactionSignature txSig,
+            @Nullable final SignatureVerificationCache verificationCache,
+            @Nullable final byte[] cacheKey) {
         this.key = requireNonNull(key);
         this.evmAlias = evmAlias;
         this.txSig = requireNonNull(txSig);
+        this.verificationCache = verificationCache;
+        this.cacheKey = cacheKey;
     }
 
     /** {@inheritDoc} */
@@ -155,7 +182,7 @@ public final class SignatureVerificationFutureImpl implements SignatureVerificat
     @Override
     public SignatureVerification get() throws InterruptedException, ExecutionException {
         txSig.waitForFuture().get(); // Wait for the future to be assigned and completed
-        return new SignatureVerificationImpl(key, evmAlias, txSig.getSignatureStatus() == VALID);
+        return verification();
     }
 
     /**
@@ -185,6 +212,19 @@ public final class SignatureVerificationFutureImpl implements SignatureVerificat
 
         // Wait for the future to complete
         txSig.getFuture().get(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
-        return new SignatureVerificationImpl(key, evmAlias, txSig.getSignatureStatus() == VALID);
+        return verification();
+    }
+
+    /**
+     * Creates the {@link SignatureVerification} of the completed check, and records a successful verification in the
+     * cache.
+     */
+    @NonNull
+    private SignatureVerification verification() {
+        final var passed = txSig.getSignatureStatus() == VALID;
+        if (passed && verificationCache != null && cacheKey != null) {
+            verificationCache.add(cacheKey);
+        }
+        return new SignatureVerificationImpl(key, evmAlias, passed);
     }
 }
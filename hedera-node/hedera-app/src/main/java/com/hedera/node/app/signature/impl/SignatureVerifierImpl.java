@@ -29,6 +29,8 @@ import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.common.crypto.Cryptography;
 import com.swirlds.common.crypto.SignatureType;
 import com.swirlds.common.crypto.TransactionSignature;
+import com.swirlds.common.crypto.VerificationStatus;
+import com.swirlds.common.threading.futures.StandardFuture;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -39,7 +41,8 @@ import javax.inject.Singleton;
 
 /**
  * A concrete implementation of {@link SignatureVerifier} that uses the {@link Cryptography} engine to verify the
- * signatures.
+ * signatures. Signatures found in the {@link SignatureVerificationCache} are not sent to the engine, they are known to
+ * be valid.
  */
 @Singleton
 public final class SignatureVerifierImpl implements SignatureVerifier {
@@ -47,10 +50,15 @@ public final class SignatureVerifierImpl implements SignatureVerifier {
     /** The {@link Cryptography} engine to use for signature verification. */
     private final Cryptography cryptoEngine;
 
-    /** Create a new instance with the given {@link Cryptography} engine. */
+    /** The cache of successful verifications. */
+    private final SignatureVerificationCache verificationCache;
+
+    /** Create a new instance with the given {@link Cryptography} engine and verification cache. */
     @Inject
-    public SignatureVerifierImpl(@NonNull final Cryptography cryptoEngine) {
+    public SignatureVerifierImpl(
+            @NonNull final Cryptography cryptoEngine, @NonNull final SignatureVerificationCache verificationCache) {
         this.cryptoEngine = requireNonNull(cryptoEngine);
+        this.verificationCache = requireNonNull(verificationCache);
     }
 
     @NonNull
@@ -74,6 +82,10 @@ public final class SignatureVerifierImpl implements SignatureVerifier {
             ecPreparer = createPreparerForEC(signedBytes);
         }
 
+        // All signatures are over the same bytes, so they are hashed once for all cache keys
+        final var signedBytesHash = verificationCache.isEnabled() ? verificationCache.hashOf(signedBytes) : null;
+        StandardFuture<Void> cachedFuture = null;
+
         // Gather each TransactionSignature to send to the platform and the resulting SignatureVerificationFutures
         final var platformSigs = new ArrayList<TransactionSignature>(sigs.size());
         final var futures = new HashMap<Key, SignatureVerificationFuture>(sigs.size());
@@ -93,13 +105,38 @@ public final class SignatureVerifierImpl implements SignatureVerifier {
             preparer.addSignature(sigPair.signature());
             preparer.addKey(sigPair.keyBytes());
             final var txSig = preparer.prepareTransactionSignature();
+
+            byte[] cacheKey = null;
+            if (signedBytesHash != null) {
+                cacheKey = verificationCache.keyOf(
+                        signedBytesHash, preparer.signatureType, sigPair.keyBytes(), sigPair.signature());
+                if (verificationCache.contains(cacheKey)) {
+                    // Verified before, the signature is valid without asking the crypto engine
+                    if (cachedFuture == null) {
+                        cachedFuture = new StandardFuture<>();
+                        cachedFuture.complete(null);
+                    }
+                    txSig.setSignatureStatus(VerificationStatus.VALID);
+                    txSig.setFuture(cachedFuture);
+                    futures.put(
+                            sigPair.key(),
+                            new SignatureVerificationFutureImpl(sigPair.key(), sigPair.evmAlias(), txSig));
+                    continue;
+                }
+            }
+
             platformSigs.add(txSig);
-            futures.put(sigPair.key(), new SignatureVerificationFutureImpl(sigPair.key(), sigPair.evmAlias(), txSig));
+            futures.put(
+                    sigPair.key(),
+                    new SignatureVerificationFutureImpl(
+                            sigPair.key(), sigPair.evmAlias(), txSig, verificationCache, cacheKey));
         }
 
         // Submit to the crypto engine. We do it as a single list of objects to try to cut down on temporary object
         // creation. If you call the platform for a single TransactionSignature at a time, it wraps each in a List.
-        cryptoEngine.verifyAsync(platformSigs);
+        if (!platformSigs.isEmpty()) {
+            cryptoEngine.verifyAsync(platformSigs);
+        }
         return futures;
     }
 
@@ -34,6 +34,7 @@ import com.hedera.node.app.spi.state.WritableSingletonState;
 import com.hedera.node.app.spi.state.WritableSingletonStateBase;
 import com.hedera.node.app.spi.state.WritableStates;
 import com.hedera.node.app.state.HederaState;
+import com.hedera.node.app.state.merkle.disk.OnDiskReadCache;
 import com.hedera.node.app.state.merkle.disk.OnDiskReadableKVState;
 import com.hedera.node.app.state.merkle.disk.OnDiskWritableKVState;
 import com.hedera.node.app.state.merkle.memory.InMemoryReadableKVState;
@@ -51,6 +52,7 @@ import com.swirlds.common.merkle.MerkleNode;
 import com.swirlds.common.merkle.impl.PartialNaryMerkleInternal;
 import com.swirlds.common.utility.Labeled;
 import com.swirlds.merkle.map.MerkleMap;
+import com.swirlds.metrics.api.Metrics;
 import com.swirlds.platform.state.PlatformState;
 import com.swirlds.platform.system.InitTrigger;
 import com.swirlds.platform.system.Platform;
@@ -63,6 +65,7 @@ import com.swirlds.platform.system.events.Event;
 import com.swirlds.platform.system.state.notifications.NewRecoveredStateListener;
 import com.swirlds.virtualmap.VirtualMap;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -144,6 +147,18 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
      */
     private final Map<String, MerkleWritableStates> writableStatesMap = new HashMap<>();
 
+    /**
+     * Caches of deserialized values of on-disk states that have a read cache configured, by "service-name.state-key".
+     * Every copy of this state starts with empty caches, so values are cached for at most one round.
+     */
+    private final Map<String, OnDiskReadCache<?, ?>> readCaches = new ConcurrentHashMap<>();
+
+    /**
+     * The metrics the read caches report to, set when the state is initialized and passed on to all copies.
+     */
+    @Nullable
+    private Metrics metrics;
+
     /**
      * Create a new instance. This constructor must be used for all creations of this class.
      *
@@ -181,6 +196,7 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
             final PlatformState platformState,
             final InitTrigger trigger,
             final SoftwareVersion deserializedVersion) {
+        metrics = platform.getContext().getMetrics();
         // If we are initialized for event stream recovery, we have to register an
         // extra listener to make sure we call all the required Hedera lifecycles
         if (trigger == EVENT_STREAM_RECOVERY) {
@@ -218,6 +234,7 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
 
         this.classId = from.classId;
         this.lifecycles = from.lifecycles;
+        this.metrics = from.metrics;
 
         // Copy over the metadata
         for (final var entry : from.services.entrySet()) {
@@ -453,6 +470,30 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
         return node instanceof Labeled labeled && Objects.equals(label, labeled.getLabel());
     }
 
+    /**
+     * Gets the read cache for the given on-disk state, replacing it if the virtual map was copied since the cache
+     * was created.
+     *
+     * @param md the state metadata
+     * @param virtualMap the virtual map of the state
+     * @return the read cache, or null if the state has no read cache configured
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private <K, V> OnDiskReadCache<K, V> readCacheFor(
+            @NonNull final StateMetadata<K, V> md, @NonNull final VirtualMap<?, ?> virtualMap) {
+        final var def = md.stateDefinition();
+        if (def.readCacheSize() == 0) {
+            return null;
+        }
+        return (OnDiskReadCache<K, V>) readCaches.compute(
+                md.serviceName() + "." + def.stateKey(),
+                (name, cache) -> cache != null && cache.isFor(virtualMap)
+                        ? cache
+                        : new OnDiskReadCache<>(
+                                md.serviceName(), def.stateKey(), virtualMap, def.readCacheSize(), metrics));
+    }
+
     /**
      * Base class implementation for states based on MerkleTree
      */
@@ -620,7 +661,7 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
         @NonNull
         protected ReadableKVState<?, ?> createReadableKVState(
                 @NonNull final StateMetadata md, @NonNull final VirtualMap v) {
-            return new OnDiskReadableKVState<>(md, v);
+            return new OnDiskReadableKVState<>(md, v, readCacheFor(md, v));
         }
 
         @Override
@@ -699,7 +740,7 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
         @NonNull
         protected WritableKVState<?, ?> createReadableKVState(
                 @NonNull final StateMetadata md, @NonNull final VirtualMap v) {
-            return new OnDiskWritableKVState<>(md, v);
+            return new OnDiskWritableKVState<>(md, v, readCacheFor(md, v));
         }
 
         @Override
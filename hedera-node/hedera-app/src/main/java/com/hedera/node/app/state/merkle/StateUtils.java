@@ -21,18 +21,23 @@ import static com.swirlds.common.utility.CommonUtils.getNormalisedStringBytes;
 import com.hedera.hapi.node.base.SemanticVersion;
 import com.hedera.pbj.runtime.Codec;
 import com.hedera.pbj.runtime.ParseException;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.hedera.pbj.runtime.io.stream.ReadableStreamingData;
-import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
 import com.swirlds.common.utility.NonCryptographicHashing;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 /** Utility class for working with states. */
 public final class StateUtils {
+    /** Objects up to this size are written through a reused, per-thread buffer */
+    private static final int MAX_REUSED_BUFFER_SIZE = 64 * 1024;
+
+    private static final ThreadLocal<byte[]> WRITE_BUFFERS = ThreadLocal.withInitial(() -> new byte[1024]);
+
     /** Prevent instantiation */
     private StateUtils() {}
 
@@ -50,13 +55,46 @@ public final class StateUtils {
     public static <T> int writeToStream(
             @NonNull final OutputStream out, @NonNull final Codec<T> codec, @NonNull final T object)
             throws IOException {
-        final var byteStream = new ByteArrayOutputStream();
-        codec.write(object, new WritableStreamingData(byteStream));
+        return writeToStream(out, codec, object, codec.measureRecord(object));
+    }
+
+    /**
+     * Write the {@code object} to the {@link OutputStream} using the given {@link Codec}, when the size of the
+     * serialized object is known already. The object is serialized into a buffer of exactly that size, which is
+     * reused by the current thread for small objects, and then written to the stream at once.
+     *
+     * @param out The object to write out
+     * @param codec The codec to use. MUST be compatible with the {@code object} type
+     * @param object The object to write
+     * @param size The size of the serialized object, as measured by {@link Codec#measureRecord(Object)}
+     * @return The number of bytes written to the stream.
+     * @param <T> The type of the object and associated codec.
+     * @throws IOException If the output stream throws it.
+     * @throws ClassCastException If the object or codec is not for type {@code T}.
+     */
+    public static <T> int writeToStream(
+            @NonNull final OutputStream out, @NonNull final Codec<T> codec, @NonNull final T object, final int size)
+            throws IOException {
+        byte[] buffer = WRITE_BUFFERS.get();
+        if (buffer.length < size) {
+            buffer = new byte[size];
+            if (size <= MAX_REUSED_BUFFER_SIZE) {
+                WRITE_BUFFERS.set(buffer);
+            }
+        }
+        final var bufferedData = BufferedData.wrap(ByteBuffer.wrap(buffer, 0, size));
+        codec.write(object, bufferedData);
+        if (bufferedData.position() != size) {
+            throw new IOException("Serialized " + bufferedData.position() + " bytes, but measured " + size);
+        }
 
-        final var stream = new WritableStreamingData(out);
-        stream.writeInt(byteStream.size());
-        stream.writeBytes(byteStream.toByteArray());
-        return byteStream.size();
+        // The size is written big-endian, like DataOutput#writeInt() does
+        out.write(size >>> 24);
+        out.write(size >>> 16);
+        out.write(size >>> 8);
+        out.write(size);
+        out.write(buffer, 0, size);
+        return size;
     }
 
     /**
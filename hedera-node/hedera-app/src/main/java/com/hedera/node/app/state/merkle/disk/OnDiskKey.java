@@ -24,6 +24,7 @@ import com.hedera.pbj.runtime.Codec;
 import com.swirlds.common.io.streams.SerializableDataInputStream;
 import com.swirlds.common.io.streams.SerializableDataOutputStream;
 import com.swirlds.virtualmap.VirtualKey;
+import com.swirlds.virtualmap.VirtualLongKey;
 import com.swirlds.virtualmap.VirtualMap;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
@@ -41,9 +42,12 @@ import java.util.Objects;
  * convert the "real" key into bytes for hashing, saving to disk via the {@link VirtualMap}, reading
  * from disk, reconnect, and for state saving.
  *
+ * <p>If the state has an {@link com.hedera.node.app.spi.state.EntityNumMapper}, the key is also a
+ * {@link VirtualLongKey}, which lets MerkleDB index it by its entity number.
+ *
  * @param <K> The type of key
  */
-public final class OnDiskKey<K> implements VirtualKey {
+public final class OnDiskKey<K> implements VirtualLongKey {
 
     @Deprecated(forRemoval = true)
     private static final long CLASS_ID = 0x2929238293892373L;
@@ -98,6 +102,21 @@ public final class OnDiskKey<K> implements VirtualKey {
         return VERSION;
     }
 
+    /**
+     * Gets the entity number of the "real" key. Only supported for states with entity number keys.
+     *
+     * @return the entity number
+     * @throws IllegalStateException if the state has no entity number keys
+     */
+    @Override
+    public long getKeyAsLong() {
+        final var mapper = md == null ? null : md.stateDefinition().entityNumMapper();
+        if (mapper == null) {
+            throw new IllegalStateException("Cannot get on-disk key as long, no entity number keys");
+        }
+        return mapper.toEntityNum(key);
+    }
+
     /** Writes the "real" key to the given stream. {@inheritDoc} */
     @Override
     public void serialize(@NonNull final SerializableDataOutputStream out) throws IOException {
@@ -16,6 +16,7 @@
 
 package com.hedera.node.app.state.merkle.disk;
 
+import com.hedera.node.app.spi.state.EntityNumMapper;
 import com.hedera.node.app.state.merkle.StateMetadata;
 import com.hedera.pbj.runtime.Codec;
 import com.hedera.pbj.runtime.ParseException;
@@ -26,6 +27,7 @@ import com.swirlds.common.io.SelfSerializable;
 import com.swirlds.merkledb.serialize.KeySerializer;
 import com.swirlds.virtualmap.VirtualMap;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Objects;
@@ -39,6 +41,9 @@ import java.util.Objects;
  * <p>However, this class does, itself, need to be {@link SelfSerializable} because it is part of
  * the structure of a {@link VirtualMap} and needs to be restored when loaded from saved-state.
  *
+ * <p>Keys are serialized with their protobuf {@link Codec}, unless the state has an {@link EntityNumMapper}. Then
+ * keys are serialized as fixed-width entity numbers, which makes MerkleDB use its long key index.
+ *
  * @param <K>
  */
 public final class OnDiskKeySerializer<K> implements KeySerializer<OnDiskKey<K>> {
@@ -59,18 +64,24 @@ public final class OnDiskKeySerializer<K> implements KeySerializer<OnDiskKey<K>>
     private final Codec<K> codec;
     private final StateMetadata<K, ?> md;
 
+    /** Maps keys to fixed-width entity numbers, or null to serialize keys with {@link #codec} */
+    @Nullable
+    private final EntityNumMapper<K> entityNumMapper;
+
     // Default constructor provided for ConstructableRegistry, TO BE REMOVED ASAP
     @Deprecated(forRemoval = true)
     public OnDiskKeySerializer() {
         classId = CLASS_ID; // BAD!!
         codec = null;
         md = null;
+        entityNumMapper = null;
     }
 
     public OnDiskKeySerializer(@NonNull final StateMetadata<K, ?> md) {
         this.classId = md.onDiskKeySerializerClassId();
         this.md = Objects.requireNonNull(md);
         this.codec = md.stateDefinition().keyCodec();
+        this.entityNumMapper = md.stateDefinition().entityNumMapper();
     }
 
     // Serializer info
@@ -96,6 +107,12 @@ public final class OnDiskKeySerializer<K> implements KeySerializer<OnDiskKey<K>>
 
     @Override
     public int getSerializedSize() {
+        if (entityNumMapper != null) {
+            // States keyed by entity IDs may opt in to storing only the entity number. Shard and realm are the same
+            // for all keys of the state, and the protobuf serialization of the full key is still used for hashing
+            // (see OnDiskKey#serialize), so state proofs are not affected. See below for why this is not the default.
+            return Long.BYTES;
+        }
         // We're going to use variable size keys, always. MerkleDB was designed with
         // fast paths if you knew you were using a Long as the key -- but we really
         // cannot use that. The problem manifests itself with state proofs. We wanted
@@ -123,18 +140,25 @@ public final class OnDiskKeySerializer<K> implements KeySerializer<OnDiskKey<K>>
 
     @Override
     public int getSerializedSize(@NonNull final OnDiskKey<K> key) {
+        if (entityNumMapper != null) {
+            return Long.BYTES;
+        }
         return codec.measureRecord(key.getKey());
     }
 
     @Override
     public int getTypicalSerializedSize() {
-        return TYPICAL_SIZE;
+        return entityNumMapper != null ? Long.BYTES : TYPICAL_SIZE;
     }
 
     // Key serialization
 
     @Override
     public void serialize(@NonNull final OnDiskKey<K> key, final @NonNull WritableSequentialData out) {
+        if (entityNumMapper != null) {
+            out.writeLong(entityNumMapper.toEntityNum(key.getKey()));
+            return;
+        }
         // Future work: https://github.com/hashgraph/pbj/issues/73
         try {
             codec.write(key.getKey(), out);
@@ -153,6 +177,9 @@ public final class OnDiskKeySerializer<K> implements KeySerializer<OnDiskKey<K>>
 
     @Override
     public OnDiskKey<K> deserialize(@NonNull final ReadableSequentialData in) {
+        if (entityNumMapper != null) {
+            return new OnDiskKey<>(md, entityNumMapper.fromEntityNum(in.readLong()));
+        }
         // Future work: https://github.com/hashgraph/pbj/issues/73
         try {
             final K k = codec.parse(in);
@@ -170,6 +197,9 @@ public final class OnDiskKeySerializer<K> implements KeySerializer<OnDiskKey<K>>
 
     @Override
     public boolean equals(@NonNull final BufferedData bufferedData, @NonNull final OnDiskKey<K> keyToCompare) {
+        if (entityNumMapper != null) {
+            return bufferedData.readLong() == entityNumMapper.toEntityNum(keyToCompare.getKey());
+        }
         // Future work: https://github.com/hashgraph/pbj/issues/73
         try {
             return codec.fastEquals(keyToCompare.getKey(), bufferedData);
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.state.merkle.disk;
+
+import static java.util.Objects.requireNonNull;
+
+import com.swirlds.metrics.api.Counter;
+import com.swirlds.metrics.api.Metrics;
+import com.swirlds.virtualmap.VirtualMap;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of deserialized values read from a single {@link VirtualMap} copy. Reading a value from a
+ * {@link VirtualMap} means looking it up in the node cache or on disk and parsing it with PBJ, every single time. Hot
+ * entities (e.g. popular tokens, treasury or fee collector accounts) are read by many transactions of a round, so the
+ * same bytes are parsed over and over again. Since PBJ values are immutable, they can be shared safely.
+ *
+ * <p>A cache belongs to one {@link VirtualMap} instance, see {@link #isFor(VirtualMap)}. Whenever a new copy of the
+ * map is used (i.e. every round, or when the map is copied to flush it), a new cache must be created. Writes to the
+ * map must be reported with {@link #invalidate(Object)}, after the map was updated.
+ *
+ * <p>The cache does not evict. Once it holds {@code maxSize} values, further values are not cached anymore until the
+ * next copy of the map. Hits and misses are counted per state, and reported as metrics if the cache was created with
+ * {@link Metrics}. All caches of a state share the same metrics. Only the cumulative counts are reported, the hit
+ * ratio over any period can be derived from them.
+ *
+ * @param <K> The type of key for the state
+ * @param <V> The type of value for the state
+ */
+public final class OnDiskReadCache<K, V> {
+    /** Marks keys that are known not to be in the map */
+    private static final Object NOT_FOUND = new Object();
+
+    private static final String CATEGORY = "app";
+
+    private final VirtualMap<?, ?> virtualMap;
+    private final int maxSize;
+    private final Map<K, Object> values = new ConcurrentHashMap<>();
+    /** Incremented before every invalidation, so loads that raced with a write can be detected */
+    private final AtomicLong writes = new AtomicLong();
+
+    /** Counts the values read from this cache, or {@code null} if there are no metrics */
+    @Nullable
+    private final Counter hits;
+    /** Counts the values read from the map, or {@code null} if there are no metrics */
+    @Nullable
+    private final Counter misses;
+
+    /**
+     * Create a new instance
+     *
+     * @param serviceName the name of the service the state belongs to
+     * @param stateKey the state key
+     * @param virtualMap the map copy the cached values are read from
+     * @param maxSize the maximum number of values to cache
+     * @param metrics the metrics to report hits and misses to, or {@code null} if they are not reported
+     */
+    public OnDiskReadCache(
+            @NonNull final String serviceName,
+            @NonNull final String stateKey,
+            @NonNull final VirtualMap<?, ?> virtualMap,
+            final int maxSize,
+            @Nullable final Metrics metrics) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The maxSize must be positive");
+        }
+        this.virtualMap = requireNonNull(virtualMap);
+        this.maxSize = maxSize;
+        if (metrics == null) {
+            this.hits = null;
+            this.misses = null;
+        } else {
+            // Metric names cannot contain periods
+            final var name = (serviceName + "." + stateKey).replace('.', '_');
+            this.hits = metrics.getOrCreate(new Counter.Config(CATEGORY, name + "ReadCacheHits")
+                    .withDescription("Number of values of " + name + " read from the read cache"));
+            this.misses = metrics.getOrCreate(new Counter.Config(CATEGORY, name + "ReadCacheMisses")
+                    .withDescription("Number of values of " + name + " read from the data source"));
+        }
+    }
+
+    /**
+     * Gets whether this cache holds values of the given map copy.
+     *
+     * @param virtualMap the map copy
+     * @return {@code true} if the cache can be used for the given map
+     */
+    public boolean isFor(@NonNull final VirtualMap<?, ?> virtualMap) {
+        return this.virtualMap == virtualMap;
+    }
+
+    /**
+     * Gets the value for the given key, using the given loader to read it from the map if it is not cached yet.
+     *
+     * @param key the key
+     * @param loader reads the value from the map, may return {@code null}
+     * @return the value, or {@code null} if there is none
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public V get(@NonNull final K key, @NonNull final Function<K, V> loader) {
+        final var cached = values.get(key);
+        if (cached != null) {
+            if (hits != null) {
+                hits.increment();
+            }
+            return cached == NOT_FOUND ? null : (V) cached;
+        }
+
+        if (misses != null) {
+            misses.increment();
+        }
+        final var writesBefore = writes.get();
+        final var value = loader.apply(key);
+        if (values.size() < maxSize) {
+            final Object entry = value == null ? NOT_FOUND : value;
+            values.put(key, entry);
+            // If the map was written to while loading, the loaded value may be stale already
+            if (writes.get() != writesBefore) {
+                values.remove(key, entry);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes the value for the given key. Must be called after the map was updated.
+     *
+     * @param key the key
+     */
+    public void invalidate(@NonNull final K key) {
+        writes.incrementAndGet();
+        values.remove(key);
+    }
+
+    /**
+     * Gets the number of cached values.
+     *
+     * @return the number of cached values
+     */
+    public int size() {
+        return values.size();
+    }
+}
@@ -27,7 +27,11 @@ import com.hedera.node.app.state.merkle.StateMetadata;
 import com.swirlds.virtualmap.VirtualMap;
 import com.swirlds.virtualmap.internal.merkle.VirtualLeafNode;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -50,6 +54,10 @@ public final class OnDiskReadableKVState<K, V> extends ReadableKVStateBase<K, V>
 
     private final Consumer<Runnable> runner;
 
+    /** The cache of values read from {@link #virtualMap}, shared with other states on the same map, or null */
+    @Nullable
+    private final OnDiskReadCache<K, V> readCache;
+
     /**
      * Create a new instance
      *
@@ -58,7 +66,21 @@ public final class OnDiskReadableKVState<K, V> extends ReadableKVStateBase<K, V>
      */
     public OnDiskReadableKVState(
             @NonNull final StateMetadata<K, V> md, @NonNull final VirtualMap<OnDiskKey<K>, OnDiskValue<V>> virtualMap) {
-        this(md, virtualMap, DEFAULT_RUNNER);
+        this(md, virtualMap, null, DEFAULT_RUNNER);
+    }
+
+    /**
+     * Create a new instance
+     *
+     * @param md the state metadata
+     * @param virtualMap the backing merkle structure to use
+     * @param readCache the cache of values read from the virtual map, or null to always read from the map
+     */
+    public OnDiskReadableKVState(
+            @NonNull final StateMetadata<K, V> md,
+            @NonNull final VirtualMap<OnDiskKey<K>, OnDiskValue<V>> virtualMap,
+            @Nullable final OnDiskReadCache<K, V> readCache) {
+        this(md, virtualMap, readCache, DEFAULT_RUNNER);
     }
 
     @VisibleForTesting
@@ -66,23 +88,36 @@ public final class OnDiskReadableKVState<K, V> extends ReadableKVStateBase<K, V>
             @NonNull final StateMetadata<K, V> md,
             @NonNull final VirtualMap<OnDiskKey<K>, OnDiskValue<V>> virtualMap,
             @NonNull final Consumer<Runnable> runner) {
+        this(md, virtualMap, null, runner);
+    }
+
+    private OnDiskReadableKVState(
+            @NonNull final StateMetadata<K, V> md,
+            @NonNull final VirtualMap<OnDiskKey<K>, OnDiskValue<V>> virtualMap,
+            @Nullable final OnDiskReadCache<K, V> readCache,
+            @NonNull final Consumer<Runnable> runner) {
         super(md.stateDefinition().stateKey());
         this.md = md;
         this.virtualMap = Objects.requireNonNull(virtualMap);
+        this.readCache = readCache;
         this.runner = runner;
     }
 
     /** {@inheritDoc} */
     @Override
     protected V readFromDataSource(@NonNull K key) {
-        final var k = new OnDiskKey<>(md, key);
-        final var v = virtualMap.get(k);
-        final var value = v == null ? null : v.getValue();
+        final var value = readCache == null ? readFromVirtualMap(key) : readCache.get(key, this::readFromVirtualMap);
         // Log to transaction state log, what was read
         logMapGet(getStateKey(), key, value);
         return value;
     }
 
+    private V readFromVirtualMap(@NonNull final K key) {
+        final var k = new OnDiskKey<>(md, key);
+        final var v = virtualMap.get(k);
+        return v == null ? null : v.getValue();
+    }
+
     /** {@inheritDoc} */
     @NonNull
     @Override
@@ -137,4 +172,16 @@ public final class OnDiskReadableKVState<K, V> extends ReadableKVStateBase<K, V>
         final var k = new OnDiskKey<>(md, key);
         runner.accept(() -> virtualMap.warm(k));
     }
+
+    @Override
+    public void warmAll(@NonNull final Collection<K> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        final List<OnDiskKey<K>> onDiskKeys = new ArrayList<>(keys.size());
+        for (final K key : keys) {
+            onDiskKeys.add(new OnDiskKey<>(md, key));
+        }
+        runner.accept(() -> virtualMap.warmAll(onDiskKeys));
+    }
 }
@@ -45,10 +45,19 @@ public class OnDiskValue<V> implements VirtualValue {
 
     static final int VERSION = 1;
 
+    /** Marks that the serialized size of the value is not known yet */
+    private static final int UNKNOWN_SIZE = -1;
+
     private final StateMetadata<?, V> md;
     private V value;
     private boolean immutable = false;
 
+    /**
+     * The size of the serialized value. A dirty value is measured when it is hashed, and twice more when it is
+     * flushed to disk, so the size is only computed once and kept until the value changes.
+     */
+    private int serializedSize = UNKNOWN_SIZE;
+
     // Default constructor is for deserialization
     public OnDiskValue() {
         this.md = null;
@@ -68,6 +77,7 @@ public class OnDiskValue<V> implements VirtualValue {
     @Override
     public VirtualValue copy() {
         final var copy = new OnDiskValue<>(md, value);
+        copy.serializedSize = serializedSize;
         this.immutable = true;
         return copy;
     }
@@ -85,6 +95,7 @@ public class OnDiskValue<V> implements VirtualValue {
             return this;
         } else {
             final var copy = new OnDiskValue<>(md, value);
+            copy.serializedSize = serializedSize;
             copy.immutable = true;
             return copy;
         }
@@ -96,7 +107,7 @@ public class OnDiskValue<V> implements VirtualValue {
         if (md == null) {
             throw new IllegalStateException("Cannot serialize on-disk value, null metadata / codec");
         }
-        writeToStream(out, md.stateDefinition().valueCodec(), value);
+        writeToStream(out, md.stateDefinition().valueCodec(), value, getSerializedSize());
     }
 
     /** {@inheritDoc} */
@@ -106,6 +117,7 @@ public class OnDiskValue<V> implements VirtualValue {
             throw new IllegalStateException("Cannot deserialize on-disk value, null metadata / codec");
         }
         value = readFromStream(in, md.stateDefinition().valueCodec());
+        serializedSize = UNKNOWN_SIZE;
     }
 
     /** {@inheritDoc} */
@@ -139,5 +151,21 @@ public class OnDiskValue<V> implements VirtualValue {
     public void setValue(@Nullable final V value) {
         throwIfImmutable();
         this.value = Objects.requireNonNull(value);
+        this.serializedSize = UNKNOWN_SIZE;
+    }
+
+    /**
+     * Gets the size of the value serialized with its codec. The size is computed at most once per value.
+     *
+     * @return The size of the serialized value in bytes
+     */
+    int getSerializedSize() {
+        if (serializedSize == UNKNOWN_SIZE) {
+            if (md == null) {
+                throw new IllegalStateException("Cannot measure on-disk value, null metadata / codec");
+            }
+            serializedSize = md.stateDefinition().valueCodec().measureRecord(value);
+        }
+        return serializedSize;
     }
 }
@@ -87,9 +87,7 @@ public final class OnDiskValueSerializer<V> implements ValueSerializer<OnDiskVal
 
     @Override
     public int getSerializedSize(OnDiskValue<V> value) {
-        assert md != null;
-        final Codec<V> codec = md.stateDefinition().valueCodec();
-        return codec.measureRecord(value.getValue());
+        return value.getSerializedSize();
     }
 
     @Override
@@ -23,6 +23,7 @@ import com.hedera.node.app.spi.state.WritableKVStateBase;
 import com.hedera.node.app.state.merkle.StateMetadata;
 import com.swirlds.virtualmap.VirtualMap;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.Iterator;
 import java.util.Objects;
 
@@ -39,6 +40,10 @@ public final class OnDiskWritableKVState<K, V> extends WritableKVStateBase<K, V>
 
     private final StateMetadata<K, V> md;
 
+    /** The cache of values read from {@link #virtualMap}, shared with other states on the same map, or null */
+    @Nullable
+    private final OnDiskReadCache<K, V> readCache;
+
     /**
      * Create a new instance
      *
@@ -47,22 +52,41 @@ public final class OnDiskWritableKVState<K, V> extends WritableKVStateBase<K, V>
      */
     public OnDiskWritableKVState(
             @NonNull final StateMetadata<K, V> md, @NonNull final VirtualMap<OnDiskKey<K>, OnDiskValue<V>> virtualMap) {
+        this(md, virtualMap, null);
+    }
+
+    /**
+     * Create a new instance
+     *
+     * @param md the state metadata
+     * @param virtualMap the backing merkle data structure to use
+     * @param readCache the cache of values read from the virtual map, or null to always read from the map. It is
+     *                  invalidated whenever this state writes to the map.
+     */
+    public OnDiskWritableKVState(
+            @NonNull final StateMetadata<K, V> md,
+            @NonNull final VirtualMap<OnDiskKey<K>, OnDiskValue<V>> virtualMap,
+            @Nullable final OnDiskReadCache<K, V> readCache) {
         super(md.stateDefinition().stateKey());
         this.md = md;
         this.virtualMap = Objects.requireNonNull(virtualMap);
+        this.readCache = readCache;
     }
 
     /** {@inheritDoc} */
     @Override
     protected V readFromDataSource(@NonNull K key) {
-        final var k = new OnDiskKey<>(md, key);
-        final var v = virtualMap.get(k);
-        final var value = v == null ? null : v.getValue();
+        final var value = readCache == null ? readFromVirtualMap(key) : readCache.get(key, this::readFromVirtualMap);
         // Log to transaction state log, what was read
         logMapGet(getStateKey(), key, value);
         return value;
     }
 
+    private V readFromVirtualMap(@NonNull final K key) {
+        final var v = virtualMap.get(new OnDiskKey<>(md, key));
+        return v == null ? null : v.getValue();
+    }
+
     /** {@inheritDoc} */
     @NonNull
     @Override
@@ -91,6 +115,9 @@ public final class OnDiskWritableKVState<K, V> extends WritableKVStateBase<K, V>
         } else {
             virtualMap.put(k, new OnDiskValue<>(md, value));
         }
+        if (readCache != null) {
+            readCache.invalidate(key);
+        }
         // Log to transaction state log, what was put
         logMapPut(getStateKey(), key, value);
     }
@@ -100,6 +127,9 @@ public final class OnDiskWritableKVState<K, V> extends WritableKVStateBase<K, V>
     protected void removeFromDataSource(@NonNull K key) {
         final var k = new OnDiskKey<>(md, key);
         final var removed = virtualMap.remove(k);
+        if (readCache != null) {
+            readCache.invalidate(key);
+        }
         // Log to transaction state log, what was removed
         logMapRemove(getStateKey(), key, removed);
     }
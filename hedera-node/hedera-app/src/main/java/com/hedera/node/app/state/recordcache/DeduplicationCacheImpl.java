@@ -16,107 +16,330 @@
 
 package com.hedera.node.app.state.recordcache;
 
-import static com.hedera.node.app.spi.HapiUtils.ACCOUNT_ID_COMPARATOR;
-import static com.hedera.node.app.spi.HapiUtils.TIMESTAMP_COMPARATOR;
-import static com.hedera.node.app.spi.HapiUtils.asTimestamp;
-import static com.hedera.node.app.spi.HapiUtils.minus;
 import static java.util.Objects.requireNonNull;
 
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.Timestamp;
 import com.hedera.hapi.node.base.TransactionID;
 import com.hedera.node.app.state.DeduplicationCache;
 import com.hedera.node.config.ConfigProvider;
 import com.hedera.node.config.data.HederaConfig;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.time.Instant;
-import java.util.Comparator;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.time.InstantSource;
 import java.util.Set;
-import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
-/** An implementation of {@link DeduplicationCache}. */
+/**
+ * An implementation of {@link DeduplicationCache}.
+ *
+ * <p>Transaction IDs are grouped into buckets by the second of their valid start time. Buckets are kept in a ring
+ * indexed by that second, so a lookup goes straight to a single bucket, and expired transactions are dropped a whole
+ * bucket at a time instead of one by one. The ring covers {@link #RING_SIZE} seconds from the earliest second still
+ * in the max transaction duration window. Buckets for seconds beyond that (transactions far in the future, or any
+ * transactions if the window is configured to be larger than the ring) are kept in a separate sorted map.
+ *
+ * <p>Within a bucket, IDs with a plain {@code 0.0.X} payer are packed into two longs and stored in an open addressing
+ * hash table, so no objects are allocated per ID. Other IDs (payers with non-zero shard or realm, or payer aliases)
+ * are stored in a regular concurrent set. Lookups are lock free. Adds lock the bucket they are added to.
+ */
 @Singleton
 public final class DeduplicationCacheImpl implements DeduplicationCache {
+    /** The number of seconds covered by the ring of buckets, must be a power of two */
+    static final int RING_SIZE = 512;
+
+    private static final int RING_MASK = RING_SIZE - 1;
+
     /**
-     * The {@link TransactionID}s that this node has already submitted to the platform, sorted by transaction start
-     * time, such that earlier start times come first.
-     * <p>
-     * Note that an ID with scheduled set is different from the same ID without scheduled set.
-     * In fact, an ID with scheduled set will always match the ID of the ScheduleCreate transaction that created
-     * the schedule, except scheduled is set.
+     * The buckets of {@link TransactionID}s that this node has already submitted to the platform. The bucket for
+     * valid start second {@code S} is at index {@code S & RING_MASK}. A bucket at an index may be a stale bucket for an
+     * earlier second, buckets are always checked to be for the right second.
      */
-    private final Set<TransactionID> submittedTxns = new ConcurrentSkipListSet<>(
-            Comparator.comparing(TransactionID::transactionValidStartOrThrow, TIMESTAMP_COMPARATOR)
-                    .thenComparing(TransactionID::accountID, ACCOUNT_ID_COMPARATOR)
-                    .thenComparing(TransactionID::scheduled));
+    private final AtomicReferenceArray<Bucket> buckets = new AtomicReferenceArray<>(RING_SIZE);
+
+    /** Buckets for seconds that don't fit in the ring, by valid start second */
+    private final ConcurrentNavigableMap<Long, Bucket> overflowBuckets = new ConcurrentSkipListMap<>();
+
+    /** All buckets for seconds before this one have been dropped */
+    private final AtomicLong droppedBefore = new AtomicLong();
 
     /** Used for looking up the max transaction duration window. */
     private final ConfigProvider configProvider;
 
+    /** Used to get the current wall-clock time */
+    private final InstantSource instantSource;
+
     /** Constructs a new {@link DeduplicationCacheImpl}. */
     @Inject
     public DeduplicationCacheImpl(@NonNull final ConfigProvider configProvider) {
+        this(configProvider, InstantSource.system());
+    }
+
+    /**
+     * Constructs a new {@link DeduplicationCacheImpl} with the given source of wall-clock time.
+     *
+     * @param configProvider used for looking up the max transaction duration window
+     * @param instantSource used to get the current wall-clock time
+     */
+    DeduplicationCacheImpl(@NonNull final ConfigProvider configProvider, @NonNull final InstantSource instantSource) {
         this.configProvider = requireNonNull(configProvider);
+        this.instantSource = requireNonNull(instantSource);
     }
 
     /** {@inheritDoc} */
     @Override
     public void add(@NonNull final TransactionID transactionID) {
-        // We don't want to use another thread to prune the set, so we will take the opportunity here to do so.
-        // Remember that at this point we have passed through all the throttles, so this method is only called
-        // at most 10,000 / (Number of nodes) times per second, which is not a lot.
-        final var epochSeconds = earliestEpicSecond();
-        removeTransactionsOlderThan(epochSeconds);
+        // We don't want to use another thread to prune the cache, so we will take the opportunity here to do so.
+        final var validStartSecond = transactionID.transactionValidStartOrThrow().seconds();
+        final var epochSeconds = earliestEpochSecond();
+        dropBucketsOlderThan(epochSeconds);
 
-        // If the transaction is within the max transaction duration window, then add it to the set.
-        if (transactionID.transactionValidStartOrThrow().seconds() >= epochSeconds) {
-            submittedTxns.add(transactionID);
+        // If the transaction is within the max transaction duration window, then add it to the cache.
+        if (validStartSecond >= epochSeconds) {
+            bucketFor(validStartSecond, epochSeconds).add(transactionID);
         }
     }
 
     /** {@inheritDoc} */
     @Override
     public boolean contains(@NonNull final TransactionID transactionID) {
-        // We will prune the set here as well. By pruning before looking up, we are sure that we only return true
-        // if the transactionID is still valid
-        final var epochSeconds = earliestEpicSecond();
-        removeTransactionsOlderThan(epochSeconds);
-        return submittedTxns.contains(transactionID);
+        // Expired transactions may still be in a stale bucket, so check the window before looking up. That way
+        // we are sure that we only return true if the transactionID is still valid
+        final var validStartSecond = transactionID.transactionValidStartOrThrow().seconds();
+        final var epochSeconds = earliestEpochSecond();
+        dropBucketsOlderThan(epochSeconds);
+        if (validStartSecond < epochSeconds) {
+            return false;
+        }
+
+        final var bucket = buckets.get((int) (validStartSecond & RING_MASK));
+        if (bucket != null && bucket.second == validStartSecond && bucket.contains(transactionID)) {
+            return true;
+        }
+        // The ID may be in an overflow bucket for the same second, if the clock has moved back since it was added
+        if (overflowBuckets.isEmpty()) {
+            return false;
+        }
+        final var overflowBucket = overflowBuckets.get(validStartSecond);
+        return overflowBucket != null && overflowBucket.contains(transactionID);
     }
 
     /** {@inheritDoc} */
     @Override
     public void clear() {
-        submittedTxns.clear();
+        for (int i = 0; i < RING_SIZE; i++) {
+            buckets.set(i, null);
+        }
+        overflowBuckets.clear();
     }
 
     /**
-     * Gets the earliest valid start timestamp that is still within the max transaction duration window based on
+     * Gets the earliest valid start second that is still within the max transaction duration window based on
      * wall-clock time.
      */
-    private long earliestEpicSecond() {
-        // Compute the earliest valid start timestamp that is still within the max transaction duration window.
-        final var now = asTimestamp(Instant.now());
+    private long earliestEpochSecond() {
         final var config = configProvider.getConfiguration().getConfigData(HederaConfig.class);
-        final var earliestValidState = minus(now, config.transactionMaxValidDuration());
-        return earliestValidState.seconds();
+        return Math.floorDiv(instantSource.millis(), 1000L) - config.transactionMaxValidDuration();
+    }
+
+    /**
+     * Gets the bucket to add IDs with the given valid start second to, creating it if needed.
+     *
+     * @param second the valid start second, must not be before {@code earliestEpochSecond}
+     * @param earliestEpochSecond the earliest second still within the max transaction duration window
+     * @return the bucket
+     */
+    @NonNull
+    private Bucket bucketFor(final long second, final long earliestEpochSecond) {
+        if (second - earliestEpochSecond < RING_SIZE) {
+            final var index = (int) (second & RING_MASK);
+            while (true) {
+                final var bucket = buckets.get(index);
+                if (bucket != null && bucket.second == second) {
+                    return bucket;
+                }
+                // A bucket for another second still in the window can only be here if the clock moved back
+                if (bucket != null && bucket.second >= earliestEpochSecond) {
+                    break;
+                }
+                final var newBucket = new Bucket(second);
+                if (buckets.compareAndSet(index, bucket, newBucket)) {
+                    return newBucket;
+                }
+            }
+        }
+        return overflowBuckets.computeIfAbsent(second, Bucket::new);
     }
 
     /**
-     * Removes all expired {@link TransactionID}s from the cache. This method is not threadsafe and should only be
-     * called from within a block synchronized on {@link #submittedTxns}.
+     * Drops all buckets for seconds before the given second. Every bucket is dropped as a whole, so this method does
+     * work only when the earliest second in the window has moved since the last call. If multiple threads call this
+     * method concurrently, only one of them drops the buckets.
      *
      * @param earliestEpochSecond The earliest epoch second that should be kept in the cache.
      */
-    private void removeTransactionsOlderThan(final long earliestEpochSecond) {
-        final var itr = submittedTxns.iterator();
-        while (itr.hasNext()) {
-            final var txId = itr.next();
-            if (txId.transactionValidStartOrThrow().seconds() < earliestEpochSecond) {
-                itr.remove();
-            } else {
+    private void dropBucketsOlderThan(final long earliestEpochSecond) {
+        final var previous = droppedBefore.get();
+        if (earliestEpochSecond <= previous || !droppedBefore.compareAndSet(previous, earliestEpochSecond)) {
+            return;
+        }
+        // If the clock has jumped forward, there is no need to check any slot in the ring more than once
+        final var from = Math.max(previous, earliestEpochSecond - RING_SIZE);
+        for (long second = from; second < earliestEpochSecond; second++) {
+            final var index = (int) (second & RING_MASK);
+            final var bucket = buckets.get(index);
+            if (bucket != null && bucket.second < earliestEpochSecond) {
+                buckets.compareAndSet(index, bucket, null);
+            }
+        }
+        if (!overflowBuckets.isEmpty()) {
+            overflowBuckets.headMap(earliestEpochSecond).clear();
+        }
+    }
+
+    /**
+     * A set of {@link TransactionID}s with the same valid start second.
+     *
+     * <p>An ID with payer {@code 0.0.X} is stored as two longs: {@code X + 1}, and valid start nanos, nonce, and
+     * scheduled flag packed together. These pairs are kept in an open addressing hash table with linear probing, key
+     * pairs are never removed. The table is replaced with a twice larger one when it gets half full. All other IDs
+     * are stored in a regular set.
+     */
+    private static final class Bucket {
+        /** Initial number of slots in the table, must be a power of two */
+        private static final int INITIAL_CAPACITY = 64;
+
+        /** The first key of an empty slot */
+        private static final long EMPTY = 0;
+
+        /** The max number of nanos in a valid start timestamp, plus one */
+        private static final int MAX_NANOS = 1_000_000_000;
+
+        /** The valid start second of all IDs in this bucket */
+        private final long second;
+
+        /**
+         * The table of packed IDs. Slot {@code i} is at indices {@code 2 * i} (payer account number + 1, or
+         * {@link #EMPTY}) and {@code 2 * i + 1} (packed rest of the ID).
+         */
+        private volatile AtomicLongArray table = new AtomicLongArray(INITIAL_CAPACITY * 2);
+
+        /** The number of used slots in the table. Guarded by this */
+        private int size;
+
+        /** IDs that can't be packed into the table, created on first use */
+        @Nullable
+        private volatile Set<TransactionID> unpackedIds;
+
+        Bucket(final long second) {
+            this.second = second;
+        }
+
+        boolean contains(@NonNull final TransactionID transactionID) {
+            if (!isPackable(transactionID)) {
+                final var ids = unpackedIds;
+                return ids != null && ids.contains(transactionID);
+            }
+            final var key = payerKey(transactionID);
+            final var rest = packRest(transactionID);
+            final var t = table;
+            final var mask = (t.length() >> 1) - 1;
+            for (int i = hash(key, rest) & mask; ; i = (i + 1) & mask) {
+                final var k = t.get(i << 1);
+                if (k == EMPTY) {
+                    return false;
+                }
+                // The rest is set before the key, see insert()
+                if (k == key && t.get((i << 1) + 1) == rest) {
+                    return true;
+                }
+            }
+        }
+
+        synchronized void add(@NonNull final TransactionID transactionID) {
+            if (!isPackable(transactionID)) {
+                var ids = unpackedIds;
+                if (ids == null) {
+                    ids = ConcurrentHashMap.newKeySet();
+                    unpackedIds = ids;
+                }
+                ids.add(transactionID);
                 return;
             }
+            var t = table;
+            if ((size + 1) * 2 > t.length() >> 1) {
+                t = grow(t);
+                table = t;
+            }
+            if (insert(t, payerKey(transactionID), packRest(transactionID))) {
+                size++;
+            }
+        }
+
+        private static AtomicLongArray grow(@NonNull final AtomicLongArray old) {
+            final var t = new AtomicLongArray(old.length() * 2);
+            for (int i = 0; i < old.length(); i += 2) {
+                final var key = old.get(i);
+                if (key != EMPTY) {
+                    insert(t, key, old.get(i + 1));
+                }
+            }
+            return t;
+        }
+
+        /**
+         * Inserts a key pair into the table. Must only be called under the bucket lock, or on a table that isn't
+         * published yet.
+         *
+         * @return whether the pair was inserted, or false if it was already in the table
+         */
+        private static boolean insert(@NonNull final AtomicLongArray t, final long key, final long rest) {
+            final var mask = (t.length() >> 1) - 1;
+            for (int i = hash(key, rest) & mask; ; i = (i + 1) & mask) {
+                final var k = t.get(i << 1);
+                if (k == EMPTY) {
+                    // Rest first, then key, so lock free readers never see a key with a missing rest
+                    t.set((i << 1) + 1, rest);
+                    t.set(i << 1, key);
+                    return true;
+                }
+                if (k == key && t.get((i << 1) + 1) == rest) {
+                    return false;
+                }
+            }
+        }
+
+        private static boolean isPackable(@NonNull final TransactionID transactionID) {
+            final AccountID payer = transactionID.accountID();
+            if (payer == null || payer.shardNum() != 0 || payer.realmNum() != 0 || !payer.hasAccountNum()) {
+                return false;
+            }
+            final long num = payer.accountNumOrThrow();
+            final Timestamp validStart = transactionID.transactionValidStartOrThrow();
+            return num >= 0 && num < Long.MAX_VALUE && validStart.nanos() >= 0 && validStart.nanos() < MAX_NANOS;
+        }
+
+        private static long payerKey(@NonNull final TransactionID transactionID) {
+            return requireNonNull(transactionID.accountID()).accountNumOrThrow() + 1;
+        }
+
+        private static long packRest(@NonNull final TransactionID transactionID) {
+            // 30 bits of nanos, 32 bits of nonce, 1 bit of scheduled
+            return ((long) transactionID.transactionValidStartOrThrow().nanos() << 33)
+                    | (Integer.toUnsignedLong(transactionID.nonce()) << 1)
+                    | (transactionID.scheduled() ? 1 : 0);
+        }
+
+        private static int hash(final long key, final long rest) {
+            final long h = (key * 0x9E3779B97F4A7C15L) ^ (rest * 0xC2B2AE3D27D4EB4FL);
+            return (int) (h ^ (h >>> 32));
         }
     }
 }
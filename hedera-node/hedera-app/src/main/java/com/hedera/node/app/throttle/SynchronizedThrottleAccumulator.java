@@ -21,12 +21,20 @@ import static java.util.Objects.requireNonNull;
 import com.hedera.hapi.node.base.AccountID;
 import com.hedera.hapi.node.base.HederaFunctionality;
 import com.hedera.hapi.node.transaction.Query;
+import com.hedera.node.app.hapi.utils.throttles.DeterministicThrottle;
 import com.hedera.node.app.state.HederaState;
 import com.hedera.node.app.throttle.annotations.IngestThrottle;
 import com.hedera.node.app.workflows.TransactionInfo;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.data.HederaConfig;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -34,18 +42,52 @@ import javax.inject.Singleton;
  * Keeps track of the amount of usage of different TPS throttle categories and gas, and returns whether a given
  * transaction or query should be throttled based on that.
  * Meant to be used in multithreaded context
+ *
+ * <p>The frontend {@link ThrottleAccumulator} is not thread-safe, so all decisions that use it are made under a
+ * single lock. To avoid having all ingest threads wait for that lock, transactions that are only throttled by the
+ * requirements of their functionality (see {@link ThrottleAccumulator#isThrottledByFunctionReqsOnly}) use leases
+ * instead. Ingest threads are spread over a number of stripes. When a transaction can't be covered by a lease of its
+ * stripe, the stripe claims capacity for several transactions of the same functionality from the frontend throttle
+ * at once, and hands it out to the next transactions without taking the global lock.
+ *
+ * <p>A lease is only valid for a short time (see {@link HederaConfig#ingestThrottleLeaseTtlMs()}), so capacity claimed
+ * by a lease is used close to the time it was claimed at. Lease sizes are rebalanced all the time: a lease that is used
+ * up before it expires is followed by a twice larger one, and a lease that expires with unused permits is followed by a
+ * twice smaller one. The unused permits of an expired lease are given back to the throttle it was claimed from, so
+ * leases hold back capacity for at most one lease TTL. Once the throttles are rebuilt, the permits of leases claimed
+ * from the old throttles are simply dropped, the new throttles never had them taken. When the throttle doesn't have
+ * enough capacity for a lease, transactions are checked one by one, exactly as without leases.
  */
 @Singleton
 public class SynchronizedThrottleAccumulator {
 
     private final ThrottleAccumulator frontendThrottle;
 
+    private final ConfigProvider configProvider;
+
+    /** Lease stripes, the number of stripes is a power of two */
+    private final Stripe[] stripes;
+
+    /** The stripe of the current thread, stripes are assigned to threads round-robin */
+    private final ThreadLocal<Stripe> threadStripe;
+
     @NonNull
     private Instant lastDecisionTime = Instant.EPOCH;
 
     @Inject
-    public SynchronizedThrottleAccumulator(@NonNull @IngestThrottle final ThrottleAccumulator frontendThrottle) {
+    public SynchronizedThrottleAccumulator(
+            @NonNull @IngestThrottle final ThrottleAccumulator frontendThrottle,
+            @NonNull final ConfigProvider configProvider) {
         this.frontendThrottle = requireNonNull(frontendThrottle, "frontendThrottle must not be null");
+        this.configProvider = requireNonNull(configProvider, "configProvider must not be null");
+        // A power of two not less than the number of cores, so threads are spread evenly
+        final int numStripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1));
+        stripes = new Stripe[numStripes];
+        for (int i = 0; i < numStripes; i++) {
+            stripes[i] = new Stripe();
+        }
+        final var nextStripe = new AtomicInteger();
+        threadStripe = ThreadLocal.withInitial(() -> stripes[nextStripe.getAndIncrement() & (numStripes - 1)]);
     }
 
     /*
@@ -56,9 +98,16 @@ public class SynchronizedThrottleAccumulator {
      * @param state the current state of the node
      * @return whether the transaction should be throttled
      */
-    public synchronized boolean shouldThrottle(@NonNull TransactionInfo txnInfo, HederaState state) {
-        setDecisionTime(Instant.now());
-        return frontendThrottle.shouldThrottle(txnInfo, lastDecisionTime, state);
+    public boolean shouldThrottle(@NonNull TransactionInfo txnInfo, HederaState state) {
+        final var hederaConfig = configProvider.getConfiguration().getConfigData(HederaConfig.class);
+        final int maxPermitsPerLease = hederaConfig.ingestThrottleMaxPermitsPerLease();
+        if (maxPermitsPerLease > 1 && frontendThrottle.isThrottledByFunctionReqsOnly(txnInfo)) {
+            final long leaseTtlNanos = TimeUnit.MILLISECONDS.toNanos(hederaConfig.ingestThrottleLeaseTtlMs());
+            if (tryAdmitWithLease(txnInfo.functionality(), maxPermitsPerLease, leaseTtlNanos)) {
+                return false;
+            }
+        }
+        return shouldThrottleOne(txnInfo, state);
     }
 
     /*
@@ -80,11 +129,81 @@ public class SynchronizedThrottleAccumulator {
         return frontendThrottle.shouldThrottle(queryFunction, lastDecisionTime, query, queryPayerId);
     }
 
-    public void leakUnusedThrottlePreviouslyReserved(int n, HederaFunctionality function) {
+    public synchronized void leakUnusedThrottlePreviouslyReserved(int n, HederaFunctionality function) {
         frontendThrottle.leakCapacityForNOfUnscaled(n, function);
     }
 
+    private synchronized boolean shouldThrottleOne(@NonNull final TransactionInfo txnInfo, final HederaState state) {
+        setDecisionTime(Instant.now());
+        return frontendThrottle.shouldThrottle(txnInfo, lastDecisionTime, state);
+    }
+
+    private synchronized boolean claimPermits(final int n, @NonNull final HederaFunctionality function) {
+        setDecisionTime(Instant.now());
+        return !frontendThrottle.shouldThrottleNOfUnscaled(n, function, lastDecisionTime);
+    }
+
+    /**
+     * Tries to admit a transaction with a permit of the current thread's lease for the given functionality, claiming a
+     * new lease if needed.
+     *
+     * @return true if the transaction is admitted, or false if it must be checked without a lease
+     */
+    private boolean tryAdmitWithLease(
+            @NonNull final HederaFunctionality function, final int maxPermitsPerLease, final long leaseTtlNanos) {
+        // Leases are claimed from the current throttles, they are invalid once the throttles are rebuilt
+        final var throttles = frontendThrottle.allActiveThrottles();
+        final var stripe = threadStripe.get();
+        synchronized (stripe) {
+            final var lease = stripe.leases.computeIfAbsent(function, ignore -> new Lease());
+            final long now = System.nanoTime();
+            final boolean fresh = lease.throttles == throttles && now - lease.claimedAtNanos < leaseTtlNanos;
+            if (fresh && lease.permits > 0) {
+                lease.permits--;
+                return true;
+            }
+            // Size the next lease based on how fast the previous one was used
+            if (fresh) {
+                lease.size = Math.min(lease.size * 2, maxPermitsPerLease);
+            } else if (lease.permits > 0) {
+                lease.size = Math.max(lease.size / 2, 1);
+                if (lease.throttles == throttles) {
+                    leakUnusedThrottlePreviouslyReserved(lease.permits, function);
+                }
+            }
+            lease.permits = 0;
+            lease.claimedAtNanos = now;
+            lease.throttles = throttles;
+            if (lease.size > 1) {
+                if (claimPermits(lease.size, function)) {
+                    lease.permits = lease.size - 1;
+                    return true;
+                }
+                // Not enough capacity for a lease, check transactions one by one
+                lease.size = 1;
+            }
+            return false;
+        }
+    }
+
     private void setDecisionTime(@NonNull final Instant time) {
         lastDecisionTime = time.isBefore(lastDecisionTime) ? lastDecisionTime : time;
     }
+
+    /** Leases of a group of threads, by functionality. Guarded by the stripe itself */
+    private static final class Stripe {
+        private final Map<HederaFunctionality, Lease> leases = new EnumMap<>(HederaFunctionality.class);
+    }
+
+    /** Capacity claimed from the frontend throttle for a number of transactions of a single functionality */
+    private static final class Lease {
+        /** The number of transactions to claim capacity for next time */
+        private int size = 1;
+        /** The number of transactions the lease can still admit */
+        private int permits;
+        /** When the lease was claimed, in {@link System#nanoTime()} */
+        private long claimedAtNanos;
+        /** The throttles the lease was claimed from */
+        private List<DeterministicThrottle> throttles;
+    }
 }
@@ -152,6 +152,36 @@ public class ThrottleAccumulator {
         return false;
     }
 
+    /*
+     * Checks whether the throttle decision for the given transaction only depends on the throttle requirements of its
+     * functionality. If so, calling {@code shouldThrottle(txnInfo, now, state)} is the same as calling
+     * {@code shouldThrottleNOfUnscaled(1, txnInfo.functionality(), now)}. This is the case for most transactions, except
+     * transactions of throttle exempt payers, gas throttled and schedule transactions, and transactions that may
+     * implicitly create accounts or mint NFTs. This method doesn't change any throttle.
+     *
+     * @param txnInfo the transaction to check
+     * @return whether the transaction is only throttled by the requirements of its functionality
+     */
+    public boolean isThrottledByFunctionReqsOnly(@NonNull final TransactionInfo txnInfo) {
+        final var function = txnInfo.functionality();
+        if (isGasThrottled(function) || !functionReqs.containsKey(function)) {
+            return false;
+        }
+        if (throttleExempt(txnInfo.payerID(), configProvider.getConfiguration())) {
+            return false;
+        }
+        return switch (function) {
+            case SCHEDULE_CREATE, SCHEDULE_SIGN -> false;
+            case TOKEN_MINT -> txnInfo.txBody()
+                    .tokenMintOrElse(TokenMintTransactionBody.DEFAULT)
+                    .metadata()
+                    .isEmpty();
+            case CRYPTO_TRANSFER -> !usesAliases(
+                    txnInfo.txBody().cryptoTransferOrElse(CryptoTransferTransactionBody.DEFAULT));
+            default -> true;
+        };
+    }
+
     /*
      * Updates the throttle requirements for the given query and returns whether the query should be throttled.
      *
@@ -40,15 +40,20 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 /**
  * This class is used to warm up the cache. It is called at the beginning of a round with the current state
  * and the round. It will start a background thread which iterates through all transactions and calls the
- * {@link TransactionHandler#warm} method.
+ * {@link TransactionHandler#warm} method. Keys to warm are collected for the whole round first, and then every
+ * state warms its keys in a single batch, see {@link WarmupKeyCollector}.
  */
 @Singleton
 public class CacheWarmer {
 
+    private static final Logger logger = LogManager.getLogger(CacheWarmer.class);
+
     private final TransactionChecker checker;
     private final TransactionDispatcher dispatcher;
     private final Executor executor;
@@ -76,25 +81,41 @@ public class CacheWarmer {
      */
     public void warm(@NonNull final HederaState state, @NonNull final Round round) {
         executor.execute(() -> {
-            final ReadableStoreFactory storeFactory = new ReadableStoreFactory(state);
+            final WarmupKeyCollector keyCollector = new WarmupKeyCollector(state);
+            final ReadableStoreFactory storeFactory = new ReadableStoreFactory(keyCollector);
             final ReadableAccountStore accountStore = storeFactory.getStore(ReadableAccountStore.class);
+            // Warm-up calls only record keys, so it's cheaper to process all transactions in this
+            // task than to submit a task per transaction
             for (final ConsensusEvent event : round) {
-                event.forEachTransaction(platformTransaction -> executor.execute(() -> {
-                    final TransactionBody txBody = extractTransactionBody(platformTransaction);
-                    if (txBody != null) {
-                        final AccountID payerID = txBody.transactionIDOrElse(TransactionID.DEFAULT)
-                                .accountID();
-                        if (payerID != null) {
-                            accountStore.warm(payerID);
-                        }
-                        final var context = new WarmupContextImpl(txBody, storeFactory);
-                        dispatcher.dispatchWarmup(context);
+                event.forEachTransaction(platformTransaction -> {
+                    try {
+                        warmTransaction(platformTransaction, accountStore, storeFactory);
+                    } catch (final RuntimeException e) {
+                        // A failed warm-up of one transaction must not stop the warm-up of the rest of the round
+                        logger.debug("Failed to warm up transaction", e);
                     }
-                }));
+                });
             }
+            keyCollector.warmCollectedKeys();
         });
     }
 
+    private void warmTransaction(
+            @NonNull final Transaction platformTransaction,
+            @NonNull final ReadableAccountStore accountStore,
+            @NonNull final ReadableStoreFactory storeFactory) {
+        final TransactionBody txBody = extractTransactionBody(platformTransaction);
+        if (txBody != null) {
+            final AccountID payerID =
+                    txBody.transactionIDOrElse(TransactionID.DEFAULT).accountID();
+            if (payerID != null) {
+                accountStore.warm(payerID);
+            }
+            final var context = new WarmupContextImpl(txBody, storeFactory);
+            dispatcher.dispatchWarmup(context);
+        }
+    }
+
     @Nullable
     private TransactionBody extractTransactionBody(@NonNull final Transaction platformTransaction) {
         // First we check if the transaction was already parsed during pre-handle (should be almost always the case)
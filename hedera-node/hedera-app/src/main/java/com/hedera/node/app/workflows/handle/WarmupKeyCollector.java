@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.workflows.handle;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.node.app.spi.state.ReadableKVState;
+import com.hedera.node.app.spi.state.ReadableQueueState;
+import com.hedera.node.app.spi.state.ReadableSingletonState;
+import com.hedera.node.app.spi.state.ReadableStates;
+import com.hedera.node.app.spi.state.WritableStates;
+import com.hedera.node.app.state.HederaState;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A {@link HederaState} used by {@link CacheWarmer} to collect all keys to warm in a round. Reads are passed to the
+ * wrapped state as is, but calls to {@link ReadableKVState#warm(Object)} only record the keys. When all transactions
+ * in the round are processed, {@link #warmCollectedKeys()} passes the recorded keys to every wrapped
+ * {@link ReadableKVState} in a single batch.
+ *
+ * <p>This class is thread-safe, keys may be recorded from multiple threads.
+ */
+final class WarmupKeyCollector implements HederaState {
+
+    private final HederaState delegate;
+
+    private final Map<String, CollectingReadableStates> readableStates = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor of {@code WarmupKeyCollector}
+     *
+     * @param delegate the state to wrap
+     */
+    WarmupKeyCollector(@NonNull final HederaState delegate) {
+        this.delegate = requireNonNull(delegate);
+    }
+
+    @NonNull
+    @Override
+    public ReadableStates getReadableStates(@NonNull final String serviceName) {
+        return readableStates.computeIfAbsent(
+                serviceName, name -> new CollectingReadableStates(delegate.getReadableStates(name)));
+    }
+
+    @NonNull
+    @Override
+    public WritableStates getWritableStates(@NonNull final String serviceName) {
+        throw new UnsupportedOperationException("Cache warm-up must not modify state");
+    }
+
+    /**
+     * Warms all keys recorded so far. Every state gets its keys in a single {@link ReadableKVState#warmAll} call.
+     */
+    void warmCollectedKeys() {
+        for (final CollectingReadableStates states : readableStates.values()) {
+            for (final CollectingReadableKVState<?, ?> state : states.kvStates.values()) {
+                state.warmCollectedKeys();
+            }
+        }
+    }
+
+    private static final class CollectingReadableStates implements ReadableStates {
+
+        private final ReadableStates delegate;
+
+        private final Map<String, CollectingReadableKVState<?, ?>> kvStates = new ConcurrentHashMap<>();
+
+        CollectingReadableStates(@NonNull final ReadableStates delegate) {
+            this.delegate = requireNonNull(delegate);
+        }
+
+        @SuppressWarnings("unchecked")
+        @NonNull
+        @Override
+        public <K, V> ReadableKVState<K, V> get(@NonNull final String stateKey) {
+            return (ReadableKVState<K, V>) kvStates.computeIfAbsent(
+                    stateKey, key -> new CollectingReadableKVState<>(delegate.get(key)));
+        }
+
+        @NonNull
+        @Override
+        public <T> ReadableSingletonState<T> getSingleton(@NonNull final String stateKey) {
+            return delegate.getSingleton(stateKey);
+        }
+
+        @NonNull
+        @Override
+        public <E> ReadableQueueState<E> getQueue(@NonNull final String stateKey) {
+            return delegate.getQueue(stateKey);
+        }
+
+        @Override
+        public boolean contains(@NonNull final String stateKey) {
+            return delegate.contains(stateKey);
+        }
+
+        @NonNull
+        @Override
+        public Set<String> stateKeys() {
+            return delegate.stateKeys();
+        }
+    }
+
+    private static final class CollectingReadableKVState<K, V> implements ReadableKVState<K, V> {
+
+        private final ReadableKVState<K, V> delegate;
+
+        private final Queue<K> keysToWarm = new ConcurrentLinkedQueue<>();
+
+        CollectingReadableKVState(@NonNull final ReadableKVState<K, V> delegate) {
+            this.delegate = requireNonNull(delegate);
+        }
+
+        @NonNull
+        @Override
+        public String getStateKey() {
+            return delegate.getStateKey();
+        }
+
+        @Override
+        public boolean contains(@NonNull final K key) {
+            return delegate.contains(key);
+        }
+
+        @Nullable
+        @Override
+        public V get(@NonNull final K key) {
+            return delegate.get(key);
+        }
+
+        @NonNull
+        @Override
+        public Iterator<K> keys() {
+            return delegate.keys();
+        }
+
+        @NonNull
+        @Override
+        public Set<K> readKeys() {
+            return delegate.readKeys();
+        }
+
+        @Override
+        public long size() {
+            return delegate.size();
+        }
+
+        @Override
+        public void warm(@NonNull final K key) {
+            keysToWarm.add(requireNonNull(key));
+        }
+
+        void warmCollectedKeys() {
+            final List<K> keys = new ArrayList<>(keysToWarm.size());
+            K key;
+            while ((key = keysToWarm.poll()) != null) {
+                keys.add(key);
+            }
+            if (!keys.isEmpty()) {
+                delegate.warmAll(keys);
+            }
+        }
+    }
+}
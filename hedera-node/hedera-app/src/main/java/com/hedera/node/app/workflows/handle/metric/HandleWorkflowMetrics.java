@@ -20,6 +20,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.hedera.hapi.node.base.HederaFunctionality;
 import com.swirlds.common.metrics.IntegerPairAccumulator;
+import com.swirlds.metrics.api.Histogram;
 import com.swirlds.metrics.api.IntegerAccumulator;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -40,6 +41,8 @@ public class HandleWorkflowMetrics {
     private final Map<HederaFunctionality, TransactionMetric> transactionMetrics =
             new EnumMap<>(HederaFunctionality.class);
 
+    private final Histogram handleDuration;
+
     /**
      * Constructor for the HandleWorkflowMetrics
      *
@@ -65,6 +68,10 @@ public class HandleWorkflowMetrics {
             final var avgMetric = metrics.getOrCreate(avgConfig);
             transactionMetrics.put(functionality, new TransactionMetric(maxMetric, avgMetric));
         }
+        final var durationConfig = new Histogram.Config("app", "handleDuration")
+                .withDescription("The distribution of the durations of all transactions in nanoseconds")
+                .withUnit("ns");
+        handleDuration = metrics.getOrCreate(durationConfig);
     }
 
     /**
@@ -82,6 +89,7 @@ public class HandleWorkflowMetrics {
             // the updates would introduce a severe performance penalty.
             metric.max.update(duration);
             metric.avg.update(duration, 1);
+            handleDuration.update(duration);
         }
     }
 
@@ -23,13 +23,18 @@ import static org.mockito.Mockito.verify;
 
 import com.hedera.node.app.utils.TestUtils;
 import com.hedera.node.app.workflows.ingest.IngestWorkflow;
+import com.hedera.node.config.types.GrpcExecutorMode;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.metrics.api.Counter;
 import com.swirlds.metrics.api.Metrics;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -155,6 +160,65 @@ final class TransactionMethodTest {
         verify(streamObserver).onError(Mockito.any());
     }
 
+    @Test
+    void handedOffCallGetsItsOwnCopyOfTheRequest(@Mock final StreamObserver<BufferedData> streamObserver)
+            throws InterruptedException {
+        // Given a TransactionMethod that hands its calls off to a virtual thread, and a workflow that waits
+        final var executor = WorkflowExecutor.create("test", GrpcExecutorMode.VIRTUAL_THREADS, 1, 1, 1);
+        final var release = new CountDownLatch(1);
+        final var seen = new CopyOnWriteArrayList<Bytes>();
+        final IngestWorkflow w = (req, res) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            seen.add(req);
+        };
+        final var method = new TransactionMethod(SERVICE_NAME, METHOD_NAME, w, metrics, executor);
+        final var requestBuffer = BufferedData.wrap(new byte[] {1, 2, 3});
+
+        // When we invoke the method, and the event loop then reuses the request buffer before the workflow runs
+        method.invoke(requestBuffer, streamObserver);
+        requestBuffer.writeBytes(new byte[] {7, 7, 7});
+        release.countDown();
+
+        // Then the workflow still sees the original request, and the call is handled
+        verify(streamObserver, Mockito.timeout(5_000)).onCompleted();
+        assertThat(seen).containsExactly(Bytes.wrap(new byte[] {1, 2, 3}));
+        assertThat(counter("Hdl").get()).isEqualTo(1L);
+    }
+
+    @Test
+    void callsBeyondTheInFlightLimitAreRejected(@Mock final StreamObserver<BufferedData> streamObserver) {
+        // Given a TransactionMethod that allows one call in flight, and a workflow that waits
+        final var executor = WorkflowExecutor.create("test", GrpcExecutorMode.BOUNDED_POOL, 1, 1, 1);
+        final var release = new CountDownLatch(1);
+        final IngestWorkflow w = (req, res) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        final var method = new TransactionMethod(SERVICE_NAME, METHOD_NAME, w, metrics, executor);
+        @SuppressWarnings("unchecked")
+        final StreamObserver<BufferedData> rejectedObserver = mock(StreamObserver.class);
+
+        // When we invoke the method twice while the first call is still running
+        method.invoke(BufferedData.allocate(10), streamObserver);
+        method.invoke(BufferedData.allocate(10), rejectedObserver);
+        release.countDown();
+
+        // Then the second call is rejected as RESOURCE_EXHAUSTED
+        verify(rejectedObserver)
+                .onError(Mockito.argThat(e -> e instanceof StatusRuntimeException sre
+                        && sre.getStatus().getCode() == Status.Code.RESOURCE_EXHAUSTED));
+        assertThat(counter("Rej").get()).isEqualTo(1L);
+        // And the first call completes normally
+        verify(streamObserver, Mockito.timeout(5_000)).onCompleted();
+    }
+
     private Counter counter(String suffix) {
         return (Counter) metrics.getMetric("app", SERVICE_NAME + ":" + METHOD_NAME + suffix);
     }
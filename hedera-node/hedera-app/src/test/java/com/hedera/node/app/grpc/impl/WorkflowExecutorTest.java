@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.grpc.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hedera.node.config.types.GrpcExecutorMode;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+final class WorkflowExecutorTest {
+    @Test
+    void directExecutorRunsOnCallingThreadWithoutLimit() {
+        final var subject = WorkflowExecutor.create("test", GrpcExecutorMode.DIRECT, 1, 1, 1);
+        final var thread = new AtomicReference<Thread>();
+
+        assertThat(subject.isDirect()).isTrue();
+        assertThat(subject.tryAdmit()).isTrue();
+        assertThat(subject.tryAdmit()).isTrue();
+        subject.execute(() -> thread.set(Thread.currentThread()));
+
+        assertThat(thread.get()).isSameAs(Thread.currentThread());
+        assertThat(subject.inFlight()).isZero();
+    }
+
+    @ParameterizedTest
+    @EnumSource(
+            value = GrpcExecutorMode.class,
+            names = {"VIRTUAL_THREADS", "BOUNDED_POOL"})
+    void handedOffCallsAreLimitedUntilTheyComplete(final GrpcExecutorMode mode) throws InterruptedException {
+        final var subject = WorkflowExecutor.create("test", mode, 2, 2, 1);
+        final var release = new CountDownLatch(1);
+        final var done = new CountDownLatch(2);
+        final var thread = new AtomicReference<Thread>();
+        final Runnable call = () -> {
+            try {
+                thread.set(Thread.currentThread());
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        };
+
+        assertThat(subject.isDirect()).isFalse();
+        assertThat(subject.tryAdmit()).isTrue();
+        subject.execute(call);
+        assertThat(subject.tryAdmit()).isTrue();
+        subject.execute(call);
+
+        // Both calls are in flight, so a third is not admitted
+        assertThat(subject.inFlight()).isEqualTo(2);
+        assertThat(subject.tryAdmit()).isFalse();
+
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(thread.get()).isNotSameAs(Thread.currentThread());
+        assertThat(thread.get().isVirtual()).isEqualTo(mode == GrpcExecutorMode.VIRTUAL_THREADS);
+
+        // Admissions are released once the calls complete
+        final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (subject.inFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(subject.inFlight()).isZero();
+        assertThat(subject.tryAdmit()).isTrue();
+        subject.close();
+    }
+
+    @Test
+    void responseBuffersAreReusedUpToThePoolSize() throws InterruptedException {
+        try (final var subject = WorkflowExecutor.create("test", GrpcExecutorMode.VIRTUAL_THREADS, 2, 1, 1)) {
+            final var first = subject.borrowResponseBuffer();
+            first.writeInt(42);
+
+            // The pool is exhausted, so another call waits until the buffer is returned
+            final var borrowed = new CountDownLatch(1);
+            final var second = new AtomicReference<Object>();
+            final var thread = Thread.ofVirtual().start(() -> {
+                second.set(subject.borrowResponseBuffer());
+                borrowed.countDown();
+            });
+            assertThat(borrowed.await(100, TimeUnit.MILLISECONDS)).isFalse();
+
+            subject.returnResponseBuffer(first);
+            assertThat(borrowed.await(5, TimeUnit.SECONDS)).isTrue();
+            thread.join();
+            assertThat(second.get()).isSameAs(first);
+            assertThat(first.position()).isZero();
+        }
+    }
+
+    @Test
+    void directExecutorReusesTheResponseBufferOfTheCallingThread() throws InterruptedException {
+        final var subject = WorkflowExecutor.direct();
+        final var buffer = subject.borrowResponseBuffer();
+        buffer.writeInt(42);
+        subject.returnResponseBuffer(buffer);
+
+        final var reused = subject.borrowResponseBuffer();
+        assertThat(reused).isSameAs(buffer);
+        assertThat(reused.position()).isZero();
+
+        // Other threads have their own buffer
+        final var other = new AtomicReference<Object>();
+        final var thread = new Thread(() -> other.set(subject.borrowResponseBuffer()));
+        thread.start();
+        thread.join();
+        assertThat(other.get()).isNotNull().isNotSameAs(buffer);
+    }
+
+    @Test
+    void closingShutsDownTheExecutor() {
+        final var subject = WorkflowExecutor.create("test", GrpcExecutorMode.BOUNDED_POOL, 1, 1, 1);
+        subject.close();
+
+        assertThat(subject.tryAdmit()).isTrue();
+        assertThatThrownBy(() -> subject.execute(() -> {})).isInstanceOf(RejectedExecutionException.class);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.signature.impl;
+
+import static com.swirlds.metrics.api.Metric.ValueType.VALUE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hedera.node.app.utils.TestUtils;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.common.crypto.SignatureType;
+import com.swirlds.metrics.api.Metrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link SignatureVerificationCache} */
+final class SignatureVerificationCacheTest {
+    private static final Bytes KEY = Bytes.wrap(new byte[] {1, 2, 3, 4});
+    private static final Bytes SIGNATURE = Bytes.wrap(new byte[] {5, 6, 7, 8});
+
+    @Test
+    @DisplayName("Sizes out of range are not permitted")
+    void failIfSizeIsOutOfRange() {
+        final var metrics = TestUtils.metrics();
+        assertThatThrownBy(() -> new SignatureVerificationCache(-1, metrics))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SignatureVerificationCache((1 << 24) + 1, metrics))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Added verifications are found")
+    void addedVerificationsAreFound() {
+        final var cache = new SignatureVerificationCache(1024, TestUtils.metrics());
+        final var hash = cache.hashOf(Bytes.wrap("signed bytes"));
+        final var key = cache.keyOf(hash, SignatureType.ED25519, KEY, SIGNATURE);
+
+        assertThat(cache.isEnabled()).isTrue();
+        assertThat(cache.contains(key)).isFalse();
+        cache.add(key);
+        assertThat(cache.contains(key)).isTrue();
+        assertThat(cache.contains(cache.keyOf(hash, SignatureType.ED25519, KEY, SIGNATURE))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Every part of a verification is part of its key")
+    void keysDependOnAllParts() {
+        final var cache = new SignatureVerificationCache(1024, TestUtils.metrics());
+        final var hash = cache.hashOf(Bytes.wrap("signed bytes"));
+        cache.add(cache.keyOf(hash, SignatureType.ED25519, KEY, SIGNATURE));
+
+        final var otherHash = cache.hashOf(Bytes.wrap("other bytes"));
+        assertThat(cache.contains(cache.keyOf(otherHash, SignatureType.ED25519, KEY, SIGNATURE))).isFalse();
+        assertThat(cache.contains(cache.keyOf(hash, SignatureType.ECDSA_SECP256K1, KEY, SIGNATURE))).isFalse();
+        assertThat(cache.contains(cache.keyOf(hash, SignatureType.ED25519, SIGNATURE, KEY))).isFalse();
+        // the same bytes split differently between key and signature
+        final var shiftedKey = Bytes.wrap(new byte[] {1, 2, 3});
+        final var shiftedSignature = Bytes.wrap(new byte[] {4, 5, 6, 7, 8});
+        assertThat(cache.contains(cache.keyOf(hash, SignatureType.ED25519, shiftedKey, shiftedSignature))).isFalse();
+    }
+
+    @Test
+    @DisplayName("A newer verification replaces an older one in the same slot")
+    void newerVerificationsReplaceOlderOnes() {
+        final var cache = new SignatureVerificationCache(1, TestUtils.metrics());
+        final var hash = cache.hashOf(Bytes.wrap("signed bytes"));
+        final var first = cache.keyOf(hash, SignatureType.ED25519, KEY, SIGNATURE);
+        final var second = cache.keyOf(hash, SignatureType.ED25519, SIGNATURE, KEY);
+
+        cache.add(first);
+        cache.add(second);
+
+        assertThat(cache.contains(first)).isFalse();
+        assertThat(cache.contains(second)).isTrue();
+    }
+
+    @Test
+    @DisplayName("A disabled cache never finds anything")
+    void disabledCacheNeverHits() {
+        final var cache = new SignatureVerificationCache(0, TestUtils.metrics());
+        final var key = cache.keyOf(cache.hashOf(Bytes.wrap("signed bytes")), SignatureType.ED25519, KEY, SIGNATURE);
+
+        cache.add(key);
+
+        assertThat(cache.isEnabled()).isFalse();
+        assertThat(cache.contains(key)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Hits and misses are reported as metrics")
+    void hitsAndMissesAreReported() {
+        final Metrics metrics = TestUtils.metrics();
+        final var cache = new SignatureVerificationCache(1024, metrics);
+        final var key = cache.keyOf(cache.hashOf(Bytes.wrap("signed bytes")), SignatureType.ED25519, KEY, SIGNATURE);
+
+        cache.contains(key);
+        cache.add(key);
+        cache.contains(key);
+        cache.contains(key);
+        cache.contains(key);
+
+        assertThat(metrics.getMetric("app", "sigVerificationCacheHits").get(VALUE)).isEqualTo(3L);
+        assertThat(metrics.getMetric("app", "sigVerificationCacheMisses").get(VALUE)).isEqualTo(1L);
+        assertThat(metrics.getMetric("app", "sigVerificationCacheHitRatio")).isNull();
+    }
+}
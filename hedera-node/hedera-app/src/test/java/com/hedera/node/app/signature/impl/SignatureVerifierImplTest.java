@@ -26,12 +26,15 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.hedera.node.app.fixtures.AppTestBase;
 import com.hedera.node.app.service.mono.sigs.utils.MiscCryptoUtils;
 import com.hedera.node.app.signature.ExpandedSignaturePair;
 import com.hedera.node.app.signature.SignatureVerifier;
 import com.hedera.node.app.spi.fixtures.Scenarios;
+import com.hedera.node.app.utils.TestUtils;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.common.crypto.Cryptography;
 import com.swirlds.common.crypto.TransactionSignature;
@@ -69,14 +72,18 @@ final class SignatureVerifierImplTest extends AppTestBase implements Scenarios {
     @BeforeEach
     void setUp() {
         signedBytes = randomBytes(123);
-        verifier = new SignatureVerifierImpl(cryptoEngine);
+        verifier = new SignatureVerifierImpl(cryptoEngine, new SignatureVerificationCache(0, TestUtils.metrics()));
     }
 
     @Test
     @DisplayName("Null Args are not permitted")
     void failIfConstructorArgsAreNull() {
+        final var cache = new SignatureVerificationCache(0, TestUtils.metrics());
         //noinspection DataFlowIssue
-        assertThatThrownBy(() -> new SignatureVerifierImpl(null)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> new SignatureVerifierImpl(null, cache)).isInstanceOf(NullPointerException.class);
+        //noinspection DataFlowIssue
+        assertThatThrownBy(() -> new SignatureVerifierImpl(cryptoEngine, null))
+                .isInstanceOf(NullPointerException.class);
     }
 
     @Test
@@ -180,4 +187,60 @@ final class SignatureVerifierImplTest extends AppTestBase implements Scenarios {
                     .isTrue();
         }
     }
+
+    @Test
+    @DisplayName("Successful verifications are served from the cache")
+    void successfulVerificationsAreCached() throws Exception {
+        // Given a verifier with a cache, and a crypto engine that finds every signature valid
+        verifier = new SignatureVerifierImpl(cryptoEngine, new SignatureVerificationCache(16, TestUtils.metrics()));
+        final var sigs = Set.of(ecdsaPair(ALICE.keyInfo().publicKey()), ed25519Pair(BOB.keyInfo().publicKey()));
+        completeVerifications(VerificationStatus.VALID);
+
+        // When we verify the signatures twice, waiting for the first verification to complete
+        for (final var future : verifier.verify(signedBytes, sigs).values()) {
+            assertThat(future.get().passed()).isTrue();
+        }
+        final var map = verifier.verify(signedBytes, sigs);
+
+        // Then the second verification doesn't use the crypto engine, and all signatures still pass
+        verify(cryptoEngine, times(1)).verifyAsync(any(List.class));
+        assertThat(map).hasSize(2);
+        for (final var future : map.values()) {
+            assertThat(future.isDone()).isTrue();
+            assertThat(future.get().passed()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Failed verifications are not cached")
+    void failedVerificationsAreNotCached() throws Exception {
+        // Given a verifier with a cache, and a crypto engine that finds every signature invalid
+        verifier = new SignatureVerifierImpl(cryptoEngine, new SignatureVerificationCache(16, TestUtils.metrics()));
+        final var sigs = Set.of(ed25519Pair(BOB.keyInfo().publicKey()));
+        completeVerifications(VerificationStatus.INVALID);
+
+        // When we verify the signature twice
+        for (int i = 0; i < 2; i++) {
+            for (final var future : verifier.verify(signedBytes, sigs).values()) {
+                assertThat(future.get().passed()).isFalse();
+            }
+        }
+
+        // Then the crypto engine verified it both times
+        verify(cryptoEngine, times(2)).verifyAsync(any(List.class));
+    }
+
+    private void completeVerifications(final VerificationStatus status) {
+        //noinspection unchecked
+        doAnswer((Answer<Void>) invocation -> {
+                    final List<TransactionSignature> signatures = invocation.getArgument(0);
+                    for (TransactionSignature signature : signatures) {
+                        signature.setSignatureStatus(status);
+                        signature.setFuture(completedFuture(null));
+                    }
+                    return null;
+                })
+                .when(cryptoEngine)
+                .verifyAsync(any(List.class));
+    }
 }
@@ -21,6 +21,10 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
 import com.hedera.node.app.spi.fixtures.state.TestSchema;
 import com.hedera.node.app.spi.state.StateDefinition;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
@@ -28,6 +32,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class StateUtilsTest extends MerkleTestBase {
     /** A *static* pseudo-random number generator used to generate the legal identifiers */
@@ -208,6 +213,31 @@ class StateUtilsTest extends MerkleTestBase {
         assertThat(hashes).hasSize(numWords * numWords);
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {0, 10, 100_000})
+    @DisplayName("Objects written to a stream can be read back, no matter their size")
+    void writeAndReadStream(final int length) throws IOException {
+        final var value = "x".repeat(length);
+        final var out = new ByteArrayOutputStream();
+        final var written = StateUtils.writeToStream(out, STRING_CODEC, value);
+        final var bytes = out.toByteArray();
+
+        assertThat(written).isEqualTo(STRING_CODEC.measureRecord(value));
+        assertThat(bytes).hasSize(Integer.BYTES + written);
+        assertThat(ByteBuffer.wrap(bytes).getInt()).isEqualTo(written);
+        assertThat(StateUtils.readFromStream(new ByteArrayInputStream(bytes), STRING_CODEC))
+                .isEqualTo(value);
+    }
+
+    @Test
+    @DisplayName("Writing an object with a wrong size throws an exception")
+    void writeToStreamWithWrongSizeThrows() {
+        final var out = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> StateUtils.writeToStream(out, STRING_CODEC, "Apple", 100))
+                .isInstanceOf(IOException.class);
+        assertThat(out.size()).isZero();
+    }
+
     public static Stream<Arguments> illegalIdentifiers() {
         // The only valid characters are A-Za-z0-9_-. Any other character is a problem.
         // So I will construct three different types of invalid strings. Those that contain only
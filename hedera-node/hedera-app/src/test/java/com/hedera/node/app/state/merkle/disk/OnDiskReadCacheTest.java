@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.state.merkle.disk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hedera.node.app.state.merkle.MerkleTestBase;
+import com.hedera.node.app.utils.TestUtils;
+import com.swirlds.metrics.api.Counter;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OnDiskReadCacheTest extends MerkleTestBase {
+    private OnDiskReadCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        setupFruitVirtualMap();
+        cache = new OnDiskReadCache<>(FIRST_SERVICE, FRUIT_STATE_KEY, fruitVirtualMap, 2, null);
+    }
+
+    @Test
+    @DisplayName("The maxSize must be positive")
+    void maxSizeMustBePositive() {
+        assertThatThrownBy(() -> new OnDiskReadCache<>(FIRST_SERVICE, FRUIT_STATE_KEY, fruitVirtualMap, 0, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("A cache only belongs to the virtual map it was created for")
+    void isForSameVirtualMapOnly() {
+        assertThat(cache.isFor(fruitVirtualMap)).isTrue();
+        final var copy = fruitVirtualMap.copy();
+        try {
+            assertThat(cache.isFor(copy)).isFalse();
+        } finally {
+            copy.release();
+        }
+    }
+
+    @Test
+    @DisplayName("Values and missing values are only loaded once")
+    void valuesAreLoadedOnce() {
+        final var loads = new AtomicInteger();
+        final Function<String, String> loader = key -> {
+            loads.incrementAndGet();
+            return A_KEY.equals(key) ? APPLE : null;
+        };
+
+        assertThat(cache.get(A_KEY, loader)).isEqualTo(APPLE);
+        assertThat(cache.get(A_KEY, loader)).isEqualTo(APPLE);
+        assertThat(cache.get(B_KEY, loader)).isNull();
+        assertThat(cache.get(B_KEY, loader)).isNull();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("No more values are cached once the cache is full")
+    void cacheIsBounded() {
+        final var loads = new AtomicInteger();
+        final Function<String, String> loader = key -> {
+            loads.incrementAndGet();
+            return key;
+        };
+
+        cache.get(A_KEY, loader);
+        cache.get(B_KEY, loader);
+        cache.get(C_KEY, loader);
+        cache.get(C_KEY, loader);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("A value loaded while the key is invalidated is not cached")
+    void concurrentWriteIsNotCached() {
+        final var loads = new AtomicInteger();
+        final Function<String, String> loader = key -> {
+            // Simulates a write to the map that happens while the (now stale) value is being loaded
+            cache.invalidate(key);
+            return loads.incrementAndGet() == 1 ? APPLE : ACAI;
+        };
+
+        assertThat(cache.get(A_KEY, loader)).isEqualTo(APPLE);
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get(A_KEY, loader)).isEqualTo(ACAI);
+    }
+
+    @Test
+    @DisplayName("Readable states see the values committed by a writable state sharing the cache")
+    void writesInvalidateCache() {
+        add(fruitVirtualMap, fruitVirtualMetadata, A_KEY, APPLE);
+
+        final var readable = new OnDiskReadableKVState<>(fruitVirtualMetadata, fruitVirtualMap, cache);
+        assertThat(readable.get(A_KEY)).isEqualTo(APPLE);
+        assertThat(readable.get(B_KEY)).isNull();
+
+        final var writable = new OnDiskWritableKVState<>(fruitVirtualMetadata, fruitVirtualMap, cache);
+        assertThat(writable.get(A_KEY)).isEqualTo(APPLE);
+        writable.put(A_KEY, ACAI);
+        writable.put(B_KEY, BANANA);
+        writable.commit();
+
+        final var nextReadable = new OnDiskReadableKVState<>(fruitVirtualMetadata, fruitVirtualMap, cache);
+        assertThat(nextReadable.get(A_KEY)).isEqualTo(ACAI);
+        assertThat(nextReadable.get(B_KEY)).isEqualTo(BANANA);
+
+        final var nextWritable = new OnDiskWritableKVState<>(fruitVirtualMetadata, fruitVirtualMap, cache);
+        nextWritable.remove(A_KEY);
+        nextWritable.commit();
+
+        final var lastReadable = new OnDiskReadableKVState<>(fruitVirtualMetadata, fruitVirtualMap, cache);
+        assertThat(lastReadable.get(A_KEY)).isNull();
+    }
+
+    @Test
+    @DisplayName("Hits and misses are reported as metrics")
+    void metricsAreRegistered() {
+        final var metrics = TestUtils.metrics();
+        final var subject =
+                new OnDiskReadCache<String, String>(FIRST_SERVICE, FRUIT_STATE_KEY, fruitVirtualMap, 2, metrics);
+        final var name = (FIRST_SERVICE + "." + FRUIT_STATE_KEY).replace('.', '_');
+        final var hits = (Counter) metrics.getMetric("app", name + "ReadCacheHits");
+        final var misses = (Counter) metrics.getMetric("app", name + "ReadCacheMisses");
+        assertThat(metrics.getMetric("app", name + "ReadCacheHitRatio")).isNull();
+
+        subject.get(A_KEY, key -> APPLE);
+        subject.get(A_KEY, key -> APPLE);
+        subject.get(A_KEY, key -> APPLE);
+        subject.get(B_KEY, key -> null);
+
+        assertThat(hits.get()).isEqualTo(2);
+        assertThat(misses.get()).isEqualTo(2);
+
+        // The caches of later copies of the map report to the same metrics
+        final var next =
+                new OnDiskReadCache<String, String>(FIRST_SERVICE, FRUIT_STATE_KEY, fruitVirtualMap, 2, metrics);
+        next.get(A_KEY, key -> APPLE);
+        next.get(A_KEY, key -> APPLE);
+        assertThat(hits.get()).isEqualTo(3);
+        assertThat(misses.get()).isEqualTo(3);
+    }
+}
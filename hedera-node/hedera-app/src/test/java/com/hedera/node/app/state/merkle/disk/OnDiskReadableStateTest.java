@@ -25,6 +25,7 @@ import com.hedera.node.app.spi.state.StateDefinition;
 import com.hedera.node.app.state.merkle.MerkleTestBase;
 import com.hedera.node.app.state.merkle.StateMetadata;
 import com.swirlds.virtualmap.VirtualMap;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -120,4 +121,12 @@ class OnDiskReadableStateTest extends MerkleTestBase {
         state.warm(A_KEY);
         verify(virtualMapMock).warm(new OnDiskKey<>(md, A_KEY));
     }
+
+    @Test
+    @DisplayName("The method warmAll() passes all keys to the virtual map in one call")
+    void warmAll(@Mock VirtualMap<OnDiskKey<String>, OnDiskValue<String>> virtualMapMock) {
+        final var state = new OnDiskReadableKVState<>(md, virtualMapMock, Runnable::run);
+        state.warmAll(List.of(A_KEY, B_KEY));
+        verify(virtualMapMock).warmAll(List.of(new OnDiskKey<>(md, A_KEY), new OnDiskKey<>(md, B_KEY)));
+    }
 }
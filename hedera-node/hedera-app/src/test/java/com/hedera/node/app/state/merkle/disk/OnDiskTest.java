@@ -22,6 +22,7 @@ import static org.mockito.Mockito.mock;
 
 import com.hedera.hapi.node.base.AccountID;
 import com.hedera.hapi.node.state.token.Account;
+import com.hedera.node.app.spi.state.EntityNumMapper;
 import com.hedera.node.app.spi.state.Schema;
 import com.hedera.node.app.spi.state.StateDefinition;
 import com.hedera.node.app.spi.workflows.record.GenesisRecordsBuilder;
@@ -35,6 +36,7 @@ import com.swirlds.common.io.utility.TemporaryFileBuilder;
 import com.swirlds.config.api.Configuration;
 import com.swirlds.merkledb.MerkleDbDataSourceBuilder;
 import com.swirlds.merkledb.MerkleDbTableConfig;
+import com.swirlds.merkledb.serialize.KeyIndexType;
 import com.swirlds.virtualmap.VirtualMap;
 import com.swirlds.virtualmap.internal.merkle.VirtualRootNode;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -63,7 +65,6 @@ class OnDiskTest extends MerkleTestBase {
     @BeforeEach
     void setUp() throws IOException {
         setupConstructableRegistry();
-        final Path storageDir = TemporaryFileBuilder.buildTemporaryDirectory();
 
         def = StateDefinition.onDisk(ACCOUNT_STATE_KEY, AccountID.PROTOBUF, Account.PROTOBUF, 100);
 
@@ -77,7 +78,16 @@ class OnDiskTest extends MerkleTestBase {
         };
 
         md = new StateMetadata<>(SERVICE_NAME, schema, def);
+        virtualMap = newVirtualMap(md);
+
+        this.config = mock(Configuration.class);
+        final var hederaConfig = mock(HederaConfig.class);
+        lenient().when(config.getConfigData(HederaConfig.class)).thenReturn(hederaConfig);
+    }
 
+    private VirtualMap<OnDiskKey<AccountID>, OnDiskValue<Account>> newVirtualMap(
+            @NonNull final StateMetadata<AccountID, Account> md) throws IOException {
+        final Path storageDir = TemporaryFileBuilder.buildTemporaryDirectory();
         final var tableConfig = new MerkleDbTableConfig<>(
                 (short) 1,
                 DigestType.SHA_384,
@@ -92,11 +102,7 @@ class OnDiskTest extends MerkleTestBase {
         tableConfig.preferDiskIndices(true);
 
         final var builder = new MerkleDbDataSourceBuilder<>(storageDir, tableConfig);
-        virtualMap = new VirtualMap<>(StateUtils.computeLabel(SERVICE_NAME, ACCOUNT_STATE_KEY), builder);
-
-        this.config = mock(Configuration.class);
-        final var hederaConfig = mock(HederaConfig.class);
-        lenient().when(config.getConfigData(HederaConfig.class)).thenReturn(hederaConfig);
+        return new VirtualMap<>(StateUtils.computeLabel(SERVICE_NAME, ACCOUNT_STATE_KEY), builder);
     }
 
     <K, V> VirtualMap<OnDiskKey<K>, OnDiskValue<V>> copyHashAndFlush(VirtualMap<OnDiskKey<K>, OnDiskValue<V>> map) {
@@ -191,6 +197,72 @@ class OnDiskTest extends MerkleTestBase {
         }
     }
 
+    @Test
+    void entityNumKeysAreStoredAsLongsButHashedAsProtobuf() throws InterruptedException, IOException {
+        final var longKeyMd = new StateMetadata<>(
+                SERVICE_NAME, schema, def.withEntityNumKeys(EntityNumMapper.forAccounts(0, 0)));
+        assertThat(new OnDiskKeySerializer<>(longKeyMd).getIndexType())
+                .isEqualTo(KeyIndexType.SEQUENTIAL_INCREMENTING_LONGS);
+        var longKeyMap = newVirtualMap(longKeyMd);
+
+        final var ws = new OnDiskWritableKVState<>(md, virtualMap);
+        final var longKeyWs = new OnDiskWritableKVState<>(longKeyMd, longKeyMap);
+        for (int i = 1; i < 10; i++) {
+            final var id = AccountID.newBuilder().accountNum(i).build();
+            final var acct = Account.newBuilder()
+                    .accountId(id)
+                    .memo("Account " + i)
+                    .tinybarBalance(i)
+                    .build();
+            ws.put(id, acct);
+            longKeyWs.put(id, acct);
+        }
+        ws.commit();
+        longKeyWs.commit();
+
+        // The keys are hashed the same way, no matter how they are stored
+        final var copy = virtualMap.copy();
+        final var hash = CRYPTO.digestTreeSync(virtualMap);
+        virtualMap.release();
+        virtualMap = copy;
+        final var longKeyCopy = longKeyMap.copy();
+        assertThat(CRYPTO.digestTreeSync(longKeyMap)).isEqualTo(hash);
+
+        // Flush the entity number keys to disk, and read them back
+        final VirtualRootNode<?, ?> root = longKeyMap.getChild(1);
+        root.enableFlush();
+        longKeyMap.release();
+        root.waitUntilFlushed();
+        longKeyMap = longKeyCopy;
+
+        final var rs = new OnDiskReadableKVState<>(longKeyMd, longKeyMap);
+        for (int i = 1; i < 10; i++) {
+            final var id = AccountID.newBuilder().accountNum(i).build();
+            final var acct = rs.get(id);
+            assertThat(acct).isNotNull();
+            assertThat(acct.accountId()).isEqualTo(id);
+            assertThat(acct.tinybarBalance()).isEqualTo(i);
+        }
+        assertThat(rs.get(AccountID.newBuilder().accountNum(10).build())).isNull();
+        longKeyMap.release();
+    }
+
+    @Test
+    void serializedSizeIsKeptUntilValueChanges() {
+        final var acct = Account.newBuilder().memo("Account").tinybarBalance(1).build();
+        final var value = new OnDiskValue<>(md, acct);
+        assertThat(value.getSerializedSize()).isEqualTo(Account.PROTOBUF.measureRecord(acct));
+
+        final var copy = (OnDiskValue<Account>) value.copy();
+        assertThat(copy.getSerializedSize()).isEqualTo(value.getSerializedSize());
+
+        final var changed = acct.copyBuilder().memo("A much longer memo").build();
+        copy.setValue(changed);
+        assertThat(copy.getSerializedSize()).isEqualTo(Account.PROTOBUF.measureRecord(changed));
+        assertThat(new OnDiskValueSerializer<>(md).getSerializedSize(copy))
+                .isEqualTo(Account.PROTOBUF.measureRecord(changed));
+    }
+
     @Test
     void toStringWorks() {
         final var key = new OnDiskKey<>(md);
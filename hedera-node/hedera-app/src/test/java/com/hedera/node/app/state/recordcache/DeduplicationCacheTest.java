@@ -20,15 +20,20 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.lenient;
 
+import com.hedera.hapi.node.base.AccountID;
 import com.hedera.hapi.node.base.Timestamp;
 import com.hedera.hapi.node.base.TransactionID;
 import com.hedera.node.app.state.DeduplicationCache;
 import com.hedera.node.config.ConfigProvider;
 import com.hedera.node.config.VersionedConfiguration;
 import com.hedera.node.config.data.HederaConfig;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
 import java.time.Instant;
-import java.util.Set;
-import java.util.stream.Stream;
+import java.time.InstantSource;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -40,6 +45,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 final class DeduplicationCacheTest {
     private static final long MAX_TXN_DURATION = 180;
 
+    /** The wall-clock time seen by the cache */
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.now());
+
     private DeduplicationCache cache;
 
     @Mock
@@ -47,7 +55,7 @@ final class DeduplicationCacheTest {
 
     @BeforeEach
     void setUp(@Mock final VersionedConfiguration versionedConfig, @Mock final HederaConfig hederaConfig) {
-        cache = new DeduplicationCacheImpl(props);
+        cache = new DeduplicationCacheImpl(props, now::get);
         lenient().when(props.getConfiguration()).thenReturn(versionedConfig);
         lenient().when(versionedConfig.getConfigData(HederaConfig.class)).thenReturn(hederaConfig);
         lenient().when(hederaConfig.transactionMaxValidDuration()).thenReturn(MAX_TXN_DURATION);
@@ -58,6 +66,11 @@ final class DeduplicationCacheTest {
     void constructorArgsCannotBeNull() {
         //noinspection DataFlowIssue
         assertThatThrownBy(() -> new DeduplicationCacheImpl(null)).isInstanceOf(NullPointerException.class);
+        //noinspection DataFlowIssue
+        assertThatThrownBy(() -> new DeduplicationCacheImpl(props, null)).isInstanceOf(NullPointerException.class);
+        //noinspection DataFlowIssue
+        assertThatThrownBy(() -> new DeduplicationCacheImpl(null, InstantSource.system()))
+                .isInstanceOf(NullPointerException.class);
     }
 
     // Add a transaction ID that has expired
@@ -65,18 +78,13 @@ final class DeduplicationCacheTest {
     @DisplayName("Add a transaction ID that has expired")
     void addTransactionIDThatHasExpired() {
         // Given a transaction ID that has expired
-        final var now = Instant.now();
-        final var txId = TransactionID.newBuilder()
-                .transactionValidStart(Timestamp.newBuilder()
-                        .seconds(now.getEpochSecond() - MAX_TXN_DURATION - 1)
-                        .build())
-                .build();
+        final var txId = txIdAt(now.get().getEpochSecond() - MAX_TXN_DURATION - 1);
 
         // When we add it to the cache
         cache.add(txId);
 
         // Then it is not added!
-        assertThat(internalSet()).isEmpty();
+        assertThat(liveBuckets()).isZero();
         assertThat(cache.contains(txId)).isFalse();
     }
 
@@ -84,148 +92,245 @@ final class DeduplicationCacheTest {
     @DisplayName("Add a transaction ID that is far in the future")
     void addTransactionIDInTheFuture() {
         // Given a transaction ID that is far in the future
-        final var now = Instant.now();
-        final var txId = TransactionID.newBuilder()
-                .transactionValidStart(Timestamp.newBuilder()
-                        .seconds(now.getEpochSecond() + MAX_TXN_DURATION + 1)
-                        .build())
-                .build();
+        final var txId = txIdAt(now.get().getEpochSecond() + MAX_TXN_DURATION + 1);
 
         // When we add it to the cache
         cache.add(txId);
 
         // We allow it to be added. The TransactionChecker is responsible for filtering out future transactions,
         // not this cache.
-        assertThat(internalSet()).containsExactly(txId);
         assertThat(cache.contains(txId)).isTrue();
     }
 
+    @Test
+    @DisplayName("Add a transaction ID that is further in the future than the ring of buckets covers")
+    void addTransactionIDBeyondTheRing() {
+        // Given a transaction ID that is further in the future than the ring covers, and one that maps to the same
+        // ring slot, but is in the window
+        final var futureTxId = txIdAt(now.get().getEpochSecond() + DeduplicationCacheImpl.RING_SIZE);
+        final var txId = txIdAt(now.get().getEpochSecond());
+
+        // When we add them to the cache
+        cache.add(futureTxId);
+        cache.add(txId);
+
+        // Then both are found
+        assertThat(cache.contains(futureTxId)).isTrue();
+        assertThat(cache.contains(txId)).isTrue();
+        assertThat(liveBuckets()).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("Add a transaction ID that is in the right time window")
     void addTransactionIDInTheRightTimeWindow() {
         // Given a transaction ID that is in the right time window
-        final var now = Instant.now();
-        final var txId = TransactionID.newBuilder()
-                .transactionValidStart(Timestamp.newBuilder()
-                        .seconds(now.getEpochSecond() + MAX_TXN_DURATION / 2)
-                        .build())
-                .build();
+        final var txId = txIdAt(now.get().getEpochSecond() + MAX_TXN_DURATION / 2);
 
         // When we add it to the cache
         cache.add(txId);
 
         // Then it is added
-        assertThat(internalSet()).containsExactly(txId);
+        assertThat(liveBuckets()).isEqualTo(1);
         assertThat(cache.contains(txId)).isTrue();
     }
 
     @Test
-    @DisplayName("TransactionIDs are sorted by earliest date first")
-    void transactionIDsAreSortedByEarliestDateFirst() {
-        // Given some transaction IDs with different valid start times
-        final var now = Instant.now();
-        final var txIds = Stream.of(17, 16, 10, 13, 19, 14, 11, 18, 12, 15)
-                .map(i -> TransactionID.newBuilder()
-                        .transactionValidStart(Timestamp.newBuilder()
-                                .seconds(now.getEpochSecond() + i)
-                                .build())
-                        .build())
-                .toList();
+    @DisplayName("TransactionIDs that expire are not returned by `contains`")
+    void expiredNotContained() {
+        // Given a transaction ID that is in the cache
+        final var txId = txIdAt(now.get().getEpochSecond());
+        cache.add(txId);
 
-        // When we add them to the cache
-        txIds.forEach(cache::add);
+        // When the transaction ID expires
+        now.set(now.get().plusSeconds(MAX_TXN_DURATION + 1));
 
-        // Then they are added in order
-        assertThat(internalSet())
-                .containsExactly(
-                        txIds.get(2),
-                        txIds.get(6),
-                        txIds.get(8),
-                        txIds.get(3),
-                        txIds.get(5),
-                        txIds.get(9),
-                        txIds.get(1),
-                        txIds.get(0),
-                        txIds.get(7),
-                        txIds.get(4));
+        // Then we find that the expired transaction ID is gone
+        assertThat(cache.contains(txId)).isFalse();
+        assertThat(liveBuckets()).isZero();
     }
 
     @Test
-    @DisplayName("TransactionIDs that expire are removed during add")
+    @DisplayName("Buckets that expire are dropped during add")
     void expungeDuringAdd() {
-        // Given a transaction ID that has expired but is still in the cache
-        final var now = Instant.now();
-        final var txId = TransactionID.newBuilder()
-                .transactionValidStart(Timestamp.newBuilder()
-                        .seconds(now.getEpochSecond() - MAX_TXN_DURATION - 1)
-                        .build())
-                .build();
-        internalSet().add(txId);
+        // Given some transaction IDs in different buckets
+        final var start = now.get().getEpochSecond();
+        final var txIds = IntStream.range(0, 10).mapToObj(i -> txIdAt(start + i)).toList();
+        txIds.forEach(cache::add);
+        assertThat(liveBuckets()).isEqualTo(10);
 
-        // When we add a new transaction ID that is in the right time window
-        final var txId2 = TransactionID.newBuilder()
-                .transactionValidStart(Timestamp.newBuilder()
-                        .seconds(now.getEpochSecond() + MAX_TXN_DURATION / 2)
-                        .build())
-                .build();
+        // When the first five buckets expire, and we add a new transaction ID
+        now.set(now.get().plusSeconds(MAX_TXN_DURATION + 5));
+        final var txId = txIdAt(now.get().getEpochSecond());
+        cache.add(txId);
+
+        // Then we find that the expired buckets are gone, and the rest are still there
+        assertThat(liveBuckets()).isEqualTo(6);
+        txIds.subList(0, 5).forEach(id -> assertThat(cache.contains(id)).isFalse());
+        txIds.subList(5, 10).forEach(id -> assertThat(cache.contains(id)).isTrue());
+        assertThat(cache.contains(txId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Buckets are reused after the ring wraps around")
+    void ringWrapsAround() {
+        // Given a transaction ID in the cache
+        final var txId = txIdAt(now.get().getEpochSecond());
+        cache.add(txId);
+
+        // When the clock moves a full ring forward, and a transaction ID with the same ring slot is added
+        now.set(now.get().plusSeconds(DeduplicationCacheImpl.RING_SIZE));
+        final var txId2 = txIdAt(now.get().getEpochSecond());
         cache.add(txId2);
 
-        // Then we find that the expired transaction ID is gone
-        assertThat(internalSet()).containsExactly(txId2);
+        // Then only the new one is found
+        assertThat(cache.contains(txId)).isFalse();
+        assertThat(cache.contains(txId2)).isTrue();
+        assertThat(liveBuckets()).isEqualTo(1);
     }
 
     @Test
-    @DisplayName("TransactionIDs that expire are not returned by `contains`")
-    void expiredNotContained() {
-        // Given a transaction ID that has expired but is still in the cache
-        final var now = Instant.now();
-        final var txId = TransactionID.newBuilder()
-                .transactionValidStart(Timestamp.newBuilder()
-                        .seconds(now.getEpochSecond() - MAX_TXN_DURATION - 1)
-                        .build())
-                .build();
-        internalSet().add(txId);
+    @DisplayName("Transaction IDs added before the clock moved back are still found")
+    void clockMovesBack() {
+        // Given a transaction ID in the cache
+        final var txId = txIdAt(now.get().getEpochSecond() + MAX_TXN_DURATION);
+        cache.add(txId);
 
-        // When we check to see if it is in the cache
-        final var result = cache.contains(txId);
+        // When the clock moves back, and a transaction ID with the same ring slot is added
+        now.set(now.get().minusSeconds(DeduplicationCacheImpl.RING_SIZE - MAX_TXN_DURATION));
+        final var txId2 = txIdAt(now.get().getEpochSecond());
+        cache.add(txId2);
 
-        // Then we find that the expired transaction ID is gone
-        assertThat(result).isFalse();
-        assertThat(internalSet()).isEmpty();
+        // Then both are found
+        assertThat(cache.contains(txId)).isTrue();
+        assertThat(cache.contains(txId2)).isTrue();
     }
 
     @Test
     @DisplayName("Duplicates are ignored")
     void duplicatesAreIgnored() {
         // Given a transaction ID that is in the right time window
-        final var now = Instant.now();
-        final var txId = TransactionID.newBuilder()
-                .transactionValidStart(Timestamp.newBuilder()
-                        .seconds(now.getEpochSecond() + MAX_TXN_DURATION / 2)
-                        .build())
-                .build();
+        final var txId = txIdAt(now.get().getEpochSecond() + MAX_TXN_DURATION / 2);
 
         // When we add it to the cache twice
         cache.add(txId);
-        cache.add(txId);
+        cache.add(txId.copyBuilder().build());
 
         // Then it is added only once
-        assertThat(internalSet()).containsExactly(txId);
+        assertThat(liveBuckets()).isEqualTo(1);
+        assertThat(cache.contains(txId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Transaction IDs that differ in any field are different")
+    void allFieldsAreCompared() {
+        // Given a transaction ID in the cache
+        final var txId = txIdAt(now.get().getEpochSecond());
+        cache.add(txId);
+
+        // Then transaction IDs that differ in one field are not found
+        final var validStart = txId.transactionValidStartOrThrow();
+        final var others = List.of(
+                txId.copyBuilder()
+                        .transactionValidStart(validStart.copyBuilder().nanos(1).build())
+                        .build(),
+                txId.copyBuilder().accountID(account(0, 0, 1002)).build(),
+                txId.copyBuilder().accountID(account(1, 0, 1001)).build(),
+                txId.copyBuilder().accountID(account(0, 1, 1001)).build(),
+                txId.copyBuilder().scheduled(true).build(),
+                txId.copyBuilder().nonce(1).build());
+        others.forEach(other -> assertThat(cache.contains(other)).isFalse());
+
+        // And when they are added, they are all found
+        others.forEach(cache::add);
+        others.forEach(other -> assertThat(cache.contains(other)).isTrue());
+        assertThat(cache.contains(txId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Transaction IDs with payer aliases are supported")
+    void payerAliases() {
+        // Given a transaction ID with a payer alias
+        final var payer = AccountID.newBuilder().alias(Bytes.wrap(new byte[] {1, 2, 3})).build();
+        final var txId = txIdAt(now.get().getEpochSecond()).copyBuilder().accountID(payer).build();
+
+        // When we add it to the cache
+        cache.add(txId);
+
+        // Then it is found, and an ID with another alias is not
         assertThat(cache.contains(txId)).isTrue();
+        final var otherPayer = AccountID.newBuilder().alias(Bytes.wrap(new byte[] {1, 2, 4})).build();
+        assertThat(cache.contains(txId.copyBuilder().accountID(otherPayer).build())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Many transaction IDs in the same second")
+    void manyTransactionIDsInOneSecond() {
+        // Given many transaction IDs with the same valid start second
+        final var base = txIdAt(now.get().getEpochSecond());
+        final var txIds = IntStream.range(0, 10_000)
+                .mapToObj(i -> base.copyBuilder().accountID(account(0, 0, i)).build())
+                .toList();
+
+        // When we add every other one to the cache, from multiple threads
+        IntStream.range(0, txIds.size()).parallel().filter(i -> i % 2 == 0).forEach(i -> cache.add(txIds.get(i)));
+
+        // Then exactly those are found
+        for (int i = 0; i < txIds.size(); i++) {
+            assertThat(cache.contains(txIds.get(i))).isEqualTo(i % 2 == 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Clear removes everything")
+    void clear() {
+        // Given some transaction IDs in the cache, including one beyond the ring
+        final var txId = txIdAt(now.get().getEpochSecond());
+        final var futureTxId = txIdAt(now.get().getEpochSecond() + 2L * DeduplicationCacheImpl.RING_SIZE);
+        cache.add(txId);
+        cache.add(futureTxId);
+
+        // When we clear the cache
+        cache.clear();
+
+        // Then nothing is found
+        assertThat(cache.contains(txId)).isFalse();
+        assertThat(cache.contains(futureTxId)).isFalse();
+        assertThat(liveBuckets()).isZero();
+    }
+
+    private static TransactionID txIdAt(final long seconds) {
+        return TransactionID.newBuilder()
+                .accountID(account(0, 0, 1001))
+                .transactionValidStart(Timestamp.newBuilder().seconds(seconds).build())
+                .build();
+    }
+
+    private static AccountID account(final long shard, final long realm, final long num) {
+        return AccountID.newBuilder()
+                .shardNum(shard)
+                .realmNum(realm)
+                .accountNum(num)
+                .build();
     }
 
     /**
-     * Utility method for testing purposes that gets at the internal Set used by the cache. This makes it possible to
+     * Utility method for testing purposes that counts the buckets in the ring of the cache. This makes it possible to
      * test more completely without having to open the access permissions on the cache itself.
      *
-     * @return The internal Set of the cache.
+     * @return The number of non-null buckets in the ring of the cache.
      */
-    private Set<TransactionID> internalSet() {
+    private int liveBuckets() {
         try {
-            final var field = DeduplicationCacheImpl.class.getDeclaredField("submittedTxns");
+            final var field = DeduplicationCacheImpl.class.getDeclaredField("buckets");
             field.setAccessible(true);
-            //noinspection unchecked
-            return (Set<TransactionID>) field.get(cache);
+            final var buckets = (AtomicReferenceArray<?>) field.get(cache);
+            int count = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                if (buckets.get(i) != null) {
+                    count++;
+                }
+            }
+            return count;
         } catch (NoSuchFieldException | IllegalAccessException e) {
             throw new RuntimeException(e);
         }
@@ -16,17 +16,29 @@
 
 package com.hedera.node.app.throttle;
 
+import static com.hedera.hapi.node.base.HederaFunctionality.CONSENSUS_SUBMIT_MESSAGE;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.hedera.hapi.node.base.AccountID;
 import com.hedera.hapi.node.base.HederaFunctionality;
 import com.hedera.hapi.node.transaction.Query;
+import com.hedera.node.app.hapi.utils.throttles.DeterministicThrottle;
 import com.hedera.node.app.state.HederaState;
 import com.hedera.node.app.workflows.TransactionInfo;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.VersionedConfiguration;
+import com.hedera.node.config.data.HederaConfig;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -42,11 +54,26 @@ class SynchronizedThrottleAccumulatorTest {
     @Mock
     private TransactionInfo transactionInfo;
 
+    @Mock
+    private ConfigProvider configProvider;
+
+    @Mock
+    private VersionedConfiguration configuration;
+
+    @Mock
+    private HederaConfig hederaConfig;
+
+    @Mock
+    private HederaState state;
+
     SynchronizedThrottleAccumulator subject;
 
     @BeforeEach
     void setUp() {
-        subject = new SynchronizedThrottleAccumulator(throttleAccumulator);
+        lenient().when(configProvider.getConfiguration()).thenReturn(configuration);
+        lenient().when(configuration.getConfigData(HederaConfig.class)).thenReturn(hederaConfig);
+        lenient().when(hederaConfig.ingestThrottleLeaseTtlMs()).thenReturn(60_000L);
+        subject = new SynchronizedThrottleAccumulator(throttleAccumulator, configProvider);
     }
 
     @Test
@@ -74,4 +101,107 @@ class SynchronizedThrottleAccumulatorTest {
         verify(throttleAccumulator, times(1))
                 .shouldThrottle(eq(HederaFunctionality.CONTRACT_CREATE), any(), eq(query), eq(accountID));
     }
+
+    @Test
+    void transactionsThrottledByFunctionReqsOnlyAreAdmittedWithGrowingLeases() {
+        // given
+        givenLeaseableSubmitMessage(4);
+        given(throttleAccumulator.shouldThrottleNOfUnscaled(anyInt(), eq(CONSENSUS_SUBMIT_MESSAGE), any()))
+                .willReturn(false);
+
+        // when
+        for (int i = 0; i < 7; i++) {
+            assertThat(subject.shouldThrottle(transactionInfo, state)).isFalse();
+        }
+
+        // then
+        verify(throttleAccumulator, times(1)).shouldThrottle(eq(transactionInfo), any(), eq(state));
+        verify(throttleAccumulator, times(1)).shouldThrottleNOfUnscaled(eq(2), eq(CONSENSUS_SUBMIT_MESSAGE), any());
+        verify(throttleAccumulator, times(1)).shouldThrottleNOfUnscaled(eq(4), eq(CONSENSUS_SUBMIT_MESSAGE), any());
+    }
+
+    @Test
+    void transactionsAreCheckedOneByOneIfThereIsNoCapacityForALease() {
+        // given
+        givenLeaseableSubmitMessage(4);
+        given(throttleAccumulator.shouldThrottleNOfUnscaled(anyInt(), eq(CONSENSUS_SUBMIT_MESSAGE), any()))
+                .willReturn(true);
+        given(throttleAccumulator.shouldThrottle(eq(transactionInfo), any(), eq(state)))
+                .willReturn(false, false, true);
+
+        // when
+        final var first = subject.shouldThrottle(transactionInfo, state);
+        final var second = subject.shouldThrottle(transactionInfo, state);
+        final var third = subject.shouldThrottle(transactionInfo, state);
+
+        // then
+        assertThat(first).isFalse();
+        assertThat(second).isFalse();
+        assertThat(third).isTrue();
+        verify(throttleAccumulator, times(2)).shouldThrottleNOfUnscaled(eq(2), eq(CONSENSUS_SUBMIT_MESSAGE), any());
+        verify(throttleAccumulator, times(3)).shouldThrottle(eq(transactionInfo), any(), eq(state));
+    }
+
+    @Test
+    void leasesAreNotUsedOnceThrottlesAreRebuilt() {
+        // given
+        givenLeaseableSubmitMessage(4);
+        final List<DeterministicThrottle> throttles = new ArrayList<>();
+        final List<DeterministicThrottle> rebuiltThrottles = new ArrayList<>();
+        given(throttleAccumulator.allActiveThrottles()).willReturn(throttles, throttles, rebuiltThrottles);
+        given(throttleAccumulator.shouldThrottleNOfUnscaled(anyInt(), eq(CONSENSUS_SUBMIT_MESSAGE), any()))
+                .willReturn(false);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            assertThat(subject.shouldThrottle(transactionInfo, state)).isFalse();
+        }
+
+        // then
+        verify(throttleAccumulator, times(1)).shouldThrottleNOfUnscaled(eq(2), eq(CONSENSUS_SUBMIT_MESSAGE), any());
+        verify(throttleAccumulator, times(2)).shouldThrottle(eq(transactionInfo), any(), eq(state));
+    }
+
+    @Test
+    void unusedPermitsOfExpiredLeasesAreGivenBack() {
+        // given
+        givenLeaseableSubmitMessage(4);
+        given(hederaConfig.ingestThrottleLeaseTtlMs()).willReturn(60_000L, 60_000L, 0L);
+        given(throttleAccumulator.shouldThrottleNOfUnscaled(anyInt(), eq(CONSENSUS_SUBMIT_MESSAGE), any()))
+                .willReturn(false);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            assertThat(subject.shouldThrottle(transactionInfo, state)).isFalse();
+        }
+
+        // then
+        verify(throttleAccumulator, times(1)).shouldThrottleNOfUnscaled(eq(2), eq(CONSENSUS_SUBMIT_MESSAGE), any());
+        verify(throttleAccumulator, times(1)).leakCapacityForNOfUnscaled(1, CONSENSUS_SUBMIT_MESSAGE);
+        verify(throttleAccumulator, times(2)).shouldThrottle(eq(transactionInfo), any(), eq(state));
+    }
+
+    @Test
+    void otherTransactionsAreCheckedOneByOne() {
+        // given
+        given(hederaConfig.ingestThrottleMaxPermitsPerLease()).willReturn(4);
+        given(throttleAccumulator.isThrottledByFunctionReqsOnly(transactionInfo))
+                .willReturn(false);
+
+        // when
+        subject.shouldThrottle(transactionInfo, state);
+        subject.shouldThrottle(transactionInfo, state);
+
+        // then
+        verify(throttleAccumulator, never()).shouldThrottleNOfUnscaled(anyInt(), any(), any());
+        verify(throttleAccumulator, times(2)).shouldThrottle(eq(transactionInfo), any(), eq(state));
+    }
+
+    private void givenLeaseableSubmitMessage(final int maxPermitsPerLease) {
+        given(hederaConfig.ingestThrottleMaxPermitsPerLease()).willReturn(maxPermitsPerLease);
+        given(throttleAccumulator.isThrottledByFunctionReqsOnly(transactionInfo))
+                .willReturn(true);
+        given(transactionInfo.functionality()).willReturn(CONSENSUS_SUBMIT_MESSAGE);
+        lenient().when(throttleAccumulator.allActiveThrottles()).thenReturn(List.of());
+    }
 }
@@ -1065,6 +1065,72 @@ class ThrottleAccumulatorTest {
         assertEquals(42 * oneUsed, fortyTwoUsed);
     }
 
+    @Test
+    void fungibleMintIsThrottledByFunctionReqsOnly() throws IOException, ParseException {
+        // given
+        subject = new ThrottleAccumulator(() -> CAPACITY_SPLIT, configProvider, FRONTEND_THROTTLE, gasThrottle);
+        given(configProvider.getConfiguration()).willReturn(configuration);
+        given(configuration.getConfigData(AccountsConfig.class)).willReturn(accountsConfig);
+        given(accountsConfig.lastThrottleExempt()).willReturn(100L);
+        given(transactionInfo.payerID()).willReturn(PAYER_ID);
+        givenMintWith(0);
+
+        // when
+        subject.rebuildFor(getThrottleDefs("bootstrap/throttles.json"));
+
+        // then
+        assertTrue(subject.isThrottledByFunctionReqsOnly(transactionInfo));
+    }
+
+    @Test
+    void nftMintIsNotThrottledByFunctionReqsOnly() throws IOException, ParseException {
+        // given
+        subject = new ThrottleAccumulator(() -> CAPACITY_SPLIT, configProvider, FRONTEND_THROTTLE, gasThrottle);
+        given(configProvider.getConfiguration()).willReturn(configuration);
+        given(configuration.getConfigData(AccountsConfig.class)).willReturn(accountsConfig);
+        given(accountsConfig.lastThrottleExempt()).willReturn(100L);
+        given(transactionInfo.payerID()).willReturn(PAYER_ID);
+        givenMintWith(10);
+
+        // when
+        subject.rebuildFor(getThrottleDefs("bootstrap/throttles.json"));
+
+        // then
+        assertFalse(subject.isThrottledByFunctionReqsOnly(transactionInfo));
+    }
+
+    @Test
+    void exemptPayerIsNotThrottledByFunctionReqsOnly() throws IOException, ParseException {
+        // given
+        subject = new ThrottleAccumulator(() -> CAPACITY_SPLIT, configProvider, FRONTEND_THROTTLE, gasThrottle);
+        given(configProvider.getConfiguration()).willReturn(configuration);
+        given(configuration.getConfigData(AccountsConfig.class)).willReturn(accountsConfig);
+        given(accountsConfig.lastThrottleExempt()).willReturn(100L);
+        given(transactionInfo.functionality()).willReturn(TOKEN_MINT);
+        given(transactionInfo.payerID())
+                .willReturn(AccountID.newBuilder().accountNum(2L).build());
+
+        // when
+        subject.rebuildFor(getThrottleDefs("bootstrap/throttles.json"));
+
+        // then
+        assertFalse(subject.isThrottledByFunctionReqsOnly(transactionInfo));
+    }
+
+    @Test
+    void gasThrottledAndUnmanagedFunctionsAreNotThrottledByFunctionReqsOnly() throws IOException, ParseException {
+        // given
+        subject = new ThrottleAccumulator(() -> CAPACITY_SPLIT, configProvider, FRONTEND_THROTTLE, gasThrottle);
+        given(transactionInfo.functionality()).willReturn(CONTRACT_CALL, TOKEN_BURN);
+
+        // when
+        subject.rebuildFor(getThrottleDefs("bootstrap/throttles.json"));
+
+        // then
+        assertFalse(subject.isThrottledByFunctionReqsOnly(transactionInfo));
+        assertFalse(subject.isThrottledByFunctionReqsOnly(transactionInfo));
+    }
+
     @Test
     void whenThrottlesUsesNoCapacity() throws IOException, ParseException {
         subject = new ThrottleAccumulator(() -> CAPACITY_SPLIT, configProvider, FRONTEND_THROTTLE, gasThrottle);
@@ -16,6 +16,8 @@
 
 package com.hedera.node.app.workflows.handle;
 
+import static com.swirlds.metrics.api.Metric.ValueType.MAX;
+import static com.swirlds.metrics.api.Metric.ValueType.P50;
 import static com.swirlds.metrics.api.Metric.ValueType.VALUE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -42,7 +44,7 @@ class HandleWorkflowMetricsTest {
         new HandleWorkflowMetrics(metrics);
 
         // then
-        assertThat(metrics.findMetricsByCategory("app")).hasSize((HederaFunctionality.values().length - 1) * 2);
+        assertThat(metrics.findMetricsByCategory("app")).hasSize((HederaFunctionality.values().length - 1) * 2 + 1);
     }
 
     @SuppressWarnings("DataFlowIssue")
@@ -113,5 +115,22 @@ class HandleWorkflowMetricsTest {
                 .isEqualTo(13);
         assertThat(metrics.getMetric("app", "cryptoCreateDurationAvg").get(VALUE))
                 .isEqualTo(7);
+        assertThat(metrics.getMetric("app", "handleDuration").get(P50)).isEqualTo(5.0);
+        assertThat(metrics.getMetric("app", "handleDuration").get(MAX)).isEqualTo(13.0);
+    }
+
+    @Test
+    void testHistogramCoversAllFunctionalities() {
+        // given
+        final var handleWorkflowMetrics = new HandleWorkflowMetrics(metrics);
+
+        // when
+        handleWorkflowMetrics.update(HederaFunctionality.CRYPTO_CREATE, 10);
+        handleWorkflowMetrics.update(HederaFunctionality.CRYPTO_TRANSFER, 20);
+        handleWorkflowMetrics.update(HederaFunctionality.NONE, 1_000);
+
+        // then
+        assertThat(metrics.getMetric("app", "handleDuration").get(VALUE)).isEqualTo(15.0);
+        assertThat(metrics.getMetric("app", "handleDuration").get(MAX)).isEqualTo(20.0);
     }
 }
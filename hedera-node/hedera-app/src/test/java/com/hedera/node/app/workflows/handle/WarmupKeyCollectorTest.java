@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.workflows.handle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.hedera.node.app.spi.state.ReadableKVState;
+import com.hedera.node.app.spi.state.ReadableStates;
+import com.hedera.node.app.state.HederaState;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class WarmupKeyCollectorTest {
+
+    private static final String SERVICE = "TestService";
+    private static final String STATE_KEY = "FRUITS";
+
+    @Mock
+    private HederaState state;
+
+    @Mock
+    private ReadableStates readableStates;
+
+    @Mock
+    private ReadableKVState<String, String> kvState;
+
+    private WarmupKeyCollector subject;
+
+    @BeforeEach
+    void setUp() {
+        subject = new WarmupKeyCollector(state);
+    }
+
+    @SuppressWarnings("DataFlowIssue")
+    @Test
+    void testConstructorWithInvalidArguments() {
+        assertThatThrownBy(() -> new WarmupKeyCollector(null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void testReadsAreDelegated() {
+        // given
+        given(state.getReadableStates(SERVICE)).willReturn(readableStates);
+        given(readableStates.<String, String>get(STATE_KEY)).willReturn(kvState);
+        given(kvState.get("A")).willReturn("Apple");
+
+        // when
+        final ReadableKVState<String, String> collecting =
+                subject.getReadableStates(SERVICE).get(STATE_KEY);
+
+        // then
+        assertThat(collecting.get("A")).isEqualTo("Apple");
+        assertThat(subject.getReadableStates(SERVICE).<String, String>get(STATE_KEY))
+                .isSameAs(collecting);
+    }
+
+    @Test
+    void testKeysAreWarmedInOneBatch() {
+        // given
+        given(state.getReadableStates(SERVICE)).willReturn(readableStates);
+        given(readableStates.<String, String>get(STATE_KEY)).willReturn(kvState);
+        final ReadableKVState<String, String> collecting =
+                subject.getReadableStates(SERVICE).get(STATE_KEY);
+
+        // when
+        collecting.warm("A");
+        collecting.warm("B");
+
+        // then
+        verify(kvState, never()).warm(any());
+        verify(kvState, never()).warmAll(any());
+
+        // when
+        subject.warmCollectedKeys();
+
+        // then
+        verify(kvState).warmAll(List.of("A", "B"));
+        verify(kvState, never()).warm(any());
+    }
+
+    @Test
+    void testCollectedKeysAreWarmedOnce() {
+        // given
+        given(state.getReadableStates(SERVICE)).willReturn(readableStates);
+        given(readableStates.<String, String>get(STATE_KEY)).willReturn(kvState);
+        subject.getReadableStates(SERVICE).<String, String>get(STATE_KEY).warm("A");
+
+        // when
+        subject.warmCollectedKeys();
+        subject.warmCollectedKeys();
+
+        // then
+        verify(kvState).warmAll(List.of("A"));
+    }
+
+    @Test
+    void testWritableStatesAreNotSupported() {
+        assertThatThrownBy(() -> subject.getWritableStates(SERVICE)).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -121,7 +121,7 @@ final class BlockRecordManagerTest extends AppTestBase {
                 .commit();
 
         blockRecordWriterFactory = new BlockRecordWriterFactoryImpl(
-                app.configProvider(), app.networkInfo().selfNodeInfo(), SIGNER, fs);
+                app.configProvider(), app.networkInfo().selfNodeInfo(), SIGNER, fs, metrics);
     }
 
     @AfterEach
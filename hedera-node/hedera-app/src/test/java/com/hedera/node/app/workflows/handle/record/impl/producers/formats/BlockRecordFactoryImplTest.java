@@ -31,8 +31,8 @@ final class BlockRecordFactoryImplTest extends AppTestBase {
         final var app = appBuilder()
                 .withConfigValue("hedera.recordStream.logDir", "hedera-node/data/recordStreams")
                 .build();
-        final var factory =
-                new BlockRecordWriterFactoryImpl(app.configProvider(), selfNodeInfo, SIGNER, FileSystems.getDefault());
+        final var factory = new BlockRecordWriterFactoryImpl(
+                app.configProvider(), selfNodeInfo, SIGNER, FileSystems.getDefault(), metrics);
         final var writer = factory.create();
         assertThat(writer).isInstanceOf(BlockRecordWriterV6.class);
     }
@@ -44,8 +44,8 @@ final class BlockRecordFactoryImplTest extends AppTestBase {
                 .withConfigValue("hedera.recordStream.logDir", "hedera-node/data/recordStreams")
                 .build();
 
-        final var factory =
-                new BlockRecordWriterFactoryImpl(app.configProvider(), selfNodeInfo, SIGNER, FileSystems.getDefault());
+        final var factory = new BlockRecordWriterFactoryImpl(
+                app.configProvider(), selfNodeInfo, SIGNER, FileSystems.getDefault(), metrics);
         assertThatThrownBy(factory::create)
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Record file version 7 is not yet supported");
@@ -58,8 +58,8 @@ final class BlockRecordFactoryImplTest extends AppTestBase {
                 .withConfigValue("hedera.recordStream.logDir", "hedera-node/data/recordStreams")
                 .build();
 
-        final var factory =
-                new BlockRecordWriterFactoryImpl(app.configProvider(), selfNodeInfo, SIGNER, FileSystems.getDefault());
+        final var factory = new BlockRecordWriterFactoryImpl(
+                app.configProvider(), selfNodeInfo, SIGNER, FileSystems.getDefault(), metrics);
         assertThatThrownBy(factory::create)
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Unknown record file version");
@@ -47,9 +47,13 @@ import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 import org.apache.logging.log4j.LogManager;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
@@ -469,6 +473,71 @@ final class BlockRecordWriterV6Test extends AppTestBase {
         }
     }
 
+    @Nested
+    @DisplayName("Pipelined Writing Tests")
+    final class PipelinedWritingTests {
+        private ExecutorService ioExecutor;
+
+        @BeforeEach
+        void setUp() {
+            ioExecutor = Executors.newSingleThreadExecutor();
+            appBuilder
+                    .withConfigValue("hedera.recordStream.pipelinedWrites", true)
+                    .withConfigValue("hedera.recordStream.pipelineChunkSizeKb", 64)
+                    .withConfigValue("hedera.recordStream.pipelineMaxChunksInFlight", 1);
+        }
+
+        @AfterEach
+        void tearDown() {
+            ioExecutor.shutdownNow();
+        }
+
+        @ParameterizedTest(name = "compress={0}")
+        @ValueSource(booleans = {true, false})
+        @DisplayName("Pipelined record files have the same contents and hash as record files written directly")
+        void pipelinedFileMatchesDirectFile(final boolean compress) throws Exception {
+            createApp(compress);
+            final var singleTransactionRecords = TEST_BLOCKS.get(2);
+
+            // Write the block directly first, and keep what was written
+            writeBlock(writer, singleTransactionRecords);
+            final var directContents = readRecordFile(compress);
+            final var directSignature = Files.readAllBytes(sigPath);
+            Files.delete(recordPath);
+            Files.delete(sigPath);
+
+            // Then write the same block with the pipeline, in many small chunks
+            final var pipeline = new RecordFilePipeline(ForkJoinPool.commonPool(), ioExecutor, metrics);
+            final var pipelinedWriter = new BlockRecordWriterV6(config, selfNodeInfo, SIGNER, fileSystem, pipeline);
+            writeBlock(pipelinedWriter, singleTransactionRecords);
+
+            assertThat(readRecordFile(compress)).isEqualTo(directContents);
+            assertThat(Files.readAllBytes(sigPath)).isEqualTo(directSignature);
+            BlockRecordReaderV6.validateHashes(BlockRecordReaderV6.read(recordPath));
+        }
+
+        private void writeBlock(
+                final BlockRecordWriterV6 blockWriter, final List<SingleTransactionRecord> singleTransactionRecords) {
+            blockWriter.init(hapiVersion, STARTING_RUNNING_HASH_OBJ, consensusTime, blockNumber);
+            var previousHash = STARTING_RUNNING_HASH_OBJ.hash();
+            for (final var rec : singleTransactionRecords) {
+                final var serializedRec = BlockRecordFormatV6.INSTANCE.serialize(rec, blockNumber, hapiVersion);
+                previousHash = BlockRecordFormatV6.INSTANCE.computeNewRunningHash(previousHash, List.of(serializedRec));
+                blockWriter.writeItem(serializedRec);
+            }
+            blockWriter.close(new HashObject(HashAlgorithm.SHA_384, (int) previousHash.length(), previousHash));
+        }
+
+        private byte[] readRecordFile(final boolean compress) throws IOException {
+            if (!compress) {
+                return Files.readAllBytes(recordPath);
+            }
+            try (final var in = new GZIPInputStream(Files.newInputStream(recordPath))) {
+                return in.readAllBytes();
+            }
+        }
+    }
+
     @Nested
     @DisplayName("Closing Tests")
     final class ClosingTests {
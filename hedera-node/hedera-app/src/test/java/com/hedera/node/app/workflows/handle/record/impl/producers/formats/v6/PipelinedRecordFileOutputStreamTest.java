@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.records.impl.producers.formats.v6;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hedera.node.app.utils.TestUtils;
+import com.swirlds.common.crypto.DigestType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+final class PipelinedRecordFileOutputStreamTest {
+    private static final int CHUNK_SIZE = 1000;
+
+    private ExecutorService ioExecutor;
+    private RecordFilePipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        ioExecutor = Executors.newSingleThreadExecutor();
+        pipeline = new RecordFilePipeline(ForkJoinPool.commonPool(), ioExecutor, TestUtils.metrics());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ioExecutor.shutdownNow();
+    }
+
+    @ParameterizedTest(name = "compress={0}")
+    @ValueSource(booleans = {true, false})
+    void writesAllBytesInOrderAndHashesThem(final boolean compress) throws Exception {
+        final var bytes = someBytes(100 * CHUNK_SIZE + 17);
+        final var file = new ByteArrayOutputStream();
+        final var subject = pipeline.open(file, compress, CHUNK_SIZE, 2, newDigest());
+
+        // Write in pieces that don't line up with chunks
+        final var random = new Random(42);
+        int written = 0;
+        while (written < bytes.length) {
+            final int n = Math.min(random.nextInt(3 * CHUNK_SIZE), bytes.length - written);
+            subject.write(bytes, written, n);
+            written += n;
+        }
+        subject.write(7);
+        subject.close();
+
+        final var expected = new byte[bytes.length + 1];
+        System.arraycopy(bytes, 0, expected, 0, bytes.length);
+        expected[bytes.length] = 7;
+        final var contents = compress ? gunzip(file.toByteArray()) : file.toByteArray();
+        assertThat(contents).isEqualTo(expected);
+        assertThat(subject.digest()).isEqualTo(newDigest().digest(expected));
+    }
+
+    @Test
+    void flushingDoesNotChangeTheFile() throws Exception {
+        final var bytes = someBytes(10 * CHUNK_SIZE + 1);
+        final var flushed = new ByteArrayOutputStream();
+        final var notFlushed = new ByteArrayOutputStream();
+        try (final var withFlushes = pipeline.open(flushed, true, CHUNK_SIZE, 2, newDigest());
+                final var withoutFlushes = pipeline.open(notFlushed, true, CHUNK_SIZE, 2, newDigest())) {
+            for (int i = 0; i < bytes.length; i += 333) {
+                final int n = Math.min(333, bytes.length - i);
+                withFlushes.write(bytes, i, n);
+                withFlushes.flush();
+                withoutFlushes.write(bytes, i, n);
+            }
+        }
+        assertThat(flushed.toByteArray()).isEqualTo(notFlushed.toByteArray());
+    }
+
+    @Test
+    void failuresToWriteTheFileAreThrown() {
+        final var failing = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("Disk is full");
+            }
+        };
+        final var subject = pipeline.open(failing, false, CHUNK_SIZE, 1, newDigest());
+        final var bytes = someBytes(10 * CHUNK_SIZE);
+
+        assertThatThrownBy(() -> {
+                    subject.write(bytes);
+                    subject.close();
+                })
+                .isInstanceOf(IOException.class)
+                .hasMessage("Disk is full");
+    }
+
+    @Test
+    void theFileIsClosedOnTheIoExecutorAfterAllWrites() throws Exception {
+        final var ioThread = ioExecutor.submit(Thread::currentThread).get();
+        final var closedOn = new AtomicReference<Thread>();
+        final var file = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closedOn.set(Thread.currentThread());
+            }
+        };
+        final var bytes = someBytes(10 * CHUNK_SIZE + 1);
+        final var subject = pipeline.open(file, false, CHUNK_SIZE, 2, newDigest());
+
+        subject.write(bytes);
+        subject.close();
+
+        assertThat(closedOn.get()).isSameAs(ioThread);
+        assertThat(file.toByteArray()).isEqualTo(bytes);
+    }
+
+    @Test
+    void cannotGetDigestBeforeClose() {
+        final var subject = pipeline.open(new ByteArrayOutputStream(), true, CHUNK_SIZE, 1, newDigest());
+        assertThatThrownBy(subject::digest).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static byte[] someBytes(final int length) {
+        // A small alphabet, so the bytes can be compressed
+        final var random = new Random(length);
+        final var bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) ('a' + random.nextInt(8));
+        }
+        return bytes;
+    }
+
+    private static byte[] gunzip(final byte[] gzipped) throws IOException {
+        try (final var in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DigestType.SHA_384.algorithmName());
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
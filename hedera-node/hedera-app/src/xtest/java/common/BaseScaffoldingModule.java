@@ -311,7 +311,7 @@ public interface BaseScaffoldingModule {
     static SynchronizedThrottleAccumulator createSynchronizedThrottleAccumulator(
             @NonNull ConfigProvider configProvider) {
         var frontendThrottle = new ThrottleAccumulator(() -> 1, configProvider, FRONTEND_THROTTLE);
-        return new SynchronizedThrottleAccumulator(frontendThrottle);
+        return new SynchronizedThrottleAccumulator(frontendThrottle, configProvider);
     }
 
     @NotNull
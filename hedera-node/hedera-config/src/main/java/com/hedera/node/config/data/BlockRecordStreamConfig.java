@@ -35,6 +35,11 @@ import com.swirlds.config.api.validation.annotation.Min;
  * @param recordFileVersion the format version number for record files
  * @param signatureFileVersion the format version number for signature files
  * @param compressFilesOnCreation when true record and sidecar files are compressed with GZip when created
+ * @param pipelinedWrites when true record files are compressed in parallel chunks, and hashed and written in the
+ *                        background. Compressed record files are then written as multi-member GZip files
+ * @param pipelineChunkSizeKb the size of the chunks record files are compressed and written in, when pipelined
+ * @param pipelineMaxChunksInFlight the maximum number of chunks of a record file that may be waiting to be compressed
+ *                                  or written before writing more items blocks, when pipelined
  * @param numOfBlockHashesInState the number of block hashes to keep in state for block history
  * @param streamFileProducer the type of stream file producer to use. Currently only "concurrent" is supported
  */
@@ -50,6 +55,9 @@ public record BlockRecordStreamConfig(
         @ConfigProperty(defaultValue = "6") @Min(1) @NetworkProperty int signatureFileVersion,
         @ConfigProperty(defaultValue = "false") @NetworkProperty boolean logEveryTransaction,
         @ConfigProperty(defaultValue = "true") @NetworkProperty boolean compressFilesOnCreation, // NOT SURE
+        @ConfigProperty(defaultValue = "false") @NodeProperty boolean pipelinedWrites,
+        @ConfigProperty(defaultValue = "1024") @Min(64) @Max(65536) @NodeProperty int pipelineChunkSizeKb,
+        @ConfigProperty(defaultValue = "8") @Min(1) @NodeProperty int pipelineMaxChunksInFlight,
         @ConfigProperty(defaultValue = "256") @Min(1) @Max(4096) @NetworkProperty int numOfBlockHashesInState,
         @ConfigProperty(defaultValue = "concurrent") @NetworkProperty
                 String streamFileProducer) {} // COULD BE NODE LOCAL PROPERTY OR NETWORK PROPERTY
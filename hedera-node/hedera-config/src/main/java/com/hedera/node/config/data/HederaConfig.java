@@ -52,6 +52,10 @@ public record HederaConfig(
         @ConfigProperty(value = "prefetch.threadPoolSize", defaultValue = "4") @NodeProperty int prefetchThreadPoolSize,
         @ConfigProperty(value = "prefetch.codeCacheTtlSecs", defaultValue = "600") @NodeProperty
                 int prefetchCodeCacheTtlSecs,
+        @ConfigProperty(value = "ingestThrottle.maxPermitsPerLease", defaultValue = "64") @NodeProperty
+                int ingestThrottleMaxPermitsPerLease,
+        @ConfigProperty(value = "ingestThrottle.leaseTtlMs", defaultValue = "10") @NodeProperty
+                long ingestThrottleLeaseTtlMs,
         @ConfigProperty(value = "profiles.active", defaultValue = "PROD") @NodeProperty Profile activeProfile,
         @ConfigProperty(value = "workflow.verificationTimeoutMS", defaultValue = "20000") @NetworkProperty
                 long workflowVerificationTimeoutMS,
@@ -17,6 +17,7 @@
 package com.hedera.node.config.data;
 
 import com.hedera.node.config.NodeProperty;
+import com.hedera.node.config.types.GrpcExecutorMode;
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
 
@@ -34,6 +35,19 @@ import com.swirlds.config.api.ConfigProperty;
  * @param terminationTimeout The timeout, *in seconds*, to wait for the servers to terminate.
  * @param tlsCrtPath
  * @param tlsKeyPath
+ * @param workflowsExecutorMode Where the ingest and query workflows run. Defaults to DIRECT, on the Netty event loop.
+ * @param workflowsMaxInFlightTransactions The maximum number of transactions that may be queued or running at once,
+ *                                         when the workflows do not run directly on the event loop. Further
+ *                                         transactions are rejected with RESOURCE_EXHAUSTED.
+ * @param workflowsMaxInFlightQueries The maximum number of queries that may be queued or running at once, when the
+ *                                    workflows do not run directly on the event loop. Further queries are rejected
+ *                                    with RESOURCE_EXHAUSTED.
+ * @param workflowsPoolThreads The number of threads in each of the transaction and query pools, in BOUNDED_POOL mode
+ * @param workflowsMaxPooledResponseBuffers The maximum number of response buffers shared by the calls of each of
+ *                                          the transaction and query executors, when the workflows do not run
+ *                                          directly on the event loop. Once all of them are in use, further calls
+ *                                          wait for a buffer. In DIRECT mode each event loop thread keeps its own
+ *                                          buffer.
  */
 @ConfigData("netty")
 public record NettyConfig(
@@ -52,7 +66,16 @@ public record NettyConfig(
         @ConfigProperty(defaultValue = "1000") @NodeProperty long startRetryIntervalMs,
         @ConfigProperty(defaultValue = "5") @NodeProperty long terminationTimeout,
         @ConfigProperty(value = "tlsCrt.path", defaultValue = "hedera.crt") @NodeProperty String tlsCrtPath,
-        @ConfigProperty(value = "tlsKey.path", defaultValue = "hedera.key") @NodeProperty String tlsKeyPath) {
+        @ConfigProperty(value = "tlsKey.path", defaultValue = "hedera.key") @NodeProperty String tlsKeyPath,
+        @ConfigProperty(value = "workflows.executorMode", defaultValue = "DIRECT") @NodeProperty
+                GrpcExecutorMode workflowsExecutorMode,
+        @ConfigProperty(value = "workflows.maxInFlightTransactions", defaultValue = "4096") @NodeProperty
+                int workflowsMaxInFlightTransactions,
+        @ConfigProperty(value = "workflows.maxInFlightQueries", defaultValue = "1024") @NodeProperty
+                int workflowsMaxInFlightQueries,
+        @ConfigProperty(value = "workflows.poolThreads", defaultValue = "16") @NodeProperty int workflowsPoolThreads,
+        @ConfigProperty(value = "workflows.maxPooledResponseBuffers", defaultValue = "32") @NodeProperty
+                int workflowsMaxPooledResponseBuffers) {
     public NettyConfig {
         if (startRetries < 0) {
             throw new IllegalArgumentException("startRetries must be non-negative.");
@@ -65,5 +88,18 @@ public record NettyConfig(
         if (terminationTimeout < 0) {
             throw new IllegalArgumentException("terminationTimeout must be non-negative");
         }
+
+        if (workflowsMaxInFlightTransactions < 1 || workflowsMaxInFlightQueries < 1) {
+            throw new IllegalArgumentException("workflows.maxInFlightTransactions and "
+                    + "workflows.maxInFlightQueries must be positive");
+        }
+
+        if (workflowsPoolThreads < 1) {
+            throw new IllegalArgumentException("workflows.poolThreads must be positive");
+        }
+
+        if (workflowsMaxPooledResponseBuffers < 1) {
+            throw new IllegalArgumentException("workflows.maxPooledResponseBuffers must be positive");
+        }
     }
 }
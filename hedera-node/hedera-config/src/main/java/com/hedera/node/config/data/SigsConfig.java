@@ -17,8 +17,16 @@
 package com.hedera.node.config.data;
 
 import com.hedera.node.config.NetworkProperty;
+import com.hedera.node.config.NodeProperty;
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
+import com.swirlds.config.api.validation.annotation.Max;
+import com.swirlds.config.api.validation.annotation.Min;
 
 @ConfigData("sigs")
-public record SigsConfig(@ConfigProperty(defaultValue = "true") @NetworkProperty boolean expandFromImmutableState) {}
+public record SigsConfig(
+        @ConfigProperty(defaultValue = "true") @NetworkProperty boolean expandFromImmutableState,
+        @ConfigProperty(value = "verificationCache.enabled", defaultValue = "true") @NodeProperty
+                boolean verificationCacheEnabled,
+        @ConfigProperty(value = "verificationCache.size", defaultValue = "65536") @Min(1) @Max(16777216) @NodeProperty
+                int verificationCacheSize) {}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.config.types;
+
+/**
+ * Defines where the ingest and query workflows run for calls received by the gRPC server.
+ */
+public enum GrpcExecutorMode {
+    /** The workflows run directly on the Netty event loop thread that received the call */
+    DIRECT,
+    /** The workflows run on a new virtual thread per call */
+    VIRTUAL_THREADS,
+    /** The workflows run on a fixed-size pool of platform threads */
+    BOUNDED_POOL
+}
@@ -14,7 +14,10 @@
  * limitations under the License.
  */
 
-plugins { id("com.hedera.hashgraph.conventions") }
+plugins {
+    id("com.hedera.hashgraph.conventions")
+    id("com.hedera.hashgraph.benchmark-conventions")
+}
 
 description = "Default Hedera Smart Contract Service Implementation"
 
@@ -33,3 +36,13 @@ testModuleInfo {
     requires("org.mockito.junit.jupiter")
     requiresStatic("com.github.spotbugs.annotations")
 }
+
+jmhModuleInfo {
+    requires("com.hedera.node.app.service.contract.impl")
+    requires("com.hedera.node.hapi")
+    requires("com.hedera.pbj.runtime")
+    requires("com.github.spotbugs.annotations")
+    requires("jmh.core")
+    requires("org.hyperledger.besu.evm")
+    requires("org.mockito")
+}
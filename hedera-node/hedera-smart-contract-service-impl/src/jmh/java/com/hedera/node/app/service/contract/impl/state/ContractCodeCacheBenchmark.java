@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.contract.impl.state;
+
+import com.hedera.hapi.node.base.ContractID;
+import com.hedera.hapi.node.state.contract.Bytecode;
+import com.hedera.hapi.node.state.contract.SlotKey;
+import com.hedera.hapi.node.state.contract.SlotValue;
+import com.hedera.node.app.service.contract.impl.exec.scope.HederaNativeOperations;
+import com.hedera.node.app.service.contract.impl.infra.ContractCodeCache;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the code work done by repeated {@code ContractCall}s to one hot contract. Each call gets a new
+ * {@link DispatchingEvmFrameState}, reads the code hash of the contract (as the message call processor and
+ * {@code EXTCODEHASH} do), loads its analyzed code for the initial frame, and validates a few jump destinations.
+ * With {@code cached=false} the {@link ContractCodeCache} has zero capacity, which repeats what was done before
+ * the cache existed: the bytecode is hashed twice and its jump destinations analyzed on every call.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 0)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ContractCodeCacheBenchmark {
+    private static final ContractID HOT_CONTRACT_ID =
+            ContractID.newBuilder().contractNum(1001L).build();
+    /** The number of jump destinations validated per call */
+    private static final int JUMPS_PER_CALL = 16;
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    @Param({"2048", "24576"})
+    public int bytecodeSize;
+
+    private ContractCodeCache codeCache;
+    private ContractStateStore store;
+    private HederaNativeOperations nativeOperations;
+    private int[] jumpDestinations;
+
+    @Setup
+    public void setUp() {
+        codeCache = cached
+                ? new ContractCodeCache()
+                : new ContractCodeCache(0, ContractCodeCache.DEFAULT_MAX_REDIRECT_CODES);
+        nativeOperations = Mockito.mock(HederaNativeOperations.class);
+        // Alternate PUSH1 <byte> and JUMPDEST so the analysis has to walk the whole contract
+        final var bytecode = new byte[bytecodeSize];
+        for (int i = 0; i + 2 < bytecodeSize; i += 3) {
+            bytecode[i] = 0x60;
+            bytecode[i + 1] = 0x5b;
+            bytecode[i + 2] = 0x5b;
+        }
+        jumpDestinations = new int[JUMPS_PER_CALL];
+        for (int i = 0; i < JUMPS_PER_CALL; i++) {
+            jumpDestinations[i] = 2 + 3 * (i * (bytecodeSize / 3 - 1) / JUMPS_PER_CALL);
+        }
+        store = new BytecodeOnlyStore(Map.of(HOT_CONTRACT_ID, new Bytecode(Bytes.wrap(bytecode))));
+    }
+
+    @Benchmark
+    public int callHotContract() {
+        final var frameState = new DispatchingEvmFrameState(nativeOperations, store, codeCache);
+        final var codeHash = frameState.getCodeHash(HOT_CONTRACT_ID);
+        final var code = frameState.getEvmCode(HOT_CONTRACT_ID);
+        int validJumps = codeHash.size();
+        for (final var jumpDestination : jumpDestinations) {
+            if (!code.isJumpDestInvalid(jumpDestination)) {
+                validJumps++;
+            }
+        }
+        return validJumps;
+    }
+
+    /**
+     * A {@link ContractStateStore} with fixed bytecode and no storage.
+     */
+    private static class BytecodeOnlyStore implements ContractStateStore {
+        private final Map<ContractID, Bytecode> bytecodes;
+
+        private BytecodeOnlyStore(@NonNull final Map<ContractID, Bytecode> bytecodes) {
+            this.bytecodes = new HashMap<>(bytecodes);
+        }
+
+        @Override
+        public Bytecode getBytecode(@NonNull final ContractID contractID) {
+            return bytecodes.get(contractID);
+        }
+
+        @Override
+        public void putBytecode(@NonNull final ContractID contractID, @NonNull final Bytecode code) {
+            bytecodes.put(contractID, code);
+        }
+
+        @Override
+        public void removeSlot(@NonNull final SlotKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void putSlot(@NonNull final SlotKey key, @NonNull final SlotValue value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set<SlotKey> getModifiedSlotKeys() {
+            return Set.of();
+        }
+
+        @Override
+        public SlotValue getSlotValue(@NonNull final SlotKey key) {
+            return null;
+        }
+
+        @Override
+        public SlotValue getSlotValueForModify(@NonNull final SlotKey key) {
+            return null;
+        }
+
+        @Override
+        public SlotValue getOriginalSlotValue(@NonNull final SlotKey key) {
+            return null;
+        }
+
+        @Override
+        public long getNumSlots() {
+            return 0;
+        }
+
+        @Override
+        public long getNumBytecodes() {
+            return bytecodes.size();
+        }
+    }
+}
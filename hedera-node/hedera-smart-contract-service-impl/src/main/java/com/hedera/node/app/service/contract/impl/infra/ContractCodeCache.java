@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.contract.impl.infra;
+
+import static com.hedera.node.app.service.contract.impl.utils.ConversionUtils.pbjToTuweniBytes;
+import static java.util.Objects.requireNonNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hedera.hapi.node.base.ContractID;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.function.Function;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.code.CodeFactory;
+
+/**
+ * A node-wide, size-bounded cache of analyzed Besu {@link Code} objects. A {@link Code} computes the hash of its
+ * bytecode when it is created, and analyzes its jump destinations once on first use; so re-using the same instance
+ * for every call to a hot contract saves both the re-hashing and the re-analysis.
+ *
+ * <p>Contract code is cached by {@link ContractID}. Each entry keeps the bytecode it was created from, and a lookup
+ * only returns the cached {@link Code} if the bytecode currently in state is equal to it. So an entry can never
+ * return stale code, even if it was not invalidated; and comparing the bytecode is much cheaper than hashing it
+ * again. Entries are still invalidated when a contract's code is set or the contract is deleted, so that they do
+ * not occupy the cache needlessly.
+ *
+ * <p>The token redirect code is a pure function of the token address, so it is cached by address and never
+ * invalidated.
+ *
+ * <p>The cache is shared by the handle thread and query threads, and is safe to use from multiple threads.
+ */
+@Singleton
+public class ContractCodeCache {
+    /** The default bound on the total size of the cached contract bytecode, in bytes */
+    public static final long DEFAULT_MAX_BYTECODE_WEIGHT = 64L * 1024 * 1024;
+    /** The default bound on the number of cached token redirect codes */
+    public static final long DEFAULT_MAX_REDIRECT_CODES = 10_000L;
+    /** The weight of an entry in addition to its bytecode, roughly the size of its jump destination bitmap */
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final Cache<ContractID, CachedCode> contractCodes;
+    private final Cache<Address, Code> tokenRedirectCodes;
+
+    /**
+     * A cached {@link Code} and the bytecode it was created from.
+     */
+    private record CachedCode(@NonNull Bytes bytecode, @NonNull Code code) {
+        boolean isFor(@NonNull final Bytes bytecode) {
+            return this.bytecode == bytecode || this.bytecode.equals(bytecode);
+        }
+    }
+
+    @Inject
+    public ContractCodeCache() {
+        this(DEFAULT_MAX_BYTECODE_WEIGHT, DEFAULT_MAX_REDIRECT_CODES);
+    }
+
+    /**
+     * Creates a cache with the given bounds. A bound of zero effectively disables that part of the cache.
+     *
+     * @param maxBytecodeWeight the bound on the total size of the cached contract bytecode, in bytes
+     * @param maxRedirectCodes the bound on the number of cached token redirect codes
+     */
+    public ContractCodeCache(final long maxBytecodeWeight, final long maxRedirectCodes) {
+        this.contractCodes = Caffeine.newBuilder()
+                .maximumWeight(maxBytecodeWeight)
+                .weigher((ContractID id, CachedCode cached) -> (int) cached.bytecode().length() + ENTRY_OVERHEAD)
+                .executor(Runnable::run)
+                .build();
+        this.tokenRedirectCodes = Caffeine.newBuilder()
+                .maximumSize(maxRedirectCodes)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * Returns the analyzed {@link Code} for the given contract's bytecode, creating and caching it if the cache
+     * has no entry for this contract and bytecode.
+     *
+     * @param contractID the id of the contract
+     * @param bytecode the contract's current bytecode
+     * @return the analyzed code
+     */
+    public @NonNull Code getContractCode(@NonNull final ContractID contractID, @NonNull final Bytes bytecode) {
+        requireNonNull(contractID);
+        requireNonNull(bytecode);
+        final var cached = contractCodes.getIfPresent(contractID);
+        if (cached != null && cached.isFor(bytecode)) {
+            return cached.code();
+        }
+        final var code = CodeFactory.createCode(pbjToTuweniBytes(bytecode), 0, false);
+        contractCodes.put(contractID, new CachedCode(bytecode, code));
+        return code;
+    }
+
+    /**
+     * Returns the analyzed token redirect {@link Code} for the given token address, creating it with the given
+     * factory and caching it if needed.
+     *
+     * @param address the token address
+     * @param bytecodeFactory the factory for the redirect bytecode of a token address
+     * @return the analyzed redirect code
+     */
+    public @NonNull Code getTokenRedirectCode(
+            @NonNull final Address address,
+            @NonNull final Function<Address, org.apache.tuweni.bytes.Bytes> bytecodeFactory) {
+        requireNonNull(address);
+        requireNonNull(bytecodeFactory);
+        return tokenRedirectCodes.get(address, a -> CodeFactory.createCode(bytecodeFactory.apply(a), 0, false));
+    }
+
+    /**
+     * Drops any cached code for the given contract.
+     *
+     * @param contractID the id of the contract whose code was set or deleted
+     */
+    public void invalidate(@NonNull final ContractID contractID) {
+        contractCodes.invalidate(requireNonNull(contractID));
+    }
+}
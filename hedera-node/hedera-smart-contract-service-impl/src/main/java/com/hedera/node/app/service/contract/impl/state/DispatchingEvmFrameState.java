@@ -51,6 +51,7 @@ import com.hedera.node.app.service.contract.impl.exec.scope.ActiveContractVerifi
 import com.hedera.node.app.service.contract.impl.exec.scope.ActiveContractVerificationStrategy.UseTopLevelSigs;
 import com.hedera.node.app.service.contract.impl.exec.scope.HandleHederaNativeOperations;
 import com.hedera.node.app.service.contract.impl.exec.scope.HederaNativeOperations;
+import com.hedera.node.app.service.contract.impl.infra.ContractCodeCache;
 import com.hedera.node.app.spi.HapiUtils;
 import com.hedera.node.app.spi.state.WritableKVState;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -65,9 +66,10 @@ import org.apache.tuweni.units.bigints.UInt256;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.account.MutableAccount;
-import org.hyperledger.besu.evm.code.CodeFactory;
+import org.hyperledger.besu.evm.code.CodeV0;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 
@@ -79,8 +81,9 @@ import org.hyperledger.besu.evm.frame.MessageFrame;
  * <p>Almost every access requires a conversion from a PBJ type to a Besu type. At some
  * point it might be necessary to cache the converted values and invalidate them when
  * the state changes.
- * <p>
- * TODO - get a little further to clarify DI strategy, then bring back a code cache.
+ *
+ * <p>Analyzed contract and token redirect code (and hence code hashes) come from the node-wide
+ * {@link ContractCodeCache}, which is invalidated here when code is set or a contract is deleted.
  */
 public class DispatchingEvmFrameState implements EvmFrameState {
     public static final Key HOLLOW_ACCOUNT_KEY =
@@ -93,12 +96,15 @@ public class DispatchingEvmFrameState implements EvmFrameState {
 
     private final HederaNativeOperations nativeOperations;
     private final ContractStateStore contractStateStore;
+    private final ContractCodeCache codeCache;
 
     public DispatchingEvmFrameState(
             @NonNull final HederaNativeOperations nativeOperations,
-            @NonNull final ContractStateStore contractStateStore) {
+            @NonNull final ContractStateStore contractStateStore,
+            @NonNull final ContractCodeCache codeCache) {
         this.nativeOperations = requireNonNull(nativeOperations);
         this.contractStateStore = requireNonNull(contractStateStore);
+        this.codeCache = requireNonNull(codeCache);
     }
 
     /**
@@ -193,11 +199,10 @@ public class DispatchingEvmFrameState implements EvmFrameState {
     @Override
     public @NonNull Hash getCodeHash(final ContractID contractID) {
         final var numberedBytecode = contractStateStore.getBytecode(contractID);
-        if (numberedBytecode == null) {
+        if (numberedBytecode == null || numberedBytecode.code() == null) {
             return Hash.EMPTY;
         } else {
-            return CodeFactory.createCode(pbjToTuweniBytes(numberedBytecode.code()), 0, false)
-                    .getCodeHash();
+            return codeCache.getContractCode(contractID, numberedBytecode.code()).getCodeHash();
         }
     }
 
@@ -214,7 +219,28 @@ public class DispatchingEvmFrameState implements EvmFrameState {
      */
     @Override
     public @NonNull Hash getTokenRedirectCodeHash(@NonNull final Address address) {
-        return CodeFactory.createCode(proxyBytecodeFor(address), 0, false).getCodeHash();
+        return getTokenRedirectEvmCode(address).getCodeHash();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NonNull Code getEvmCode(final ContractID contractID) {
+        final var numberedBytecode = contractStateStore.getBytecode(contractID);
+        if (numberedBytecode == null || numberedBytecode.code() == null) {
+            return CodeV0.EMPTY_CODE;
+        } else {
+            return codeCache.getContractCode(contractID, numberedBytecode.code());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NonNull Code getTokenRedirectEvmCode(@NonNull final Address address) {
+        return codeCache.getTokenRedirectCode(address, this::proxyBytecodeFor);
     }
 
     /**
@@ -260,6 +286,7 @@ public class DispatchingEvmFrameState implements EvmFrameState {
     @Override
     public void setCode(final ContractID contractID, @NonNull final Bytes code) {
         contractStateStore.putBytecode(contractID, new Bytecode(tuweniToPbjBytes(requireNonNull(code))));
+        codeCache.invalidate(contractID);
     }
 
     /**
@@ -461,6 +488,7 @@ public class DispatchingEvmFrameState implements EvmFrameState {
         }
         nativeOperations.trackSelfDestructBeneficiary(
                 deletedAccount.hederaId(), ((ProxyEvmAccount) beneficiaryAccount).hederaId(), frame);
+        codeCache.invalidate(deletedAccount.hederaContractId());
         return Optional.empty();
     }
 
@@ -28,6 +28,7 @@ import org.apache.tuweni.units.bigints.UInt256;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.account.MutableAccount;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
@@ -213,6 +214,26 @@ public interface EvmFrameState {
     @NonNull
     Hash getTokenRedirectCodeHash(@NonNull Address address);
 
+    /**
+     * Returns the analyzed EVM code for the contract with the given contract id, or empty code if no such
+     * code exists.
+     *
+     * @param contractID the contract id
+     * @return the analyzed code for the contract
+     */
+    @NonNull
+    Code getEvmCode(ContractID contractID);
+
+    /**
+     * Returns the analyzed EVM redirect code for the token with the given address, which must be a
+     * long-zero address.
+     *
+     * @param address the token long-zero address
+     * @return the analyzed redirect code for the token
+     */
+    @NonNull
+    Code getTokenRedirectEvmCode(@NonNull Address address);
+
     /**
      * Returns the native account with the given account id.
      *
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.contract.impl.test.infra;
+
+import static com.hedera.node.app.service.contract.impl.utils.ConversionUtils.pbjToTuweniBytes;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.hedera.hapi.node.base.ContractID;
+import com.hedera.node.app.service.contract.impl.infra.ContractCodeCache;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.junit.jupiter.api.Test;
+
+class ContractCodeCacheTest {
+    private static final ContractID CONTRACT_ID =
+            ContractID.newBuilder().contractNum(1234L).build();
+    private static final Bytes BYTECODE = Bytes.wrap(new byte[] {0x60, 0x01, 0x5b, 0x00});
+    private static final Address TOKEN_ADDRESS = Address.fromHexString("0000000000000000000000000000000000001234");
+
+    private final ContractCodeCache subject = new ContractCodeCache();
+
+    @Test
+    void reusesCodeForEqualBytecode() {
+        final var code = subject.getContractCode(CONTRACT_ID, BYTECODE);
+
+        assertEquals(Hash.hash(pbjToTuweniBytes(BYTECODE)), code.getCodeHash());
+        assertSame(code, subject.getContractCode(CONTRACT_ID, Bytes.wrap(BYTECODE.toByteArray())));
+    }
+
+    @Test
+    void replacesCodeForDifferentBytecode() {
+        final var code = subject.getContractCode(CONTRACT_ID, BYTECODE);
+        final var otherBytecode = Bytes.wrap(new byte[] {0x60, 0x02, 0x00});
+
+        final var otherCode = subject.getContractCode(CONTRACT_ID, otherBytecode);
+
+        assertNotSame(code, otherCode);
+        assertEquals(pbjToTuweniBytes(otherBytecode), otherCode.getBytes());
+        assertSame(otherCode, subject.getContractCode(CONTRACT_ID, otherBytecode));
+    }
+
+    @Test
+    void invalidationDropsCode() {
+        final var code = subject.getContractCode(CONTRACT_ID, BYTECODE);
+
+        subject.invalidate(CONTRACT_ID);
+
+        assertNotSame(code, subject.getContractCode(CONTRACT_ID, BYTECODE));
+    }
+
+    @Test
+    void zeroWeightBoundDisablesContractCodeCaching() {
+        final var uncached = new ContractCodeCache(0, 0);
+
+        final var code = uncached.getContractCode(CONTRACT_ID, BYTECODE);
+
+        assertNotSame(code, uncached.getContractCode(CONTRACT_ID, BYTECODE));
+    }
+
+    @Test
+    void createsTokenRedirectCodeOnce() {
+        final var creations = new AtomicInteger();
+        final var redirectBytecode = org.apache.tuweni.bytes.Bytes.fromHexString("0x6001");
+
+        final var code = subject.getTokenRedirectCode(TOKEN_ADDRESS, address -> {
+            creations.incrementAndGet();
+            return redirectBytecode;
+        });
+
+        assertSame(code, subject.getTokenRedirectCode(TOKEN_ADDRESS, address -> {
+            creations.incrementAndGet();
+            return redirectBytecode;
+        }));
+        assertEquals(redirectBytecode, code.getBytes());
+        assertEquals(1, creations.get());
+    }
+}
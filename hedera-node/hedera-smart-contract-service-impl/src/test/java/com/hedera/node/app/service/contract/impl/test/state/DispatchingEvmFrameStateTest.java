@@ -32,6 +32,7 @@ import static org.hyperledger.besu.evm.frame.ExceptionalHaltReason.ILLEGAL_STATE
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -57,6 +58,7 @@ import com.hedera.node.app.service.contract.impl.exec.failure.CustomExceptionalH
 import com.hedera.node.app.service.contract.impl.exec.scope.ActiveContractVerificationStrategy;
 import com.hedera.node.app.service.contract.impl.exec.scope.HederaNativeOperations;
 import com.hedera.node.app.service.contract.impl.exec.scope.VerificationStrategy;
+import com.hedera.node.app.service.contract.impl.infra.ContractCodeCache;
 import com.hedera.node.app.service.contract.impl.state.ContractStateStore;
 import com.hedera.node.app.service.contract.impl.state.DispatchingEvmFrameState;
 import com.hedera.node.app.service.contract.impl.state.ProxyEvmAccount;
@@ -74,6 +76,7 @@ import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.evm.code.CodeFactory;
+import org.hyperledger.besu.evm.code.CodeV0;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -136,11 +139,14 @@ class DispatchingEvmFrameStateTest {
     @Mock
     private MessageFrame frame;
 
+    private ContractCodeCache codeCache;
+
     private DispatchingEvmFrameState subject;
 
     @BeforeEach
     void setUp() {
-        subject = new DispatchingEvmFrameState(nativeOperations, contractStateStore);
+        codeCache = new ContractCodeCache();
+        subject = new DispatchingEvmFrameState(nativeOperations, contractStateStore, codeCache);
     }
 
     @Test
@@ -337,6 +343,54 @@ class DispatchingEvmFrameStateTest {
         assertEquals(SOME_PRETEND_CODE_HASH, actualCodeHash);
     }
 
+    @Test
+    void reusesAnalyzedCodeAcrossFrameStates() {
+        givenWellKnownBytecode();
+
+        final var code = subject.getEvmCode(A_CONTRACT_ID);
+        final var nextFrameState = new DispatchingEvmFrameState(nativeOperations, contractStateStore, codeCache);
+
+        assertEquals(pbjToTuweniBytes(SOME_PRETEND_CODE), code.getBytes());
+        assertEquals(SOME_PRETEND_CODE_HASH, code.getCodeHash());
+        assertSame(code, nextFrameState.getEvmCode(A_CONTRACT_ID));
+    }
+
+    @Test
+    void doesNotReuseAnalyzedCodeForChangedBytecode() {
+        givenWellKnownBytecode();
+        final var code = subject.getEvmCode(A_CONTRACT_ID);
+        final var otherCode = Bytes.wrap("<OTHER-PRETEND-CODE>");
+        given(contractStateStore.getBytecode(A_CONTRACT_ID)).willReturn(new Bytecode(otherCode));
+
+        final var newCode = subject.getEvmCode(A_CONTRACT_ID);
+
+        assertNotSame(code, newCode);
+        assertEquals(pbjToTuweniBytes(otherCode), newCode.getBytes());
+    }
+
+    @Test
+    void settingCodeInvalidatesAnalyzedCode() {
+        givenWellKnownBytecode();
+        final var code = subject.getEvmCode(A_CONTRACT_ID);
+
+        subject.setCode(A_CONTRACT_ID, pbjToTuweniBytes(SOME_PRETEND_CODE));
+
+        assertNotSame(code, subject.getEvmCode(A_CONTRACT_ID));
+    }
+
+    @Test
+    void getsEmptyEvmCodeForMissing() {
+        assertSame(CodeV0.EMPTY_CODE, subject.getEvmCode(A_CONTRACT_ID));
+    }
+
+    @Test
+    void reusesAnalyzedTokenRedirectCode() {
+        final var code = subject.getTokenRedirectEvmCode(TOKEN_ADDRESS);
+
+        assertEquals(subject.getTokenRedirectCode(TOKEN_ADDRESS), code.getBytes());
+        assertSame(code, subject.getTokenRedirectEvmCode(TOKEN_ADDRESS));
+    }
+
     @Test
     void getsEmptyCodeHashForMissing() {
         final var actualCodeHash = subject.getCodeHash(A_CONTRACT_ID);
@@ -109,6 +109,9 @@ public class InitialModServiceTokenSchema extends Schema {
     private static final long MAX_ACCOUNTS = 1_000_000_000L;
     private static final long MAX_TOKEN_RELS = 1_000_000_000L;
     private static final long MAX_MINTABLE_NFTS = 1_000_000_000L;
+    // Hot tokens and accounts (treasuries, fee collectors, popular contracts) are read by many transactions of a round
+    private static final int TOKENS_READ_CACHE_SIZE = 10_000;
+    private static final int ACCOUNTS_READ_CACHE_SIZE = 10_000;
     private static final long FIRST_RESERVED_SYSTEM_CONTRACT = 350L;
     private static final long LAST_RESERVED_SYSTEM_CONTRACT = 399L;
     private static final long FIRST_POST_SYSTEM_FILE_ENTITY = 200L;
@@ -153,8 +156,10 @@ public class InitialModServiceTokenSchema extends Schema {
     @Override
     public Set<StateDefinition> statesToCreate() {
         return Set.of(
-                StateDefinition.onDisk(TOKENS_KEY, TokenID.PROTOBUF, Token.PROTOBUF, MAX_TOKENS),
-                StateDefinition.onDisk(ACCOUNTS_KEY, AccountID.PROTOBUF, Account.PROTOBUF, MAX_ACCOUNTS),
+                StateDefinition.onDisk(TOKENS_KEY, TokenID.PROTOBUF, Token.PROTOBUF, MAX_TOKENS)
+                        .withReadCache(TOKENS_READ_CACHE_SIZE),
+                StateDefinition.onDisk(ACCOUNTS_KEY, AccountID.PROTOBUF, Account.PROTOBUF, MAX_ACCOUNTS)
+                        .withReadCache(ACCOUNTS_READ_CACHE_SIZE),
                 StateDefinition.onDisk(ALIASES_KEY, ProtoBytes.PROTOBUF, AccountID.PROTOBUF, MAX_ACCOUNTS),
                 StateDefinition.onDisk(NFTS_KEY, NftID.PROTOBUF, Nft.PROTOBUF, MAX_MINTABLE_NFTS),
                 StateDefinition.onDisk(TOKEN_RELS_KEY, EntityIDPair.PROTOBUF, TokenRelation.PROTOBUF, MAX_TOKEN_RELS),
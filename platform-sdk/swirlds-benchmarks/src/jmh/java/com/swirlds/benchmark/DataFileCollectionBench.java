@@ -21,9 +21,15 @@ import com.swirlds.merkledb.collections.LongListOffHeap;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.merkledb.files.DataFileCollection;
 import com.swirlds.merkledb.files.DataFileCompactor;
+import com.swirlds.merkledb.files.DataFileCommon;
 import com.swirlds.merkledb.files.DataFileReader;
+import com.swirlds.merkledb.files.DataFileReaderPbj;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -110,4 +116,99 @@ public class DataFileCollectionBench extends BaseBench {
             index.close();
         });
     }
+
+    /**
+     * Random reads from a set of completed data files. Parallel. The same files are read twice,
+     * first using file channels, then using memory mapped buffers. Read throughput and p99 read
+     * latency are reported for both modes.
+     */
+    @Benchmark
+    public void randomRead() throws Exception {
+        String storeName = "randomReadBench";
+        beforeTest(storeName);
+
+        final LongListOffHeap index = new LongListOffHeap();
+        final BenchmarkRecordSerializer serializer = new BenchmarkRecordSerializer();
+        final var store = new DataFileCollection<>(
+                getConfig(MerkleDbConfig.class),
+                getTestDir(),
+                storeName,
+                null,
+                serializer,
+                (dataLocation, dataValue) -> {});
+        System.out.println();
+
+        // Write files
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < numFiles; i++) {
+            store.startWriting();
+            resetKeys();
+            for (int j = 0; j < numRecords; ++j) {
+                long id = nextAscKey();
+                index.put(id, store.storeDataItem(new BenchmarkRecord(id, nextValue())));
+            }
+            store.endWriting(0, maxKey).setFileCompleted();
+        }
+        System.out.println("Created " + numFiles + " files in " + (System.currentTimeMillis() - start) + "ms");
+
+        final List<DataFileReader<BenchmarkRecord>> files = store.getAllCompletedFiles();
+        for (final boolean memoryMapped : new boolean[] {false, true}) {
+            final int maxFileIndex = files.stream().mapToInt(DataFileReader::getIndex).max().orElse(0);
+            @SuppressWarnings("unchecked")
+            final DataFileReaderPbj<BenchmarkRecord>[] readers = new DataFileReaderPbj[maxFileIndex + 1];
+            for (final DataFileReader<BenchmarkRecord> file : files) {
+                final var reader =
+                        new DataFileReaderPbj<>(file.getPath(), serializer, file.getMetadata(), memoryMapped);
+                reader.setFileCompleted();
+                readers[file.getIndex()] = reader;
+            }
+
+            final long[][] latencies = new long[numThreads][numRecords];
+            final AtomicLong total = new AtomicLong(0);
+            start = System.nanoTime();
+            IntStream.range(0, numThreads).parallel().forEach(thread -> {
+                final long[] threadLatencies = latencies[thread];
+                long count = 0;
+                for (int i = 0; i < numRecords; ++i) {
+                    final long dataLocation = index.get(Utils.randomLong(maxKey), LongList.IMPERMISSIBLE_VALUE);
+                    if (dataLocation == LongList.IMPERMISSIBLE_VALUE) {
+                        continue;
+                    }
+                    final var reader = readers[DataFileCommon.fileIndexFromDataLocation(dataLocation)];
+                    final long readStart = System.nanoTime();
+                    try {
+                        reader.readDataItem(dataLocation);
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    threadLatencies[(int) count++] = System.nanoTime() - readStart;
+                }
+                Arrays.fill(threadLatencies, (int) count, threadLatencies.length, -1L);
+                total.addAndGet(count);
+            });
+            final long timeNanos = System.nanoTime() - start;
+
+            final long[] allLatencies = Arrays.stream(latencies)
+                    .flatMapToLong(Arrays::stream)
+                    .filter(l -> l >= 0)
+                    .sorted()
+                    .toArray();
+            final long p99 = allLatencies.length == 0 ? 0 : allLatencies[(int) (allLatencies.length * 0.99)];
+            System.out.println((memoryMapped ? "Memory mapped" : "File channel") + " reader: read " + total.get()
+                    + " items from " + numThreads + " threads in " + timeNanos / 1_000_000 + "ms, "
+                    + total.get() * 1_000_000_000L / Math.max(1, timeNanos) + " reads/s, p99 latency "
+                    + p99 / 1000 + "us");
+
+            for (final DataFileReaderPbj<BenchmarkRecord> reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+
+        afterTest(() -> {
+            store.close();
+            index.close();
+        });
+    }
 }
@@ -25,6 +25,7 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
@@ -38,6 +39,10 @@ public class HalfDiskMapBench extends BaseBench {
 
     private static final long INVALID_PATH = -1L;
 
+    /** The number of keys the map is sized for in {@link #grow()}, it then grows to maxKey keys */
+    @Param({"1000000"})
+    public int initialKeys = 1_000_000;
+
     String benchmarkName() {
         return "KeyValueStoreBench";
     }
@@ -97,4 +102,56 @@ public class HalfDiskMapBench extends BaseBench {
 
         afterTest(store::close);
     }
+
+    /**
+     * Creates a map sized for {@code initialKeys} keys, and then fills it with {@code maxKey} keys,
+     * {@code numRecords} keys per flush, so buckets are split as the map grows. For example, to
+     * grow from 1M to 200M keys, run with {@code -p maxKey=200000000 -p numRecords=1000000}.
+     */
+    @Benchmark
+    public void grow() throws Exception {
+        String storeName = "growBench";
+        beforeTest(storeName);
+
+        final var store = new HalfDiskHashMap<>(
+                getConfig(MerkleDbConfig.class),
+                initialKeys,
+                new BenchmarkKeySerializer(),
+                getTestDir(),
+                storeName,
+                null,
+                false);
+        final int initialBuckets = store.getNumOfBuckets();
+        System.out.println();
+
+        // Write keys in batches, buckets are split at the end of every batch
+        long start = System.currentTimeMillis();
+        int splits = 0;
+        int maxBucketEntries = 0;
+        for (long id = 0; id < maxKey; ) {
+            store.startWriting();
+            final long batchEnd = Math.min(id + numRecords, maxKey);
+            for (; id < batchEnd; ++id) {
+                store.put(new BenchmarkKey(id), id);
+            }
+            store.endWriting();
+            splits += store.getLastFlushBucketSplits();
+            maxBucketEntries = Math.max(maxBucketEntries, store.getLastFlushMaxBucketEntries());
+        }
+        System.out.println("Wrote " + maxKey + " keys in " + (System.currentTimeMillis() - start) + "ms, buckets: "
+                + initialBuckets + " -> " + store.getNumOfBuckets() + ", splits: " + splits
+                + ", max bucket entries: " + maxBucketEntries);
+
+        // Read random keys
+        start = System.currentTimeMillis();
+        for (int i = 0; i < numRecords; ++i) {
+            final long id = Utils.randomLong(maxKey);
+            if (store.get(new BenchmarkKey(id), INVALID_PATH) != id) {
+                throw new RuntimeException("Bad value");
+            }
+        }
+        System.out.println("Read " + numRecords + " random keys in " + (System.currentTimeMillis() - start) + "ms");
+
+        afterTest(store::close);
+    }
 }
@@ -20,6 +20,7 @@ import com.swirlds.benchmark.reconnect.MerkleBenchmarkUtils;
 import com.swirlds.benchmark.reconnect.StateBuilder;
 import com.swirlds.common.merkle.MerkleInternal;
 import com.swirlds.common.merkle.MerkleNode;
+import com.swirlds.common.merkle.synchronization.config.ReconnectConfig;
 import com.swirlds.merkledb.MerkleDb;
 import com.swirlds.virtualmap.VirtualKey;
 import com.swirlds.virtualmap.VirtualMap;
@@ -64,6 +65,18 @@ public class ReconnectBench extends VirtualMapBaseBench {
     @Param({"0.05"})
     public double teacherModifyProbability;
 
+    /** The maximum number of ranges the teacher splits the map into, which are sent in parallel. */
+    @Param({"1", "4", "16"})
+    public int parallelRanges;
+
+    /** If true, the learner map is empty, and the teacher sends it in bulk unless {@link #bulkTransfer} is false. */
+    @Param({"false", "true"})
+    public boolean emptyLearner;
+
+    /** If true, an empty learner map is received in bulk instead of comparing hashes node by node. */
+    @Param({"true"})
+    public boolean bulkTransfer;
+
     private VirtualMap<BenchmarkKey, BenchmarkValue> teacherMap;
     private VirtualMap<BenchmarkKey, BenchmarkValue> learnerMap;
     private MerkleInternal teacherTree;
@@ -124,7 +137,7 @@ public class ReconnectBench extends VirtualMapBaseBench {
                         teacherRemoveProbability,
                         teacherModifyProbability,
                         buildVMPopulator(teacherMap),
-                        buildVMPopulator(learnerMap));
+                        emptyLearner ? (k, v) -> {} : buildVMPopulator(learnerMap));
 
         teacherMap = flushMap(teacherMap);
         learnerMap = flushMap(learnerMap);
@@ -177,6 +190,25 @@ public class ReconnectBench extends VirtualMapBaseBench {
 
     @Benchmark
     public void reconnect() throws Exception {
-        node = MerkleBenchmarkUtils.hashAndTestSynchronization(learnerTree, teacherTree, configuration);
+        node = MerkleBenchmarkUtils.hashAndTestSynchronization(
+                learnerTree, teacherTree, configuration, buildReconnectConfig());
+    }
+
+    private ReconnectConfig buildReconnectConfig() {
+        final ReconnectConfig config = configuration.getConfigData(ReconnectConfig.class);
+        return new ReconnectConfig(
+                config.active(),
+                config.reconnectWindowSeconds(),
+                config.fallenBehindThreshold(),
+                config.asyncStreamTimeout(),
+                config.asyncOutputStreamFlush(),
+                config.asyncStreamBufferSize(),
+                config.maxAckDelay(),
+                config.maximumReconnectFailuresBeforeShutdown(),
+                config.minimumTimeBetweenReconnects(),
+                config.teacherMaxNodesPerSecond(),
+                config.teacherRateLimiterSleep(),
+                parallelRanges,
+                bulkTransfer);
     }
 }
@@ -261,4 +261,41 @@ public abstract class VirtualMapBench extends VirtualMapBaseBench {
 
         afterTest(true);
     }
+
+    /**
+     * Read from a pre-created map with skewed (Zipfian) key distribution. Parallel. A few keys are
+     * read very often, which is typical for account-heavy loads. Run this benchmark with
+     * different {@code merkleDb.leafRecordCacheWays} settings to compare leaf record cache
+     * configurations, e.g. 1 (direct-mapped) vs. 4 or 8 (set associative).
+     */
+    @Benchmark
+    public void readZipf() throws Exception {
+        beforeTest("readZipf");
+
+        logger.info(RUN_DELIMITER);
+
+        preCreateMap();
+
+        final ZipfianGenerator generator = new ZipfianGenerator(maxKey);
+
+        final long start = System.currentTimeMillis();
+        final AtomicLong total = new AtomicLong(0);
+        IntStream.range(0, numThreads).parallel().forEach(thread -> {
+            long sum = 0;
+            for (int i = 0; i < numRecords; ++i) {
+                final long id = generator.next();
+                BenchmarkValue value = virtualMapP.get(new BenchmarkKey(id));
+                sum += value.hashCode();
+            }
+            total.addAndGet(sum);
+        });
+
+        logger.info(
+                "Read {} records with Zipfian distribution from {} threads in {} ms",
+                (long) numRecords * numThreads,
+                numThreads,
+                System.currentTimeMillis() - start);
+
+        afterTest(true);
+    }
 }
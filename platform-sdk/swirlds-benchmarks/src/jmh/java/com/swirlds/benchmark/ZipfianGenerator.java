@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates random longs in [0, n) with Zipfian distribution, i.e. a few values are generated
+ * very often, while most values are generated rarely. The algorithm is from "Quickly Generating
+ * Billion-Record Synthetic Databases" by Gray et al. Ranks are scrambled, so the most frequent
+ * values are spread over the whole range rather than grouped at its start.
+ *
+ * <p>This class is thread safe.
+ */
+public final class ZipfianGenerator {
+
+    /** Default skew, the same as used by YCSB */
+    public static final double DEFAULT_THETA = 0.99;
+
+    private final long n;
+    private final double theta;
+    private final double zetaN;
+    private final double alpha;
+    private final double eta;
+
+    public ZipfianGenerator(final long n) {
+        this(n, DEFAULT_THETA);
+    }
+
+    public ZipfianGenerator(final long n, final double theta) {
+        if (n <= 1) {
+            throw new IllegalArgumentException("Range must contain more than one value");
+        }
+        if (theta <= 0 || theta >= 1) {
+            throw new IllegalArgumentException("Theta must be in (0, 1)");
+        }
+        this.n = n;
+        this.theta = theta;
+        this.zetaN = zeta(n, theta);
+        this.alpha = 1.0 / (1.0 - theta);
+        this.eta = (1 - Math.pow(2.0 / n, 1 - theta)) / (1 - zeta(2, theta) / zetaN);
+    }
+
+    private static double zeta(final long n, final double theta) {
+        double sum = 0;
+        for (long i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the rank of the next value, rank 0 being the most frequent.
+     */
+    public long nextRank() {
+        final double u = ThreadLocalRandom.current().nextDouble();
+        final double uz = u * zetaN;
+        if (uz < 1.0) {
+            return 0;
+        }
+        if (uz < 1.0 + Math.pow(0.5, theta)) {
+            return 1;
+        }
+        return Math.min(n - 1, (long) (n * Math.pow(eta * u - eta + 1, alpha)));
+    }
+
+    /**
+     * Returns the next value. Values are ranks scrambled with a hash function.
+     */
+    public long next() {
+        // Stafford variant 13 of the 64-bit mixer from SplitMix64
+        long z = nextRank() + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return Math.floorMod(z, n);
+    }
+}
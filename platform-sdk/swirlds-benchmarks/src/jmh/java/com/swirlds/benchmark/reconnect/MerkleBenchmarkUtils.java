@@ -53,12 +53,20 @@ public class MerkleBenchmarkUtils {
     public static <T extends MerkleNode> T hashAndTestSynchronization(
             final MerkleNode startingTree, final MerkleNode desiredTree, final Configuration configuration)
             throws Exception {
+        return hashAndTestSynchronization(
+                startingTree, desiredTree, configuration, configuration.getConfigData(ReconnectConfig.class));
+    }
+
+    public static <T extends MerkleNode> T hashAndTestSynchronization(
+            final MerkleNode startingTree,
+            final MerkleNode desiredTree,
+            final Configuration configuration,
+            final ReconnectConfig reconnectConfig)
+            throws Exception {
         System.out.println("------------");
         System.out.println("starting: " + startingTree);
         System.out.println("desired: " + desiredTree);
 
-        final ReconnectConfig reconnectConfig = configuration.getConfigData(ReconnectConfig.class);
-
         if (startingTree != null && startingTree.getHash() == null) {
             MerkleCryptoFactory.getInstance().digestTreeSync(startingTree);
         }
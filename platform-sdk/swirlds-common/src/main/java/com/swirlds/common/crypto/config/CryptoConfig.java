@@ -18,6 +18,7 @@ package com.swirlds.common.crypto.config;
 
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
+import com.swirlds.config.api.validation.annotation.Min;
 
 /**
  * Configuration of the crypto system.
@@ -34,13 +35,17 @@ import com.swirlds.config.api.ConfigProperty;
  * @param enableNewKeyStoreModel
  *   whether to enable the new key store model which uses separate PKCS #8 key stores for each node. This model is
  *   compatible with most industry standard tools and libraries including OpenSSL, Java Keytool, and many others.
+ * @param verifierBatchSize
+ * 		the maximum number of signatures verified as a single batch by one verifier thread. Larger lists of signatures
+ * 		submitted for asynchronous verification are split into batches that are verified in parallel.
  */
 @ConfigData("crypto")
 public record CryptoConfig(
         @ConfigProperty(defaultValue = "0.5") double cpuVerifierThreadRatio,
         @ConfigProperty(defaultValue = "0.5") double cpuDigestThreadRatio,
         @ConfigProperty(defaultValue = "password") String keystorePassword,
-        @ConfigProperty(defaultValue = "false") boolean enableNewKeyStoreModel) {
+        @ConfigProperty(defaultValue = "false") boolean enableNewKeyStoreModel,
+        @Min(1) @ConfigProperty(defaultValue = "1024") int verifierBatchSize) {
 
     /**
      * Calculates the number of threads needed to achieve the CPU core ratio given by {@link
@@ -93,15 +93,27 @@ public abstract class AsyncOperationHandler<Element, Provider extends OperationP
      */
     @Override
     public void run() {
-        for (Element item : workItems) {
+        handleWorkItems(provider, workItems);
+        complete(null);
+    }
+
+    /**
+     * Called by the {@link #run()} method to process the cryptographic transformations for all items on the background
+     * thread. The default implementation processes the items one by one, subclasses may process them as a batch.
+     *
+     * @param provider
+     * 		the algorithm provider to use
+     * @param items
+     * 		the inputs to be transformed
+     */
+    protected void handleWorkItems(final Provider provider, final List<Element> items) {
+        for (Element item : items) {
             try {
                 handleWorkItem(provider, item);
             } catch (RuntimeException | NoSuchAlgorithmException ex) {
                 logger.warn(TESTING_EXCEPTIONS.getMarker(), "Intercepted Uncaught Exception", ex);
             }
         }
-
-        complete(null);
     }
 
     /**
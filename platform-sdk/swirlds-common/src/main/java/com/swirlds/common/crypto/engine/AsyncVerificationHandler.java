@@ -16,11 +16,15 @@
 
 package com.swirlds.common.crypto.engine;
 
+import static com.swirlds.logging.legacy.LogMarker.TESTING_EXCEPTIONS;
+
 import com.swirlds.common.crypto.SignatureType;
 import com.swirlds.common.crypto.TransactionSignature;
 import com.swirlds.common.crypto.VerificationStatus;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 /**
  * A signature verification capable {@link AsyncOperationHandler} implementation.
@@ -28,10 +32,17 @@ import java.util.List;
  * Provides a generic way to process cryptographic transformations for a given {@link List} of work items in a
  * asynchronous manner on a background thread. This object also serves as the {@link java.util.concurrent.Future}
  * implementation assigned to each item contained in the {@link List}.
+ *
+ * If the provider is a {@link DelegatingVerificationProvider}, all items are verified as a single batch. If the batch
+ * can't be verified, e.g. because of a malformed signature, the items are verified one by one, so every valid
+ * signature is still verified and only the malformed ones fail.
  */
 public class AsyncVerificationHandler
         extends AsyncOperationHandler<
                 TransactionSignature, OperationProvider<TransactionSignature, Void, Boolean, ?, SignatureType>> {
+
+    private static final Logger logger = LogManager.getLogger(AsyncVerificationHandler.class);
+
     /**
      * Constructs an {@link AsyncOperationHandler} which will operate on the provided {@link List} of items using the
      * specified algorithm provider. This method does not make a copy of the list provided and expects exclusive access
@@ -66,6 +77,34 @@ public class AsyncVerificationHandler
         super(workItems, shouldCopy, provider);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void handleWorkItems(
+            final OperationProvider<TransactionSignature, Void, Boolean, ?, SignatureType> provider,
+            final List<TransactionSignature> items) {
+        if (!(provider instanceof final DelegatingVerificationProvider delegatingProvider)) {
+            super.handleWorkItems(provider, items);
+            return;
+        }
+
+        for (final TransactionSignature item : items) {
+            item.setFuture(this);
+        }
+
+        try {
+            delegatingProvider.verifyBatch(items);
+        } catch (final RuntimeException | NoSuchAlgorithmException ex) {
+            logger.warn(
+                    TESTING_EXCEPTIONS.getMarker(),
+                    "Batch verification failed, verifying {} signatures one by one",
+                    items.size(),
+                    ex);
+            super.handleWorkItems(provider, items);
+        }
+    }
+
     /**
      * Called by the {@link #run()} method to process the cryptographic transformation for a single item on the
      * background thread.
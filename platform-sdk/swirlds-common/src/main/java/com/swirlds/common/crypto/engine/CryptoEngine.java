@@ -248,7 +248,17 @@ public class CryptoEngine implements Cryptography {
      */
     @Override
     public void verifyAsync(@NonNull final List<TransactionSignature> signatures) {
-        verificationDispatcher.submit(signatures);
+        // large lists, e.g. all signatures of a round, are split into batches that are verified in parallel
+        final int batchSize = config.verifierBatchSize();
+        if (signatures.size() <= batchSize) {
+            verificationDispatcher.submit(signatures);
+            return;
+        }
+        // the handlers don't copy their work items, so each batch gets its own copy rather than a view of the list
+        for (int start = 0; start < signatures.size(); start += batchSize) {
+            verificationDispatcher.submit(
+                    List.copyOf(signatures.subList(start, Math.min(start + batchSize, signatures.size()))));
+        }
     }
 
     /**
@@ -19,7 +19,11 @@ package com.swirlds.common.crypto.engine;
 import com.goterl.lazysodium.interfaces.Sign;
 import com.swirlds.common.crypto.SignatureType;
 import com.swirlds.common.crypto.TransactionSignature;
+import com.swirlds.common.crypto.VerificationStatus;
+import edu.umd.cs.findbugs.annotations.NonNull;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * For Internal Use Only. This class will be deprecated and removed once the Platform transitions to a minimum
@@ -39,6 +43,37 @@ public class DelegatingVerificationProvider
         this.ecdsaSecp256k1VerificationProvider = ecdsaSecp256k1VerificationProvider;
     }
 
+    /**
+     * Verifies a batch of signatures, and sets the verification status of every signature in the batch. All Ed25519
+     * signatures are verified as a single batch, other signatures are verified one by one.
+     *
+     * @param signatures the signatures to be verified
+     * @return true if all signatures are valid; false if at least one signature is invalid
+     * @throws NoSuchAlgorithmException if a signature has an unsupported type
+     */
+    public boolean verifyBatch(@NonNull final List<TransactionSignature> signatures) throws NoSuchAlgorithmException {
+        List<TransactionSignature> ed25519Signatures = signatures;
+        boolean allValid = true;
+        for (int i = 0; i < signatures.size(); i++) {
+            final TransactionSignature signature = signatures.get(i);
+            if (signature.getSignatureType() == SignatureType.ED25519) {
+                if (ed25519Signatures != signatures) {
+                    ed25519Signatures.add(signature);
+                }
+                continue;
+            }
+            if (ed25519Signatures == signatures) {
+                // not all signatures are Ed25519, the batch only gets those seen so far and the ones that follow
+                ed25519Signatures = new ArrayList<>(signatures.subList(0, i));
+            }
+            final boolean isValid = compute(signature, signature.getSignatureType());
+            signature.setSignatureStatus(isValid ? VerificationStatus.VALID : VerificationStatus.INVALID);
+            allValid &= isValid;
+        }
+
+        return ed25519VerificationProvider.verifyBatch(ed25519Signatures) && allValid;
+    }
+
     /**
      * {@inheritDoc}
      */
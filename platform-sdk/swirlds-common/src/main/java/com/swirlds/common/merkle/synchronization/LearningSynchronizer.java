@@ -26,12 +26,14 @@ import com.swirlds.common.io.streams.SerializableDataOutputStream;
 import com.swirlds.common.merkle.MerkleNode;
 import com.swirlds.common.merkle.crypto.MerkleCryptoFactory;
 import com.swirlds.common.merkle.synchronization.config.ReconnectConfig;
+import com.swirlds.common.merkle.synchronization.internal.ExpectedLesson;
 import com.swirlds.common.merkle.synchronization.internal.LearnerThread;
 import com.swirlds.common.merkle.synchronization.internal.Lesson;
 import com.swirlds.common.merkle.synchronization.internal.QueryResponse;
 import com.swirlds.common.merkle.synchronization.internal.ReconnectNodeCount;
 import com.swirlds.common.merkle.synchronization.streams.AsyncInputStream;
 import com.swirlds.common.merkle.synchronization.streams.AsyncOutputStream;
+import com.swirlds.common.merkle.synchronization.streams.StreamMultiplexer;
 import com.swirlds.common.merkle.synchronization.utility.MerkleSynchronizationException;
 import com.swirlds.common.merkle.synchronization.views.CustomReconnectRoot;
 import com.swirlds.common.merkle.synchronization.views.LearnerTreeView;
@@ -41,10 +43,14 @@ import com.swirlds.common.threading.manager.ThreadManager;
 import com.swirlds.common.threading.pool.StandardWorkGroup;
 import com.swirlds.logging.legacy.payload.SynchronizationCompletePayload;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
@@ -260,14 +266,6 @@ public class LearningSynchronizer implements ReconnectNodeCount {
                 root == null ? "(unknown)" : root.getClass().getName(),
                 root == null ? "[]" : root.getRoute());
 
-        final AtomicReference<Throwable> firstReconnectException = new AtomicReference<>();
-        final Function<Throwable, Boolean> reconnectExceptionListener = t -> {
-            firstReconnectException.compareAndSet(null, t);
-            return false;
-        };
-        final StandardWorkGroup workGroup =
-                new StandardWorkGroup(threadManager, WORK_GROUP_NAME, breakConnection, reconnectExceptionListener);
-
         final LearnerTreeView<T> view;
         if (root == null || !root.hasCustomReconnectView()) {
             view = (LearnerTreeView<T>) new StandardLearnerTreeView(root);
@@ -276,6 +274,13 @@ public class LearningSynchronizer implements ReconnectNodeCount {
             view = ((CustomReconnectRoot<?, T>) root).buildLearnerView();
         }
 
+        if (view.isBulkTransferSupported() && requestBulkTransfer(view)) {
+            return receiveBulk(view);
+        }
+
+        final AtomicReference<Throwable> firstReconnectException = new AtomicReference<>();
+        final StandardWorkGroup workGroup = buildWorkGroup(firstReconnectException);
+
         final AsyncInputStream<Lesson<T>> in =
                 new AsyncInputStream<>(inputStream, workGroup, () -> new Lesson<>(view), reconnectConfig);
         final AsyncOutputStream<QueryResponse> out = buildOutputStream(workGroup, outputStream);
@@ -284,8 +289,11 @@ public class LearningSynchronizer implements ReconnectNodeCount {
         out.start();
 
         final AtomicReference<T> reconstructedRoot = new AtomicReference<>();
+        final Queue<ExpectedLesson<T>> rangesToReceive = new LinkedList<>();
 
-        new LearnerThread<>(workGroup, threadManager, in, out, rootsToReceive, reconstructedRoot, view, this).start();
+        new LearnerThread<>(
+                        workGroup, threadManager, in, out, rootsToReceive, rangesToReceive, reconstructedRoot, view, this)
+                .start();
         InterruptedException interruptException = null;
         try {
             workGroup.waitForTermination();
@@ -300,6 +308,11 @@ public class LearningSynchronizer implements ReconnectNodeCount {
             // the async input stream's queue that haven't been attached to any tree.
             in.abort();
 
+            if (!rangesToReceive.isEmpty()) {
+                // The learner thread left the view open for the ranges
+                view.close();
+            }
+
             final MerkleNode merkleRoot = view.getMerkleRoot(reconstructedRoot.get());
             if (merkleRoot != null && merkleRoot.getReservationCount() == 0) {
                 // If the root has a reference count of 0 then it is not underneath any other tree,
@@ -315,11 +328,274 @@ public class LearningSynchronizer implements ReconnectNodeCount {
                     "Synchronization failed with exceptions", firstReconnectException.get());
         }
 
+        if (!rangesToReceive.isEmpty()) {
+            // The learner thread leaves the view open until the ranges are received
+            try (view) {
+                receiveRanges(view, rangesToReceive);
+            } catch (final InterruptedException | RuntimeException e) {
+                final MerkleNode merkleRoot = view.getMerkleRoot(reconstructedRoot.get());
+                if (merkleRoot != null && merkleRoot.getReservationCount() == 0) {
+                    logger.warn(RECONNECT.getMarker(), "deleting partially constructed subtree");
+                    merkleRoot.release();
+                }
+                throw e;
+            }
+        }
+
         viewsToInitialize.addFirst(view);
 
         return view.getMerkleRoot(reconstructedRoot.get());
     }
 
+    /**
+     * Tell the teacher whether a tree should be sent in bulk.
+     *
+     * @param view the view of the tree
+     * @return true if the tree is sent in bulk
+     */
+    private boolean requestBulkTransfer(final LearnerTreeView<?> view) {
+        final boolean bulk = reconnectConfig.bulkTransfer() && view.isBulkTransferPreferred();
+        try {
+            outputStream.writeBoolean(bulk);
+            outputStream.flush();
+        } catch (final IOException e) {
+            throw new MerkleSynchronizationException("Failed to request the tree in bulk", e);
+        }
+        return bulk;
+    }
+
+    /**
+     * Receive a tree in bulk, without comparing hashes with the teacher.
+     *
+     * @param view the view of the tree
+     * @return the root of the received tree
+     */
+    private <T> MerkleNode receiveBulk(final LearnerTreeView<T> view) {
+        logger.info(RECONNECT.getMarker(), "receiving tree in bulk");
+        final long start = System.currentTimeMillis();
+        final int leafNodesBefore = leafNodesReceived;
+
+        T reconstructedRoot = null;
+        try (view) {
+            reconstructedRoot = view.receiveBulk(inputStream, this);
+        } catch (final IOException | RuntimeException e) {
+            // The teacher may still be writing, don't leave it blocked
+            breakConnection.run();
+            final MerkleNode merkleRoot = view.getMerkleRoot(reconstructedRoot);
+            if (merkleRoot != null && merkleRoot.getReservationCount() == 0) {
+                logger.warn(RECONNECT.getMarker(), "deleting partially constructed subtree");
+                merkleRoot.release();
+            }
+            throw new MerkleSynchronizationException("Failed to receive the tree in bulk", e);
+        }
+
+        final long elapsed = System.currentTimeMillis() - start;
+        final int leafNodes = leafNodesReceived - leafNodesBefore;
+        logger.info(
+                RECONNECT.getMarker(),
+                "finished receiving {} leaf nodes in bulk in {} ms, {} nodes per second",
+                leafNodes,
+                elapsed,
+                nodesPerSecond(leafNodes, elapsed));
+
+        viewsToInitialize.addFirst(view);
+        return view.getMerkleRoot(reconstructedRoot);
+    }
+
+    /**
+     * Receive the subtrees of the ranges of a tree concurrently, each over its own channel.
+     *
+     * @param view   the view of the tree the ranges belong to
+     * @param ranges the lessons that were expected for the roots of the ranges, in the order the teacher sent them
+     */
+    private <T> void receiveRanges(final LearnerTreeView<T> view, final Queue<ExpectedLesson<T>> ranges)
+            throws InterruptedException {
+        final int rangeCount = ranges.size();
+        logger.info(RECONNECT.getMarker(), "receiving {} ranges in parallel", rangeCount);
+        final long start = System.currentTimeMillis();
+
+        final AtomicReference<Throwable> firstReconnectException = new AtomicReference<>();
+        final StandardWorkGroup workGroup = buildWorkGroup(firstReconnectException);
+        final StreamMultiplexer multiplexer =
+                new StreamMultiplexer(inputStream, outputStream, rangeCount, workGroup, reconnectConfig);
+        multiplexer.start();
+
+        // Subtrees with custom views found by the range threads, added to the other subtrees afterwards
+        final Queue<MerkleNode> rangeRootsToReceive = new ConcurrentLinkedQueue<>();
+        final List<AsyncInputStream<Lesson<T>>> inputs = new ArrayList<>(rangeCount);
+        final List<AtomicReference<T>> rangeRoots = new ArrayList<>(rangeCount);
+        final List<RangeStatistics> statistics = new ArrayList<>(rangeCount);
+
+        int channel = 0;
+        for (final ExpectedLesson<T> range : ranges) {
+            final LearnerTreeView<T> rangeView = view.buildRangeView(range);
+
+            final AsyncInputStream<Lesson<T>> in = new AsyncInputStream<>(
+                    multiplexer.getInputStream(channel), workGroup, () -> new Lesson<>(rangeView), reconnectConfig);
+            final AsyncOutputStream<QueryResponse> out =
+                    buildOutputStream(workGroup, multiplexer.getOutputStream(channel));
+
+            in.start();
+            multiplexer.start(channel, out);
+
+            final AtomicReference<T> rangeRoot = new AtomicReference<>();
+            final RangeStatistics rangeStatistics = new RangeStatistics(channel);
+            inputs.add(in);
+            rangeRoots.add(rangeRoot);
+            statistics.add(rangeStatistics);
+
+            new LearnerThread<>(
+                            workGroup,
+                            threadManager,
+                            in,
+                            out,
+                            rangeRootsToReceive,
+                            null,
+                            rangeRoot,
+                            rangeView,
+                            rangeStatistics)
+                    .start();
+
+            channel++;
+        }
+
+        InterruptedException interruptException = null;
+        try {
+            workGroup.waitForTermination();
+        } catch (final InterruptedException e) { // NOSONAR: Exception is rethrown below after cleanup.
+            interruptException = e;
+            logger.warn(RECONNECT.getMarker(), "interrupted while waiting for work group termination");
+        }
+
+        if (interruptException != null || workGroup.hasExceptions()) {
+            inputs.forEach(AsyncInputStream::abort);
+            if (interruptException != null) {
+                throw interruptException;
+            }
+            throw new MerkleSynchronizationException(
+                    "Synchronization of ranges failed with exceptions", firstReconnectException.get());
+        }
+
+        int index = 0;
+        for (final ExpectedLesson<T> range : ranges) {
+            final T rangeRoot = rangeRoots.get(index).get();
+            if (rangeRoot != null) {
+                view.setChild(range.getParent(), range.getPositionInParent(), rangeRoot);
+            }
+            statistics.get(index).addTo(this);
+            index++;
+        }
+        rootsToReceive.addAll(rangeRootsToReceive);
+
+        final long elapsed = System.currentTimeMillis() - start;
+        logger.info(
+                RECONNECT.getMarker(),
+                "finished receiving {} ranges in {} ms, {} nodes per second",
+                rangeCount,
+                elapsed,
+                nodesPerSecond(statistics.stream().mapToLong(RangeStatistics::getNodes).sum(), elapsed));
+    }
+
+    /**
+     * Build the work group for receiving a tree or the ranges of a tree.
+     */
+    private StandardWorkGroup buildWorkGroup(final AtomicReference<Throwable> firstReconnectException) {
+        final Function<Throwable, Boolean> reconnectExceptionListener = t -> {
+            firstReconnectException.compareAndSet(null, t);
+            return false;
+        };
+        return new StandardWorkGroup(threadManager, WORK_GROUP_NAME, breakConnection, reconnectExceptionListener);
+    }
+
+    private static long nodesPerSecond(final long nodes, final long elapsedMillis) {
+        return elapsedMillis == 0 ? nodes : nodes * 1000 / elapsedMillis;
+    }
+
+    /**
+     * Counts the nodes of a range, which is received concurrently to the other ranges, and logs its progress.
+     */
+    private static final class RangeStatistics implements ReconnectNodeCount {
+
+        /**
+         * The number of received nodes after which the progress of a range is logged.
+         */
+        private static final long PROGRESS_INTERVAL = 1_000_000;
+
+        private final int range;
+        private final long start = System.currentTimeMillis();
+
+        private int leafNodes;
+        private int internalNodes;
+        private int redundantLeafNodes;
+        private int redundantInternalNodes;
+
+        private RangeStatistics(final int range) {
+            this.range = range;
+        }
+
+        @Override
+        public void incrementLeafCount() {
+            leafNodes++;
+            nodeReceived();
+        }
+
+        @Override
+        public void incrementRedundantLeafCount() {
+            redundantLeafNodes++;
+        }
+
+        @Override
+        public void incrementInternalCount() {
+            internalNodes++;
+            nodeReceived();
+        }
+
+        @Override
+        public void incrementRedundantInternalCount() {
+            redundantInternalNodes++;
+        }
+
+        private long getNodes() {
+            return (long) leafNodes + internalNodes;
+        }
+
+        private void nodeReceived() {
+            final long nodes = getNodes();
+            if (nodes % PROGRESS_INTERVAL == 0) {
+                final long elapsed = System.currentTimeMillis() - start;
+                logger.info(
+                        RECONNECT.getMarker(),
+                        "range {} received {} nodes in {} ms, {} nodes per second",
+                        range,
+                        nodes,
+                        elapsed,
+                        nodesPerSecond(nodes, elapsed));
+            }
+        }
+
+        /**
+         * Log the statistics of this range and add them to the statistics of the whole synchronization.
+         */
+        private void addTo(final LearningSynchronizer synchronizer) {
+            final long elapsed = System.currentTimeMillis() - start;
+            logger.info(
+                    RECONNECT.getMarker(),
+                    "range {} finished: {} leaf nodes ({} redundant), {} internal nodes ({} redundant), "
+                            + "{} ms, {} nodes per second",
+                    range,
+                    leafNodes,
+                    redundantLeafNodes,
+                    internalNodes,
+                    redundantInternalNodes,
+                    elapsed,
+                    nodesPerSecond(getNodes(), elapsed));
+            synchronizer.leafNodesReceived += leafNodes;
+            synchronizer.internalNodesReceived += internalNodes;
+            synchronizer.redundantLeafNodes += redundantLeafNodes;
+            synchronizer.redundantInternalNodes += redundantInternalNodes;
+        }
+    }
+
     /**
      * Build the output stream. Exposed to allow unit tests to override implementation to simulate latency.
      */
@@ -31,17 +31,23 @@ import com.swirlds.common.merkle.synchronization.internal.TeacherSendingThread;
 import com.swirlds.common.merkle.synchronization.internal.TeacherSubtree;
 import com.swirlds.common.merkle.synchronization.streams.AsyncInputStream;
 import com.swirlds.common.merkle.synchronization.streams.AsyncOutputStream;
+import com.swirlds.common.merkle.synchronization.streams.StreamMultiplexer;
 import com.swirlds.common.merkle.synchronization.utility.MerkleSynchronizationException;
 import com.swirlds.common.merkle.synchronization.views.TeacherTreeView;
 import com.swirlds.common.threading.manager.ThreadManager;
 import com.swirlds.common.threading.pool.StandardWorkGroup;
+import com.swirlds.common.utility.throttle.RateLimiter;
 import com.swirlds.config.api.Configuration;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.IOException;
 import java.net.SocketException;
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import org.apache.logging.log4j.LogManager;
@@ -154,30 +160,14 @@ public class TeachingSynchronizer {
                 root == null ? null : root.getClass().getName(),
                 root == null ? "[]" : root.getRoute());
 
+        if (view.isBulkTransferSupported() && isBulkTransferRequested()) {
+            sendBulk(view);
+            return;
+        }
+
         final AtomicReference<Throwable> firstReconnectException = new AtomicReference<>();
         // A future improvement might be to reuse threads between subtrees.
-        final StandardWorkGroup workGroup =
-                new StandardWorkGroup(threadManager, WORK_GROUP_NAME, breakConnection, ex -> {
-                    Throwable cause = ex;
-                    while (cause != null) {
-                        if (cause instanceof SocketException socketEx) {
-                            if (socketEx.getMessage().equalsIgnoreCase("Connection reset by peer")) {
-                                // Connection issues during reconnects are expected and recoverable, just
-                                // log them as info. All other exceptions should be treated as real errors
-                                logger.info(
-                                        RECONNECT.getMarker(),
-                                        "Connection reset while sending tree at {} with route {}. Aborting",
-                                        root == null ? null : root.getClass().getName(),
-                                        root == null ? "[]" : root.getRoute());
-                                return true;
-                            }
-                        }
-                        cause = cause.getCause();
-                    }
-                    firstReconnectException.compareAndSet(null, ex);
-                    // Let StandardWorkGroup log it as an error using the EXCEPTION marker
-                    return false;
-                });
+        final StandardWorkGroup workGroup = buildWorkGroup(root, firstReconnectException);
 
         final AsyncInputStream<QueryResponse> in =
                 new AsyncInputStream<>(inputStream, workGroup, QueryResponse::new, reconnectConfig);
@@ -188,7 +178,19 @@ public class TeachingSynchronizer {
 
         final AtomicBoolean senderIsFinished = new AtomicBoolean(false);
 
-        new TeacherSendingThread<T>(time, reconnectConfig, workGroup, in, out, subtrees, view, senderIsFinished)
+        view.splitIntoRanges(reconnectConfig.parallelRanges());
+        final Queue<T> rangeRoots = new LinkedList<>();
+
+        new TeacherSendingThread<T>(
+                        reconnectConfig,
+                        workGroup,
+                        in,
+                        out,
+                        subtrees,
+                        rangeRoots,
+                        view,
+                        senderIsFinished,
+                        TeacherSendingThread.buildRateLimiter(time, reconnectConfig))
                 .start();
         new TeacherReceivingThread<>(workGroup, in, view, senderIsFinished).start();
 
@@ -199,9 +201,142 @@ public class TeachingSynchronizer {
                     "Synchronization failed with exceptions", firstReconnectException.get());
         }
 
+        // The learner doesn't receive the ranges it already has
+        rangeRoots.removeIf(view::hasLearnerConfirmedFor);
+        if (!rangeRoots.isEmpty()) {
+            sendRanges(root, view, rangeRoots);
+        }
+
         logger.info(RECONNECT.getMarker(), "finished sending tree");
     }
 
+    /**
+     * Read whether the learner wants a tree in bulk.
+     */
+    private boolean isBulkTransferRequested() {
+        try {
+            return inputStream.readBoolean();
+        } catch (final IOException e) {
+            throw new MerkleSynchronizationException("Failed to read whether the learner wants the tree in bulk", e);
+        }
+    }
+
+    /**
+     * Send a tree in bulk, without comparing hashes with the learner.
+     */
+    private <T> void sendBulk(final TeacherTreeView<T> view) {
+        logger.info(RECONNECT.getMarker(), "sending tree in bulk");
+        final long start = time.currentTimeMillis();
+        try {
+            view.sendBulk(outputStream);
+            outputStream.flush();
+        } catch (final IOException | RuntimeException e) {
+            // The learner may still be reading, don't leave it blocked
+            if (breakConnection != null) {
+                breakConnection.run();
+            }
+            throw new MerkleSynchronizationException("Failed to send the tree in bulk", e);
+        }
+        final long elapsed = time.currentTimeMillis() - start;
+        logger.info(RECONNECT.getMarker(), "finished sending tree in bulk in {} ms", elapsed);
+    }
+
+    /**
+     * Send the subtrees of the ranges of a tree concurrently, each over its own channel.
+     */
+    private <T> void sendRanges(final MerkleNode root, final TeacherTreeView<T> view, final Queue<T> rangeRoots)
+            throws InterruptedException {
+        final int rangeCount = rangeRoots.size();
+        logger.info(RECONNECT.getMarker(), "sending {} ranges in parallel", rangeCount);
+        final long start = time.currentTimeMillis();
+
+        final AtomicReference<Throwable> firstReconnectException = new AtomicReference<>();
+        final StandardWorkGroup workGroup = buildWorkGroup(root, firstReconnectException);
+        final StreamMultiplexer multiplexer =
+                new StreamMultiplexer(inputStream, outputStream, rangeCount, workGroup, reconnectConfig);
+        multiplexer.start();
+
+        // Subtrees with custom views found by the range threads, added to the other subtrees afterwards
+        final Queue<TeacherSubtree> rangeSubtrees = new ConcurrentLinkedQueue<>();
+        final List<TeacherTreeView<T>> rangeViews = new ArrayList<>(rangeCount);
+        // The configured rate applies to all ranges together, not to each one
+        final RateLimiter rateLimiter = TeacherSendingThread.buildRateLimiter(time, reconnectConfig);
+        try {
+            int channel = 0;
+            for (final T rangeRoot : rangeRoots) {
+                final TeacherTreeView<T> rangeView = view.buildRangeView(rangeRoot);
+                rangeViews.add(rangeView);
+
+                final AsyncInputStream<QueryResponse> in = new AsyncInputStream<>(
+                        multiplexer.getInputStream(channel), workGroup, QueryResponse::new, reconnectConfig);
+                final AsyncOutputStream<Lesson<T>> out =
+                        buildOutputStream(workGroup, multiplexer.getOutputStream(channel));
+
+                in.start();
+                multiplexer.start(channel, out);
+
+                final AtomicBoolean senderIsFinished = new AtomicBoolean(false);
+
+                // Range views are not split any further
+                new TeacherSendingThread<T>(
+                                reconnectConfig,
+                                workGroup,
+                                in,
+                                out,
+                                rangeSubtrees,
+                                new LinkedList<>(),
+                                rangeView,
+                                senderIsFinished,
+                                rateLimiter)
+                        .start();
+                new TeacherReceivingThread<>(workGroup, in, rangeView, senderIsFinished).start();
+
+                channel++;
+            }
+
+            workGroup.waitForTermination();
+        } finally {
+            rangeViews.forEach(TeacherTreeView::close);
+            subtrees.addAll(rangeSubtrees);
+        }
+
+        if (workGroup.hasExceptions()) {
+            throw new MerkleSynchronizationException(
+                    "Synchronization of ranges failed with exceptions", firstReconnectException.get());
+        }
+
+        final long elapsed = time.currentTimeMillis() - start;
+        logger.info(RECONNECT.getMarker(), "finished sending {} ranges in {} ms", rangeCount, elapsed);
+    }
+
+    /**
+     * Build the work group for sending a tree or the ranges of a tree.
+     */
+    private StandardWorkGroup buildWorkGroup(
+            final MerkleNode root, final AtomicReference<Throwable> firstReconnectException) {
+        return new StandardWorkGroup(threadManager, WORK_GROUP_NAME, breakConnection, ex -> {
+                    Throwable cause = ex;
+                    while (cause != null) {
+                        if (cause instanceof SocketException socketEx) {
+                            if (socketEx.getMessage().equalsIgnoreCase("Connection reset by peer")) {
+                                // Connection issues during reconnects are expected and recoverable, just
+                                // log them as info. All other exceptions should be treated as real errors
+                                logger.info(
+                                        RECONNECT.getMarker(),
+                                        "Connection reset while sending tree at {} with route {}. Aborting",
+                                        root == null ? null : root.getClass().getName(),
+                                        root == null ? "[]" : root.getRoute());
+                                return true;
+                            }
+                        }
+                        cause = cause.getCause();
+                    }
+                    firstReconnectException.compareAndSet(null, ex);
+                    // Let StandardWorkGroup log it as an error using the EXCEPTION marker
+                    return false;
+                });
+    }
+
     /**
      * Build the output stream. Exposed to allow unit tests to override implementation to simulate latency.
      */
@@ -50,9 +50,16 @@ import java.time.Duration;
  *                                               continuously reconnecting with it. Time is measured starting from when
  *                                               a reconnect attempt is initialized.
  * @param teacherMaxNodesPerSecond               The maximum number of nodes that a teacher will send per second. If 0
- *                                               then there is no limit.
+ *                                               then there is no limit. If a tree is sent in ranges, the limit
+ *                                               is shared by all ranges of the tree.
  * @param teacherRateLimiterSleep                The amount of time that a teacher will sleep when throttling is
  *                                               engaged
+ * @param parallelRanges                         The maximum number of ranges a teacher splits a virtual map into. The
+ *                                               ranges are sent concurrently, each over its own channel multiplexed
+ *                                               over the reconnect connection. If 1 then the map is sent as a whole.
+ * @param bulkTransfer                           If true, a learner that has nothing of a tree that supports it, such
+ *                                               as an empty virtual map, asks the teacher to send the tree in bulk
+ *                                               instead of comparing hashes node by node.
  */
 @ConfigData("reconnect")
 public record ReconnectConfig(
@@ -66,4 +73,6 @@ public record ReconnectConfig(
         @ConfigProperty(defaultValue = "10") int maximumReconnectFailuresBeforeShutdown,
         @ConfigProperty(defaultValue = "10m") Duration minimumTimeBetweenReconnects,
         @ConfigProperty(defaultValue = "0") int teacherMaxNodesPerSecond,
-        @ConfigProperty(defaultValue = "1us") Duration teacherRateLimiterSleep) {}
+        @ConfigProperty(defaultValue = "1us") Duration teacherRateLimiterSleep,
+        @ConfigProperty(defaultValue = "1") int parallelRanges,
+        @ConfigProperty(defaultValue = "true") boolean bulkTransfer) {}
@@ -57,6 +57,7 @@ public class LearnerThread<T> {
     private final ReconnectNodeCount nodeCount;
 
     private final Queue<MerkleNode> rootsToReceive;
+    private final Queue<ExpectedLesson<T>> rangesToReceive;
 
     private final ThresholdLimitingHandler<Throwable> exceptionRateLimiter = new ThresholdLimitingHandler<>(1);
 
@@ -78,6 +79,9 @@ public class LearnerThread<T> {
      * 		the output stream, this object is responsible for closing the stream when finished
      * @param rootsToReceive
      * 		a queue of subtree roots to synchronize
+     * @param rangesToReceive
+     * 		a queue to which the ranges are added that are received after this thread has finished, null if this
+     * 		thread receives a range
      * @param root
      * 		a reference which will eventually hold the root of this subtree
      * @param view
@@ -91,6 +95,7 @@ public class LearnerThread<T> {
             final AsyncInputStream<Lesson<T>> in,
             final AsyncOutputStream<QueryResponse> out,
             final Queue<MerkleNode> rootsToReceive,
+            final Queue<ExpectedLesson<T>> rangesToReceive,
             final AtomicReference<T> root,
             final LearnerTreeView<T> view,
             final ReconnectNodeCount nodeCount) {
@@ -99,6 +104,7 @@ public class LearnerThread<T> {
         this.in = in;
         this.out = out;
         this.rootsToReceive = rootsToReceive;
+        this.rangesToReceive = rangesToReceive;
         this.root = root;
         this.view = view;
         this.nodeCount = nodeCount;
@@ -147,8 +153,9 @@ public class LearnerThread<T> {
             final Lesson<T> lesson,
             boolean firstLesson) {
 
-        if (lesson.isCurrentNodeUpToDate()) {
-            // We already have the correct node in our tree.
+        if (lesson.isCurrentNodeUpToDate() || lesson.isRangeRoot()) {
+            // We already have the correct node in our tree. A range root is only handled here
+            // if we already have the node, otherwise its range is received later.
             return expectedLesson.getOriginalNode();
         } else if (lesson.isCustomViewRoot()) {
             // This node is the root of a subtree with a custom view,
@@ -157,9 +164,9 @@ public class LearnerThread<T> {
         } else {
             final T node;
 
-            if (firstLesson && !view.isRootOfState()) {
+            if (firstLesson && !view.isRootOfState() && rangesToReceive != null) {
                 // Special case: roots of subtrees with custom views will have been copied
-                // when synchronizing the parent tree.
+                // when synchronizing the parent tree. Roots of ranges are sent by the teacher.
                 node = expectedLesson.getOriginalNode();
             } else {
                 // The teacher sent us the node we should use
@@ -217,7 +224,7 @@ public class LearnerThread<T> {
      * Update node counts for statistics.
      */
     private void addToNodeCount(final ExpectedLesson<T> expectedLesson, final Lesson<T> lesson, final T newChild) {
-        if (lesson.isCurrentNodeUpToDate()) {
+        if (lesson.isCurrentNodeUpToDate() || lesson.isRangeRoot()) {
             return;
         }
 
@@ -241,39 +248,49 @@ public class LearnerThread<T> {
         boolean firstLesson = true;
 
         try (in;
-                out;
-                view) {
+                out) {
+            try {
+                view.startThreads(threadManager, workGroup);
 
-            view.startThreads(threadManager, workGroup);
+                view.expectLessonFor(null, 0, view.getOriginalRoot(), false);
+                in.anticipateMessage();
 
-            view.expectLessonFor(null, 0, view.getOriginalRoot(), false);
-            in.anticipateMessage();
+                while (view.hasNextExpectedLesson()) {
 
-            while (view.hasNextExpectedLesson()) {
+                    final ExpectedLesson<T> expectedLesson = view.getNextExpectedLesson();
+                    final Lesson<T> lesson = in.readAnticipatedMessage();
 
-                final ExpectedLesson<T> expectedLesson = view.getNextExpectedLesson();
-                final Lesson<T> lesson = in.readAnticipatedMessage();
+                    if (lesson.isRangeRoot() && !expectedLesson.isNodeAlreadyPresent()) {
+                        // The subtree of this node is received later, concurrently to the other ranges.
+                        rangesToReceive.add(expectedLesson);
+                        continue;
+                    }
 
-                final T parent = expectedLesson.getParent();
+                    final T parent = expectedLesson.getParent();
 
-                final T newChild = extractNodeFromLesson(view, expectedLesson, lesson, firstLesson);
+                    final T newChild = extractNodeFromLesson(view, expectedLesson, lesson, firstLesson);
 
-                firstLesson = false;
+                    firstLesson = false;
 
-                if (parent == null) {
-                    root.set(newChild);
-                } else {
-                    view.setChild(parent, expectedLesson.getPositionInParent(), newChild);
-                }
+                    if (parent == null) {
+                        root.set(newChild);
+                    } else {
+                        view.setChild(parent, expectedLesson.getPositionInParent(), newChild);
+                    }
 
-                addToNodeCount(expectedLesson, lesson, newChild);
+                    addToNodeCount(expectedLesson, lesson, newChild);
 
-                if (lesson.hasQueries()) {
-                    final List<Hash> queries = lesson.getQueries();
-                    handleQueries(view, in, out, queries, expectedLesson.getOriginalNode(), newChild);
+                    if (lesson.hasQueries()) {
+                        final List<Hash> queries = lesson.getQueries();
+                        handleQueries(view, in, out, queries, expectedLesson.getOriginalNode(), newChild);
+                    }
+                }
+            } finally {
+                // If there are ranges to receive, the view is closed by the synchronizer once they are received
+                if (rangesToReceive == null || rangesToReceive.isEmpty()) {
+                    view.close();
                 }
             }
-
         } catch (final InterruptedException ex) {
             logger.warn(RECONNECT.getMarker(), "learner thread interrupted");
             Thread.currentThread().interrupt();
@@ -20,6 +20,7 @@ import static com.swirlds.common.merkle.synchronization.internal.LessonType.CUST
 import static com.swirlds.common.merkle.synchronization.internal.LessonType.INTERNAL_NODE_DATA;
 import static com.swirlds.common.merkle.synchronization.internal.LessonType.LEAF_NODE_DATA;
 import static com.swirlds.common.merkle.synchronization.internal.LessonType.NODE_IS_UP_TO_DATE;
+import static com.swirlds.common.merkle.synchronization.internal.LessonType.RANGE_ROOT;
 
 import com.swirlds.common.Releasable;
 import com.swirlds.common.crypto.Hash;
@@ -80,7 +81,7 @@ public class Lesson<T> implements Releasable, SelfSerializable {
     @Override
     public void serialize(final SerializableDataOutputStream out) throws IOException {
         out.writeByte(lessonType);
-        if (lessonType != NODE_IS_UP_TO_DATE) {
+        if (lessonType != NODE_IS_UP_TO_DATE && lessonType != RANGE_ROOT) {
             subLesson.serialize(out);
         }
     }
@@ -94,6 +95,7 @@ public class Lesson<T> implements Releasable, SelfSerializable {
 
         switch (lessonType) {
             case NODE_IS_UP_TO_DATE:
+            case RANGE_ROOT:
                 return;
             case LEAF_NODE_DATA:
                 subLesson = new LeafDataLesson<>(learnerView);
@@ -168,6 +170,16 @@ public class Lesson<T> implements Releasable, SelfSerializable {
         return lessonType == CUSTOM_VIEW_ROOT;
     }
 
+    /**
+     * Check if this lesson is about the root of a range. The subtree of the range is received later by a separate
+     * {@link LearnerThread}.
+     *
+     * @return true if the node in the lesson is the root of a range
+     */
+    public boolean isRangeRoot() {
+        return lessonType == RANGE_ROOT;
+    }
+
     /**
      * If {@link #isCustomViewRoot()} returns true, this method returns the class ID for the
      * root of the subtree with the custom view.
@@ -45,4 +45,10 @@ public final class LessonType {
      * Corresponds to {@link CustomViewRootLesson}.
      */
     public static final byte CUSTOM_VIEW_ROOT = 3;
+
+    /**
+     * This lesson informs the learner that the node is the root of a range. The subtree of a range is sent later,
+     * concurrently to the other ranges. This lesson has no payload.
+     */
+    public static final byte RANGE_ROOT = 4;
 }
@@ -20,6 +20,7 @@ import static com.swirlds.common.merkle.synchronization.internal.LessonType.CUST
 import static com.swirlds.common.merkle.synchronization.internal.LessonType.INTERNAL_NODE_DATA;
 import static com.swirlds.common.merkle.synchronization.internal.LessonType.LEAF_NODE_DATA;
 import static com.swirlds.common.merkle.synchronization.internal.LessonType.NODE_IS_UP_TO_DATE;
+import static com.swirlds.common.merkle.synchronization.internal.LessonType.RANGE_ROOT;
 import static com.swirlds.logging.legacy.LogMarker.RECONNECT;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
@@ -33,6 +34,7 @@ import com.swirlds.common.merkle.synchronization.views.TeacherTreeView;
 import com.swirlds.common.threading.pool.StandardWorkGroup;
 import com.swirlds.common.utility.throttle.RateLimiter;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.Queue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.logging.log4j.LogManager;
@@ -55,54 +57,75 @@ public class TeacherSendingThread<T> {
      */
     private static final Lesson<?> UP_TO_DATE_LESSON = new Lesson<>(NODE_IS_UP_TO_DATE, null);
 
+    /**
+     * The lesson used to describe the root of a range is always exactly the same.
+     */
+    private static final Lesson<?> RANGE_ROOT_LESSON = new Lesson<>(RANGE_ROOT, null);
+
     private final StandardWorkGroup workGroup;
     private final AsyncInputStream<QueryResponse> in;
     private final AsyncOutputStream<Lesson<T>> out;
     private final Queue<TeacherSubtree> subtrees;
+    private final Queue<T> rangeRoots;
     private final TeacherTreeView<T> view;
 
     private final AtomicBoolean senderIsFinished;
 
+    /** limits the rate of nodes sent, shared by all threads sending the ranges of a tree, or null if unlimited */
     private final RateLimiter rateLimiter;
     private final int sleepNanos;
 
     /**
      * Create new thread that will send data lessons and queries for a subtree.
      *
-     * @param time                  the wall clock time
      * @param reconnectConfig       the configuration for reconnect
      * @param workGroup             the work group managing the reconnect
      * @param in                    the input stream
      * @param out                   the output stream, this object is responsible for closing this object when finished
      * @param subtrees              a queue containing roots of subtrees to send, may have more roots added by this
      *                              class
+     * @param rangeRoots            a queue to which the roots of ranges are added, the subtrees of these nodes are
+     *                              sent later
      * @param view                  an object that interfaces with the subtree
      * @param senderIsFinished      set to true when this thread has finished
+     * @param rateLimiter           limits the rate of nodes sent, may be shared with other sending threads, or null
+     *                              if the rate is not limited, see {@link #buildRateLimiter(Time, ReconnectConfig)}
      */
     public TeacherSendingThread(
-            @NonNull final Time time,
             @NonNull final ReconnectConfig reconnectConfig,
             final StandardWorkGroup workGroup,
             final AsyncInputStream<QueryResponse> in,
             final AsyncOutputStream<Lesson<T>> out,
             final Queue<TeacherSubtree> subtrees,
+            final Queue<T> rangeRoots,
             final TeacherTreeView<T> view,
-            final AtomicBoolean senderIsFinished) {
+            final AtomicBoolean senderIsFinished,
+            @Nullable final RateLimiter rateLimiter) {
         this.workGroup = workGroup;
         this.in = in;
         this.out = out;
         this.subtrees = subtrees;
+        this.rangeRoots = rangeRoots;
         this.view = view;
         this.senderIsFinished = senderIsFinished;
 
+        this.rateLimiter = rateLimiter;
+        sleepNanos = (int) reconnectConfig.teacherRateLimiterSleep().toNanos();
+    }
+
+    /**
+     * Build the rate limiter for the sending threads of a tree. All threads that send the ranges of a tree must share
+     * the same rate limiter, so that the configured rate applies to the tree as a whole.
+     *
+     * @param time            the wall clock time
+     * @param reconnectConfig the configuration for reconnect
+     * @return the rate limiter, or null if the rate is not limited
+     */
+    @Nullable
+    public static RateLimiter buildRateLimiter(
+            @NonNull final Time time, @NonNull final ReconnectConfig reconnectConfig) {
         final int maxRate = reconnectConfig.teacherMaxNodesPerSecond();
-        if (maxRate > 0) {
-            rateLimiter = new RateLimiter(time, maxRate);
-            sleepNanos = (int) reconnectConfig.teacherRateLimiterSleep().toNanos();
-        } else {
-            rateLimiter = null;
-            sleepNanos = -1;
-        }
+        return maxRate > 0 ? new RateLimiter(time, maxRate) : null;
     }
 
     /**
@@ -174,6 +197,9 @@ public class TeacherSendingThread<T> {
             lesson = (Lesson<T>) UP_TO_DATE_LESSON;
         } else if (view.isCustomReconnectRoot(node)) {
             lesson = buildCustomReconnectRootLesson(node);
+        } else if (view.isRangeRoot(node)) {
+            rangeRoots.add(node);
+            lesson = (Lesson<T>) RANGE_ROOT_LESSON;
         } else {
             lesson = buildDataLesson(node);
         }
@@ -188,12 +214,21 @@ public class TeacherSendingThread<T> {
      */
     private void rateLimit() throws InterruptedException {
         if (rateLimiter != null) {
-            while (!rateLimiter.requestAndTrigger()) {
+            while (!tryAcquire()) {
                 NANOSECONDS.sleep(sleepNanos);
             }
         }
     }
 
+    /**
+     * Request permission to send a node. The rate limiter may be shared with other sending threads.
+     */
+    private boolean tryAcquire() {
+        synchronized (rateLimiter) {
+            return rateLimiter.requestAndTrigger();
+        }
+    }
+
     /**
      * This thread is responsible for sending lessons (and nested queries) to the learner.
      */
@@ -0,0 +1,351 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.merkle.synchronization.streams;
+
+import static com.swirlds.logging.legacy.LogMarker.RECONNECT;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.swirlds.common.io.streams.SerializableDataInputStream;
+import com.swirlds.common.io.streams.SerializableDataOutputStream;
+import com.swirlds.common.merkle.synchronization.config.ReconnectConfig;
+import com.swirlds.common.merkle.synchronization.utility.MerkleSynchronizationException;
+import com.swirlds.common.threading.pool.StandardWorkGroup;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * <p>
+ * Carries several independent channels over a single pair of streams. Each channel has its own input and output
+ * stream, which can be used with an {@link AsyncInputStream} and an {@link AsyncOutputStream} just like the
+ * streams of the connection itself.
+ * </p>
+ *
+ * <p>
+ * Data written to a channel is buffered and sent as a frame: the channel index, the number of bytes, and the bytes.
+ * A thread reads frames from the input stream and passes them to the channels they belong to. Once all channels
+ * of this side are closed, an end frame is written, which stops the reading thread of the other side.
+ * </p>
+ *
+ * <p>
+ * Each channel is meant to be used by a single reading and a single writing thread. A channel that isn't read
+ * eventually blocks all channels, so the data of each channel must be read independently of the other channels.
+ * </p>
+ */
+public class StreamMultiplexer {
+
+    private static final Logger logger = LogManager.getLogger(StreamMultiplexer.class);
+
+    private static final String THREAD_NAME = "stream-demultiplexer";
+
+    /**
+     * The channel index that marks the end of all channels.
+     */
+    private static final int END_OF_CHANNELS = -1;
+
+    /**
+     * The maximum number of bytes in a frame.
+     */
+    private static final int FRAME_SIZE = 32 * 1024;
+
+    /**
+     * The number of received frames each channel can buffer.
+     */
+    private static final int FRAME_BUFFER_SIZE = 64;
+
+    private final SerializableDataInputStream inputStream;
+    private final SerializableDataOutputStream outputStream;
+    private final StandardWorkGroup workGroup;
+
+    private final ChannelInputStream[] channelInputs;
+    private final SerializableDataInputStream[] inputs;
+    private final SerializableDataOutputStream[] outputs;
+
+    /**
+     * The number of channels that have not been closed yet for writing.
+     */
+    private final AtomicInteger openOutputs;
+
+    /**
+     * The maximum amount of time to wait for a frame.
+     */
+    private final Duration timeout;
+
+    /**
+     * Create a new multiplexer.
+     *
+     * @param inputStream  the stream to read frames from
+     * @param outputStream the stream to write frames to
+     * @param channelCount the number of channels, must be the same on both sides
+     * @param workGroup    the work group that should be used to execute the reading thread
+     * @param config       the reconnect configuration
+     */
+    public StreamMultiplexer(
+            @NonNull final SerializableDataInputStream inputStream,
+            @NonNull final SerializableDataOutputStream outputStream,
+            final int channelCount,
+            @NonNull final StandardWorkGroup workGroup,
+            @NonNull final ReconnectConfig config) {
+        Objects.requireNonNull(config, "config must not be null");
+        if (channelCount < 1) {
+            throw new IllegalArgumentException("channelCount must be positive, got " + channelCount);
+        }
+
+        this.inputStream = Objects.requireNonNull(inputStream, "inputStream must not be null");
+        this.outputStream = Objects.requireNonNull(outputStream, "outputStream must not be null");
+        this.workGroup = Objects.requireNonNull(workGroup, "workGroup must not be null");
+        this.timeout = config.asyncStreamTimeout();
+        this.openOutputs = new AtomicInteger(channelCount);
+
+        channelInputs = new ChannelInputStream[channelCount];
+        inputs = new SerializableDataInputStream[channelCount];
+        outputs = new SerializableDataOutputStream[channelCount];
+        for (int channel = 0; channel < channelCount; channel++) {
+            channelInputs[channel] = new ChannelInputStream();
+            inputs[channel] = new SerializableDataInputStream(channelInputs[channel]);
+            outputs[channel] = new SerializableDataOutputStream(new ChannelOutputStream(channel));
+        }
+    }
+
+    /**
+     * Start the thread that reads frames from the input stream.
+     */
+    public void start() {
+        workGroup.execute(THREAD_NAME, this::run);
+    }
+
+    /**
+     * Get the number of channels.
+     *
+     * @return the number of channels
+     */
+    public int getChannelCount() {
+        return inputs.length;
+    }
+
+    /**
+     * Get the stream to read the data of a channel from.
+     *
+     * @param channel the index of the channel
+     * @return the input stream of the channel
+     */
+    public SerializableDataInputStream getInputStream(final int channel) {
+        return inputs[channel];
+    }
+
+    /**
+     * Get the stream to write the data of a channel to.
+     *
+     * @param channel the index of the channel
+     * @return the output stream of the channel
+     */
+    public SerializableDataOutputStream getOutputStream(final int channel) {
+        return outputs[channel];
+    }
+
+    /**
+     * Start the thread of an {@link AsyncOutputStream} that writes to a channel. Use this method instead of
+     * {@link AsyncOutputStream#start()}, it closes the channel once the async output stream is finished.
+     *
+     * @param channel the index of the channel the async output stream writes to
+     * @param out     the async output stream
+     */
+    public void start(final int channel, @NonNull final AsyncOutputStream<?> out) {
+        workGroup.execute("async-output-stream", () -> {
+            out.run();
+            closeOutput(channel);
+        });
+    }
+
+    /**
+     * Close a channel for writing. Once all channels are closed, the end frame is written.
+     *
+     * @param channel the index of the channel
+     */
+    private void closeOutput(final int channel) {
+        try {
+            outputs[channel].flush();
+            if (openOutputs.decrementAndGet() == 0) {
+                synchronized (outputStream) {
+                    outputStream.writeInt(END_OF_CHANNELS);
+                    outputStream.flush();
+                }
+            }
+        } catch (final IOException e) {
+            throw new MerkleSynchronizationException(e);
+        }
+    }
+
+    /**
+     * Read frames until the other side has closed all channels.
+     */
+    private void run() {
+        try {
+            while (true) {
+                final int channel = inputStream.readInt();
+                if (channel == END_OF_CHANNELS) {
+                    return;
+                }
+                if (channel < 0 || channel >= inputs.length) {
+                    throw new MerkleSynchronizationException("Received frame for unknown channel " + channel);
+                }
+                final int length = inputStream.readInt();
+                if (length < 0 || length > FRAME_SIZE) {
+                    throw new MerkleSynchronizationException("Received frame with invalid length " + length);
+                }
+                final byte[] frame = new byte[length];
+                inputStream.readFully(frame);
+                if (!channelInputs[channel].frames.offer(frame, timeout.toMillis(), MILLISECONDS)) {
+                    throw new MerkleSynchronizationException("Timed out waiting to pass data to channel " + channel);
+                }
+            }
+        } catch (final IOException e) {
+            throw new MerkleSynchronizationException("Failed to read from the multiplexed stream", e);
+        } catch (final InterruptedException e) {
+            logger.warn(RECONNECT.getMarker(), "StreamMultiplexer interrupted");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Buffers the data written to a channel and writes it to the shared output stream as frames.
+     */
+    private final class ChannelOutputStream extends OutputStream {
+
+        private final int channel;
+        private final byte[] buffer = new byte[FRAME_SIZE];
+        private int position;
+
+        private ChannelOutputStream(final int channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (position == buffer.length) {
+                writeFrame();
+            }
+            buffer[position++] = (byte) b;
+        }
+
+        @Override
+        public void write(@NonNull final byte[] bytes, final int offset, final int length) throws IOException {
+            int written = 0;
+            while (written < length) {
+                if (position == buffer.length) {
+                    writeFrame();
+                }
+                final int count = Math.min(length - written, buffer.length - position);
+                System.arraycopy(bytes, offset + written, buffer, position, count);
+                position += count;
+                written += count;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (position > 0) {
+                writeFrame();
+                synchronized (outputStream) {
+                    outputStream.flush();
+                }
+            }
+        }
+
+        private void writeFrame() throws IOException {
+            synchronized (outputStream) {
+                outputStream.writeInt(channel);
+                outputStream.writeInt(position);
+                outputStream.write(buffer, 0, position);
+            }
+            position = 0;
+        }
+    }
+
+    /**
+     * Reads the frames of a channel that were passed to it by the reading thread.
+     */
+    private final class ChannelInputStream extends InputStream {
+
+        private final BlockingQueue<byte[]> frames = new ArrayBlockingQueue<>(FRAME_BUFFER_SIZE);
+        private byte[] frame = new byte[0];
+        private int position;
+        private volatile boolean closed;
+
+        @Override
+        public int read() throws IOException {
+            if (!nextFrameIfRequired()) {
+                return -1;
+            }
+            return frame[position++] & 0xff;
+        }
+
+        @Override
+        public int read(@NonNull final byte[] bytes, final int offset, final int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!nextFrameIfRequired()) {
+                return -1;
+            }
+            final int count = Math.min(length, frame.length - position);
+            System.arraycopy(frame, position, bytes, offset, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        /**
+         * Wait for the next frame if the current one has been read completely.
+         *
+         * @return false if the channel has been closed
+         */
+        private boolean nextFrameIfRequired() throws IOException {
+            while (position == frame.length) {
+                if (closed) {
+                    return false;
+                }
+                final byte[] next;
+                try {
+                    next = frames.poll(timeout.toMillis(), MILLISECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for data");
+                }
+                if (next == null) {
+                    throw new IOException("Timed out waiting for data");
+                }
+                frame = next;
+                position = 0;
+            }
+            return true;
+        }
+    }
+}
@@ -21,6 +21,8 @@ import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.io.streams.SerializableDataInputStream;
 import com.swirlds.common.io.streams.SerializableDataOutputStream;
 import com.swirlds.common.merkle.MerkleNode;
+import com.swirlds.common.merkle.synchronization.internal.ExpectedLesson;
+import com.swirlds.common.merkle.synchronization.internal.ReconnectNodeCount;
 import com.swirlds.common.merkle.synchronization.utility.MerkleSynchronizationException;
 import com.swirlds.common.threading.manager.ThreadManager;
 import com.swirlds.common.threading.pool.StandardWorkGroup;
@@ -132,6 +134,57 @@ public interface LearnerTreeView<T> extends LearnerExpectedLessonQueue<T>, Learn
      */
     T deserializeInternal(SerializableDataInputStream in) throws IOException;
 
+    /**
+     * Build a view to receive the subtree of a range, see {@link TeacherTreeView#splitIntoRanges(int)}. The view must
+     * be safe to use concurrently to the views of other ranges of this tree. It is closed once the range is received,
+     * before this view is closed.
+     *
+     * @param rangeRoot
+     * 		the lesson that was expected for the root of the range
+     * @return a view for the subtree below the range root
+     */
+    default LearnerTreeView<T> buildRangeView(final ExpectedLesson<T> rangeRoot) {
+        throw new UnsupportedOperationException("this view can not receive ranges");
+    }
+
+    /**
+     * Check if the tree can be received in bulk. Must match {@link TeacherTreeView#isBulkTransferSupported()} of
+     * the teacher view of the tree.
+     *
+     * @return if the tree can be received in bulk
+     */
+    default boolean isBulkTransferSupported() {
+        return false;
+    }
+
+    /**
+     * Check if receiving the tree in bulk is expected to be faster than comparing hashes node by node, for example
+     * because the original tree is empty. Only called if {@link #isBulkTransferSupported()} is true.
+     *
+     * @return if the tree should be received in bulk
+     */
+    default boolean isBulkTransferPreferred() {
+        return false;
+    }
+
+    /**
+     * Read the whole tree from the stream (as written by
+     * {@link TeacherTreeView#sendBulk(SerializableDataOutputStream)}). Called instead of receiving lessons, the view
+     * is closed afterwards.
+     *
+     * @param in
+     * 		the input stream
+     * @param nodeCount
+     * 		tracks the number of nodes received
+     * @return the root of the received tree
+     * @throws IOException
+     * 		if a problem is encountered with the stream
+     */
+    default T receiveBulk(final SerializableDataInputStream in, final ReconnectNodeCount nodeCount)
+            throws IOException {
+        throw new UnsupportedOperationException("this view can not be received in bulk");
+    }
+
     /**
      * Release a leaf node.
      *
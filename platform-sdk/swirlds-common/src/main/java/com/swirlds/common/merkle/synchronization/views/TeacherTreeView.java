@@ -83,6 +83,65 @@ public interface TeacherTreeView<T>
      */
     boolean isCustomReconnectRoot(T node);
 
+    /**
+     * Split the tree into ranges that are sent concurrently. While the rest of the tree is sent, the roots of the
+     * ranges are only announced to the learner. The subtrees below them are sent afterwards, each with its own
+     * {@link #buildRangeView(Object) view}. Called before the first lesson is sent. By default, the tree is not
+     * split.
+     *
+     * @param maxRanges
+     * 		the maximum number of ranges
+     */
+    default void splitIntoRanges(final int maxRanges) {
+        // By default, a view is sent as a whole.
+    }
+
+    /**
+     * Check if a node is the root of a range.
+     *
+     * @param node
+     * 		the node in question
+     * @return if the node is the root of a range, see {@link #splitIntoRanges(int)}
+     */
+    default boolean isRangeRoot(final T node) {
+        return false;
+    }
+
+    /**
+     * Build a view to send the subtree of a range. The view must be safe to use concurrently to the views
+     * of other ranges of this tree.
+     *
+     * @param rangeRoot
+     * 		the root of the range
+     * @return a view for the subtree below the range root
+     */
+    default TeacherTreeView<T> buildRangeView(final T rangeRoot) {
+        throw new UnsupportedOperationException("this view can not be split into ranges");
+    }
+
+    /**
+     * Check if the tree can be sent in bulk. If so, the learner tells the teacher whether it wants the tree in bulk
+     * before the first lesson is sent, see {@link LearnerTreeView#isBulkTransferPreferred()}.
+     *
+     * @return if the tree can be sent in bulk
+     */
+    default boolean isBulkTransferSupported() {
+        return false;
+    }
+
+    /**
+     * Send the whole tree in bulk, without comparing hashes with the learner. Called instead of sending lessons if
+     * the learner asked for it.
+     *
+     * @param out
+     * 		the output stream
+     * @throws IOException
+     * 		if a problem is encountered with the stream
+     */
+    default void sendBulk(final SerializableDataOutputStream out) throws IOException {
+        throw new UnsupportedOperationException("this view can not be sent in bulk");
+    }
+
     /**
      * It is possible to create a teacher view that is not immediately ready for use, and later becomes ready for use
      * after miscellaneous background operations complete. This method blocks until that background work is completed,
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.metrics.noop.internal;
+
+import com.swirlds.metrics.api.Histogram;
+import com.swirlds.metrics.api.HistogramSnapshot;
+import com.swirlds.metrics.api.MetricConfig;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * A no-op implementation of a histogram.
+ */
+public class NoOpHistogram extends AbstractNoOpMetric implements Histogram {
+
+    private static final HistogramSnapshot EMPTY =
+            new HistogramSnapshot(Histogram.Config.DEFAULT_PRECISION_BITS, new long[0], 0L, 0L, 0L);
+
+    public NoOpHistogram(final @NonNull MetricConfig<?, ?> config) {
+        super(config);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public HistogramSnapshot getSnapshot() {
+        return EMPTY;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void update(final long value) {}
+}
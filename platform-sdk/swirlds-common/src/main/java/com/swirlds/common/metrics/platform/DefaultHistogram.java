@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.metrics.platform;
+
+import static com.swirlds.metrics.api.Metric.ValueType.MAX;
+import static com.swirlds.metrics.api.Metric.ValueType.MIN;
+import static com.swirlds.metrics.api.Metric.ValueType.P50;
+import static com.swirlds.metrics.api.Metric.ValueType.P90;
+import static com.swirlds.metrics.api.Metric.ValueType.P99;
+import static com.swirlds.metrics.api.Metric.ValueType.P999;
+import static com.swirlds.metrics.api.Metric.ValueType.VALUE;
+
+import com.swirlds.base.utility.ToStringBuilder;
+import com.swirlds.common.metrics.platform.Snapshot.SnapshotEntry;
+import com.swirlds.metrics.api.Histogram;
+import com.swirlds.metrics.api.HistogramSnapshot;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Platform-implementation of {@link Histogram}
+ * <p>
+ * Values are recorded into one of two interval histograms. Taking a snapshot swaps them, waits until no thread records
+ * into the old one anymore, and reads and clears it. This is the same phased double-buffering that HdrHistogram's
+ * {@code Recorder} uses: recording never locks, never allocates and never waits, only taking a snapshot does.
+ * <p>
+ * The snapshots of all intervals are added up, so exporters that need cumulative values, like Prometheus, can read
+ * them with {@link #getTotalSnapshot()}.
+ */
+public class DefaultHistogram extends DefaultMetric implements Histogram {
+
+    private final int precisionBits;
+    private final int bucketCount;
+
+    // the epochs of the writer-reader phaser, see record() and flip()
+    private final AtomicLong startEpoch = new AtomicLong(0L);
+    private final AtomicLong evenEndEpoch = new AtomicLong(0L);
+    private final AtomicLong oddEndEpoch = new AtomicLong(Long.MIN_VALUE);
+
+    private volatile Interval active;
+    private Interval inactive;
+    private volatile HistogramSnapshot total;
+
+    public DefaultHistogram(@NonNull final Histogram.Config config) {
+        super(config);
+        this.precisionBits = config.getPrecisionBits();
+        this.bucketCount = HistogramSnapshot.bucketCount(config.getHighestTrackableValue(), precisionBits);
+        this.active = new Interval(bucketCount);
+        this.inactive = new Interval(bucketCount);
+        this.total = new HistogramSnapshot(precisionBits, new long[bucketCount], 0L, 0L, 0L);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void update(final long value) {
+        final int index = Math.min(HistogramSnapshot.bucketIndexOf(value, precisionBits), bucketCount - 1);
+        final long epoch = startEpoch.getAndIncrement();
+        try {
+            active.record(Math.max(value, 0L), index);
+        } finally {
+            if (epoch < 0L) {
+                oddEndEpoch.getAndIncrement();
+            } else {
+                evenEndEpoch.getAndIncrement();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Values that are recorded while the snapshot is read may or may not be part of it.
+     */
+    @NonNull
+    @Override
+    public HistogramSnapshot getSnapshot() {
+        return active.read(precisionBits);
+    }
+
+    /**
+     * Get the distribution of all values recorded until the last snapshot was taken
+     *
+     * @return the cumulative distribution
+     */
+    @NonNull
+    public HistogramSnapshot getTotalSnapshot() {
+        return total;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public synchronized List<SnapshotEntry> takeSnapshot() {
+        flip();
+        final HistogramSnapshot snapshot = inactive.read(precisionBits);
+        inactive.clear();
+        total = total.plus(snapshot);
+        return List.of(
+                new SnapshotEntry(VALUE, snapshot.getMean()),
+                new SnapshotEntry(MAX, (double) snapshot.getMax()),
+                new SnapshotEntry(MIN, (double) snapshot.getMin()),
+                new SnapshotEntry(P50, (double) snapshot.getValueAtPercentile(50.0)),
+                new SnapshotEntry(P90, (double) snapshot.getValueAtPercentile(90.0)),
+                new SnapshotEntry(P99, (double) snapshot.getValueAtPercentile(99.0)),
+                new SnapshotEntry(P999, (double) snapshot.getValueAtPercentile(99.9)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void reset() {
+        flip();
+        inactive.clear();
+        flip();
+        inactive.clear();
+        total = new HistogramSnapshot(precisionBits, new long[bucketCount], 0L, 0L, 0L);
+    }
+
+    /**
+     * Swaps the active and the inactive interval, and waits until all threads that may still record into the
+     * previously active interval are done.
+     */
+    private void flip() {
+        final Interval previous = active;
+        active = inactive;
+        inactive = previous;
+
+        // writers that start after this point see the new active interval and finish in the other end epoch
+        final boolean nextPhaseIsEven = startEpoch.get() < 0L;
+        final long initialStartValue = nextPhaseIsEven ? 0L : Long.MIN_VALUE;
+        (nextPhaseIsEven ? evenEndEpoch : oddEndEpoch).set(initialStartValue);
+        final long startValueAtFlip = startEpoch.getAndSet(initialStartValue);
+
+        final AtomicLong previousEndEpoch = nextPhaseIsEven ? oddEndEpoch : evenEndEpoch;
+        while (previousEndEpoch.get() != startValueAtFlip) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .appendSuper(super.toString())
+                .append("precisionBits", precisionBits)
+                .append("bucketCount", bucketCount)
+                .toString();
+    }
+
+    /**
+     * The values recorded in one interval
+     */
+    private static final class Interval {
+        private final AtomicLongArray counts;
+        private final AtomicLong sum = new AtomicLong();
+        private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+        private Interval(final int bucketCount) {
+            this.counts = new AtomicLongArray(bucketCount);
+        }
+
+        private void record(final long value, final int index) {
+            counts.getAndIncrement(index);
+            sum.getAndAdd(value);
+            long current = min.get();
+            while (value < current && !min.weakCompareAndSetVolatile(current, value)) {
+                current = min.get();
+            }
+            current = max.get();
+            while (value > current && !max.weakCompareAndSetVolatile(current, value)) {
+                current = max.get();
+            }
+        }
+
+        @NonNull
+        private HistogramSnapshot read(final int precisionBits) {
+            final long[] copy = new long[counts.length()];
+            for (int i = 0; i < copy.length; i++) {
+                copy[i] = counts.get(i);
+            }
+            return new HistogramSnapshot(precisionBits, copy, sum.get(), min.get(), max.get());
+        }
+
+        private void clear() {
+            for (int i = 0; i < counts.length(); i++) {
+                counts.set(i, 0L);
+            }
+            sum.set(0L);
+            min.set(Long.MAX_VALUE);
+            max.set(Long.MIN_VALUE);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.metrics.platform.prometheus;
+
+import static com.swirlds.common.metrics.platform.prometheus.PrometheusEndpoint.AdapterType.GLOBAL;
+import static com.swirlds.common.metrics.platform.prometheus.PrometheusEndpoint.AdapterType.PLATFORM;
+import static com.swirlds.common.metrics.platform.prometheus.PrometheusEndpoint.NODE_LABEL;
+
+import com.swirlds.common.metrics.platform.DefaultHistogram;
+import com.swirlds.common.metrics.platform.Snapshot;
+import com.swirlds.common.metrics.platform.prometheus.PrometheusEndpoint.AdapterType;
+import com.swirlds.common.platform.NodeId;
+import com.swirlds.metrics.api.HistogramSnapshot;
+import com.swirlds.metrics.api.Metric;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.prometheus.client.Collector;
+import io.prometheus.client.CollectorRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adapter that synchronizes a {@link com.swirlds.metrics.api.Histogram} with a Prometheus histogram.
+ * <p>
+ * Prometheus expects the cumulative distribution since the start of the process, therefore the adapter reports
+ * {@link DefaultHistogram#getTotalSnapshot()}. The buckets are exported with exponential boundaries
+ * {@code 0, 1, 3, 7, ..., 2^n-1}, which align with the buckets of the histogram, so the exported counts are exact.
+ */
+public class HistogramAdapter extends AbstractMetricAdapter {
+
+    private static final String LE_LABEL = "le";
+    private static final String GLOBAL_KEY = "";
+
+    private final HistogramCollector collector;
+    private final Map<String, HistogramSnapshot> totals = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor of {@code HistogramAdapter}.
+     *
+     * @param registry
+     * 		The {@link CollectorRegistry} with which the Prometheus {@link Collector} should be registered
+     * @param metric
+     * 		The {@link Metric} which value should be reported to Prometheus
+     * @param adapterType
+     * 		Scope of the {@link Metric}, either {@link AdapterType#GLOBAL} or {@link AdapterType#PLATFORM}
+     * @throws NullPointerException if any of the following parameters are {@code null}.
+     *     <ul>
+     *       <li>{@code registry}</li>
+     *       <li>{@code metric}</li>
+     *     </ul>
+     */
+    public HistogramAdapter(final CollectorRegistry registry, final Metric metric, final AdapterType adapterType) {
+        super(adapterType, metric);
+        Objects.requireNonNull(registry, "registry must not be null");
+        Objects.requireNonNull(metric, "metric must not be null");
+        this.collector = new HistogramCollector(metric).register(registry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void update(final Snapshot snapshot, final NodeId nodeId) {
+        Objects.requireNonNull(snapshot, "snapshot must not be null");
+        if (adapterType != GLOBAL) {
+            Objects.requireNonNull(nodeId, "nodeId must not be null");
+        }
+        if (snapshot.metric() instanceof DefaultHistogram histogram) {
+            totals.put(adapterType == GLOBAL ? GLOBAL_KEY : nodeId.toString(), histogram.getTotalSnapshot());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void unregister(final CollectorRegistry registry) {
+        registry.unregister(collector);
+    }
+
+    @NonNull
+    private static List<String> withLabel(@NonNull final List<String> labelValues, @NonNull final String label) {
+        final List<String> result = new ArrayList<>(labelValues);
+        result.add(label);
+        return result;
+    }
+
+    /**
+     * Prometheus {@link Collector} that reports the latest cumulative distributions
+     */
+    private final class HistogramCollector extends Collector {
+
+        private final String fullName;
+        private final String unit;
+        private final String help;
+
+        private HistogramCollector(@NonNull final Metric metric) {
+            // same naming rules as the SimpleCollectors of the other adapters
+            final String name = NameConverter.fix(metric.getCategory()) + "_" + NameConverter.fix(metric.getName());
+            this.unit = NameConverter.fix(metric.getUnit());
+            this.fullName = unit.isEmpty() || name.endsWith("_" + unit) ? name : name + "_" + unit;
+            this.help = metric.getDescription();
+            checkMetricName(fullName);
+        }
+
+        @Override
+        public List<MetricFamilySamples> collect() {
+            final List<MetricFamilySamples.Sample> samples = new ArrayList<>();
+            totals.forEach((key, total) -> addSamples(samples, key, total));
+            return List.of(new MetricFamilySamples(fullName, unit, Type.HISTOGRAM, help, samples));
+        }
+
+        private void addSamples(
+                @NonNull final List<MetricFamilySamples.Sample> samples,
+                @NonNull final String nodeLabel,
+                @NonNull final HistogramSnapshot total) {
+            final List<String> labelNames = adapterType == PLATFORM ? List.of(NODE_LABEL) : List.of();
+            final List<String> labelValues = adapterType == PLATFORM ? List.of(nodeLabel) : List.of();
+            final List<String> bucketLabelNames =
+                    adapterType == PLATFORM ? List.of(NODE_LABEL, LE_LABEL) : List.of(LE_LABEL);
+
+            // the highest bucket also counts all values above the highest trackable value, it is only part of +Inf
+            final int precisionBits = total.getPrecisionBits();
+            final int lastBucket = total.getBucketCount() - 1;
+            long cumulativeCount = 0L;
+            int bucket = 0;
+            for (int exponent = 0; bucket < lastBucket && exponent < Long.SIZE - 1; exponent++) {
+                final long upperBound = (1L << exponent) - 1L;
+                while (bucket < lastBucket && HistogramSnapshot.highestValueOf(bucket, precisionBits) <= upperBound) {
+                    cumulativeCount += total.getCount(bucket++);
+                }
+                samples.add(new MetricFamilySamples.Sample(
+                        fullName + "_bucket",
+                        bucketLabelNames,
+                        withLabel(labelValues, doubleToGoString(upperBound)),
+                        cumulativeCount));
+            }
+            samples.add(new MetricFamilySamples.Sample(
+                    fullName + "_bucket",
+                    bucketLabelNames,
+                    withLabel(labelValues, doubleToGoString(Double.POSITIVE_INFINITY)),
+                    total.getCount()));
+            samples.add(new MetricFamilySamples.Sample(fullName + "_count", labelNames, labelValues, total.getCount()));
+            samples.add(new MetricFamilySamples.Sample(fullName + "_sum", labelNames, labelValues, total.getSum()));
+        }
+    }
+}
@@ -37,6 +37,7 @@ import com.swirlds.common.metrics.platform.SnapshotEvent;
 import com.swirlds.common.platform.NodeId;
 import com.swirlds.common.utility.ThresholdLimitingHandler;
 import com.swirlds.metrics.api.Counter;
+import com.swirlds.metrics.api.Histogram;
 import com.swirlds.metrics.api.Metric;
 import com.swirlds.metrics.api.Metrics;
 import io.prometheus.client.CollectorRegistry;
@@ -172,6 +173,8 @@ public class PrometheusEndpoint implements AutoCloseableNonThrowing {
         final AdapterType adapterType = nodeId == null ? GLOBAL : PLATFORM;
         if (metric instanceof Counter) {
             return new CounterAdapter(registry, metric, adapterType);
+        } else if (metric instanceof Histogram) {
+            return new HistogramAdapter(registry, metric, adapterType);
         } else if (metric instanceof RunningAverageMetric || metric instanceof SpeedometerMetric) {
             return new DistributionAdapter(registry, metric, adapterType);
         } else if (metric instanceof IntegerPairAccumulator<?>
@@ -182,6 +182,37 @@ class CryptographyTests {
         assertTrue(cryptography.verifySync(signature), "Should be a valid signature");
     }
 
+    @ParameterizedTest
+    @Tag(TestQualifierTags.TIME_CONSUMING)
+    @ValueSource(ints = {1, 64, 1_000, 4_096})
+    void verifyAsyncBatch(final int count) throws ExecutionException, InterruptedException {
+        ed25519SignaturePool = new SignaturePool(cryptoConfig.computeCpuDigestThreadCount() * PARALLELISM, 100, true);
+        ecdsaSignaturePool = new EcdsaSignedTxnPool(cryptoConfig.computeCpuDigestThreadCount() * PARALLELISM, 64);
+        final TransactionSignature[] signatures = new TransactionSignature[count];
+        final VerificationStatus[] expectedStatuses = new VerificationStatus[count];
+
+        // a mix of valid Ed25519, invalid Ed25519 and valid ECDSA signatures in a single batch
+        for (int i = 0; i < signatures.length; i++) {
+            if (i % 10 == 3) {
+                signatures[i] = corruptSignature(ed25519SignaturePool.next());
+                expectedStatuses[i] = VerificationStatus.INVALID;
+            } else if (i % 10 == 7) {
+                signatures[i] = ecdsaSignaturePool.next();
+                expectedStatuses[i] = VerificationStatus.VALID;
+            } else {
+                signatures[i] = ed25519SignaturePool.next();
+                expectedStatuses[i] = VerificationStatus.VALID;
+            }
+        }
+
+        cryptography.verifyAsync(Arrays.asList(signatures));
+
+        for (int i = 0; i < signatures.length; i++) {
+            signatures[i].waitForFuture().get();
+            assertEquals(expectedStatuses[i], signatures[i].getSignatureStatus(), "Wrong status for signature " + i);
+        }
+    }
+
     @Test
     void verifySyncEcdsaSignature() {
         ecdsaSignaturePool = new EcdsaSignedTxnPool(cryptoConfig.computeCpuDigestThreadCount() * PARALLELISM, 64);
@@ -189,6 +220,21 @@ class CryptographyTests {
         assertTrue(cryptography.verifySync(signature), "Should be a valid signature");
     }
 
+    private static TransactionSignature corruptSignature(final TransactionSignature signature) {
+        final byte[] contents = signature.getContentsDirect().clone();
+        contents[signature.getSignatureOffset()] ^= 1;
+        return new TransactionSignature(
+                contents,
+                signature.getSignatureOffset(),
+                signature.getSignatureLength(),
+                signature.getExpandedPublicKey(),
+                signature.getPublicKeyOffset(),
+                signature.getPublicKeyLength(),
+                signature.getMessageOffset(),
+                signature.getMessageLength(),
+                signature.getSignatureType());
+    }
+
     private record SignatureComponents(byte[] data, byte[] publicKey, byte[] signatureBytes) {}
 
     private SignatureComponents extractComponents(final TransactionSignature signature) {
@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.metrics.platform;
+
+import static com.swirlds.metrics.api.Metric.ValueType.MAX;
+import static com.swirlds.metrics.api.Metric.ValueType.MIN;
+import static com.swirlds.metrics.api.Metric.ValueType.P50;
+import static com.swirlds.metrics.api.Metric.ValueType.P90;
+import static com.swirlds.metrics.api.Metric.ValueType.P99;
+import static com.swirlds.metrics.api.Metric.ValueType.P999;
+import static com.swirlds.metrics.api.Metric.ValueType.STD_DEV;
+import static com.swirlds.metrics.api.Metric.ValueType.VALUE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.data.Offset.offset;
+
+import com.swirlds.common.metrics.platform.Snapshot.SnapshotEntry;
+import com.swirlds.metrics.api.Histogram;
+import com.swirlds.metrics.api.HistogramSnapshot;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DefaultHistogramTest {
+
+    private static final String CATEGORY = "CaTeGoRy";
+    private static final String NAME = "NaMe";
+    private static final String DESCRIPTION = "DeScRiPtIoN";
+    private static final String UNIT = "UnIt";
+    private static final String FORMAT = "FoRmAt";
+
+    @Test
+    @DisplayName("Constructor should store values")
+    void testConstructor() {
+        // given
+        final Histogram.Config config = new Histogram.Config(CATEGORY, NAME)
+                .withDescription(DESCRIPTION)
+                .withUnit(UNIT)
+                .withFormat(FORMAT);
+
+        // when
+        final DefaultHistogram histogram = new DefaultHistogram(config);
+
+        // then
+        assertThat(histogram.getCategory()).isEqualTo(CATEGORY);
+        assertThat(histogram.getName()).isEqualTo(NAME);
+        assertThat(histogram.getDescription()).isEqualTo(DESCRIPTION);
+        assertThat(histogram.getUnit()).isEqualTo(UNIT);
+        assertThat(histogram.getFormat()).isEqualTo(FORMAT);
+        assertThat(histogram.getValueTypes()).containsExactly(VALUE, MAX, MIN, P50, P90, P99, P999);
+        assertThat(histogram.getSnapshot().getCount()).isZero();
+        assertThat(histogram.get(VALUE)).isZero();
+        assertThat(histogram.get(P99)).isZero();
+    }
+
+    @Test
+    @DisplayName("Recorded values should be reflected in the percentiles")
+    void testUpdate() {
+        // given
+        final DefaultHistogram histogram = new DefaultHistogram(new Histogram.Config(CATEGORY, NAME));
+
+        // when
+        for (long i = 1; i <= 1000; i++) {
+            histogram.update(i);
+        }
+
+        // then
+        final HistogramSnapshot snapshot = histogram.getSnapshot();
+        assertThat(snapshot.getCount()).isEqualTo(1000L);
+        assertThat(snapshot.getSum()).isEqualTo(500_500L);
+        assertThat(histogram.get(VALUE)).isCloseTo(500.5, offset(1e-9));
+        assertThat(histogram.get(MIN)).isEqualTo(1.0);
+        assertThat(histogram.get(MAX)).isEqualTo(1000.0);
+        // percentiles are precise within the relative error of the default precision
+        assertThat(histogram.get(P50)).isCloseTo(500.0, offset(500.0 / 32));
+        assertThat(histogram.get(P90)).isCloseTo(900.0, offset(900.0 / 32));
+        assertThat(histogram.get(P99)).isCloseTo(990.0, offset(990.0 / 32));
+        assertThat(histogram.get(P999)).isCloseTo(999.0, offset(999.0 / 32));
+        assertThatThrownBy(() -> histogram.get(STD_DEV)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Out of range values should be clamped")
+    void testOutOfRangeValues() {
+        // given
+        final DefaultHistogram histogram =
+                new DefaultHistogram(new Histogram.Config(CATEGORY, NAME).withHighestTrackableValue(1000L));
+
+        // when
+        histogram.update(-5L);
+        histogram.update(1_000_000L);
+
+        // then
+        final HistogramSnapshot snapshot = histogram.getSnapshot();
+        assertThat(snapshot.getCount()).isEqualTo(2L);
+        assertThat(snapshot.getMin()).isZero();
+        assertThat(snapshot.getMax()).isEqualTo(1_000_000L);
+        assertThat(snapshot.getCount(0)).isEqualTo(1L);
+        assertThat(snapshot.getCount(snapshot.getBucketCount() - 1)).isEqualTo(1L);
+        assertThat(snapshot.getValueAtPercentile(100.0)).isEqualTo(1_000_000L);
+    }
+
+    @Test
+    @DisplayName("Taking a snapshot should start a new interval and add to the total")
+    void testSnapshot() {
+        // given
+        final DefaultHistogram histogram = new DefaultHistogram(new Histogram.Config(CATEGORY, NAME));
+        histogram.update(10L);
+        histogram.update(20L);
+
+        // when
+        final List<SnapshotEntry> snapshot = histogram.takeSnapshot();
+
+        // then
+        assertThat(snapshot)
+                .containsExactly(
+                        new SnapshotEntry(VALUE, 15.0),
+                        new SnapshotEntry(MAX, 20.0),
+                        new SnapshotEntry(MIN, 10.0),
+                        new SnapshotEntry(P50, 10.0),
+                        new SnapshotEntry(P90, 20.0),
+                        new SnapshotEntry(P99, 20.0),
+                        new SnapshotEntry(P999, 20.0));
+        assertThat(histogram.getSnapshot().getCount()).isZero();
+        assertThat(histogram.getTotalSnapshot().getCount()).isEqualTo(2L);
+
+        // when
+        histogram.update(30L);
+        histogram.takeSnapshot();
+
+        // then
+        assertThat(histogram.getTotalSnapshot().getCount()).isEqualTo(3L);
+        assertThat(histogram.getTotalSnapshot().getSum()).isEqualTo(60L);
+        assertThat(histogram.getTotalSnapshot().getMax()).isEqualTo(30L);
+    }
+
+    @Test
+    @DisplayName("Reset should discard all values")
+    void testReset() {
+        // given
+        final DefaultHistogram histogram = new DefaultHistogram(new Histogram.Config(CATEGORY, NAME));
+        histogram.update(10L);
+        histogram.takeSnapshot();
+        histogram.update(20L);
+
+        // when
+        histogram.reset();
+
+        // then
+        assertThat(histogram.getSnapshot().getCount()).isZero();
+        assertThat(histogram.getTotalSnapshot().getCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("No value should be lost while snapshots are taken concurrently")
+    void testConcurrentUpdates() throws InterruptedException {
+        // given
+        final DefaultHistogram histogram = new DefaultHistogram(new Histogram.Config(CATEGORY, NAME));
+        final int threadCount = 4;
+        final int updatesPerThread = 100_000;
+        final CountDownLatch done = new CountDownLatch(threadCount);
+        final AtomicBoolean failed = new AtomicBoolean();
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < updatesPerThread; i++) {
+                        histogram.update(i % 1000);
+                    }
+                } catch (final RuntimeException e) {
+                    failed.set(true);
+                } finally {
+                    done.countDown();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        // when
+        while (done.getCount() > 0) {
+            histogram.takeSnapshot();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        histogram.takeSnapshot();
+
+        // then
+        assertThat(failed).isFalse();
+        assertThat(histogram.getTotalSnapshot().getCount()).isEqualTo((long) threadCount * updatesPerThread);
+    }
+}
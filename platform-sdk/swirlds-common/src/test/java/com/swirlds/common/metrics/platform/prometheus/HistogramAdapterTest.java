@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.metrics.platform.prometheus;
+
+import static com.swirlds.common.metrics.platform.prometheus.PrometheusEndpoint.AdapterType.GLOBAL;
+import static com.swirlds.common.metrics.platform.prometheus.PrometheusEndpoint.AdapterType.PLATFORM;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.swirlds.common.metrics.platform.DefaultHistogram;
+import com.swirlds.common.metrics.platform.Snapshot;
+import com.swirlds.common.platform.NodeId;
+import com.swirlds.metrics.api.Histogram;
+import com.swirlds.metrics.api.Metric;
+import io.prometheus.client.Collector;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.jupiter.api.Test;
+
+class HistogramAdapterTest {
+
+    private static final String CATEGORY = "CaTeGoRy";
+    private static final String NAME = "NaMe";
+    private static final String MAPPING_NAME = "CaTeGoRy_NaMe";
+    private static final String DESCRIPTION = "DeScRiPtIoN";
+    private static final String UNIT = "UnIt";
+
+    private static final String[] GLOBAL_BUCKET_LABEL = new String[] {"le"};
+    private static final String[] NODE_LABEL = new String[] {"node"};
+    private static final String[] NODE_BUCKET_LABEL = new String[] {"node", "le"};
+
+    @Test
+    void testCreateMetric() {
+        // given
+        final CollectorRegistry registry = new CollectorRegistry();
+        final Metric metric = new DefaultHistogram(
+                new Histogram.Config(CATEGORY, NAME).withDescription(DESCRIPTION).withUnit(UNIT));
+
+        // when
+        new HistogramAdapter(registry, metric, GLOBAL);
+
+        // then
+        final Collector.MetricFamilySamples mapping =
+                registry.metricFamilySamples().nextElement();
+        assertThat(mapping.type).isEqualTo(Collector.Type.HISTOGRAM);
+        assertThat(mapping.name).isEqualTo(MAPPING_NAME + "_" + UNIT);
+        assertThat(mapping.help).isEqualTo(DESCRIPTION);
+        assertThat(mapping.unit).isEqualTo(UNIT);
+    }
+
+    @Test
+    void testConstructorWithNullParameters() {
+        // given
+        final CollectorRegistry registry = new CollectorRegistry();
+        final Metric metric = new DefaultHistogram(new Histogram.Config(CATEGORY, NAME));
+
+        // then
+        assertThatThrownBy(() -> new HistogramAdapter(null, metric, GLOBAL)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> new HistogramAdapter(registry, null, GLOBAL)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> new HistogramAdapter(registry, metric, null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void testUpdateGlobalMetric() {
+        // given
+        final CollectorRegistry registry = new CollectorRegistry();
+        final DefaultHistogram metric = new DefaultHistogram(new Histogram.Config(CATEGORY, NAME));
+        final HistogramAdapter adapter = new HistogramAdapter(registry, metric, GLOBAL);
+        metric.update(0L);
+        metric.update(2L);
+        metric.update(3L);
+        metric.update(100L);
+
+        // when
+        adapter.update(Snapshot.of(metric), null);
+
+        // then
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_bucket", GLOBAL_BUCKET_LABEL, new String[] {"0.0"}))
+                .isEqualTo(1.0);
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_bucket", GLOBAL_BUCKET_LABEL, new String[] {"1.0"}))
+                .isEqualTo(1.0);
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_bucket", GLOBAL_BUCKET_LABEL, new String[] {"3.0"}))
+                .isEqualTo(3.0);
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_bucket", GLOBAL_BUCKET_LABEL, new String[] {"127.0"}))
+                .isEqualTo(4.0);
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_bucket", GLOBAL_BUCKET_LABEL, new String[] {"+Inf"}))
+                .isEqualTo(4.0);
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_count")).isEqualTo(4.0);
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_sum")).isEqualTo(105.0);
+
+        // when
+        metric.update(5L);
+        adapter.update(Snapshot.of(metric), null);
+
+        // then
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_bucket", GLOBAL_BUCKET_LABEL, new String[] {"7.0"}))
+                .isEqualTo(4.0);
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_count")).isEqualTo(5.0);
+    }
+
+    @Test
+    void testUpdatePlatformMetric() {
+        // given
+        final CollectorRegistry registry = new CollectorRegistry();
+        final DefaultHistogram metric = new DefaultHistogram(new Histogram.Config(CATEGORY, NAME));
+        final HistogramAdapter adapter = new HistogramAdapter(registry, metric, PLATFORM);
+        metric.update(42L);
+
+        // when
+        adapter.update(Snapshot.of(metric), new NodeId(1L));
+
+        // then
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_bucket", NODE_BUCKET_LABEL, new String[] {"1", "31.0"}))
+                .isEqualTo(0.0);
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_bucket", NODE_BUCKET_LABEL, new String[] {"1", "63.0"}))
+                .isEqualTo(1.0);
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_count", NODE_LABEL, new String[] {"1"})).isEqualTo(1.0);
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_sum", NODE_LABEL, new String[] {"1"})).isEqualTo(42.0);
+        assertThatThrownBy(() -> adapter.update(Snapshot.of(metric), null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void testUnregister() {
+        // given
+        final CollectorRegistry registry = new CollectorRegistry();
+        final DefaultHistogram metric = new DefaultHistogram(new Histogram.Config(CATEGORY, NAME));
+        final HistogramAdapter adapter = new HistogramAdapter(registry, metric, GLOBAL);
+
+        // when
+        adapter.unregister(registry);
+
+        // then
+        assertThat(registry.metricFamilySamples().hasMoreElements()).isFalse();
+    }
+}
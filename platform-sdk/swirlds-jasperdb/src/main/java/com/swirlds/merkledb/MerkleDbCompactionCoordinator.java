@@ -34,10 +34,12 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -48,6 +50,9 @@ import org.apache.logging.log4j.Logger;
  * and keep them disabled until they are explicitly enabled again.
  * The compaction tasks are executed in a background thread pool.
  * The number of threads in the pool is defined by {@link MerkleDbConfig#compactionThreads()} property.
+ * If there are more compaction tasks than threads, tasks for stores with higher estimated garbage ratios
+ * (see {@link DataFileCompactor#estimateGarbageRatio()}) are run first, as they reclaim the most space
+ * for the amount of data copied.
  *
  */
 class MerkleDbCompactionCoordinator {
@@ -71,7 +76,7 @@ class MerkleDbCompactionCoordinator {
                 config.compactionThreads(),
                 50L,
                 TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<>(),
+                new PriorityBlockingQueue<>(),
                 new ThreadConfiguration(getStaticThreadManager())
                         .setThreadGroup(new ThreadGroup("Compaction"))
                         .setComponent(MERKLEDB_COMPONENT)
@@ -229,7 +234,9 @@ class MerkleDbCompactionCoordinator {
                 }
             }
 
-            compactionFuturesByName.put(task.id, executor.submit(task));
+            final PrioritizedCompactionTask future = new PrioritizedCompactionTask(task);
+            compactionFuturesByName.put(task.id, future);
+            executor.execute(future);
         }
     }
 
@@ -244,6 +251,30 @@ class MerkleDbCompactionCoordinator {
         return compactionEnabled.get();
     }
 
+    /**
+     * A compaction task queued for execution. Tasks with higher garbage ratios come first in the
+     * executor queue, and tasks with equal ratios are run in the order they were submitted.
+     */
+    private static final class PrioritizedCompactionTask extends FutureTask<Boolean>
+            implements Comparable<PrioritizedCompactionTask> {
+        private static final AtomicLong nextSequenceNumber = new AtomicLong();
+
+        private final double garbageRatio;
+        private final long sequenceNumber;
+
+        PrioritizedCompactionTask(@NonNull final CompactionTask task) {
+            super(task);
+            this.garbageRatio = task.compactor().estimateGarbageRatio();
+            this.sequenceNumber = nextSequenceNumber.getAndIncrement();
+        }
+
+        @Override
+        public int compareTo(@NonNull final PrioritizedCompactionTask other) {
+            final int byRatio = Double.compare(other.garbageRatio, garbageRatio);
+            return (byRatio != 0) ? byRatio : Long.compare(sequenceNumber, other.sequenceNumber);
+        }
+    }
+
     /**
      * A helper class representing a task to run compaction for a specific storage type.
      */
@@ -67,7 +67,9 @@ import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
@@ -160,19 +162,12 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
     private final MemoryIndexDiskKeyValueStore<VirtualLeafRecord<K, V>> pathToKeyValue;
 
     /**
-     * Cache size for reading virtual leaf records. Initialized in data source creation time from
-     * MerkleDb settings. If the value is zero, leaf records cache isn't used.
+     * Virtual leaf records cache. It's an N-way set associative cache with CLOCK eviction, see
+     * {@link VirtualLeafRecordCache} for details. Cache size and number of ways are initialized
+     * in data source creation time from MerkleDb settings. If the configured cache size is zero,
+     * this field is null, and leaf records cache isn't used.
      */
-    private final int leafRecordCacheSize;
-
-    /**
-     * Virtual leaf records cache. It's a simple array indexed by leaf keys % cache size. Cache
-     * eviction is not needed, as array size is fixed and can be configured in MerkleDb settings.
-     * Index conflicts are resolved in a very straightforward way: whatever entry is read last, it's
-     * put to the cache.
-     */
-    @SuppressWarnings("rawtypes")
-    private final VirtualLeafRecord[] leafRecordCache;
+    private final VirtualLeafRecordCache<K, V> leafRecordCache;
 
     /** Thread pool storing internal records */
     private final ExecutorService storeInternalExecutor;
@@ -327,6 +322,7 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
                     statisticsUpdater::setHashesStoreCompactionTimeMs,
                     statisticsUpdater::setHashesStoreCompactionSavedSpaceMb,
                     statisticsUpdater::setHashesStoreFileSizeByLevelMb,
+                    statisticsUpdater::countCompactionThrottling,
                     updateTotalStatsFunction);
         } else {
             hashStoreDisk = null;
@@ -363,6 +359,7 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
                     statisticsUpdater::setLeafKeysStoreCompactionTimeMs,
                     statisticsUpdater::setLeafKeysStoreCompactionSavedSpaceMb,
                     statisticsUpdater::setLeafKeysStoreFileSizeByLevelMb,
+                    statisticsUpdater::countCompactionThrottling,
                     updateTotalStatsFunction);
             objectKeyToPath.printStats();
         }
@@ -401,11 +398,14 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
                 statisticsUpdater::setLeavesStoreCompactionTimeMs,
                 statisticsUpdater::setLeavesStoreCompactionSavedSpaceMb,
                 statisticsUpdater::setLeavesStoreFileSizeByLevelMb,
+                statisticsUpdater::countCompactionThrottling,
                 updateTotalStatsFunction);
 
         // Leaf records cache
-        leafRecordCacheSize = database.getConfig().leafRecordCacheSize();
-        leafRecordCache = (leafRecordCacheSize > 0) ? new VirtualLeafRecord[leafRecordCacheSize] : null;
+        final int leafRecordCacheSize = database.getConfig().leafRecordCacheSize();
+        leafRecordCache = (leafRecordCacheSize > 0)
+                ? new VirtualLeafRecordCache<>(leafRecordCacheSize, database.getConfig().leafRecordCacheWays())
+                : null;
 
         // Update count of open databases
         COUNT_OF_OPEN_DATABASES.increment();
@@ -565,17 +565,15 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
 
         final long path;
         VirtualLeafRecord<K, V> cached = null;
-        int cacheIndex = -1;
         if (leafRecordCache != null) {
-            cacheIndex = Math.abs(key.hashCode() % leafRecordCacheSize);
-            // No synchronization is needed here. Java guarantees (JLS 17.7) that reference writes
-            // are atomic, so we will never get corrupted objects from the array. The object may
-            // be overwritten in the cache in a different thread in parallel, but it isn't a
-            // problem as cached entry key is checked below anyway
-            cached = leafRecordCache[cacheIndex];
+            // The cache is thread safe, and records stored in it are never modified, so the
+            // record may be evicted or replaced by a different thread in parallel, but it will
+            // never be seen half-initialized
+            cached = leafRecordCache.get(key);
         }
-        // If an entry is found in the cache, and entry key is the one requested
-        if ((cached != null) && key.equals(cached.getKey())) {
+        // If an entry is found in the cache
+        if (cached != null) {
+            statisticsUpdater.countLeafCacheHits();
             // Some cache entries contain just key and path, but no value. If the value is there,
             // just return the cached entry. If not, at least make use of the path
             if (cached.getValue() != null) {
@@ -586,7 +584,9 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
             path = cached.getPath();
         } else {
             // Cache miss
-            cached = null;
+            if (leafRecordCache != null) {
+                statisticsUpdater.countLeafCacheMisses();
+            }
             statisticsUpdater.countLeafKeyReads();
             path = isLongKeyMode
                     ? longKeyToPath.get(((VirtualLongKey) key).getKeyAsLong(), INVALID_PATH)
@@ -597,7 +597,7 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
         if (path == INVALID_PATH) {
             // Cache the result if not already cached
             if (leafRecordCache != null && cached == null) {
-                leafRecordCache[cacheIndex] = new VirtualLeafRecord<K, V>(path, key, null);
+                cacheLeafRecord(new VirtualLeafRecord<>(path, key, null));
             }
             return null;
         }
@@ -616,9 +616,8 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
         assert leafRecord != null && leafRecord.getKey().equals(key);
 
         if (leafRecordCache != null) {
-            // No synchronization is needed here, see the comment above
             // A copy is returned to ensure cached value immutability.
-            leafRecordCache[cacheIndex] = leafRecord;
+            cacheLeafRecord(leafRecord);
             leafRecord = leafRecord.copy();
         }
 
@@ -655,15 +654,14 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
         requireNonNull(key);
 
         // Check the cache first
-        int cacheIndex = -1;
         if (leafRecordCache != null) {
-            cacheIndex = Math.abs(key.hashCode() % leafRecordCacheSize);
-            // No synchronization is needed here. See the comment in loadLeafRecord(key) above
-            final VirtualLeafRecord<K, V> cached = leafRecordCache[cacheIndex];
-            if (cached != null && key.equals(cached.getKey())) {
+            final VirtualLeafRecord<K, V> cached = leafRecordCache.get(key);
+            if (cached != null) {
+                statisticsUpdater.countLeafCacheHits();
                 // Cached path may be a valid path or INVALID_PATH, both are legal here
                 return cached.getPath();
             }
+            statisticsUpdater.countLeafCacheMisses();
         }
 
         statisticsUpdater.countLeafKeyReads();
@@ -673,12 +671,82 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
 
         if (leafRecordCache != null) {
             // Path may be INVALID_PATH here. Still needs to be cached (negative result)
-            leafRecordCache[cacheIndex] = new VirtualLeafRecord<K, V>(path, key, null);
+            cacheLeafRecord(new VirtualLeafRecord<>(path, key, null));
         }
 
         return path;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Keys are first resolved to paths. Keys already in the leaf record cache don't need it, in
+     * long key mode paths are looked up in memory, otherwise in a single batch from the key to path
+     * map, see {@link HalfDiskHashMap#getAll(List, long)}. Then leaf records are read from disk in
+     * the order of their data locations, so reads from the same data file are sequential. Loaded
+     * records are put to the leaf record cache, if enabled.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void warmLeafRecords(final List<K> keys) throws IOException {
+        requireNonNull(keys);
+
+        final List<K> keysToResolve = new ArrayList<>(keys.size());
+        final List<Long> pathsToRead = new ArrayList<>(keys.size());
+        for (final K key : keys) {
+            final VirtualLeafRecord<K, V> cached = (leafRecordCache != null) ? leafRecordCache.get(key) : null;
+            if (cached == null) {
+                if (leafRecordCache != null) {
+                    statisticsUpdater.countLeafCacheMisses();
+                }
+                keysToResolve.add(key);
+            } else {
+                statisticsUpdater.countLeafCacheHits();
+                // Nothing to read, if the value is cached, or the key is known to be missing
+                if ((cached.getValue() == null) && (cached.getPath() != INVALID_PATH)) {
+                    pathsToRead.add(cached.getPath());
+                }
+            }
+        }
+
+        final long[] paths;
+        if (isLongKeyMode) {
+            paths = new long[keysToResolve.size()];
+            for (int i = 0; i < paths.length; i++) {
+                paths[i] = longKeyToPath.get(((VirtualLongKey) keysToResolve.get(i)).getKeyAsLong(), INVALID_PATH);
+            }
+        } else {
+            paths = objectKeyToPath.getAll(keysToResolve, INVALID_PATH);
+        }
+        for (int i = 0; i < paths.length; i++) {
+            statisticsUpdater.countLeafKeyReads();
+            if (paths[i] != INVALID_PATH) {
+                pathsToRead.add(paths[i]);
+            } else if (leafRecordCache != null) {
+                // Cache the negative result, the same way as loadLeafRecord() does
+                cacheLeafRecord(new VirtualLeafRecord<>(INVALID_PATH, keysToResolve.get(i), null));
+            }
+        }
+
+        // Data locations may be changed by compaction in parallel, it only affects the read order,
+        // leaf records themselves are read using the index
+        final KeyRange leafPathRange = validLeafPathRange;
+        final List<LeafToWarm> leavesToRead = new ArrayList<>(pathsToRead.size());
+        for (final long path : pathsToRead) {
+            if (leafPathRange.withinRange(path)) {
+                leavesToRead.add(new LeafToWarm(path, pathToDiskLocationLeafNodes.get(path, 0)));
+            }
+        }
+        leavesToRead.sort(Comparator.comparingLong(LeafToWarm::dataLocation));
+        for (final LeafToWarm leaf : leavesToRead) {
+            statisticsUpdater.countLeafReads();
+            final VirtualLeafRecord<K, V> leafRecord = pathToKeyValue.get(leaf.path());
+            if ((leafRecord != null) && (leafRecordCache != null)) {
+                cacheLeafRecord(leafRecord);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1238,32 +1306,38 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
         if (!isLongKeyMode) {
             final DataFileReader<Bucket<K>> objectKeyToPathReader = objectKeyToPath.endWriting();
             statisticsUpdater.setFlushLeafKeysStoreFileSize(objectKeyToPathReader);
+            statisticsUpdater.setFlushLeafKeysBucketStats(objectKeyToPath);
+            statisticsUpdater.updateLeafKeysFilterStats(objectKeyToPath);
             compactionCoordinator.compactDiskStoreForObjectKeyToPathAsync();
         }
     }
 
+    /**
+     * Puts the given record to virtual leaf record cache and updates cache eviction stats. The
+     * cache must be enabled. The record must not be modified after this call.
+     *
+     * @param leafRecord Virtual leaf record to cache
+     */
+    private void cacheLeafRecord(final VirtualLeafRecord<K, V> leafRecord) {
+        if (leafRecordCache.put(leafRecord)) {
+            statisticsUpdater.countLeafCacheEvictions();
+        }
+    }
+
     /**
      * Invalidates the given key in virtual leaf record cache, if the cache is enabled.
      * <p>
-     * If the key is deleted, it's still updated in the cache. It means no record with the given
-     * key exists in the data source, so further lookups for the key are skipped.
-     * <p>
-     * Cache index is calculated as the key's hash code % cache size. The cache is only updated,
-     * if the current record at this index has the given key. If the key is different, no update is
-     * performed.
+     * If the key is deleted, it's still removed from the cache. Further lookups for the key will
+     * go to the key to path index, which returns INVALID_PATH for the key, and this negative
+     * result will be cached again.
      *
      * @param key Virtual leaf record key
      */
-    @SuppressWarnings("unchecked")
     private void invalidateReadCache(final K key) {
         if (leafRecordCache == null) {
             return;
         }
-        final int cacheIndex = Math.abs(key.hashCode() % leafRecordCacheSize);
-        final VirtualLeafRecord<K, V> cached = leafRecordCache[cacheIndex];
-        if ((cached != null) && key.equals(cached.getKey())) {
-            leafRecordCache[cacheIndex] = null;
-        }
+        leafRecordCache.invalidate(key);
     }
 
     FileStatisticAware getHashStoreDisk() {
@@ -1325,4 +1399,12 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
         }
         return Objects.equals(database, other.database) && Objects.equals(tableId, other.tableId);
     }
+
+    /**
+     * A leaf to read in {@link #warmLeafRecords(List)}.
+     *
+     * @param path leaf path
+     * @param dataLocation leaf data location at the time of sorting
+     */
+    private record LeafToWarm(long path, long dataLocation) {}
 }
@@ -19,6 +19,7 @@ package com.swirlds.merkledb;
 import com.swirlds.common.config.singleton.ConfigurationHolder;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.metrics.api.DoubleAccumulator;
+import com.swirlds.metrics.api.DoubleGauge;
 import com.swirlds.metrics.api.FloatFormats;
 import com.swirlds.metrics.api.IntegerGauge;
 import com.swirlds.metrics.api.LongAccumulator;
@@ -42,6 +43,10 @@ public class MerkleDbStatistics {
     private static final String READS_PREFIX = "reads_";
     /** Prefix for all metrics related to data flushing */
     private static final String FLUSHES_PREFIX = "flushes_";
+    /** Prefix for all metrics related to the leaf records cache */
+    private static final String CACHE_PREFIX = "cache_";
+    /** Prefix for all metrics related to leaf keys store buckets */
+    private static final String BUCKETS_PREFIX = "buckets_";
     /** Prefix for compaction related metrics */
     private static final String COMPACTIONS_PREFIX = "compactions_";
 
@@ -64,6 +69,19 @@ public class MerkleDbStatistics {
     private LongAccumulator leafReads;
     /** Leaf keys - reads / s */
     private LongAccumulator leafKeyReads;
+    /** Leaf key reads that didn't read buckets from disk, because the keys were rejected by bucket filters */
+    private LongAccumulator leafKeyFilterSavedReads;
+    /** Leaf key reads that read buckets from disk because of bucket filter matches, but found no keys */
+    private LongAccumulator leafKeyFilterFalsePositives;
+    /** Share of bucket filter false positives among leaf key reads of absent keys */
+    private DoubleGauge leafKeyFilterFalsePositiveRate;
+
+    /** Leaf records cache - hits / s */
+    private LongAccumulator leafCacheHits;
+    /** Leaf records cache - misses / s */
+    private LongAccumulator leafCacheMisses;
+    /** Leaf records cache - evictions / s */
+    private LongAccumulator leafCacheEvictions;
 
     /** Hashes store - file count */
     private IntegerGauge hashesStoreFileCount;
@@ -89,6 +107,15 @@ public class MerkleDbStatistics {
     private LongAccumulator flushLeafKeysWritten;
     private DoubleAccumulator flushLeafKeysStoreFileSizeMb;
 
+    /** Leaf keys store - number of buckets */
+    private IntegerGauge leafKeysBucketCount;
+    /** Leaf keys store - average number of entries per bucket */
+    private DoubleGauge leafKeysBucketAverageEntries;
+    /** Leaf keys store - maximum number of entries in a bucket written during the last flush */
+    private IntegerGauge flushLeafKeysBucketMaxEntries;
+    /** Leaf keys store - number of buckets split during flushes */
+    private LongAccumulator flushLeafKeysBucketSplits;
+
     /** Hashes store compactions - time in ms */
     private final List<LongAccumulator> hashesStoreCompactionTimeMsList;
     /** Hashes store compactions - saved space in Mb */
@@ -109,6 +136,10 @@ public class MerkleDbStatistics {
 
     /** Leaf keys store - cumulative file size by compaction level in Mb */
     private final List<DoubleAccumulator> leafKeysStoreFileSizeByLevelMbList;
+    /** All stores compactions - data copied in Mb */
+    private DoubleAccumulator compactionCopiedMb;
+    /** All stores compactions - time paused by the compaction throttle in ms */
+    private LongAccumulator compactionThrottledTimeMs;
     /** Off-heap usage in MB of hashes store index */
     private IntegerGauge offHeapHashesIndexMb;
     /** Off-heap usage in MB of leaves store index */
@@ -179,6 +210,28 @@ public class MerkleDbStatistics {
                 metrics, DS_PREFIX + READS_PREFIX + "leaves_" + label, "Number of leaf reads, " + label);
         leafKeyReads = buildLongAccumulator(
                 metrics, DS_PREFIX + READS_PREFIX + "leafKeys_" + label, "Number of leaf key reads, " + label);
+        leafKeyFilterSavedReads = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + READS_PREFIX + "leafKeysFilterSaved_" + label,
+                "Number of leaf key reads rejected by bucket filters without disk reads, " + label);
+        leafKeyFilterFalsePositives = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + READS_PREFIX + "leafKeysFilterFalsePositives_" + label,
+                "Number of leaf key reads of absent keys not rejected by bucket filters, " + label);
+        leafKeyFilterFalsePositiveRate = metrics.getOrCreate(new DoubleGauge.Config(
+                        STAT_CATEGORY, DS_PREFIX + READS_PREFIX + "leafKeysFilterFalsePositiveRate_" + label)
+                .withDescription("Bucket filter false positive rate for absent leaf keys, " + label)
+                .withFormat(FloatFormats.FORMAT_9_6));
+
+        // Leaf records cache
+        leafCacheHits = buildLongAccumulator(
+                metrics, DS_PREFIX + CACHE_PREFIX + "leafHits_" + label, "Number of leaf cache hits, " + label);
+        leafCacheMisses = buildLongAccumulator(
+                metrics, DS_PREFIX + CACHE_PREFIX + "leafMisses_" + label, "Number of leaf cache misses, " + label);
+        leafCacheEvictions = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + CACHE_PREFIX + "leafEvictions_" + label,
+                "Number of leaf cache evictions, " + label);
 
         // File counts and sizes
         hashesStoreFileCount = metrics.getOrCreate(
@@ -236,8 +289,32 @@ public class MerkleDbStatistics {
                 metrics,
                 DS_PREFIX + FLUSHES_PREFIX + "leafKeysStoreFileSizeMb_" + label,
                 "Size of the new leaf keys store file created during flush, " + label + ", Mb");
+        flushLeafKeysBucketMaxEntries = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + FLUSHES_PREFIX + "leafKeysBucketMaxEntries_" + label,
+                "Max number of entries in a leaf keys bucket written during flush, " + label);
+        flushLeafKeysBucketSplits = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + FLUSHES_PREFIX + "leafKeysBucketSplits_" + label,
+                "Number of leaf keys buckets split during flush, " + label);
+
+        // Leaf keys store buckets
+        leafKeysBucketCount = buildIntegerGauge(
+                metrics, DS_PREFIX + BUCKETS_PREFIX + "leafKeysCount_" + label, "Leaf keys bucket count, " + label);
+        leafKeysBucketAverageEntries = metrics.getOrCreate(
+                new DoubleGauge.Config(STAT_CATEGORY, DS_PREFIX + BUCKETS_PREFIX + "leafKeysAvgEntries_" + label)
+                        .withDescription("Average number of entries per leaf keys bucket, " + label)
+                        .withFormat(FloatFormats.FORMAT_9_6));
 
         // Compaction
+        compactionCopiedMb = buildDoubleAccumulator(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "copiedMb_" + label,
+                "Data copied during compactions, all stores, " + label + ", Mb");
+        compactionThrottledTimeMs = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "throttledTimeMs_" + label,
+                "Time compactions were paused by the compaction throttle, all stores, " + label + ", ms");
 
         for (int level = 0; level <= config.maxCompactionLevel(); level++) {
             // Hashes store
@@ -331,6 +408,33 @@ public class MerkleDbStatistics {
         }
     }
 
+    /**
+     * Increments {@link #leafCacheHits} stat by 1
+     */
+    public void countLeafCacheHits() {
+        if (leafCacheHits != null) {
+            leafCacheHits.update(1);
+        }
+    }
+
+    /**
+     * Increments {@link #leafCacheMisses} stat by 1
+     */
+    public void countLeafCacheMisses() {
+        if (leafCacheMisses != null) {
+            leafCacheMisses.update(1);
+        }
+    }
+
+    /**
+     * Increments {@link #leafCacheEvictions} stat by 1
+     */
+    public void countLeafCacheEvictions() {
+        if (leafCacheEvictions != null) {
+            leafCacheEvictions.update(1);
+        }
+    }
+
     /**
      * Set the current value for the {@link #hashesStoreFileCount} stat
      *
@@ -457,6 +561,59 @@ public class MerkleDbStatistics {
         }
     }
 
+    /**
+     * Updates bucket filter stats: the number of leaf key reads saved by the filters, and the
+     * number and the rate of false positives since the last update.
+     *
+     * @param savedReads the number of reads rejected by the filters
+     * @param falsePositives the number of reads of absent keys not rejected by the filters
+     */
+    public void countLeafKeyFilterReads(final long savedReads, final long falsePositives) {
+        if (leafKeyFilterSavedReads != null) {
+            leafKeyFilterSavedReads.update(savedReads);
+        }
+        if (leafKeyFilterFalsePositives != null) {
+            leafKeyFilterFalsePositives.update(falsePositives);
+        }
+        if ((leafKeyFilterFalsePositiveRate != null) && (savedReads + falsePositives > 0)) {
+            leafKeyFilterFalsePositiveRate.set((double) falsePositives / (savedReads + falsePositives));
+        }
+    }
+
+    public void setFlushLeafKeysBucketMaxEntries(final int value) {
+        if (flushLeafKeysBucketMaxEntries != null) {
+            flushLeafKeysBucketMaxEntries.set(value);
+        }
+    }
+
+    public void countFlushLeafKeysBucketSplits(final long value) {
+        if (flushLeafKeysBucketSplits != null) {
+            flushLeafKeysBucketSplits.update(value);
+        }
+    }
+
+    /**
+     * Set the current value for {@link #leafKeysBucketCount} stat
+     *
+     * @param value the value to set
+     */
+    public void setLeafKeysBucketCount(final int value) {
+        if (leafKeysBucketCount != null) {
+            leafKeysBucketCount.set(value);
+        }
+    }
+
+    /**
+     * Set the current value for {@link #leafKeysBucketAverageEntries} stat
+     *
+     * @param value the value to set
+     */
+    public void setLeafKeysBucketAverageEntries(final double value) {
+        if (leafKeysBucketAverageEntries != null) {
+            leafKeysBucketAverageEntries.set(value);
+        }
+    }
+
     /**
      * Set the current value for the accumulator corresponding to provided compaction level from
      * {@link #hashesStoreCompactionTimeMsList}
@@ -545,6 +702,21 @@ public class MerkleDbStatistics {
         leavesStoreFileSizeByLevelMbList.get(compactionLevel).update(value);
     }
 
+    /**
+     * Updates compaction throttling stats.
+     *
+     * @param copiedMb data copied by a compaction, in Mb
+     * @param throttledTimeMs time the compaction was paused by the throttle, in ms
+     */
+    public void countCompactionThrottling(final double copiedMb, final long throttledTimeMs) {
+        if (compactionCopiedMb != null) {
+            compactionCopiedMb.update(copiedMb);
+        }
+        if (compactionThrottledTimeMs != null) {
+            compactionThrottledTimeMs.update(throttledTimeMs);
+        }
+    }
+
     /**
      * Set the current value for the accumulator corresponding to provided compaction level from
      * {@link #leafKeysStoreCompactionTimeMsList}
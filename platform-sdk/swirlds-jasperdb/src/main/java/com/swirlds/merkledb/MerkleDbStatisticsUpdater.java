@@ -22,6 +22,7 @@ import com.swirlds.common.metrics.FunctionGauge;
 import com.swirlds.merkledb.collections.LongList;
 import com.swirlds.merkledb.collections.OffHeapUser;
 import com.swirlds.merkledb.files.DataFileReader;
+import com.swirlds.merkledb.files.hashmap.HalfDiskHashMap;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.LongSummaryStatistics;
@@ -75,6 +76,22 @@ public class MerkleDbStatisticsUpdater {
                 newLeafKeysFile == null ? 0 : newLeafKeysFile.getSize() * BYTES_TO_MEBIBYTES);
     }
 
+    /** Updates statistics with leaf keys store bucket counts and fill after a flush. */
+    void setFlushLeafKeysBucketStats(final HalfDiskHashMap<?> objectKeyToPath) {
+        final int numOfBuckets = objectKeyToPath.getNumOfBuckets();
+        statistics.setLeafKeysBucketCount(numOfBuckets);
+        statistics.setLeafKeysBucketAverageEntries(
+                numOfBuckets == 0 ? 0 : (double) objectKeyToPath.getNumOfEntries() / numOfBuckets);
+        statistics.setFlushLeafKeysBucketMaxEntries(objectKeyToPath.getLastFlushMaxBucketEntries());
+        statistics.countFlushLeafKeysBucketSplits(objectKeyToPath.getLastFlushBucketSplits());
+    }
+
+    /** Updates statistics with leaf keys reads saved by bucket filters since the last update. */
+    void updateLeafKeysFilterStats(final HalfDiskHashMap<?> objectKeyToPath) {
+        statistics.countLeafKeyFilterReads(
+                objectKeyToPath.resetFilterNegatives(), objectKeyToPath.resetFilterFalsePositives());
+    }
+
     /** Updates statistics with leaf store file size. */
     void setFlushLeavesStoreFileSize(final DataFileReader<?> newLeafKeysFile) {
         statistics.setFlushLeavesStoreFileSizeMb(
@@ -172,6 +189,21 @@ public class MerkleDbStatisticsUpdater {
         statistics.countLeafKeyReads();
     }
 
+    /** Updates statistics with number of leaf records cache hits. */
+    void countLeafCacheHits() {
+        statistics.countLeafCacheHits();
+    }
+
+    /** Updates statistics with number of leaf records cache misses. */
+    void countLeafCacheMisses() {
+        statistics.countLeafCacheMisses();
+    }
+
+    /** Updates statistics with number of leaf records cache evictions. */
+    void countLeafCacheEvictions() {
+        statistics.countLeafCacheEvictions();
+    }
+
     /** Updates statistics with number of hash reads. */
     void countHashReads() {
         statistics.countHashReads();
@@ -248,4 +280,8 @@ public class MerkleDbStatisticsUpdater {
     void setLeavesStoreFileSizeByLevelMb(Integer compactionType, Double savedSpace) {
         statistics.setLeavesStoreFileSizeByLevelMb(compactionType, savedSpace);
     }
+
+    void countCompactionThrottling(Long copiedBytes, Long throttledTimeMs) {
+        statistics.countCompactionThrottling(copiedBytes * BYTES_TO_MEBIBYTES, throttledTimeMs);
+    }
 }
@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb;
+
+import com.swirlds.virtualmap.VirtualKey;
+import com.swirlds.virtualmap.VirtualValue;
+import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * N-way set associative cache of virtual leaf records, used by {@link MerkleDbDataSource} to
+ * avoid key-to-path and path-to-KV lookups for recently read keys.
+ *
+ * <p>The cache is split into sets of {@code ways} slots each. A key can only be stored in the
+ * set selected by its hash code, but within the set it can be placed into any slot, so up to
+ * {@code ways} hot keys with colliding hash codes can be cached at the same time. When a set is
+ * full, a victim slot is chosen using the CLOCK algorithm: every slot has a "referenced" bit,
+ * which is set on every cache hit, and a per-set clock hand sweeps over the slots, clearing the
+ * bits, until a slot with no bit is found. New records are inserted with the bit cleared, so keys
+ * that are read only once are evicted before keys that are read repeatedly. With {@code ways}
+ * set to 1 the cache behaves like a plain direct-mapped cache.
+ *
+ * <p>This class is thread safe. Slots are stored in an {@link AtomicReferenceArray}, which
+ * guarantees that a record put to the cache by one thread is fully visible to other threads.
+ * Referenced bits and clock hands are accessed without synchronization. Races on them may only
+ * result in a suboptimal victim choice, but never in an incorrect lookup result, since the key
+ * of every record found in the cache is always checked.
+ *
+ * @param <K> virtual key type
+ * @param <V> virtual value type
+ */
+final class VirtualLeafRecordCache<K extends VirtualKey, V extends VirtualValue> {
+
+    /** Number of slots in every set */
+    private final int ways;
+
+    /** Number of sets in the cache */
+    private final int numSets;
+
+    /** Cache slots. Slots of set N are stored at indices [N * ways, (N + 1) * ways) */
+    private final AtomicReferenceArray<VirtualLeafRecord<K, V>> slots;
+
+    /** CLOCK referenced bits, one per slot */
+    private final byte[] referenced;
+
+    /** CLOCK hands, one per set. Every hand is an index of a slot in its set, from 0 to ways - 1 */
+    private final int[] hands;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param size total number of cache slots, must be positive
+     * @param ways number of slots in every set, must be positive. If greater than size, size is used
+     */
+    VirtualLeafRecordCache(final int size, final int ways) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        if (ways <= 0) {
+            throw new IllegalArgumentException("Number of cache ways must be positive");
+        }
+        this.ways = Math.min(ways, size);
+        this.numSets = size / this.ways;
+        final int capacity = numSets * this.ways;
+        slots = new AtomicReferenceArray<>(capacity);
+        referenced = new byte[capacity];
+        hands = new int[numSets];
+    }
+
+    /**
+     * Returns the number of slots in every set of this cache.
+     */
+    int getWays() {
+        return ways;
+    }
+
+    /**
+     * Returns the total number of slots in this cache.
+     */
+    int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * Looks up a record with the given key in the cache.
+     *
+     * <p>Records returned by this method are shared with other threads and must not be modified.
+     *
+     * @param key the key to look up
+     * @return the cached record, or null if the key isn't in the cache
+     */
+    @Nullable
+    VirtualLeafRecord<K, V> get(@NonNull final K key) {
+        final int first = firstSlot(key);
+        for (int i = first; i < first + ways; i++) {
+            final VirtualLeafRecord<K, V> cached = slots.get(i);
+            if ((cached != null) && key.equals(cached.getKey())) {
+                referenced[i] = 1;
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Puts a record to the cache. If the cache already contains a record with the same key, it's
+     * replaced. Otherwise, the record is put to a free slot in the set, if any. If there are no
+     * free slots, a record in the set is evicted.
+     *
+     * <p>The record must not be modified after it's put to the cache.
+     *
+     * @param leafRecord the record to cache
+     * @return true if a different record was evicted from the cache to store the given record
+     */
+    boolean put(@NonNull final VirtualLeafRecord<K, V> leafRecord) {
+        final K key = leafRecord.getKey();
+        final int set = setIndex(key);
+        final int first = set * ways;
+        int freeSlot = -1;
+        for (int i = first; i < first + ways; i++) {
+            final VirtualLeafRecord<K, V> cached = slots.get(i);
+            if (cached == null) {
+                if (freeSlot == -1) {
+                    freeSlot = i;
+                }
+            } else if (key.equals(cached.getKey())) {
+                // Keep the referenced bit as is, the record is just refreshed
+                slots.set(i, leafRecord);
+                return false;
+            }
+        }
+        if (freeSlot != -1) {
+            referenced[freeSlot] = 0;
+            slots.set(freeSlot, leafRecord);
+            return false;
+        }
+        final int victim = clockVictim(set);
+        referenced[victim] = 0;
+        slots.set(victim, leafRecord);
+        return true;
+    }
+
+    /**
+     * Removes a record with the given key from the cache, if present.
+     *
+     * @param key the key to remove
+     */
+    void invalidate(@NonNull final K key) {
+        final int first = firstSlot(key);
+        for (int i = first; i < first + ways; i++) {
+            final VirtualLeafRecord<K, V> cached = slots.get(i);
+            // Check all slots, not just the first match. Concurrent puts of the same key may
+            // result in the key stored in multiple slots of the set
+            if ((cached != null) && key.equals(cached.getKey())) {
+                slots.compareAndSet(i, cached, null);
+            }
+        }
+    }
+
+    /**
+     * Finds a slot to evict in the given set using the CLOCK algorithm. The hand moves over the
+     * slots in the set, clearing their referenced bits, until it finds a slot with no bit set.
+     * After a full sweep all the bits are cleared, so a victim is found in at most ways + 1 steps,
+     * unless the bits are set again by concurrent cache hits. To avoid spinning, the sweep is
+     * limited to two rounds, after that the slot under the hand is evicted.
+     *
+     * @param set the set index
+     * @return the index of the slot to evict
+     */
+    private int clockVictim(final int set) {
+        final int first = set * ways;
+        int hand = hands[set];
+        int victim = -1;
+        for (int step = 0; step < 2 * ways; step++) {
+            final int slot = first + hand;
+            hand = (hand + 1 == ways) ? 0 : hand + 1;
+            if (referenced[slot] == 0) {
+                victim = slot;
+                break;
+            }
+            referenced[slot] = 0;
+        }
+        if (victim == -1) {
+            victim = first + hand;
+            hand = (hand + 1 == ways) ? 0 : hand + 1;
+        }
+        hands[set] = hand;
+        return victim;
+    }
+
+    private int firstSlot(final K key) {
+        return setIndex(key) * ways;
+    }
+
+    private int setIndex(final K key) {
+        // Spread higher bits of the hash code, as many keys have similar lower bits
+        final int hashCode = key.hashCode();
+        return Math.floorMod(hashCode ^ (hashCode >>> 16), numSets);
+    }
+}
@@ -21,6 +21,7 @@ import com.swirlds.config.api.ConfigProperty;
 import com.swirlds.config.api.Configuration;
 import com.swirlds.config.api.validation.ConfigViolation;
 import com.swirlds.config.api.validation.annotation.ConstraintMethod;
+import com.swirlds.config.api.validation.annotation.Max;
 import com.swirlds.config.api.validation.annotation.Min;
 import com.swirlds.config.api.validation.annotation.Positive;
 import com.swirlds.config.extensions.validators.DefaultConfigViolation;
@@ -64,12 +65,41 @@ import com.swirlds.config.extensions.validators.DefaultConfigViolation;
  * @param leafRecordCacheSize
  *      Cache size in bytes for reading virtual leaf records. Initialized in data source creation time from MerkleDb config.
  *      If the value is zero, leaf records cache isn't used.
+ * @param leafRecordCacheWays
+ *      Associativity of the virtual leaf records cache, i.e. the number of cache slots a single key can be stored in.
+ *      When all these slots are taken, one of them is evicted using CLOCK algorithm. If set to 1, the cache is
+ *      direct-mapped.
  * @param usePbj
  *      If true, use PBJ format for new (flushed) and compacted data files, otherwise use JDB.
  * @param maxFileChannelsPerFileReader
  *     Maximum number of file channels per file reader.
  * @param maxThreadsPerFileChannel
  *    Maximum number of threads per file channel.
+ * @param useMemoryMappedFileReaders
+ *    If true, completed (immutable) PBJ data files up to 2Gb in size are mapped to memory, and data items are read
+ *    from the mapped buffers without copying. Otherwise, or while files are still being written, data items are read
+ *    using file channels.
+ * @param maxHalfDiskHashMapBucketSplitsPerFlush
+ *    Maximum number of buckets a half disk hash map may split during a single flush, when the number of stored keys
+ *    outgrows the number of buckets. Larger values let the map catch up faster, at the cost of longer flushes. If
+ *    set to 0, the number of buckets is fixed at map creation time.
+ * @param halfDiskHashMapFilterLongsPerBucket
+ *    Size of the in-memory (off-heap) Bloom filter kept for every half disk hash map bucket, in longs. Lookups of keys
+ *    rejected by the filter don't read the bucket from disk. Larger filters have fewer false positives, but take more
+ *    memory: one long per bucket is as much as the bucket index. Filters for all buckets must fit in a single long
+ *    list, so at most 3 longs per bucket can be used. If set to 0, no filters are used.
+ * @param maxCompactionBytesPerSecond
+ *    Maximum rate at which all compactions in the process together copy data, in bytes per second. Limiting the
+ *    rate leaves more disk bandwidth to flushes and reads, at the cost of longer compactions. If set to 0, the rate
+ *    is not limited.
+ * @param maxCompactionBytesPerRun
+ *    Maximum total size of files to compact in a single compaction run, in bytes. Files of level 0 are always
+ *    compacted, but files of higher levels that don't fit are left for later runs. If set to 0, the size is not
+ *    limited.
+ * @param minCompactionGarbageRatio
+ *    Minimum share of dead data items in a file, for the file to be compacted regardless of its compaction level.
+ *    Such files are compacted in the order of how much space they reclaim per byte copied. If set to a value
+ *    above 1, files are selected for compaction by their levels only.
  */
 @ConfigData("merkleDb")
 public record MerkleDbConfig(
@@ -87,9 +117,16 @@ public record MerkleDbConfig(
         @ConfigProperty(defaultValue = "-1") int numHalfDiskHashMapFlushThreads,
         @ConfigProperty(defaultValue = "262144") int reservedBufferLengthForLeafList,
         @ConfigProperty(defaultValue = "1048576") int leafRecordCacheSize,
+        @Min(1) @ConfigProperty(defaultValue = "4") int leafRecordCacheWays,
         @ConfigProperty(defaultValue = "true") boolean usePbj,
         @Min(1) @ConfigProperty(defaultValue = "8") int maxFileChannelsPerFileReader,
-        @Min(1) @ConfigProperty(defaultValue = "8") int maxThreadsPerFileChannel) {
+        @Min(1) @ConfigProperty(defaultValue = "8") int maxThreadsPerFileChannel,
+        @ConfigProperty(defaultValue = "false") boolean useMemoryMappedFileReaders,
+        @Min(0) @ConfigProperty(defaultValue = "65536") int maxHalfDiskHashMapBucketSplitsPerFlush,
+        @Min(0) @Max(3) @ConfigProperty(defaultValue = "1") int halfDiskHashMapFilterLongsPerBucket,
+        @Min(0) @ConfigProperty(defaultValue = "0") long maxCompactionBytesPerSecond,
+        @Min(0) @ConfigProperty(defaultValue = "0") long maxCompactionBytesPerRun,
+        @ConfigProperty(defaultValue = "0.5") double minCompactionGarbageRatio) {
 
     static double UNIT_FRACTION_PERCENT = 100.0;
 
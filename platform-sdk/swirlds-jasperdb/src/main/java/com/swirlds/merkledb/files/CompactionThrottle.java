@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the rate at which compactions copy data, in bytes per second. A single throttle is shared
+ * by all compactions in the process, so the limit applies to their total I/O, regardless of how
+ * many compaction threads are running.
+ *
+ * <p>The throttle works as a token bucket. Every copied byte takes a token, tokens are refilled at
+ * the configured rate, and up to {@link #MAX_BURST_NANOS} worth of unused tokens are accumulated,
+ * so short compactions are not slowed down at all. When tokens run out, compaction threads sleep
+ * until enough tokens are refilled. Compactions must never acquire tokens while holding locks
+ * needed by snapshots or flushes.
+ */
+public final class CompactionThrottle {
+
+    /** The maximum amount of time, unused tokens can be accumulated for */
+    static final long MAX_BURST_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /** The maximum number of bytes per second, or 0 if the rate is unlimited */
+    private final long maxBytesPerSecond;
+
+    /** Time source, in nanoseconds */
+    private final LongSupplier nanoTime;
+
+    /**
+     * The time when all tokens taken so far will have been refilled. Tokens are available if this
+     * time is in the past. Guarded by this.
+     */
+    private long tokensRefilledAt;
+
+    /**
+     * Creates a new throttle.
+     *
+     * @param maxBytesPerSecond the maximum number of bytes per second, or 0 if the rate is unlimited
+     */
+    public CompactionThrottle(final long maxBytesPerSecond) {
+        this(maxBytesPerSecond, System::nanoTime);
+    }
+
+    // visible for testing
+    CompactionThrottle(final long maxBytesPerSecond, final LongSupplier nanoTime) {
+        if (maxBytesPerSecond < 0) {
+            throw new IllegalArgumentException("Max bytes per second must not be negative");
+        }
+        this.maxBytesPerSecond = maxBytesPerSecond;
+        this.nanoTime = nanoTime;
+        this.tokensRefilledAt = nanoTime.getAsLong() - MAX_BURST_NANOS;
+    }
+
+    /**
+     * Checks if this throttle limits the rate at all.
+     *
+     * @return true if the rate is limited, false otherwise
+     */
+    public boolean isEnabled() {
+        return maxBytesPerSecond > 0;
+    }
+
+    /**
+     * Takes tokens for the given number of bytes, and returns how long the caller must wait before
+     * the bytes may be copied. The tokens are taken even if the caller doesn't wait.
+     *
+     * @param bytes the number of bytes to copy
+     * @return the time to wait, in nanoseconds, or 0 if the bytes can be copied immediately
+     */
+    synchronized long reserve(final long bytes) {
+        if (!isEnabled() || (bytes <= 0)) {
+            return 0;
+        }
+        final long now = nanoTime.getAsLong();
+        // tokens unused for longer than the max burst time are lost
+        if (tokensRefilledAt < now - MAX_BURST_NANOS) {
+            tokensRefilledAt = now - MAX_BURST_NANOS;
+        }
+        tokensRefilledAt += (long) ((double) bytes * TimeUnit.SECONDS.toNanos(1) / maxBytesPerSecond);
+        return Math.max(0, tokensRefilledAt - now);
+    }
+
+    /**
+     * Takes tokens for the given number of bytes, and sleeps until the bytes may be copied.
+     *
+     * @param bytes the number of bytes to copy
+     * @return the time slept, in nanoseconds
+     * @throws InterruptedException if the thread is interrupted while sleeping
+     */
+    public long acquire(final long bytes) throws InterruptedException {
+        if (!isEnabled()) {
+            return 0;
+        }
+        final long waitNanos = reserve(bytes);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return waitNanos;
+    }
+}
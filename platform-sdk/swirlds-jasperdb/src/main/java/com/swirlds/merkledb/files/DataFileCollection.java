@@ -21,6 +21,7 @@ import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
 import static com.swirlds.logging.legacy.LogMarker.MERKLE_DB;
 import static com.swirlds.merkledb.KeyRange.INVALID_KEY_RANGE;
 import static com.swirlds.merkledb.files.DataFileCommon.FILE_EXTENSION;
+import static com.swirlds.merkledb.files.DataFileCommon.NON_EXISTENT_DATA_LOCATION;
 import static com.swirlds.merkledb.files.DataFileCommon.byteOffsetFromDataLocation;
 import static com.swirlds.merkledb.files.DataFileCommon.fileIndexFromDataLocation;
 import static com.swirlds.merkledb.files.DataFileCommon.isFullyWrittenDataFile;
@@ -636,6 +637,62 @@ public class DataFileCollection<D> implements Snapshotable {
         return retryReadUsingIndex(index, keyIntoIndex, this::readDataItem);
     }
 
+    /**
+     * Store a new data location for the given key in the index, and count the data item at the old
+     * location, if any, as dead. The index is updated with compare-and-set, so if the old data item
+     * is moved to a different file by a concurrent compaction, the right file is counted.
+     *
+     * @param index key-&gt;dataLocation index
+     * @param key the key to update
+     * @param dataLocation the new data location
+     */
+    public void putToIndex(final LongList index, final long key, final long dataLocation) {
+        long oldDataLocation = index.get(key, NON_EXISTENT_DATA_LOCATION);
+        // Compactions only move existing entries, so if there is no entry, there is nothing to race with
+        while ((oldDataLocation != NON_EXISTENT_DATA_LOCATION)
+                && !index.putIfEqual(key, oldDataLocation, dataLocation)) {
+            oldDataLocation = index.get(key, NON_EXISTENT_DATA_LOCATION);
+        }
+        if (oldDataLocation == NON_EXISTENT_DATA_LOCATION) {
+            index.put(key, dataLocation);
+        } else {
+            countDeadDataItem(oldDataLocation);
+        }
+    }
+
+    /**
+     * Remove the given key from the index, and count the data item it pointed to as dead. Unlike
+     * {@link #putToIndex(LongList, long, long)}, this isn't atomic, if the data item is moved by a
+     * concurrent compaction, the file being compacted may be counted instead. It only makes the
+     * counts less precise, as such files are deleted after compaction anyway.
+     *
+     * @param index key-&gt;dataLocation index
+     * @param key the key to remove
+     */
+    public void removeFromIndex(final LongList index, final long key) {
+        final long oldDataLocation = index.get(key, NON_EXISTENT_DATA_LOCATION);
+        index.remove(key);
+        countDeadDataItem(oldDataLocation);
+    }
+
+    /**
+     * Count the data item at the given location as dead, i.e. no longer referenced from the index.
+     *
+     * @param dataLocation the data item location, nothing is counted if it's {@link
+     *     DataFileCommon#NON_EXISTENT_DATA_LOCATION}
+     */
+    public void countDeadDataItem(final long dataLocation) {
+        if (dataLocation == NON_EXISTENT_DATA_LOCATION) {
+            return;
+        }
+        final ImmutableIndexedObjectList<DataFileReader<D>> currentDataFiles = dataFiles.get();
+        final DataFileReader<D> file =
+                (currentDataFiles == null) ? null : currentDataFiles.get(fileIndexFromDataLocation(dataLocation));
+        if (file != null) {
+            file.countDeadItems(1);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void snapshot(final Path snapshotDirectory) throws IOException {
@@ -699,7 +756,7 @@ public class DataFileCollection<D> implements Snapshotable {
     DataFileReader<D> addNewDataFileReader(final Path filePath, final DataFileMetadata metadata, final boolean usePbj)
             throws IOException {
         final DataFileReader<D> newDataFileReader = usePbj
-                ? new DataFileReaderPbj<>(filePath, dataItemSerializer, metadata)
+                ? new DataFileReaderPbj<>(filePath, dataItemSerializer, metadata, config.useMemoryMappedFileReaders())
                 : new DataFileReaderJdb<>(filePath, dataItemSerializer, (DataFileMetadataJdb) metadata);
         dataFiles.getAndUpdate(currentFileList -> {
             try {
@@ -806,7 +863,11 @@ public class DataFileCollection<D> implements Snapshotable {
             try {
                 for (int i = 0; i < fullWrittenFilePaths.length; i++) {
                     dataFileReaders[i] = fullWrittenFilePaths[i].toString().endsWith(FILE_EXTENSION)
-                            ? new DataFileReaderPbj<>(fullWrittenFilePaths[i], dataItemSerializer)
+                            ? new DataFileReaderPbj<>(
+                                    fullWrittenFilePaths[i],
+                                    dataItemSerializer,
+                                    new DataFileMetadata(fullWrittenFilePaths[i]),
+                                    config.useMemoryMappedFileReaders())
                             : new DataFileReaderJdb<>(fullWrittenFilePaths[i], dataItemSerializer);
                 }
                 // sort the readers into data file index order
@@ -35,9 +35,13 @@ import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -50,6 +54,16 @@ import org.apache.logging.log4j.Logger;
  * This class is responsible performing compaction of data files in a {@link DataFileCollection}.
  * The compaction is supposed to happen in the background and can be paused and resumed with {@link #pauseCompaction()}
  * and {@link #resumeCompaction()} to prevent compaction from interfering with snapshots.
+ * <p>
+ * To limit the impact of compactions on flushes and reads, all compactions share a single {@link CompactionThrottle},
+ * which limits the rate at which data is copied, see {@link MerkleDbConfig#maxCompactionBytesPerSecond()}. The size of
+ * a single compaction is limited, too, see {@link MerkleDbConfig#maxCompactionBytesPerRun()}. Files that don't fit
+ * into a compaction are left for later compactions.
+ * <p>
+ * Files are mostly selected for compaction by their compaction levels. Additionally, every file keeps track of its
+ * data items that are no longer referenced from the index (see {@link DataFileReader#getDeadItemCount()}). Files with
+ * many dead items are compacted regardless of their levels, see {@link MerkleDbConfig#minCompactionGarbageRatio()}, as
+ * compacting them reclaims the most space for the amount of data copied.
  *
  * @param <D> data file type
  */
@@ -68,6 +82,17 @@ public class DataFileCompactor<D> {
      * This is the compaction level that non-compacted files have.
      */
     public static final int INITIAL_COMPACTION_LEVEL = 0;
+
+    /**
+     * The throttle shared by all compactions.
+     */
+    private static final CompactionThrottle compactionThrottle =
+            new CompactionThrottle(config.maxCompactionBytesPerSecond());
+
+    /**
+     * Copied bytes are throttled in chunks of this size, not every data item, to avoid sleeping too often.
+     */
+    private static final long THROTTLE_CHUNK_BYTES = 1024 * 1024;
     /**
      * Name of the file store to compact.
      */
@@ -94,6 +119,13 @@ public class DataFileCompactor<D> {
 
     private final BiConsumer<Integer, Double> reportFileSizeByLevelMetricFunction;
 
+    /**
+     * A function that will be called to report the number of bytes copied by the compaction, and the time in ms the
+     * compaction was paused by the throttle
+     */
+    @Nullable
+    private final BiConsumer<Long, Long> reportThrottleMetricFunction;
+
     /**
      * A function that updates statistics of total usage of disk space and off-heap space
      */
@@ -167,12 +199,43 @@ public class DataFileCompactor<D> {
             @Nullable final BiConsumer<Integer, Double> reportSavedSpaceMetricFunction,
             @Nullable final BiConsumer<Integer, Double> reportFileSizeByLevelMetricFunction,
             @Nullable Runnable updateTotalStatsFunction) {
+        this(
+                storeName,
+                dataFileCollection,
+                index,
+                reportDurationMetricFunction,
+                reportSavedSpaceMetricFunction,
+                reportFileSizeByLevelMetricFunction,
+                null,
+                updateTotalStatsFunction);
+    }
+
+    /**
+     * @param storeName                      name of the store to compact
+     * @param dataFileCollection             data file collection to compact
+     * @param index                          index to update during compaction
+     * @param reportDurationMetricFunction   function to report how long compaction took, in ms
+     * @param reportSavedSpaceMetricFunction function to report how much space was compacted, in Mb
+     * @param reportFileSizeByLevelMetricFunction function to report how much spaсе is used by the store by compaction level, in Mb
+     * @param reportThrottleMetricFunction   function to report how many bytes were copied, and how long compaction was throttled, in ms
+     * @param updateTotalStatsFunction       A function that updates statistics of total usage of disk space and off-heap space
+     */
+    public DataFileCompactor(
+            String storeName,
+            final DataFileCollection<D> dataFileCollection,
+            CASableLongIndex index,
+            @Nullable final BiConsumer<Integer, Long> reportDurationMetricFunction,
+            @Nullable final BiConsumer<Integer, Double> reportSavedSpaceMetricFunction,
+            @Nullable final BiConsumer<Integer, Double> reportFileSizeByLevelMetricFunction,
+            @Nullable final BiConsumer<Long, Long> reportThrottleMetricFunction,
+            @Nullable Runnable updateTotalStatsFunction) {
         this.storeName = storeName;
         this.dataFileCollection = dataFileCollection;
         this.index = index;
         this.reportDurationMetricFunction = reportDurationMetricFunction;
         this.reportSavedSpaceMetricFunction = reportSavedSpaceMetricFunction;
         this.reportFileSizeByLevelMetricFunction = reportFileSizeByLevelMetricFunction;
+        this.reportThrottleMetricFunction = reportThrottleMetricFunction;
         this.updateTotalStatsFunction = updateTotalStatsFunction;
     }
 
@@ -203,7 +266,17 @@ public class DataFileCompactor<D> {
             final int targetCompactionLevel,
             final boolean usePbj)
             throws IOException, InterruptedException {
-        if (filesToCompact.size() < getMinNumberOfFilesToCompact()) {
+        return compactFiles(index, filesToCompact, targetCompactionLevel, usePbj, getMinNumberOfFilesToCompact());
+    }
+
+    private synchronized List<Path> compactFiles(
+            final CASableLongIndex index,
+            final List<? extends DataFileReader<D>> filesToCompact,
+            final int targetCompactionLevel,
+            final boolean usePbj,
+            final int minNumberOfFilesToCompact)
+            throws IOException, InterruptedException {
+        if (filesToCompact.isEmpty() || (filesToCompact.size() < minNumberOfFilesToCompact)) {
             // nothing to do we have merged since the last data update
             logger.debug(MERKLE_DB.getMarker(), "No files were available for merging [{}]", storeName);
             return Collections.emptyList();
@@ -238,9 +311,17 @@ public class DataFileCompactor<D> {
         final int firstIndexInc = minFileIndex;
         final int lastIndexExc = maxFileIndex + 1;
         final DataFileReader<D>[] readers = new DataFileReader[lastIndexExc - firstIndexInc];
+        // Average data item sizes in every file, used to throttle copied bytes without measuring every item
+        final long[] itemSizes = new long[lastIndexExc - firstIndexInc];
         for (DataFileReader<D> r : filesToCompact) {
             readers[r.getIndex() - firstIndexInc] = r;
+            final long itemCount = r.getMetadata().getDataItemCount();
+            itemSizes[r.getIndex() - firstIndexInc] = (itemCount > 0) ? r.getSize() / itemCount : 0;
         }
+        // Bytes copied since the throttle was last acquired, and totals for metrics
+        final long[] unthrottledBytes = new long[1];
+        final long[] copiedBytes = new long[1];
+        final long[] throttledNanos = new long[1];
 
         boolean allDataItemsProcessed = false;
         try {
@@ -277,8 +358,11 @@ public class DataFileCompactor<D> {
                         assert item != null;
                         newLocation = newFileWriter.storeDataItem(item);
                     }
-                    // update the index
-                    index.putIfEqual(path, dataLocation, newLocation);
+                    // update the index. If the data item has been updated since the compaction
+                    // started, its copy is dead right away
+                    if (!index.putIfEqual(path, dataLocation, newLocation)) {
+                        dataFileCollection.countDeadDataItem(newLocation);
+                    }
 
                 } catch (final ClosedByInterruptException e) {
                     logger.info(
@@ -294,9 +378,20 @@ public class DataFileCompactor<D> {
                 } finally {
                     snapshotCompactionLock.release();
                 }
+                // Throttle outside the lock, so snapshots are never blocked by a sleeping compaction
+                unthrottledBytes[0] += itemSizes[fileIndex - firstIndexInc];
+                if (unthrottledBytes[0] >= THROTTLE_CHUNK_BYTES) {
+                    copiedBytes[0] += unthrottledBytes[0];
+                    throttledNanos[0] += compactionThrottle.acquire(unthrottledBytes[0]);
+                    unthrottledBytes[0] = 0;
+                }
             });
             allDataItemsProcessed = true;
         } finally {
+            copiedBytes[0] += unthrottledBytes[0];
+            if (reportThrottleMetricFunction != null) {
+                reportThrottleMetricFunction.accept(copiedBytes[0], TimeUnit.NANOSECONDS.toMillis(throttledNanos[0]));
+            }
             // Even if the thread is interrupted, make sure the new compacted file is properly closed
             // and is included to future compactions
             snapshotCompactionLock.acquire();
@@ -322,6 +417,44 @@ public class DataFileCompactor<D> {
         return config.minNumberOfFilesInCompaction();
     }
 
+    // visible for testing
+    long getMaxCompactionBytesPerRun() {
+        final long maxBytes = config.maxCompactionBytesPerRun();
+        return (maxBytes > 0) ? maxBytes : Long.MAX_VALUE;
+    }
+
+    // visible for testing
+    double getMinGarbageRatio() {
+        return config.minCompactionGarbageRatio();
+    }
+
+    /**
+     * Estimates the share of data items in the store's files, which are no longer live. The estimate is based on
+     * dead data items counted in every file (see {@link DataFileReader#getDeadItemCount()}), and on the fact that
+     * data items are only live, if their keys are within the store's valid key range. Both are lower bounds, so the
+     * estimate is a lower bound, too. It can be used to decide which stores to compact first.
+     *
+     * @return the estimated ratio of garbage data items to all data items, from 0 to 1
+     */
+    public double estimateGarbageRatio() {
+        long itemCount = 0;
+        long deadItemCount = 0;
+        for (final DataFileReader<D> reader : dataFileCollection.getAllCompletedFiles()) {
+            itemCount += reader.getMetadata().getDataItemCount();
+            deadItemCount += reader.getDeadItemCount();
+        }
+        if (itemCount == 0) {
+            return 0;
+        }
+        double garbageRatio = Math.min(1.0, (double) deadItemCount / itemCount);
+        final KeyRange keyRange = dataFileCollection.getValidKeyRange();
+        if (keyRange.getMinValidKey() >= 0 && keyRange.getMaxValidKey() >= keyRange.getMinValidKey()) {
+            final long maxLiveItemCount = keyRange.getMaxValidKey() - keyRange.getMinValidKey() + 1;
+            garbageRatio = Math.max(garbageRatio, 1 - (double) maxLiveItemCount / itemCount);
+        }
+        return garbageRatio;
+    }
+
     /**
      * Opens a new file for writing during compaction. This method is called, when compaction is
      * started. If compaction is interrupted and resumed by data source snapshot using {@link
@@ -432,17 +565,35 @@ public class DataFileCompactor<D> {
     public boolean compact() throws IOException, InterruptedException {
         final List<DataFileReader<D>> completedFiles = dataFileCollection.getAllCompletedFiles();
         reportFileSizeByLevel(completedFiles);
-        final List<DataFileReader<D>> filesToCompact =
-                compactionPlan(completedFiles, getMinNumberOfFilesToCompact(), config.maxCompactionLevel());
+        final long maxBytes = getMaxCompactionBytesPerRun();
+        final List<DataFileReader<D>> levelFilesToCompact = compactionPlan(
+                completedFiles, getMinNumberOfFilesToCompact(), config.maxCompactionLevel(), maxBytes);
+        final List<DataFileReader<D>> garbageFilesToCompact = garbageCompactionPlan(
+                completedFiles,
+                levelFilesToCompact,
+                maxBytes - getSizeOfFiles(levelFilesToCompact),
+                getMinGarbageRatio());
+        final List<DataFileReader<D>> filesToCompact = new ArrayList<>(levelFilesToCompact);
+        filesToCompact.addAll(garbageFilesToCompact);
         if (filesToCompact.isEmpty()) {
             logger.debug(MERKLE_DB.getMarker(), "[{}] No need to compact, as the compaction plan is empty", storeName);
             return false;
         }
 
         final int filesCount = filesToCompact.size();
-        logger.info(MERKLE_DB.getMarker(), "[{}] Starting compaction", storeName);
-
-        final int targetCompactionLevel = getTargetCompactionLevel(filesToCompact, filesCount);
+        logger.info(
+                MERKLE_DB.getMarker(),
+                "[{}] Starting compaction, {} files selected by garbage ratio",
+                storeName,
+                garbageFilesToCompact.size());
+
+        // Files selected by garbage ratio stay at their levels, unless they are merged with files from lower levels
+        int targetCompactionLevel = levelFilesToCompact.isEmpty()
+                ? INITIAL_COMPACTION_LEVEL
+                : getTargetCompactionLevel(levelFilesToCompact, levelFilesToCompact.size());
+        for (final DataFileReader<D> file : garbageFilesToCompact) {
+            targetCompactionLevel = Math.max(targetCompactionLevel, file.getMetadata().getCompactionLevel());
+        }
 
         final long start = System.currentTimeMillis();
 
@@ -454,7 +605,13 @@ public class DataFileCompactor<D> {
                 filesCount,
                 formatSizeBytes(filesToCompactSize));
 
-        final List<Path> newFilesCreated = compactFiles(index, filesToCompact, targetCompactionLevel);
+        // Files selected by garbage ratio are worth compacting, even if there are only a few of them
+        final List<Path> newFilesCreated = compactFiles(
+                index,
+                filesToCompact,
+                targetCompactionLevel,
+                config.usePbj(),
+                levelFilesToCompact.isEmpty() ? 1 : getMinNumberOfFilesToCompact());
 
         final long end = System.currentTimeMillis();
         final long tookMillis = end - start;
@@ -529,6 +686,23 @@ public class DataFileCompactor<D> {
      */
     static <D> List<DataFileReader<D>> compactionPlan(
             List<DataFileReader<D>> dataFileReaders, int minNumberOfFilesToCompact, int maxCompactionLevel) {
+        return compactionPlan(dataFileReaders, minNumberOfFilesToCompact, maxCompactionLevel, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a compaction plan like {@link #compactionPlan(List, int, int)}, but limits the total size of files in
+     * the plan. Files of level 0 are always included. Files of higher levels are included in their order, while
+     * their total size doesn't exceed the limit. If only some files of a level fit, the remaining files of the level
+     * and the levels above it are not included in the plan, they will be compacted in later runs.
+     *
+     * @param maxBytes the maximum total size of files in the plan, in bytes
+     * @return filter creating a compaction plan
+     */
+    static <D> List<DataFileReader<D>> compactionPlan(
+            List<DataFileReader<D>> dataFileReaders,
+            int minNumberOfFilesToCompact,
+            int maxCompactionLevel,
+            long maxBytes) {
         if (dataFileReaders.isEmpty()) {
             return dataFileReaders;
         }
@@ -542,6 +716,7 @@ public class DataFileCompactor<D> {
 
         // we always compact files from level 0 if we have enough files
         final List<DataFileReader<D>> readersToCompact = new ArrayList<>(nonCompactedReaders);
+        long remainingBytes = maxBytes - getSizeOfFiles(nonCompactedReaders);
 
         for (int i = 1; i <= maxCompactionLevel; i++) {
             final List<DataFileReader<D>> readers = readersByLevel.get(i);
@@ -550,11 +725,61 @@ public class DataFileCompactor<D> {
             if (readers == null || readers.size() < minNumberOfFilesToCompact - 1) {
                 break;
             }
-            readersToCompact.addAll(readers);
+            // Take as many files of this level, as fit into the size limit
+            int fitCount = 0;
+            while (fitCount < readers.size()) {
+                final long size = readers.get(fitCount).getSize();
+                if (size > remainingBytes) {
+                    break;
+                }
+                remainingBytes -= size;
+                fitCount++;
+            }
+            readersToCompact.addAll(readers.subList(0, fitCount));
+            if (fitCount < readers.size()) {
+                break;
+            }
         }
         return readersToCompact;
     }
 
+    /**
+     * Selects files to compact regardless of their compaction levels, because they have many dead data items. Files
+     * with higher garbage ratios reclaim more space per byte copied, so they are selected first, while their total
+     * size doesn't exceed the limit.
+     *
+     * @param dataFileReaders all files available to compact
+     * @param alreadySelected files already selected by {@link #compactionPlan(List, int, int, long)}
+     * @param maxBytes the maximum total size of selected files, in bytes
+     * @param minGarbageRatio the minimum garbage ratio of a file to be selected
+     * @return files to compact, in the order of decreasing garbage ratios
+     */
+    static <D> List<DataFileReader<D>> garbageCompactionPlan(
+            final List<DataFileReader<D>> dataFileReaders,
+            final List<DataFileReader<D>> alreadySelected,
+            final long maxBytes,
+            final double minGarbageRatio) {
+        if (minGarbageRatio > 1) {
+            return Collections.emptyList();
+        }
+        final Set<DataFileReader<D>> excluded = new HashSet<>(alreadySelected);
+        final List<DataFileReader<D>> candidates = dataFileReaders.stream()
+                .filter(r -> !excluded.contains(r))
+                .filter(r -> (r.getDeadItemCount() > 0) && (r.getGarbageRatio() >= minGarbageRatio))
+                .sorted(Comparator.comparingDouble(DataFileReader<D>::getGarbageRatio).reversed())
+                .toList();
+        final List<DataFileReader<D>> selected = new ArrayList<>();
+        long remainingBytes = maxBytes;
+        for (final DataFileReader<D> candidate : candidates) {
+            final long size = candidate.getSize();
+            if (size <= remainingBytes) {
+                selected.add(candidate);
+                remainingBytes -= size;
+            }
+        }
+        return selected;
+    }
+
     private static <D> Map<Integer, List<DataFileReader<D>>> getReadersByLevel(
             final List<DataFileReader<D>> dataFileReaders) {
         return dataFileReaders.stream()
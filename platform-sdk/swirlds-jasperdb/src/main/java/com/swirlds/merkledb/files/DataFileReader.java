@@ -101,6 +101,32 @@ public interface DataFileReader<D> extends AutoCloseable, Comparable<DataFileRea
      */
     long getSize();
 
+    /**
+     * Get the number of data items in this file, which are no longer referenced from the index, because
+     * they have been overwritten or removed. Dead items are only counted since the file reader was
+     * created, so after a restart, all items in existing files are initially considered live.
+     *
+     * @return the number of dead data items in this file
+     */
+    long getDeadItemCount();
+
+    /**
+     * Count data items in this file as dead, when index entries pointing to them are overwritten or removed.
+     *
+     * @param count the number of data items no longer referenced from the index
+     */
+    void countDeadItems(long count);
+
+    /**
+     * Get the share of dead data items in this file. Dead items are reclaimed, when the file is compacted.
+     *
+     * @return the ratio of dead data items to all data items in this file, from 0 to 1
+     */
+    default double getGarbageRatio() {
+        final long itemCount = getMetadata().getDataItemCount();
+        return (itemCount > 0) ? Math.min(1.0, (double) getDeadItemCount() / itemCount) : 0;
+    }
+
     /**
      * Get if the DataFile is open for reading.
      *
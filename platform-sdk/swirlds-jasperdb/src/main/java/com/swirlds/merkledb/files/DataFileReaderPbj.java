@@ -30,9 +30,11 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -105,6 +107,23 @@ public class DataFileReaderPbj<D> implements DataFileReader<D> {
     /** Number of file channels currently in use by all threads working with this data file reader */
     protected final AtomicInteger fileChannelsInUse = new AtomicInteger(0);
 
+    /**
+     * Indicates whether this reader should read data items from a memory mapped buffer rather than
+     * from file channels, once the file is completed. See {@link #mappedBuffer} for details.
+     */
+    private final boolean memoryMapped;
+    /**
+     * Read-only memory mapped buffer over the whole file. The buffer is only created when the file
+     * is completed and immutable, see {@link #setFileCompleted()}, and only if {@link #memoryMapped}
+     * is true. Till then, and also for files larger than 2Gb, data items are read using file
+     * channels. Data items read from this buffer are returned as slices, without copying any bytes.
+     *
+     * <p>The buffer is never unmapped explicitly, as slices of it may be still in use by reading
+     * threads when this reader is closed. When this reader is closed, the buffer is released, and
+     * the memory is unmapped when the buffer and all its slices are garbage collected.
+     */
+    private volatile MappedByteBuffer mappedBuffer = null;
+
     /** Indicates whether this file reader is open */
     private final AtomicBoolean open = new AtomicBoolean(true);
     /** The path to the file on disk */
@@ -129,6 +148,9 @@ public class DataFileReaderPbj<D> implements DataFileReader<D> {
      */
     private final AtomicLong fileSizeBytes = new AtomicLong(0);
 
+    /** The number of data items in this file, which are no longer referenced from the index */
+    private final AtomicLong deadItemCount = new AtomicLong(0);
+
     /**
      * Open an existing data file, reading the metadata from the file
      *
@@ -149,6 +171,23 @@ public class DataFileReaderPbj<D> implements DataFileReader<D> {
     public DataFileReaderPbj(
             final Path path, final DataItemSerializer<D> dataItemSerializer, final DataFileMetadata metadata)
             throws IOException {
+        this(path, dataItemSerializer, metadata, CONFIG.useMemoryMappedFileReaders());
+    }
+
+    /**
+     * Open an existing data file, using the provided metadata
+     *
+     * @param path the path to the data file
+     * @param dataItemSerializer Serializer for converting raw data to/from data items
+     * @param metadata the file's metadata to save loading from file
+     * @param memoryMapped whether to read data items from a memory mapped buffer, when the file is completed
+     */
+    public DataFileReaderPbj(
+            final Path path,
+            final DataItemSerializer<D> dataItemSerializer,
+            final DataFileMetadata metadata,
+            final boolean memoryMapped)
+            throws IOException {
         if (!Files.exists(path)) {
             throw new IllegalArgumentException(
                     "Tried to open a non existent data file [" + path.toAbsolutePath() + "].");
@@ -156,6 +195,7 @@ public class DataFileReaderPbj<D> implements DataFileReader<D> {
         this.path = path;
         this.metadata = metadata;
         this.dataItemSerializer = dataItemSerializer;
+        this.memoryMapped = memoryMapped;
         openNewFileChannel(0);
     }
 
@@ -172,7 +212,12 @@ public class DataFileReaderPbj<D> implements DataFileReader<D> {
     @Override
     public void setFileCompleted() {
         try {
-            fileSizeBytes.set(fileChannels.get(0).size());
+            final long size = fileChannels.get(0).size();
+            fileSizeBytes.set(size);
+            // JDB readers don't use read(), no need to map JDB files
+            if (memoryMapped && (getFileType() == DataFileType.PBJ) && (size <= Integer.MAX_VALUE) && isOpen()) {
+                mapFile(size);
+            }
         } catch (final IOException e) {
             throw new UncheckedIOException("Failed to update data file reader size", e);
         } finally {
@@ -218,6 +263,16 @@ public class DataFileReaderPbj<D> implements DataFileReader<D> {
         return fileSizeBytes.get();
     }
 
+    @Override
+    public long getDeadItemCount() {
+        return deadItemCount.get();
+    }
+
+    @Override
+    public void countDeadItems(final long count) {
+        deadItemCount.addAndGet(count);
+    }
+
     /** Equals for use when comparing in collections, based on matching file paths */
     @SuppressWarnings("rawtypes")
     @Override
@@ -267,9 +322,21 @@ public class DataFileReaderPbj<D> implements DataFileReader<D> {
         return open.get();
     }
 
+    /**
+     * Checks if data items are currently read from a memory mapped buffer rather than from file
+     * channels.
+     *
+     * @return true if this reader reads data items from a memory mapped buffer
+     */
+    public boolean isMemoryMapped() {
+        return mappedBuffer != null;
+    }
+
     @Override
     public void close() throws IOException {
         open.set(false);
+        // Not unmapped explicitly, see mappedBuffer javadoc for details
+        mappedBuffer = null;
         for (int i = 0; i < MAX_FILE_CHANNELS; i++) {
             final FileChannel fileChannel = fileChannels.getAndSet(i, null);
             if (fileChannel != null) {
@@ -281,6 +348,44 @@ public class DataFileReaderPbj<D> implements DataFileReader<D> {
     // =================================================================================================================
     // Private methods
 
+    /**
+     * Maps the whole file to memory in read-only mode. The file must be completed, as the mapped
+     * buffer doesn't reflect any changes in file size.
+     *
+     * @param size file size in bytes
+     * @throws IOException If an I/O error occurs
+     */
+    private void mapFile(final long size) throws IOException {
+        // Use a separate file channel, since reading channels may be closed, if a reading thread is
+        // interrupted. Mapped buffer remains valid after the channel is closed
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            mappedBuffer = channel.map(MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    /**
+     * Reads a data item from the memory mapped buffer. No bytes are copied, the returned buffered
+     * data is a slice of the mapped buffer. Only absolute read operations are used on the mapped
+     * buffer, so it can be safely used by multiple threads in parallel.
+     *
+     * @param mapped memory mapped file buffer
+     * @param byteOffsetInFile data item offset in the file
+     * @return a slice of the mapped buffer with the data item bytes
+     */
+    private static BufferedData readMapped(final MappedByteBuffer mapped, final long byteOffsetInFile) {
+        final int offset = Math.toIntExact(byteOffsetInFile);
+        final BufferedData data = BufferedData.wrap(mapped.slice(offset, mapped.capacity() - offset));
+        final int tag = data.getVarInt(0, false);
+        assert tag
+                == ((FIELD_DATAFILE_ITEMS.number() << TAG_FIELD_OFFSET) | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal());
+        final int sizeOfTag = ProtoWriterTools.sizeOfUnsignedVarInt32(tag);
+        final int size = data.getVarInt(sizeOfTag, false);
+        final int sizeOfSize = ProtoWriterTools.sizeOfUnsignedVarInt32(size);
+        data.limit(sizeOfTag + sizeOfSize + size);
+        data.position(sizeOfTag + sizeOfSize);
+        return data;
+    }
+
     /**
      * Opens a new file channel for reading the file, if the total number of channels opened is
      * less than {@link #MAX_FILE_CHANNELS}. This method is safe to call from multiple threads.
@@ -361,11 +466,16 @@ public class DataFileReaderPbj<D> implements DataFileReader<D> {
      *
      * @param byteOffsetInFile Offset to start reading at
      * @return ByteBuffer containing read data. This is a reused per thread buffer, so you can use
-     *     it till your thread calls read again.
+     *     it till your thread calls read again. If the file is memory mapped, this is a slice of
+     *     the mapped buffer.
      * @throws IOException if there was a problem reading
      * @throws ClosedChannelException if the file was closed
      */
     private BufferedData read(final long byteOffsetInFile) throws IOException {
+        final MappedByteBuffer mapped = mappedBuffer;
+        if (mapped != null) {
+            return readMapped(mapped, byteOffsetInFile);
+        }
         // Buffer size to read data item tag and size. If the whole item is small and
         // fits into this buffer, there is no need to make an extra file read
         final int PRE_READ_BUF_SIZE = 2048;
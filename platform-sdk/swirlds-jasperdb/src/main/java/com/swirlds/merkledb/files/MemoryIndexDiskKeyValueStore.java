@@ -131,8 +131,8 @@ public class MemoryIndexDiskKeyValueStore<D> implements AutoCloseable, Snapshota
      */
     public void put(final long key, final D dataItem) throws IOException {
         final long dataLocation = fileCollection.storeDataItem(dataItem);
-        // store data location in index
-        index.put(key, dataLocation);
+        // store data location in index, the previous data item for the key, if any, is now dead
+        fileCollection.putToIndex(index, key, dataLocation);
     }
 
     /**
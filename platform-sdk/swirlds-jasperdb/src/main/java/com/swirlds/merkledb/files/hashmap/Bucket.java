@@ -33,6 +33,8 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -312,6 +314,93 @@ public sealed class Bucket<K extends VirtualKey> implements Closeable permits Pa
         });
     }
 
+    /**
+     * Call the given consumer for the key hash code of every entry in this bucket.
+     *
+     * @param action the consumer to call
+     */
+    public void forEachKeyHashCode(final IntConsumer action) {
+        final long length = bucketData.length();
+        long fieldOffset = 0;
+        while (fieldOffset < length) {
+            bucketData.position(fieldOffset);
+            final int tag = bucketData.readVarInt(false);
+            final int fieldNum = tag >> TAG_FIELD_OFFSET;
+            if (fieldNum == FIELD_BUCKET_INDEX.number()) {
+                fieldOffset = bucketData.position() + Integer.BYTES;
+            } else if (fieldNum == FIELD_BUCKET_ENTRIES.number()) {
+                final int entrySize = bucketData.readVarInt(false);
+                fieldOffset = bucketData.position() + entrySize;
+                action.accept(readEntryHashCode(bucketData.position(), fieldOffset));
+            } else {
+                throw new IllegalArgumentException("Unknown bucket field: " + fieldNum);
+            }
+        }
+    }
+
+    /**
+     * Move all entries, whose key hash codes match the given predicate, from this bucket to the
+     * given target bucket. Entries are moved as raw bytes, keys are not deserialized. This is
+     * used to split a bucket in two, when the map grows.
+     *
+     * @param target the bucket to move the entries to
+     * @param moveKeyHashCode the predicate to check entry key hash codes against
+     */
+    public void moveEntries(final Bucket<K> target, final IntPredicate moveKeyHashCode) {
+        final long length = bucketData.length();
+        long readOffset = 0;
+        long writeOffset = 0;
+        while (readOffset < length) {
+            bucketData.position(readOffset);
+            final int tag = bucketData.readVarInt(false);
+            final int fieldNum = tag >> TAG_FIELD_OFFSET;
+            final long nextFieldOffset;
+            final boolean move;
+            if (fieldNum == FIELD_BUCKET_INDEX.number()) {
+                nextFieldOffset = bucketData.position() + Integer.BYTES;
+                move = false;
+            } else if (fieldNum == FIELD_BUCKET_ENTRIES.number()) {
+                final int entrySize = bucketData.readVarInt(false);
+                nextFieldOffset = bucketData.position() + entrySize;
+                move = moveKeyHashCode.test(readEntryHashCode(bucketData.position(), nextFieldOffset));
+            } else {
+                throw new IllegalArgumentException("Unknown bucket field: " + fieldNum);
+            }
+            final long fieldSize = nextFieldOffset - readOffset;
+            if (move) {
+                target.addEntryField(bucketData.slice(readOffset, fieldSize));
+                entryCount--;
+            } else {
+                if (writeOffset != readOffset) {
+                    final BufferedData field = bucketData.slice(readOffset, fieldSize);
+                    bucketData.position(writeOffset);
+                    bucketData.writeBytes(field);
+                }
+                if (fieldNum == FIELD_BUCKET_INDEX.number()) {
+                    bucketIndexFieldOffset = writeOffset;
+                }
+                writeOffset += fieldSize;
+            }
+            readOffset = nextFieldOffset;
+        }
+        bucketData.position(0); // limit() doesn't work if the new limit is less than the current pos
+        bucketData.limit(writeOffset);
+    }
+
+    /**
+     * Append a single entry to this bucket. The entry is provided as a serialized bucket field,
+     * including its tag and length.
+     *
+     * @param entryField the serialized entry field
+     */
+    protected void addEntryField(final BufferedData entryField) {
+        final long entryOffset = bucketData.limit();
+        setSize(Math.toIntExact(entryOffset + entryField.length()));
+        bucketData.position(entryOffset);
+        bucketData.writeBytes(entryField);
+        checkLargestBucket(++entryCount);
+    }
+
     public void readFrom(final ReadableSequentialData in) {
         final int size = Math.toIntExact(in.remaining());
         setSize(size);
@@ -353,6 +442,28 @@ public sealed class Bucket<K extends VirtualKey> implements Closeable permits Pa
     // =================================================================================================================
     // Private API
 
+    /**
+     * Read the key hash code of the entry, which is stored in the bucket buffer at the given
+     * offsets. If the entry has no hash code field, the default (zero) is returned.
+     */
+    private int readEntryHashCode(final long entryOffset, final long nextEntryOffset) {
+        bucketData.position(entryOffset);
+        while (bucketData.position() < nextEntryOffset) {
+            final int entryTag = bucketData.readVarInt(false);
+            final int entryFieldNum = entryTag >> TAG_FIELD_OFFSET;
+            if (entryFieldNum == FIELD_BUCKETENTRY_HASHCODE.number()) {
+                return bucketData.readInt();
+            } else if (entryFieldNum == FIELD_BUCKETENTRY_VALUE.number()) {
+                bucketData.skip(Long.BYTES);
+            } else if (entryFieldNum == FIELD_BUCKETENTRY_KEYBYTES.number()) {
+                bucketData.skip(bucketData.readVarInt(false));
+            } else {
+                throw new IllegalArgumentException("Unknown bucket entry field: " + entryFieldNum);
+            }
+        }
+        return 0;
+    }
+
     private FindResult findEntry(final int keyHashCode, final K key) {
         bucketData.resetPosition();
         while (bucketData.hasRemaining()) {
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files.hashmap;
+
+import com.swirlds.merkledb.collections.LongListOffHeap;
+import com.swirlds.merkledb.collections.OffHeapUser;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * An off-heap summary of the keys stored in every bucket of a {@link HalfDiskHashMap}. Each
+ * bucket has a small Bloom filter of a fixed number of longs, built from key hash codes. If the
+ * filter says a key is not in the bucket, the bucket doesn't need to be read from disk.
+ *
+ * <p>Filters can't be updated when a key is removed, so a bucket filter is always rebuilt from
+ * scratch, when the bucket is written.
+ *
+ * <p>Filters are stored in a {@link LongListOffHeap}, {@code longsPerBucket} longs per bucket.
+ * Filter longs are stored inverted. Long lists can't store zeroes, so filter longs with all bits
+ * set are removed from the list instead, and missing longs are read as all bits set. This way a
+ * bucket that has no filter yet, e.g. because the filters were not saved, accepts all keys, and
+ * such buckets don't take any memory.
+ *
+ * <p>This class is thread safe for a single writer and multiple readers. Filter longs are not
+ * updated atomically, but a reader may only see a mix of the old and the new filter longs for
+ * a bucket, which contains all bits of the keys present both in the old and the new bucket.
+ */
+final class BucketFilter implements Closeable, OffHeapUser {
+
+    /** Bits per filter long */
+    private static final int BITS_PER_LONG = Long.SIZE;
+
+    /** The number of longs in a single bucket filter */
+    private final int longsPerBucket;
+
+    /** The number of bits in a single bucket filter */
+    private final long bitsPerBucket;
+
+    /** The number of bits set for a single key */
+    private final int hashCount;
+
+    /** Filter longs for all buckets */
+    private final LongListOffHeap filters;
+
+    /**
+     * Create a new filter with no bucket filters, i.e. all buckets accept all keys.
+     *
+     * @param longsPerBucket the number of longs per bucket filter
+     * @param expectedEntriesPerBucket the number of entries in a bucket the filter is tuned for
+     * @param maxNumOfBuckets the maximum number of buckets to keep filters for
+     */
+    BucketFilter(final int longsPerBucket, final long expectedEntriesPerBucket, final int maxNumOfBuckets) {
+        this(longsPerBucket, expectedEntriesPerBucket, maxNumOfBuckets, new LongListOffHeap());
+    }
+
+    /**
+     * Load a filter from a file written by {@link #writeToFile(Path)}.
+     *
+     * @param longsPerBucket the number of longs per bucket filter, must be the same as when the file was written
+     * @param expectedEntriesPerBucket the number of entries in a bucket the filter is tuned for
+     * @param maxNumOfBuckets the maximum number of buckets to keep filters for
+     * @param file the file to load from
+     * @throws IOException If there was a problem reading the file
+     */
+    BucketFilter(
+            final int longsPerBucket, final long expectedEntriesPerBucket, final int maxNumOfBuckets, final Path file)
+            throws IOException {
+        this(longsPerBucket, expectedEntriesPerBucket, maxNumOfBuckets, new LongListOffHeap(file));
+    }
+
+    private BucketFilter(
+            final int longsPerBucket,
+            final long expectedEntriesPerBucket,
+            final int maxNumOfBuckets,
+            final LongListOffHeap filters) {
+        if (longsPerBucket <= 0) {
+            filters.close();
+            throw new IllegalArgumentException("The number of longs per bucket must be positive");
+        }
+        if ((long) maxNumOfBuckets * longsPerBucket > filters.capacity()) {
+            filters.close();
+            throw new IllegalArgumentException("Filters of " + longsPerBucket + " longs for " + maxNumOfBuckets
+                    + " buckets don't fit in a long list of capacity " + filters.capacity());
+        }
+        this.longsPerBucket = longsPerBucket;
+        this.bitsPerBucket = (long) longsPerBucket * BITS_PER_LONG;
+        // optimal number of hashes for a Bloom filter is (bits / entries) * ln(2)
+        this.hashCount =
+                (int) Math.max(1, Math.round((double) bitsPerBucket / expectedEntriesPerBucket * Math.log(2)));
+        this.filters = filters;
+    }
+
+    /**
+     * Check if a key with the given hash code may be in the given bucket.
+     *
+     * @param bucketIndex the bucket index
+     * @param keyHashCode the key hash code
+     * @return false if the key is definitely not in the bucket, true if it may be there
+     */
+    boolean mayContain(final int bucketIndex, final int keyHashCode) {
+        final long firstLongIndex = (long) bucketIndex * longsPerBucket;
+        final long hash = mix(keyHashCode);
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = bitIndex(h1 + i * h2);
+            final long filterLong = ~filters.get(firstLongIndex + (bit / BITS_PER_LONG), 0);
+            if ((filterLong & (1L << (bit % BITS_PER_LONG))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Build a filter for the keys in the given bucket. The filter is not stored, use {@link
+     * #put(int, long[])} to store it.
+     *
+     * @param bucket the bucket
+     * @return the filter longs
+     */
+    long[] build(final Bucket<?> bucket) {
+        final long[] filter = new long[longsPerBucket];
+        bucket.forEachKeyHashCode(keyHashCode -> {
+            final long hash = mix(keyHashCode);
+            final int h1 = (int) hash;
+            final int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashCount; i++) {
+                final long bit = bitIndex(h1 + i * h2);
+                filter[(int) (bit / BITS_PER_LONG)] |= 1L << (bit % BITS_PER_LONG);
+            }
+        });
+        return filter;
+    }
+
+    /**
+     * Store a filter for the given bucket.
+     *
+     * @param bucketIndex the bucket index
+     * @param filter the filter longs, as built by {@link #build(Bucket)}
+     */
+    void put(final int bucketIndex, final long[] filter) {
+        final long firstLongIndex = (long) bucketIndex * longsPerBucket;
+        for (int i = 0; i < longsPerBucket; i++) {
+            final long inverted = ~filter[i];
+            if (inverted != 0) {
+                filters.put(firstLongIndex + i, inverted);
+            } else {
+                filters.remove(firstLongIndex + i);
+            }
+        }
+    }
+
+    /**
+     * Build and store a filter for the given bucket.
+     *
+     * @param bucket the bucket
+     */
+    void update(final Bucket<?> bucket) {
+        put(bucket.getBucketIndex(), build(bucket));
+    }
+
+    /**
+     * Clear the filter for the given bucket, when the bucket is removed, so it rejects all keys.
+     *
+     * @param bucketIndex the bucket index
+     */
+    void clear(final int bucketIndex) {
+        put(bucketIndex, new long[longsPerBucket]);
+    }
+
+    /**
+     * Get the number of longs per bucket filter.
+     *
+     * @return the number of longs per bucket filter
+     */
+    int getLongsPerBucket() {
+        return longsPerBucket;
+    }
+
+    /**
+     * Write all filters to a file.
+     *
+     * @param file the file to write to
+     * @throws IOException If there was a problem writing the file
+     */
+    void writeToFile(final Path file) throws IOException {
+        filters.writeToFile(file);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getOffHeapConsumption() {
+        return filters.getOffHeapConsumption();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        filters.close();
+    }
+
+    private long bitIndex(final int hash) {
+        return (Integer.toUnsignedLong(hash) * bitsPerBucket) >>> 32;
+    }
+
+    /**
+     * Spread key hash code bits over a long. Bucket indices are taken from the low bits of key hash
+     * codes, so all keys in a bucket share them, and they can't be used for filter bits as is. This
+     * is the finalization step of MurmurHash3.
+     */
+    private static long mix(final int keyHashCode) {
+        long h = keyHashCode;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
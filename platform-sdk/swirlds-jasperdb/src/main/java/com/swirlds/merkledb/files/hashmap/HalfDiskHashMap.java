@@ -20,6 +20,7 @@ import static com.swirlds.common.threading.manager.AdHocThreadManager.getStaticT
 import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
 import static com.swirlds.logging.legacy.LogMarker.MERKLE_DB;
 import static com.swirlds.merkledb.MerkleDb.MERKLEDB_COMPONENT;
+import static com.swirlds.merkledb.files.DataFileCommon.NON_EXISTENT_DATA_LOCATION;
 
 import com.swirlds.common.config.singleton.ConfigurationHolder;
 import com.swirlds.common.threading.framework.config.ThreadConfiguration;
@@ -42,12 +43,15 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.LongSummaryStatistics;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.eclipse.collections.api.tuple.primitive.IntObjectPair;
@@ -62,6 +66,18 @@ import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
  * <p>This implementation depends on good hashCode() implementation on the keys, if there are too
  * many hash collisions the performance can get bad.
  *
+ * <p>The number of buckets grows with the number of stored keys using linear hashing. When the
+ * average number of entries per bucket exceeds {@link #GOOD_AVERAGE_BUCKET_ENTRY_COUNT}, buckets
+ * are split one by one, in bucket index order, at the end of {@link #endWriting()}. Splitting
+ * bucket {@code N} adds a new bucket {@code N + 2^L}, where {@code 2^L} is the largest power of
+ * two not greater than the current number of buckets, and moves to it all entries whose key hash
+ * codes now fall into it. Each split only reads and writes two buckets, so the map never needs
+ * to be rehashed as a whole.
+ *
+ * <p>For every bucket, a small Bloom filter of its key hash codes is kept off-heap, see {@link
+ * BucketFilter}. Lookups of keys that are not in the map are mostly rejected by the filters
+ * without reading buckets from disk.
+ *
  * <p><b>IMPORTANT: This implementation assumes a single writing thread. There can be multiple
  * readers while writing is happening.</b>
  */
@@ -71,11 +87,17 @@ public class HalfDiskHashMap<K extends VirtualKey>
     private static final Logger logger = LogManager.getLogger(HalfDiskHashMap.class);
 
     /** The version number for format of current data files */
-    private static final int METADATA_FILE_FORMAT_VERSION = 1;
+    private static final int METADATA_FILE_FORMAT_VERSION = 3;
+    /** The version number for format of data files written before bucket filters were stored */
+    private static final int METADATA_FILE_FORMAT_VERSION_WITHOUT_FILTERS = 2;
+    /** The version number for format of data files written before the number of entries was stored */
+    private static final int METADATA_FILE_FORMAT_VERSION_WITHOUT_ENTRIES = 1;
     /** Metadata file name suffix with extension. */
     private static final String METADATA_FILENAME_SUFFIX = "_metadata.hdhm";
     /** Bucket index file name suffix with extension */
     private static final String BUCKET_INDEX_FILENAME_SUFFIX = "_bucket_index.ll";
+    /** Bucket filters file name suffix with extension */
+    private static final String BUCKET_FILTER_FILENAME_SUFFIX = "_bucket_filter.ll";
     /**
      * A marker to indicate that a value should be deleted from the map, or that there is
      * no old value to compare against in putIfEqual/deleteIfEqual
@@ -91,6 +113,15 @@ public class HalfDiskHashMap<K extends VirtualKey>
     private static final long GOOD_AVERAGE_BUCKET_ENTRY_COUNT = 32;
     /** The limit on the number of concurrent read tasks in {@code endWriting()} */
     private static final int MAX_IN_FLIGHT = 64;
+    /** The maximum number of buckets. The map can still store more keys, but buckets get larger */
+    private static final int MAX_NUM_OF_BUCKETS = 1 << 30;
+    /**
+     * The maximum number of buckets a new map starts with. Buckets are split as keys are added, so
+     * a new map doesn't need to be sized for its maximum number of keys
+     */
+    private static final int MAX_INITIAL_NUM_OF_BUCKETS = 4096;
+    /** A bucket index for keys that are known to be absent in {@link #getAll(List, long)} */
+    private static final int NO_BUCKET = -1;
 
     /**
      * Long list used for mapping bucketIndex(index into list) to disk location for latest copy of
@@ -99,17 +130,39 @@ public class HalfDiskHashMap<K extends VirtualKey>
     private final LongList bucketIndexToBucketLocation;
     /** DataFileCollection manages the files storing the buckets on disk */
     private final DataFileCollection<Bucket<K>> fileCollection;
+    /** Bloom filters for the keys in every bucket, or null if filters are disabled */
+    @Nullable
+    private final BucketFilter bucketFilter;
+    /** The number of lookups that didn't read a bucket from disk because it was rejected by a filter */
+    private final LongAdder filterNegatives = new LongAdder();
+    /** The number of lookups that read a bucket from disk because of a filter match, but found no key */
+    private final LongAdder filterFalsePositives = new LongAdder();
 
     /**
-     * This is the number of buckets needed to store mapSize entries if we ere only LOADING_FACTOR
-     * percent full
+     * This is the number of buckets needed to store mapSize entries with {@link
+     * #GOOD_AVERAGE_BUCKET_ENTRY_COUNT} entries per bucket
      */
     private final int minimumBuckets;
     /**
-     * This is the next power of 2 bigger than minimumBuckets. It needs to be a power of two, so
-     * that we can optimize and avoid the cost of doing a % to find the bucket index from hash code.
+     * The current number of buckets. Initially, this is the largest power of 2 not greater than
+     * minimumBuckets, but at most {@link #MAX_INITIAL_NUM_OF_BUCKETS}. As keys are added, buckets
+     * are split, and this number grows one by one, see {@link #computeBucketIndex(int, int)}.
+     * Updated on the writing thread only, after all buckets affected by a split are written to
+     * disk and indexed, so readers always see a consistent set of buckets.
      */
-    private final int numOfBuckets;
+    private volatile int numOfBuckets;
+    /**
+     * The number of entries stored in this map. If the map was loaded from files written before
+     * this number was stored, it's counted from the buckets on disk. Updated on the writing thread
+     * only.
+     */
+    private volatile long numOfEntries;
+    /** The maximum number of buckets to split in a single {@link #endWriting()} call */
+    private final int maxBucketSplitsPerFlush;
+    /** The number of buckets split during the last {@link #endWriting()} call */
+    private volatile int lastFlushBucketSplits;
+    /** The maximum number of entries in a bucket written during the last {@link #endWriting()} call */
+    private volatile int lastFlushMaxBucketEntries;
     /**
      * The requested max size for the map, this is the maximum number of key/values expected to be
      * stored in this map.
@@ -170,15 +223,20 @@ public class HalfDiskHashMap<K extends VirtualKey>
             throws IOException {
         this.mapSize = mapSize;
         this.storeName = storeName;
+        this.maxBucketSplitsPerFlush = config.maxHalfDiskHashMapBucketSplitsPerFlush();
         Path indexFile = storeDir.resolve(storeName + BUCKET_INDEX_FILENAME_SUFFIX);
         // create bucket serializer
         this.bucketSerializer = new BucketSerializer<>(config, keySerializer);
         // load or create new
         LoadedDataCallback<Bucket<K>> loadedDataCallback;
+        final int filterLongsPerBucket = config.halfDiskHashMapFilterLongsPerBucket();
+        final Path filterFile = storeDir.resolve(storeName + BUCKET_FILTER_FILENAME_SUFFIX);
+        boolean countEntries = false;
         if (Files.exists(storeDir)) {
             // load metadata
             Path metaDataFile = storeDir.resolve(storeName + METADATA_FILENAME_SUFFIX);
             boolean loadedLegacyMetadata = false;
+            int savedFilterLongsPerBucket = 0;
             if (!Files.exists(metaDataFile)) {
                 metaDataFile = storeDir.resolve(legacyStoreName + METADATA_FILENAME_SUFFIX);
                 indexFile = storeDir.resolve(legacyStoreName + BUCKET_INDEX_FILENAME_SUFFIX);
@@ -187,7 +245,9 @@ public class HalfDiskHashMap<K extends VirtualKey>
             if (Files.exists(metaDataFile)) {
                 try (DataInputStream metaIn = new DataInputStream(Files.newInputStream(metaDataFile))) {
                     final int fileVersion = metaIn.readInt();
-                    if (fileVersion != METADATA_FILE_FORMAT_VERSION) {
+                    if ((fileVersion != METADATA_FILE_FORMAT_VERSION)
+                            && (fileVersion != METADATA_FILE_FORMAT_VERSION_WITHOUT_FILTERS)
+                            && (fileVersion != METADATA_FILE_FORMAT_VERSION_WITHOUT_ENTRIES)) {
                         throw new IOException("Tried to read a file with incompatible file format version ["
                                 + fileVersion
                                 + "], expected ["
@@ -196,6 +256,15 @@ public class HalfDiskHashMap<K extends VirtualKey>
                     }
                     minimumBuckets = metaIn.readInt();
                     numOfBuckets = metaIn.readInt();
+                    if (fileVersion >= METADATA_FILE_FORMAT_VERSION_WITHOUT_FILTERS) {
+                        numOfEntries = metaIn.readLong();
+                    } else {
+                        // counted once the buckets can be read, see below
+                        countEntries = true;
+                    }
+                    if (fileVersion >= METADATA_FILE_FORMAT_VERSION) {
+                        savedFilterLongsPerBucket = metaIn.readInt();
+                    }
                 }
                 if (loadedLegacyMetadata) {
                     Files.delete(metaDataFile);
@@ -211,26 +280,36 @@ public class HalfDiskHashMap<K extends VirtualKey>
             }
             // load or rebuild index
             final boolean forceIndexRebuilding = config.indexRebuildingEnforced();
-            if (Files.exists(indexFile) && !forceIndexRebuilding) {
+            final boolean rebuildIndex = !Files.exists(indexFile) || forceIndexRebuilding;
+            bucketFilter = loadBucketFilter(filterLongsPerBucket, savedFilterLongsPerBucket, filterFile, rebuildIndex);
+            if (!rebuildIndex) {
                 bucketIndexToBucketLocation =
                         preferDiskBasedIndex ? new LongListDisk(indexFile) : new LongListOffHeap(indexFile);
                 loadedDataCallback = null;
             } else {
-                // create new index and setup call back to rebuild
+                // create new index and setup call back to rebuild, filters are rebuilt along with it
                 bucketIndexToBucketLocation =
                         preferDiskBasedIndex ? new LongListDisk(indexFile) : new LongListOffHeap();
-                loadedDataCallback = (dataLocation, bucket) ->
-                        bucketIndexToBucketLocation.put(bucket.getBucketIndex(), dataLocation);
+                final BucketFilter filter = bucketFilter;
+                loadedDataCallback = (dataLocation, bucket) -> {
+                    bucketIndexToBucketLocation.put(bucket.getBucketIndex(), dataLocation);
+                    if (filter != null) {
+                        filter.update(bucket);
+                    }
+                };
             }
         } else {
             // create store dir
             Files.createDirectories(storeDir);
-            // create new index
+            // create new index and filters
             bucketIndexToBucketLocation = preferDiskBasedIndex ? new LongListDisk(indexFile) : new LongListOffHeap();
+            bucketFilter = (filterLongsPerBucket > 0)
+                    ? new BucketFilter(filterLongsPerBucket, GOOD_AVERAGE_BUCKET_ENTRY_COUNT, MAX_NUM_OF_BUCKETS)
+                    : null;
             // calculate number of entries we can store in a disk page
             minimumBuckets = (int) (mapSize / GOOD_AVERAGE_BUCKET_ENTRY_COUNT);
-            // numOfBuckets is the nearest power of two greater than minimumBuckets with a min of 4096
-            numOfBuckets = Integer.highestOneBit(minimumBuckets) * 2;
+            // start small, buckets are split as keys are added
+            numOfBuckets = Math.min(MAX_INITIAL_NUM_OF_BUCKETS, Math.max(1, Integer.highestOneBit(minimumBuckets)));
             // we are new so no need for a loadedDataCallback
             loadedDataCallback = null;
             logger.info(
@@ -244,6 +323,69 @@ public class HalfDiskHashMap<K extends VirtualKey>
         fileCollection = new DataFileCollection<>(
                 // Need: propagate MerkleDb config from the database
                 config, storeDir, storeName, legacyStoreName, bucketSerializer, loadedDataCallback);
+        if (countEntries) {
+            numOfEntries = countEntriesInBuckets();
+        }
+    }
+
+    /**
+     * Count the entries in all buckets on disk. This is only needed once, for maps loaded from
+     * files written before the number of entries was stored. Without the count, buckets wouldn't
+     * be split until enough new keys were added.
+     *
+     * @return the number of entries
+     * @throws IOException If there was a problem reading buckets
+     */
+    private long countEntriesInBuckets() throws IOException {
+        logger.info(
+                MERKLE_DB.getMarker(), "HalfDiskHashMap [{}] counting entries in {} buckets", storeName, numOfBuckets);
+        long count = 0;
+        for (int bucketIndex = 0; bucketIndex < numOfBuckets; bucketIndex++) {
+            try (final Bucket<K> bucket =
+                    fileCollection.readDataItemUsingIndex(bucketIndexToBucketLocation, bucketIndex)) {
+                if (bucket != null) {
+                    count += bucket.getBucketEntryCount();
+                }
+            }
+        }
+        logger.info(MERKLE_DB.getMarker(), "HalfDiskHashMap [{}] has {} entries", storeName, count);
+        return count;
+    }
+
+    /**
+     * Create bucket filters for a map loaded from disk. Filters are loaded from a file, if they
+     * were saved with the same size, and the index is not rebuilt. If the index is rebuilt, new
+     * filters are rebuilt with it. Otherwise, filters for existing buckets are unknown. Buckets
+     * without filters accept all keys, until they are written again.
+     *
+     * @param filterLongsPerBucket the configured number of longs per bucket filter, 0 if filters are disabled
+     * @param savedFilterLongsPerBucket the number of longs per bucket filter in the saved file, 0 if not saved
+     * @param filterFile the saved filters file
+     * @param rebuildIndex whether the bucket index is rebuilt from data files
+     * @return the filters, or null if filters are disabled
+     * @throws IOException If there was a problem reading the filters file
+     */
+    @Nullable
+    private BucketFilter loadBucketFilter(
+            final int filterLongsPerBucket,
+            final int savedFilterLongsPerBucket,
+            final Path filterFile,
+            final boolean rebuildIndex)
+            throws IOException {
+        if (filterLongsPerBucket == 0) {
+            return null;
+        }
+        if (!rebuildIndex && (savedFilterLongsPerBucket == filterLongsPerBucket) && Files.exists(filterFile)) {
+            return new BucketFilter(
+                    filterLongsPerBucket, GOOD_AVERAGE_BUCKET_ENTRY_COUNT, MAX_NUM_OF_BUCKETS, filterFile);
+        }
+        if (!rebuildIndex) {
+            logger.info(
+                    MERKLE_DB.getMarker(),
+                    "HalfDiskHashMap [{}] has no saved bucket filters, they will be built as buckets are updated",
+                    storeName);
+        }
+        return new BucketFilter(filterLongsPerBucket, GOOD_AVERAGE_BUCKET_ENTRY_COUNT, MAX_NUM_OF_BUCKETS);
     }
 
     /**
@@ -261,6 +403,10 @@ public class HalfDiskHashMap<K extends VirtualKey>
         Files.createDirectories(snapshotDirectory);
         // write index to file
         bucketIndexToBucketLocation.writeToFile(snapshotDirectory.resolve(storeName + BUCKET_INDEX_FILENAME_SUFFIX));
+        // write bucket filters to file
+        if (bucketFilter != null) {
+            bucketFilter.writeToFile(snapshotDirectory.resolve(storeName + BUCKET_FILTER_FILENAME_SUFFIX));
+        }
         // snapshot files
         fileCollection.snapshot(snapshotDirectory);
         // write metadata
@@ -269,6 +415,8 @@ public class HalfDiskHashMap<K extends VirtualKey>
             metaOut.writeInt(METADATA_FILE_FORMAT_VERSION);
             metaOut.writeInt(minimumBuckets);
             metaOut.writeInt(numOfBuckets);
+            metaOut.writeLong(numOfEntries);
+            metaOut.writeInt(bucketFilter == null ? 0 : bucketFilter.getLongsPerBucket());
             metaOut.flush();
         }
     }
@@ -278,10 +426,11 @@ public class HalfDiskHashMap<K extends VirtualKey>
      */
     @Override
     public long getOffHeapConsumption() {
+        long consumption = (bucketFilter != null) ? bucketFilter.getOffHeapConsumption() : 0;
         if (bucketIndexToBucketLocation instanceof LongListOffHeap offheapIndex) {
-            return offheapIndex.getOffHeapConsumption();
+            consumption += offheapIndex.getOffHeapConsumption();
         }
-        return 0;
+        return consumption;
     }
 
     /**
@@ -301,6 +450,9 @@ public class HalfDiskHashMap<K extends VirtualKey>
     @Override
     public void close() throws IOException {
         bucketIndexToBucketLocation.close();
+        if (bucketFilter != null) {
+            bucketFilter.close();
+        }
         fileCollection.close();
     }
 
@@ -328,7 +480,7 @@ public class HalfDiskHashMap<K extends VirtualKey>
             throw new IllegalStateException("Tried to write with different thread to startWriting()");
         }
         // store key and value in transaction cache
-        final int bucketIndex = computeBucketIndex(key.hashCode());
+        final int bucketIndex = computeBucketIndex(key.hashCode(), numOfBuckets);
         return oneTransactionsData.getIfAbsentPut(bucketIndex, () -> new BucketMutation<>(key, oldValue, value));
     }
 
@@ -415,6 +567,8 @@ public class HalfDiskHashMap<K extends VirtualKey>
                 oneTransactionsData.stream().mapToLong(BucketMutation::size).sum());
 
         final DataFileReader<Bucket<K>> dataFileReader;
+        lastFlushBucketSplits = 0;
+        lastFlushMaxBucketEntries = 0;
         if (size > 0) {
             final Queue<ReadBucketResult<K>> queue = new ConcurrentLinkedQueue<>();
             final Iterator<IntObjectPair<BucketMutation<K>>> iterator =
@@ -422,6 +576,8 @@ public class HalfDiskHashMap<K extends VirtualKey>
 
             // read and update all buckets in parallel, write sequentially in random order
             fileCollection.startWriting();
+            long entryCountDelta = 0;
+            int maxBucketEntries = 0;
             int processed = 0;
             int inFlight = 0;
             while (processed < size) {
@@ -442,20 +598,34 @@ public class HalfDiskHashMap<K extends VirtualKey>
                     }
                     try (final Bucket<K> bucket = res.bucket) {
                         final int bucketIndex = bucket.getBucketIndex();
+                        entryCountDelta += res.entryCountDelta;
+                        maxBucketEntries = Math.max(maxBucketEntries, bucket.getBucketEntryCount());
                         if (bucket.isEmpty()) {
                             // bucket is missing or empty, remove it from the index
-                            bucketIndexToBucketLocation.remove(bucketIndex);
+                            fileCollection.removeFromIndex(bucketIndexToBucketLocation, bucketIndex);
+                            if (bucketFilter != null) {
+                                bucketFilter.clear(bucketIndex);
+                            }
                         } else {
+                            // update the filter first, so it's never behind the bucket in the index
+                            if (bucketFilter != null) {
+                                bucketFilter.update(bucket);
+                            }
                             // save bucket
                             final long bucketLocation = fileCollection.storeDataItem(bucket);
-                            // update bucketIndexToBucketLocation
-                            bucketIndexToBucketLocation.put(bucketIndex, bucketLocation);
+                            // update bucketIndexToBucketLocation, the previous bucket copy is now dead
+                            fileCollection.putToIndex(bucketIndexToBucketLocation, bucketIndex, bucketLocation);
                         }
                     } finally {
                         ++processed;
                     }
                 }
             }
+            numOfEntries = Math.max(0, numOfEntries + entryCountDelta);
+            lastFlushMaxBucketEntries = maxBucketEntries;
+            // grow the number of buckets, if needed, to keep the average bucket size close to
+            // GOOD_AVERAGE_BUCKET_ENTRY_COUNT. Split buckets are written to the same data file
+            splitBuckets();
             // close files session
             dataFileReader = fileCollection.endWriting(0, numOfBuckets);
             // we have updated all indexes so the data file can now be included in merges
@@ -488,12 +658,167 @@ public class HalfDiskHashMap<K extends VirtualKey>
                 bucket = bucketSerializer.getBucketPool().getBucket();
                 bucket.setBucketIndex(bucketIndex);
             }
+            final int entryCountBefore = bucket.getBucketEntryCount();
             // for each changed key in bucket, update bucket
             keyUpdates.forEachKeyValue(bucket::putValue);
-            queue.offer(new ReadBucketResult<>(bucket, null));
+            queue.offer(new ReadBucketResult<>(bucket, bucket.getBucketEntryCount() - entryCountBefore, null));
         } catch (final Exception e) {
             logger.error(EXCEPTION.getMarker(), "Failed to read / update bucket", e);
-            queue.offer(new ReadBucketResult<>(null, e));
+            queue.offer(new ReadBucketResult<>(null, 0, e));
+        }
+    }
+
+    /**
+     * Splits buckets, one by one, until the average number of entries per bucket is not greater
+     * than {@link #GOOD_AVERAGE_BUCKET_ENTRY_COUNT}, or {@link #maxBucketSplitsPerFlush} buckets
+     * are split. Must be called on the writing thread, while the file collection is in a writing
+     * session.
+     *
+     * @throws IOException If there was a problem reading or writing buckets
+     */
+    private void splitBuckets() throws IOException {
+        final long targetNumOfBuckets = Math.min(
+                MAX_NUM_OF_BUCKETS,
+                (numOfEntries + GOOD_AVERAGE_BUCKET_ENTRY_COUNT - 1) / GOOD_AVERAGE_BUCKET_ENTRY_COUNT);
+        int splitsLeft = maxBucketSplitsPerFlush;
+        // there is nothing to split if the map was created with no buckets at all
+        while ((numOfBuckets > 0) && (numOfBuckets < targetNumOfBuckets) && (splitsLeft > 0)) {
+            final int firstNewBucket = numOfBuckets;
+            // All buckets added in one batch must have the same split mask, otherwise a bucket
+            // could be split twice in the same batch
+            final int levelEnd = Integer.highestOneBit(firstNewBucket) << 1;
+            final long batchEnd = Math.min(targetNumOfBuckets, levelEnd);
+            final int count = (int) Math.min(batchEnd - firstNewBucket, splitsLeft);
+            splitBucketRange(firstNewBucket, count);
+            splitsLeft -= count;
+            lastFlushBucketSplits += count;
+        }
+    }
+
+    /**
+     * Splits a range of buckets. For every new bucket index in {@code [firstNewBucket,
+     * firstNewBucket + count)}, the bucket with index {@code newBucket - 2^L} is read, and all its
+     * entries that belong to the new bucket are moved there. All new buckets must have the same
+     * {@code L}.
+     *
+     * <p>The new buckets are written and indexed first. Then {@link #numOfBuckets} is updated, and
+     * readers start to look up moved keys in the new buckets. Only then the index is updated for
+     * the old buckets, which no longer contain the moved entries. A reader that computed a bucket
+     * index before the update may miss a moved key, so readers retry if the number of buckets was
+     * changed during a lookup.
+     *
+     * @param firstNewBucket the first new bucket index, must be equal to the current number of buckets
+     * @param count the number of buckets to split
+     * @throws IOException If there was a problem reading or writing buckets
+     */
+    private void splitBucketRange(final int firstNewBucket, final int count) throws IOException {
+        final int splitMask = (Integer.highestOneBit(firstNewBucket) << 1) - 1;
+        final int splitDistance = Integer.highestOneBit(firstNewBucket);
+        final Queue<SplitBucketResult<K>> queue = new ConcurrentLinkedQueue<>();
+        // Old bucket locations to update after numOfBuckets is updated. NON_EXISTENT_DATA_LOCATION
+        // means the old bucket is empty after the split and should be removed from the index
+        final long[] oldBucketLocations = new long[count];
+        final boolean[] oldBucketChanged = new boolean[count];
+        final long[][] oldBucketFilters = (bucketFilter != null) ? new long[count][] : null;
+        int maxBucketEntries = lastFlushMaxBucketEntries;
+        int submitted = 0;
+        int processed = 0;
+        int inFlight = 0;
+        while (processed < count) {
+            // submit read tasks
+            while ((inFlight < MAX_IN_FLIGHT) && (submitted < count)) {
+                final int newBucketIndex = firstNewBucket + submitted;
+                flushExecutor.execute(() ->
+                        readSplitQueueBucket(newBucketIndex - splitDistance, newBucketIndex, splitMask, queue));
+                ++submitted;
+                ++inFlight;
+            }
+
+            SplitBucketResult<K> res;
+            while ((res = queue.poll()) != null) {
+                --inFlight;
+                if (res.error != null) {
+                    throw new RuntimeException(res.error);
+                }
+                try (final Bucket<K> newBucket = res.newBucket;
+                        final Bucket<K> oldBucket = res.oldBucket) {
+                    final int i = newBucket.getBucketIndex() - firstNewBucket;
+                    if (!newBucket.isEmpty()) {
+                        maxBucketEntries = Math.max(maxBucketEntries, newBucket.getBucketEntryCount());
+                        if (bucketFilter != null) {
+                            bucketFilter.update(newBucket);
+                        }
+                        fileCollection.putToIndex(
+                                bucketIndexToBucketLocation,
+                                newBucket.getBucketIndex(),
+                                fileCollection.storeDataItem(newBucket));
+                        // the old bucket has changed only if some entries were moved out of it
+                        oldBucketChanged[i] = true;
+                        if (!oldBucket.isEmpty()) {
+                            maxBucketEntries = Math.max(maxBucketEntries, oldBucket.getBucketEntryCount());
+                            oldBucketLocations[i] = fileCollection.storeDataItem(oldBucket);
+                            if (oldBucketFilters != null) {
+                                oldBucketFilters[i] = bucketFilter.build(oldBucket);
+                            }
+                        }
+                    }
+                } finally {
+                    ++processed;
+                }
+            }
+        }
+        // publish the new buckets
+        numOfBuckets = firstNewBucket + count;
+        // and update the old ones
+        for (int i = 0; i < count; i++) {
+            if (oldBucketChanged[i]) {
+                final int oldBucketIndex = firstNewBucket + i - splitDistance;
+                if (oldBucketLocations[i] != NON_EXISTENT_DATA_LOCATION) {
+                    fileCollection.putToIndex(bucketIndexToBucketLocation, oldBucketIndex, oldBucketLocations[i]);
+                    if (oldBucketFilters != null) {
+                        bucketFilter.put(oldBucketIndex, oldBucketFilters[i]);
+                    }
+                } else {
+                    fileCollection.removeFromIndex(bucketIndexToBucketLocation, oldBucketIndex);
+                    if (bucketFilter != null) {
+                        bucketFilter.clear(oldBucketIndex);
+                    }
+                }
+            }
+        }
+        lastFlushMaxBucketEntries = maxBucketEntries;
+    }
+
+    /**
+     * Reads a bucket with a given index from disk, moves all entries that belong to a new bucket
+     * to the new bucket, and puts both buckets to a queue. If an exception is thrown, it's put to
+     * the queue instead, so the number of {@code SplitBucketResult} objects in the queue is
+     * consistent.
+     *
+     * @param oldBucketIndex The index of the bucket to split
+     * @param newBucketIndex The index of the new bucket
+     * @param splitMask The mask to apply to key hash codes to check if they belong to the new bucket
+     * @param queue The queue to put the buckets or exception to
+     */
+    private void readSplitQueueBucket(
+            final int oldBucketIndex,
+            final int newBucketIndex,
+            final int splitMask,
+            final Queue<SplitBucketResult<K>> queue) {
+        try {
+            // The buckets will be closed on the lifecycle thread
+            Bucket<K> oldBucket = fileCollection.readDataItemUsingIndex(bucketIndexToBucketLocation, oldBucketIndex);
+            if (oldBucket == null) {
+                oldBucket = bucketSerializer.getBucketPool().getBucket();
+                oldBucket.setBucketIndex(oldBucketIndex);
+            }
+            final Bucket<K> newBucket = bucketSerializer.getBucketPool().getBucket();
+            newBucket.setBucketIndex(newBucketIndex);
+            oldBucket.moveEntries(newBucket, keyHash -> (keyHash & splitMask) == newBucketIndex);
+            queue.offer(new SplitBucketResult<>(oldBucket, newBucket, null));
+        } catch (final Exception e) {
+            logger.error(EXCEPTION.getMarker(), "Failed to read / split bucket", e);
+            queue.offer(new SplitBucketResult<>(null, null, e));
         }
     }
 
@@ -514,13 +839,105 @@ public class HalfDiskHashMap<K extends VirtualKey>
             throw new IllegalArgumentException("Can not get a null key");
         }
         final int keyHash = key.hashCode();
-        final int bucketIndex = computeBucketIndex(keyHash);
-        try (final Bucket<K> bucket = fileCollection.readDataItemUsingIndex(bucketIndexToBucketLocation, bucketIndex)) {
-            if (bucket != null) {
-                return bucket.findValue(keyHash, key, notFoundValue);
+        while (true) {
+            final int buckets = numOfBuckets;
+            final int bucketIndex = computeBucketIndex(keyHash, buckets);
+            if (mayContain(bucketIndex, keyHash)) {
+                try (final Bucket<K> bucket =
+                        fileCollection.readDataItemUsingIndex(bucketIndexToBucketLocation, bucketIndex)) {
+                    if (bucket != null) {
+                        final long value = bucket.findValue(keyHash, key, notFoundValue);
+                        if (value != notFoundValue) {
+                            return value;
+                        }
+                        countFilterFalsePositive();
+                    }
+                }
+            }
+            // If buckets were split during the lookup, the key may have been moved to a new bucket
+            if (numOfBuckets == buckets) {
+                return notFoundValue;
+            }
+        }
+    }
+
+    /**
+     * Get values for a batch of keys. Keys are grouped by bucket, so every bucket is read just once,
+     * even if multiple keys fall into it. Buckets are read in the order of their locations on disk,
+     * which turns random reads into mostly sequential reads for large batches. Keys rejected by
+     * bucket filters are not looked up on disk at all.
+     *
+     * @param keys The keys to get values for
+     * @param notFoundValue the value to use for keys not found in the map
+     * @return array of values, a value at index N is for the key at index N in the list
+     * @throws IOException If there was a problem reading from the map
+     */
+    public long[] getAll(final List<K> keys, final long notFoundValue) throws IOException {
+        final int size = keys.size();
+        final long[] values = new long[size];
+        final int[] bucketIndices = new int[size];
+        final long[] bucketLocations = new long[size];
+        final Integer[] order = new Integer[size];
+        final int buckets = numOfBuckets;
+        for (int i = 0; i < size; i++) {
+            final K key = keys.get(i);
+            if (key == null) {
+                throw new IllegalArgumentException("Can not get a null key");
+            }
+            values[i] = notFoundValue;
+            final int keyHash = key.hashCode();
+            final int bucketIndex = computeBucketIndex(keyHash, buckets);
+            if (mayContain(bucketIndex, keyHash)) {
+                bucketIndices[i] = bucketIndex;
+                bucketLocations[i] = bucketIndexToBucketLocation.get(bucketIndex, NON_EXISTENT_DATA_LOCATION);
+            } else {
+                bucketIndices[i] = NO_BUCKET;
+                bucketLocations[i] = NON_EXISTENT_DATA_LOCATION;
+            }
+            order[i] = i;
+        }
+        // Sort by bucket location, then by bucket index, so keys from the same bucket are next to
+        // each other. Bucket locations may be changed by compaction in parallel, it only affects
+        // the read order, buckets themselves are read using the index below
+        Arrays.sort(order, (a, b) -> {
+            final int byLocation = Long.compare(bucketLocations[a], bucketLocations[b]);
+            return byLocation != 0 ? byLocation : Integer.compare(bucketIndices[a], bucketIndices[b]);
+        });
+        int i = 0;
+        while (i < size) {
+            final int bucketIndex = bucketIndices[order[i]];
+            int end = i + 1;
+            while ((end < size) && (bucketIndices[order[end]] == bucketIndex)) {
+                end++;
             }
+            if (bucketIndex == NO_BUCKET) {
+                // all these keys were rejected by filters
+                i = end;
+                continue;
+            }
+            try (final Bucket<K> bucket =
+                    fileCollection.readDataItemUsingIndex(bucketIndexToBucketLocation, bucketIndex)) {
+                for (int j = i; j < end; j++) {
+                    final K key = keys.get(order[j]);
+                    if (bucket != null) {
+                        values[order[j]] = bucket.findValue(key.hashCode(), key, notFoundValue);
+                        if (values[order[j]] == notFoundValue) {
+                            countFilterFalsePositive();
+                        }
+                    }
+                }
+            }
+            i = end;
         }
-        return notFoundValue;
+        // If buckets were split during the lookup, keys not found may have been moved to new buckets
+        if (numOfBuckets != buckets) {
+            for (int j = 0; j < size; j++) {
+                if (values[j] == notFoundValue) {
+                    values[j] = get(keys.get(j), notFoundValue);
+                }
+            }
+        }
+        return values;
     }
 
     // =================================================================================================================
@@ -535,14 +952,74 @@ public class HalfDiskHashMap<K extends VirtualKey>
                         	mapSize = {}
                         	minimumBuckets = {}
                         	numOfBuckets = {}
+                        	numOfEntries = {}
                         	GOOD_AVERAGE_BUCKET_ENTRY_COUNT = {}
                         }""",
                 mapSize,
                 minimumBuckets,
                 numOfBuckets,
+                numOfEntries,
                 GOOD_AVERAGE_BUCKET_ENTRY_COUNT);
     }
 
+    /**
+     * Get the current number of buckets.
+     *
+     * @return the number of buckets
+     */
+    public int getNumOfBuckets() {
+        return numOfBuckets;
+    }
+
+    /**
+     * Get the number of entries stored in this map.
+     *
+     * @return the number of entries
+     */
+    public long getNumOfEntries() {
+        return numOfEntries;
+    }
+
+    /**
+     * Get the number of key lookups that didn't read buckets from disk, because the keys were
+     * rejected by bucket filters, since the last call to this method.
+     *
+     * @return the number of saved bucket reads
+     */
+    public long resetFilterNegatives() {
+        return filterNegatives.sumThenReset();
+    }
+
+    /**
+     * Get the number of key lookups that matched bucket filters, but found no keys in buckets read
+     * from disk, since the last call to this method.
+     *
+     * @return the number of filter false positives
+     */
+    public long resetFilterFalsePositives() {
+        return filterFalsePositives.sumThenReset();
+    }
+
+    /**
+     * Get the number of buckets split during the last {@link #endWriting()} call.
+     *
+     * @return the number of split buckets
+     */
+    public int getLastFlushBucketSplits() {
+        return lastFlushBucketSplits;
+    }
+
+    /**
+     * Get the maximum number of entries in a bucket written during the last {@link #endWriting()}
+     * call. Together with the average number of entries per bucket, this shows how evenly keys
+     * are distributed across buckets.
+     *
+     * @return the maximum number of entries in a written bucket
+     */
+    public int getLastFlushMaxBucketEntries() {
+        return lastFlushMaxBucketEntries;
+    }
+
     public DataFileCollection<Bucket<K>> getFileCollection() {
         return fileCollection;
     }
@@ -555,19 +1032,57 @@ public class HalfDiskHashMap<K extends VirtualKey>
     // Private API
 
     /**
-     * Computes which bucket a key with the given hash falls. Depends on the fact the numOfBuckets
-     * is a power of two. Based on same calculation that is used in java HashMap.
+     * Computes which bucket a key with the given hash falls. This is linear hashing: the hash is
+     * masked with the next power of two not less than the number of buckets, and if the result is
+     * a bucket that doesn't exist yet, i.e. hasn't been split off yet, it's masked with the
+     * previous power of two. If the number of buckets is a power of two, this is the same
+     * calculation that is used in java HashMap.
      *
      * @param keyHash the int hash for key
+     * @param buckets the number of buckets
      * @return the index of the bucket that key falls in
      */
-    private int computeBucketIndex(final int keyHash) {
-        return (numOfBuckets - 1) & keyHash;
+    private static int computeBucketIndex(final int keyHash, final int buckets) {
+        final int levelEnd = Integer.highestOneBit(buckets) << 1;
+        final int bucketIndex = (levelEnd - 1) & keyHash;
+        return (bucketIndex < buckets) ? bucketIndex : bucketIndex - (levelEnd >>> 1);
     }
 
-    private record ReadBucketResult<K extends VirtualKey>(Bucket<K> bucket, Throwable error) {
+    /**
+     * Checks bucket filters if the key with the given hash code may be in the given bucket. If
+     * filters are disabled, any key may be in any bucket.
+     *
+     * @param bucketIndex the bucket index
+     * @param keyHash the key hash code
+     * @return false if the key is definitely not in the bucket
+     */
+    private boolean mayContain(final int bucketIndex, final int keyHash) {
+        if (bucketFilter == null) {
+            return true;
+        }
+        if (bucketFilter.mayContain(bucketIndex, keyHash)) {
+            return true;
+        }
+        filterNegatives.increment();
+        return false;
+    }
+
+    /** Counts a key lookup that matched a bucket filter and read the bucket, but found no key in it. */
+    private void countFilterFalsePositive() {
+        if (bucketFilter != null) {
+            filterFalsePositives.increment();
+        }
+    }
+
+    private record ReadBucketResult<K extends VirtualKey>(Bucket<K> bucket, int entryCountDelta, Throwable error) {
         public ReadBucketResult {
             assert (bucket != null) ^ (error != null);
         }
     }
+
+    private record SplitBucketResult<K extends VirtualKey>(Bucket<K> oldBucket, Bucket<K> newBucket, Throwable error) {
+        public SplitBucketResult {
+            assert ((oldBucket != null) && (newBucket != null)) ^ (error != null);
+        }
+    }
 }
@@ -24,6 +24,7 @@ import com.hedera.pbj.runtime.ProtoConstants;
 import com.hedera.pbj.runtime.ProtoWriterTools;
 import com.hedera.pbj.runtime.io.ReadableSequentialData;
 import com.hedera.pbj.runtime.io.WritableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.swirlds.merkledb.serialize.KeySerializer;
 import com.swirlds.virtualmap.VirtualKey;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -31,7 +32,10 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -167,6 +171,44 @@ public final class ParsedBucket<K extends VirtualKey> extends Bucket<K> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachKeyHashCode(final IntConsumer action) {
+        for (final BucketEntry entry : entries) {
+            action.accept(entry.getHashCode());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void moveEntries(final Bucket<K> target, final IntPredicate moveKeyHashCode) {
+        final Iterator<BucketEntry> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            final BucketEntry entry = iterator.next();
+            if (moveKeyHashCode.test(entry.getHashCode())) {
+                target.putValue(entry.getKey(), entry.getValue());
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void addEntryField(final BufferedData entryField) {
+        entryField.resetPosition();
+        entryField.readVarInt(false); // tag
+        final int entryBytesSize = entryField.readVarInt(false);
+        entryField.limit(entryField.position() + entryBytesSize);
+        entries.add(new BucketEntry(entryField));
+        checkLargestBucket(entries.size());
+    }
+
     public void readFrom(final ReadableSequentialData in) {
         // defaults
         bucketIndex = 0;
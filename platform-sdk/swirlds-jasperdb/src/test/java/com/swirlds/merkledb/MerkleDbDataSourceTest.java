@@ -241,6 +241,36 @@ class MerkleDbDataSourceTest {
         });
     }
 
+    @ParameterizedTest
+    @EnumSource(TestType.class)
+    void warmLeafRecords(final TestType testType) throws IOException {
+        final int count = 1_000;
+        createAndApplyDataSource(testDirectory, "testWarm", testType, count, dataSource -> {
+            dataSource.saveRecords(
+                    count,
+                    count * 2,
+                    IntStream.range(count, count * 2).mapToObj(MerkleDbDataSourceTest::createVirtualInternalRecord),
+                    IntStream.range(count, count * 2)
+                            .mapToObj(i -> testType.dataType().createVirtualLeafRecord(i)),
+                    Stream.empty());
+            // Keys in random order, some of them are not in the data source
+            final int[] randomInts = shuffle(RANDOM, IntStream.range(0, count * 3).toArray());
+            final List<VirtualLongKey> keys = Arrays.stream(randomInts)
+                    .mapToObj(i -> testType.dataType().createVirtualLongKey(i))
+                    .toList();
+            assertDoesNotThrow(() -> dataSource.warmLeafRecords(keys), "Warming keys should not fail");
+            // Warming twice should be fine, too, some keys may be cached now
+            assertDoesNotThrow(() -> dataSource.warmLeafRecords(keys), "Warming keys should not fail");
+            assertDoesNotThrow(() -> dataSource.warmLeafRecords(List.of()), "Warming no keys should not fail");
+            // Warmed data must be the same as stored
+            IntStream.range(count, count * 2).forEach(i -> assertLeaf(testType, dataSource, i, i));
+            for (int i = 0; i < count; i++) {
+                assertNull(dataSource.loadLeafRecord(testType.dataType().createVirtualLongKey(i)));
+                assertEquals(INVALID_PATH, dataSource.findKey(testType.dataType().createVirtualLongKey(i)));
+            }
+        });
+    }
+
     @ParameterizedTest
     @Tag(TestQualifierTags.TIME_CONSUMING)
     @EnumSource(TestType.class)
@@ -80,6 +80,9 @@ class MerkleDbStatisticsTest {
         assertDoesNotThrow(statistics::countHashReads);
         assertDoesNotThrow(statistics::countLeafReads);
         assertDoesNotThrow(statistics::countLeafKeyReads);
+        assertDoesNotThrow(statistics::countLeafCacheHits);
+        assertDoesNotThrow(statistics::countLeafCacheMisses);
+        assertDoesNotThrow(statistics::countLeafCacheEvictions);
         assertDoesNotThrow(() -> statistics.setHashesStoreFileCount(42));
         assertDoesNotThrow(() -> statistics.setHashesStoreFileSizeMb(31415));
         assertDoesNotThrow(() -> statistics.setLeafKeysStoreFileCount(42));
@@ -160,6 +163,36 @@ class MerkleDbStatisticsTest {
         assertValueSet(metric);
     }
 
+    @Test
+    void testCycleLeafCacheHitsPerSecond() {
+        // given
+        final Metric metric = getMetric("cache_", "leafHits_" + LABEL);
+        // when
+        statistics.countLeafCacheHits();
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testCycleLeafCacheMissesPerSecond() {
+        // given
+        final Metric metric = getMetric("cache_", "leafMisses_" + LABEL);
+        // when
+        statistics.countLeafCacheMisses();
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testCycleLeafCacheEvictionsPerSecond() {
+        // given
+        final Metric metric = getMetric("cache_", "leafEvictions_" + LABEL);
+        // when
+        statistics.countLeafCacheEvictions();
+        // then
+        assertValueSet(metric);
+    }
+
     @Test
     void testSetHashesStoreFileCount() {
         // given
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.merkledb.test.fixtures.ExampleFixedSizeVirtualValue;
+import com.swirlds.merkledb.test.fixtures.ExampleLongKeyFixedSize;
+import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class VirtualLeafRecordCacheTest {
+
+    private static VirtualLeafRecord<ExampleLongKeyFixedSize, ExampleFixedSizeVirtualValue> record(
+            final long key, final long path) {
+        return new VirtualLeafRecord<>(
+                path, new ExampleLongKeyFixedSize(key), new ExampleFixedSizeVirtualValue((int) key));
+    }
+
+    private static ExampleLongKeyFixedSize key(final long key) {
+        return new ExampleLongKeyFixedSize(key);
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new VirtualLeafRecordCache<>(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new VirtualLeafRecordCache<>(16, 0));
+    }
+
+    @Test
+    void waysLimitedBySize() {
+        final VirtualLeafRecordCache<ExampleLongKeyFixedSize, ExampleFixedSizeVirtualValue> cache =
+                new VirtualLeafRecordCache<>(2, 8);
+        assertEquals(2, cache.getWays(), "Number of ways must not exceed cache size");
+        assertEquals(2, cache.getCapacity(), "Wrong cache capacity");
+    }
+
+    @Test
+    void putAndGet() {
+        final VirtualLeafRecordCache<ExampleLongKeyFixedSize, ExampleFixedSizeVirtualValue> cache =
+                new VirtualLeafRecordCache<>(1024, 4);
+        final var leafRecord = record(1, 10);
+        assertFalse(cache.put(leafRecord), "Nothing should be evicted from empty cache");
+        assertSame(leafRecord, cache.get(key(1)), "Cached record should be returned");
+        assertNull(cache.get(key(2)), "Key is not in the cache");
+    }
+
+    @Test
+    void putReplacesSameKey() {
+        final VirtualLeafRecordCache<ExampleLongKeyFixedSize, ExampleFixedSizeVirtualValue> cache =
+                new VirtualLeafRecordCache<>(4, 4);
+        cache.put(record(1, 10));
+        assertFalse(cache.put(record(1, 11)), "Replacing a record with the same key is not an eviction");
+        assertEquals(11, cache.get(key(1)).getPath(), "The latest record should be returned");
+        // Make sure the key takes only one slot
+        for (int i = 2; i <= 4; i++) {
+            assertFalse(cache.put(record(i, i)), "There must be free slots in the cache");
+        }
+    }
+
+    @Test
+    void collidingKeysAreKept() {
+        // A single set, all keys collide
+        final VirtualLeafRecordCache<ExampleLongKeyFixedSize, ExampleFixedSizeVirtualValue> cache =
+                new VirtualLeafRecordCache<>(4, 4);
+        for (int i = 0; i < 4; i++) {
+            assertFalse(cache.put(record(i, i)), "No evictions expected");
+        }
+        for (int i = 0; i < 4; i++) {
+            assertNotNull(cache.get(key(i)), "All keys should be in the cache");
+        }
+    }
+
+    @Test
+    void clockEvictsNotReferencedRecords() {
+        final VirtualLeafRecordCache<ExampleLongKeyFixedSize, ExampleFixedSizeVirtualValue> cache =
+                new VirtualLeafRecordCache<>(4, 4);
+        for (int i = 0; i < 4; i++) {
+            cache.put(record(i, i));
+        }
+        // Reference all keys but 2
+        cache.get(key(0));
+        cache.get(key(1));
+        cache.get(key(3));
+        assertTrue(cache.put(record(4, 4)), "A record should be evicted from a full set");
+        assertNull(cache.get(key(2)), "Not referenced key should be evicted");
+        assertNotNull(cache.get(key(0)), "Referenced key should be kept");
+        assertNotNull(cache.get(key(1)), "Referenced key should be kept");
+        assertNotNull(cache.get(key(3)), "Referenced key should be kept");
+        assertNotNull(cache.get(key(4)), "New key should be cached");
+    }
+
+    @Test
+    void directMapped() {
+        final VirtualLeafRecordCache<ExampleLongKeyFixedSize, ExampleFixedSizeVirtualValue> cache =
+                new VirtualLeafRecordCache<>(1, 1);
+        cache.put(record(1, 1));
+        cache.get(key(1));
+        assertTrue(cache.put(record(2, 2)), "The only slot should be evicted");
+        assertNull(cache.get(key(1)), "Evicted key should not be in the cache");
+        assertNotNull(cache.get(key(2)), "New key should be cached");
+    }
+
+    @Test
+    void invalidate() {
+        final VirtualLeafRecordCache<ExampleLongKeyFixedSize, ExampleFixedSizeVirtualValue> cache =
+                new VirtualLeafRecordCache<>(1024, 4);
+        cache.put(record(1, 1));
+        cache.put(record(2, 2));
+        cache.invalidate(key(1));
+        cache.invalidate(key(3));
+        assertNull(cache.get(key(1)), "Invalidated key should not be in the cache");
+        assertNotNull(cache.get(key(2)), "Other keys should not be affected");
+    }
+
+    @Test
+    void concurrentAccess() {
+        final VirtualLeafRecordCache<ExampleLongKeyFixedSize, ExampleFixedSizeVirtualValue> cache =
+                new VirtualLeafRecordCache<>(256, 4);
+        final AtomicBoolean failed = new AtomicBoolean(false);
+        IntStream.range(0, 8).parallel().forEach(thread -> {
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 100_000; i++) {
+                final long k = random.nextLong(1024);
+                if (random.nextInt(4) == 0) {
+                    cache.put(record(k, k));
+                } else if (random.nextInt(16) == 0) {
+                    cache.invalidate(key(k));
+                } else {
+                    final var cached = cache.get(key(k));
+                    if ((cached != null) && ((cached.getPath() != k) || (cached.getValue() == null))) {
+                        failed.set(true);
+                    }
+                }
+            }
+        });
+        assertFalse(failed.get(), "Cache returned a wrong or partially initialized record");
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class CompactionThrottleTest {
+
+    private static final long MB = 1024 * 1024;
+
+    @Test
+    void unlimitedThrottleNeverWaits() throws InterruptedException {
+        final CompactionThrottle throttle = new CompactionThrottle(0);
+        assertFalse(throttle.isEnabled(), "Throttle should be disabled");
+        assertEquals(0, throttle.reserve(Long.MAX_VALUE / 2), "Unlimited throttle should not wait");
+        assertEquals(0, throttle.acquire(Long.MAX_VALUE / 2), "Unlimited throttle should not wait");
+    }
+
+    @Test
+    void negativeRateIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new CompactionThrottle(-1));
+    }
+
+    @Test
+    void burstIsAllowedThenRateIsLimited() {
+        final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+        // 10 Mb per second, so 100 ms burst is 1 Mb
+        final CompactionThrottle throttle = new CompactionThrottle(10 * MB, now::get);
+        assertTrue(throttle.isEnabled(), "Throttle should be enabled");
+        assertEquals(0, throttle.reserve(MB), "Burst should not wait");
+        // the next Mb takes 100 ms
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), throttle.reserve(MB), "Wrong wait time");
+        // and the next one is queued after it
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), throttle.reserve(MB), "Wrong wait time");
+        // after the tokens are refilled, there is no wait
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(0, throttle.reserve(MB / 2), "Refilled tokens should not wait");
+    }
+
+    @Test
+    void unusedTokensAreCappedByBurst() {
+        final AtomicLong now = new AtomicLong(0);
+        final CompactionThrottle throttle = new CompactionThrottle(10 * MB, now::get);
+        // idle for a long time
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertEquals(0, throttle.reserve(MB), "Burst should not wait");
+        assertEquals(
+                TimeUnit.MILLISECONDS.toNanos(100), throttle.reserve(MB), "Tokens beyond the burst should be lost");
+    }
+}
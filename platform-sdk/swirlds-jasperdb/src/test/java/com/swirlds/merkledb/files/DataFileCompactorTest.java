@@ -18,6 +18,7 @@ package com.swirlds.merkledb.files;
 
 import static com.swirlds.common.test.fixtures.RandomUtils.nextInt;
 import static com.swirlds.merkledb.files.DataFileCompactor.compactionPlan;
+import static com.swirlds.merkledb.files.DataFileCompactor.garbageCompactionPlan;
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
@@ -151,10 +152,66 @@ class DataFileCompactorTest {
         assertEquals(initialLevel3, result.get(2));
     }
 
+    @Test
+    void testCompactionPlanMultiLevel_sizeLimit() {
+        when(initialLevel1.getSize()).thenReturn(100L);
+        when(initialLevel2.getSize()).thenReturn(100L);
+        when(firstLevel1.getSize()).thenReturn(100L);
+        when(firstLevel2.getSize()).thenReturn(100L);
+        when(secondLevel1.getSize()).thenReturn(100L);
+        when(secondLevel2.getSize()).thenReturn(100L);
+        final List<DataFileReader<Object>> readers = Arrays.asList(
+                initialLevel1, initialLevel2, firstLevel1, firstLevel2, secondLevel1, secondLevel2);
+        // everything fits
+        assertEquals(6, compactionPlan(readers, 2, 5, 600).size());
+        // only the first file of level 2 fits, the rest is left for later
+        List<? extends DataFileReader<Object>> result = compactionPlan(readers, 2, 5, 550);
+        assertEquals(5, result.size());
+        assertEquals(secondLevel1, result.get(4));
+        // only the first file of level 1 fits, level 2 is not included
+        result = compactionPlan(readers, 2, 5, 300);
+        assertEquals(3, result.size());
+        assertEquals(firstLevel1, result.get(2));
+        // level 0 files are always included
+        result = compactionPlan(readers, 2, 5, 50);
+        assertEquals(2, result.size());
+        assertEquals(initialLevel1, result.get(0));
+        assertEquals(initialLevel2, result.get(1));
+    }
+
     @Test
     void testCompactionPlanMultiLevel_noInitialLevelFiles() {
         List<? extends DataFileReader<Object>> result =
                 compactionPlan(Arrays.asList(firstLevel1, secondLevel1, secondLevel2), 3, 5);
         assertEquals(0, result.size());
     }
+
+    @Test
+    void testGarbageCompactionPlan() {
+        initReaderGarbage(initialLevel1, 0, 0.0);
+        initReaderGarbage(firstLevel1, 10, 0.1);
+        initReaderGarbage(firstLevel2, 60, 0.6);
+        initReaderGarbage(secondLevel1, 90, 0.9);
+        initReaderGarbage(secondLevel2, 70, 0.7);
+        final List<DataFileReader<Object>> readers =
+                Arrays.asList(initialLevel1, firstLevel1, firstLevel2, secondLevel1, secondLevel2);
+        // files are ordered by garbage ratio, files with low ratios are skipped
+        List<? extends DataFileReader<Object>> result = garbageCompactionPlan(readers, emptyList(), 1000, 0.5);
+        assertEquals(Arrays.asList(secondLevel1, secondLevel2, firstLevel2), result);
+        // files already selected are skipped
+        result = garbageCompactionPlan(readers, List.of(secondLevel2), 1000, 0.5);
+        assertEquals(Arrays.asList(secondLevel1, firstLevel2), result);
+        // files that don't fit are skipped, but smaller files with lower ratios are still selected
+        when(secondLevel2.getSize()).thenReturn(300L);
+        result = garbageCompactionPlan(readers, emptyList(), 250, 0.5);
+        assertEquals(Arrays.asList(secondLevel1, firstLevel2), result);
+        // ratios above 1 disable selection by garbage ratio
+        assertEquals(0, garbageCompactionPlan(readers, emptyList(), 1000, 1.1).size());
+    }
+
+    private void initReaderGarbage(DataFileReader<?> reader, long deadItemCount, double garbageRatio) {
+        when(reader.getSize()).thenReturn(100L);
+        when(reader.getDeadItemCount()).thenReturn(deadItemCount);
+        when(reader.getGarbageRatio()).thenReturn(garbageRatio);
+    }
 }
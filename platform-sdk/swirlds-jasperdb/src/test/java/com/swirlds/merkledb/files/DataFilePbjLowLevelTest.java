@@ -21,6 +21,8 @@ import static com.swirlds.merkledb.files.DataFileCommon.createDataFilePath;
 import static com.swirlds.merkledb.files.DataFileCompactor.INITIAL_COMPACTION_LEVEL;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.hedera.pbj.runtime.ProtoParserTools;
@@ -304,6 +306,61 @@ class DataFilePbjLowLevelTest {
         secondReader.close();
     }
 
+    @Order(202)
+    @ParameterizedTest
+    @EnumSource(FilesTestType.class)
+    void readBackWithMemoryMappedReader(FilesTestType testType) throws IOException {
+        final var dataFile = dataFileMap.get(testType);
+        final var dataFileMetadata = dataFileMetadataMap.get(testType);
+        final var listOfDataItemLocations = listOfDataItemLocationsMap.get(testType);
+        final DataFileReaderPbj<long[]> dataFileReader =
+                new DataFileReaderPbj<>(dataFile, testType.dataItemSerializer, dataFileMetadata, true);
+        // Files are only mapped after they are completed
+        assertFalse(dataFileReader.isMemoryMapped(), "Incomplete file should not be memory mapped");
+        for (int i = 0; i < 1000; i++) {
+            long[] dataItem = dataFileReader.readDataItem(listOfDataItemLocations.get(i));
+            checkItem(testType, i, dataItem);
+        }
+        dataFileReader.setFileCompleted();
+        assertTrue(dataFileReader.isMemoryMapped(), "Completed file should be memory mapped");
+        // check by locations returned by write
+        for (int i = 0; i < 1000; i++) {
+            long[] dataItem = dataFileReader.readDataItem(listOfDataItemLocations.get(i));
+            checkItem(testType, i, dataItem);
+        }
+        // check raw bytes are the same as read through a file channel
+        final DataFileReaderPbj<long[]> channelReader =
+                new DataFileReaderPbj<>(dataFile, testType.dataItemSerializer, dataFileMetadata, false);
+        channelReader.setFileCompleted();
+        assertFalse(channelReader.isMemoryMapped(), "File should not be memory mapped");
+        for (int i = 0; i < 1000; i++) {
+            final BufferedData mappedBytes =
+                    (BufferedData) dataFileReader.readDataItemBytes(listOfDataItemLocations.get(i));
+            final BufferedData channelBytes =
+                    (BufferedData) channelReader.readDataItemBytes(listOfDataItemLocations.get(i));
+            assertEquals(channelBytes.remaining(), mappedBytes.remaining(), "Data item sizes should be the same");
+            for (long j = 0; j < channelBytes.remaining(); j++) {
+                assertEquals(
+                        channelBytes.getByte(channelBytes.position() + j),
+                        mappedBytes.getByte(mappedBytes.position() + j),
+                        "Data item bytes should be the same");
+            }
+        }
+        // check by random parallel
+        IntStream.range(0, 10_000).map(i -> RANDOM.nextInt(1000)).parallel().forEach(i -> {
+            try {
+                long[] dataItem = dataFileReader.readDataItem(listOfDataItemLocations.get(i));
+                checkItem(testType, i, dataItem);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+        dataFileReader.close();
+        channelReader.close();
+        assertFalse(dataFileReader.isMemoryMapped(), "Closed file should not be memory mapped");
+        assertNull(dataFileReader.readDataItem(listOfDataItemLocations.get(0)), "Closed reader should return null");
+    }
+
     @Order(300)
     @ParameterizedTest
     @EnumSource(FilesTestType.class)
@@ -295,4 +295,33 @@ class MemoryIndexDiskKeyValueStoreTest {
         deleteDirectoryAndContents(tempDir);
         deleteDirectoryAndContents(tempSnapshotDir);
     }
+
+    @ParameterizedTest
+    @EnumSource(FilesTestType.class)
+    void overwrittenItemsAreCountedAsDead(final FilesTestType testType) throws Exception {
+        final Path tempDir = testDirectory.resolve("DeadItemsTest");
+        final LongListOffHeap index = new LongListOffHeap();
+        final MemoryIndexDiskKeyValueStore<long[]> store = new MemoryIndexDiskKeyValueStore<>(
+                ConfigurationHolder.getConfigData(MerkleDbConfig.class),
+                tempDir,
+                "DeadItemsTest",
+                null,
+                testType.dataItemSerializer,
+                null,
+                index);
+        writeBatch(testType, store, 0, 100, 100, 1234);
+        final DataFileReader<long[]> firstFile = store.fileCollection.getAllCompletedFiles().get(0);
+        assertEquals(0, firstFile.getDeadItemCount(), "No items should be dead yet");
+        // overwrite half of the items
+        writeBatch(testType, store, 0, 50, 100, 5678);
+        checkRange(testType, store, 0, 50, 5678);
+        checkRange(testType, store, 50, 50, 1234);
+        assertEquals(50, firstFile.getDeadItemCount(), "Overwritten items should be dead");
+        assertEquals(0.5, firstFile.getGarbageRatio(), 0.0001, "Unexpected garbage ratio");
+        final DataFileReader<long[]> secondFile = store.fileCollection.getAllCompletedFiles().get(1);
+        assertEquals(0, secondFile.getDeadItemCount(), "No items in the new file should be dead");
+        store.close();
+        index.close();
+        deleteDirectoryAndContents(tempDir);
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files.hashmap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.merkledb.serialize.KeySerializer;
+import com.swirlds.merkledb.test.fixtures.ExampleLongKeyFixedSize;
+import com.swirlds.virtualmap.VirtualLongKey;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@SuppressWarnings("unchecked")
+class BucketFilterTest {
+
+    /** Temporary directory provided by JUnit */
+    @SuppressWarnings("unused")
+    @TempDir
+    Path tempDirPath;
+
+    private static final int MAX_BUCKETS = 1024;
+
+    private static final KeySerializer<VirtualLongKey> KEY_SERIALIZER =
+            (KeySerializer<VirtualLongKey>) ((Object) new ExampleLongKeyFixedSize.Serializer());
+
+    private static Bucket<VirtualLongKey> createBucket(final int bucketIndex, final int firstKey, final int count) {
+        final Bucket<VirtualLongKey> bucket = new Bucket<>(KEY_SERIALIZER);
+        bucket.setBucketIndex(bucketIndex);
+        for (int i = firstKey; i < firstKey + count; i++) {
+            bucket.putValue(new ExampleLongKeyFixedSize(i), i);
+        }
+        return bucket;
+    }
+
+    @Test
+    void keysInBucketAreNeverRejected() {
+        try (final BucketFilter filter = new BucketFilter(4, 32, MAX_BUCKETS)) {
+            filter.update(createBucket(5, 1000, 64));
+            for (int i = 1000; i < 1064; i++) {
+                assertTrue(
+                        filter.mayContain(5, new ExampleLongKeyFixedSize(i).hashCode()),
+                        "Key " + i + " should not be rejected");
+            }
+        }
+    }
+
+    @Test
+    void mostAbsentKeysAreRejected() {
+        try (final BucketFilter filter = new BucketFilter(4, 32, MAX_BUCKETS)) {
+            filter.update(createBucket(5, 1000, 32));
+            int falsePositives = 0;
+            for (int i = 0; i < 10_000; i++) {
+                if (filter.mayContain(5, new ExampleLongKeyFixedSize(100_000 + i).hashCode())) {
+                    falsePositives++;
+                }
+            }
+            // 8 bits per key, the expected false positive rate is about 2-3%
+            assertTrue(falsePositives < 1000, "Too many false positives: " + falsePositives);
+            // buckets that were never written have no filters
+            assertTrue(filter.mayContain(6, new ExampleLongKeyFixedSize(1000).hashCode()), "Bucket 6 has no filter");
+        }
+    }
+
+    @Test
+    void filtersAreRebuiltAndCleared() {
+        try (final BucketFilter filter = new BucketFilter(2, 32, MAX_BUCKETS)) {
+            final int keyHash = new ExampleLongKeyFixedSize(1000).hashCode();
+            filter.update(createBucket(1, 1000, 1));
+            assertTrue(filter.mayContain(1, keyHash), "Key should not be rejected");
+            // a rebuilt filter doesn't contain removed keys
+            filter.update(createBucket(1, 2000, 1));
+            assertFalse(filter.mayContain(1, keyHash), "Removed key should be rejected");
+            filter.update(createBucket(1, 1000, 1));
+            filter.clear(1);
+            assertFalse(filter.mayContain(1, keyHash), "Cleared filter should reject all keys");
+            assertTrue(filter.mayContain(0, keyHash), "Bucket without a filter should accept all keys");
+        }
+        try (final BucketFilter filter = new BucketFilter(2, 32, MAX_BUCKETS)) {
+            assertEquals(0, filter.getOffHeapConsumption(), "Buckets without filters should take no memory");
+        }
+    }
+
+    @Test
+    void filtersMustFitInLongList() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new BucketFilter(4, 32, 1 << 30),
+                "Filters for 2^30 buckets of 4 longs don't fit in a long list");
+    }
+
+    @Test
+    void filtersAreSavedAndLoaded() throws IOException {
+        final Path file = tempDirPath.resolve("filters.ll");
+        try (final BucketFilter filter = new BucketFilter(4, 32, MAX_BUCKETS)) {
+            filter.update(createBucket(3, 1000, 32));
+            filter.writeToFile(file);
+        }
+        try (final BucketFilter loaded = new BucketFilter(4, 32, MAX_BUCKETS, file)) {
+            assertEquals(4, loaded.getLongsPerBucket(), "Wrong filter size");
+            for (int i = 1000; i < 1032; i++) {
+                assertTrue(
+                        loaded.mayContain(3, new ExampleLongKeyFixedSize(i).hashCode()),
+                        "Key " + i + " should not be rejected");
+            }
+        }
+    }
+}
@@ -285,6 +285,54 @@ class BucketTest {
         assertDoesNotThrow(() -> bucket.putValue(key1, INVALID_VALUE, 1));
     }
 
+    @ParameterizedTest
+    @EnumSource(KeyType.class)
+    void moveEntriesSplitsBucket(final KeyType keyType) throws IOException {
+        checkMoveEntries(keyType, new Bucket<>(keyType.keySerializer), new Bucket<>(keyType.keySerializer));
+        checkMoveEntries(keyType, new ParsedBucket<>(keyType.keySerializer), new Bucket<>(keyType.keySerializer));
+        checkMoveEntries(keyType, new Bucket<>(keyType.keySerializer), new ParsedBucket<>(keyType.keySerializer));
+    }
+
+    private void checkMoveEntries(
+            final KeyType keyType, final Bucket<VirtualLongKey> bucket, final Bucket<VirtualLongKey> target)
+            throws IOException {
+        final VirtualLongKey[] testKeys = new VirtualLongKey[20];
+        for (int i = 0; i < testKeys.length; i++) {
+            testKeys[i] = keyType.keyConstructor.apply((long) (i + 10));
+            bucket.putValue(testKeys[i], testKeys[i].getKeyAsLong() + 100);
+        }
+        bucket.setBucketIndex(3);
+        target.setBucketIndex(7);
+        // move keys with odd hash codes
+        bucket.moveEntries(target, keyHash -> (keyHash & 1) == 1);
+        int moved = 0;
+        for (final VirtualLongKey key : testKeys) {
+            final boolean shouldMove = (key.hashCode() & 1) == 1;
+            checkKey(shouldMove ? target : bucket, key);
+            assertEquals(
+                    -1,
+                    (shouldMove ? bucket : target).findValue(key.hashCode(), key, -1),
+                    "Key should be in one bucket only");
+            moved += shouldMove ? 1 : 0;
+        }
+        assertEquals(testKeys.length - moved, bucket.getBucketEntryCount(), "Check we have correct count");
+        assertEquals(moved, target.getBucketEntryCount(), "Check we have correct count");
+        assertEquals(3, bucket.getBucketIndex(), "Bucket index should not change");
+        assertEquals(7, target.getBucketIndex(), "Bucket index should not change");
+        // moved entries are preserved when the buckets are serialized
+        final BufferedData buf = BufferedData.allocate(target.sizeInBytes());
+        target.writeTo(buf);
+        buf.reset();
+        final Bucket<VirtualLongKey> readBucket = new Bucket<>(keyType.keySerializer);
+        readBucket.readFrom(buf);
+        assertEquals(moved, readBucket.getBucketEntryCount(), "Check we have correct count");
+        for (final VirtualLongKey key : testKeys) {
+            if ((key.hashCode() & 1) == 1) {
+                checkKey(readBucket, key);
+            }
+        }
+    }
+
     private void checkKey(Bucket<VirtualLongKey> bucket, VirtualLongKey key) {
         var findResult =
                 assertDoesNotThrow(() -> bucket.findValue(key.hashCode(), key, -1), "No exception should be thrown");
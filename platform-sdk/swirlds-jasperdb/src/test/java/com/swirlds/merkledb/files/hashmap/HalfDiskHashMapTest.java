@@ -18,6 +18,7 @@ package com.swirlds.merkledb.files.hashmap;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.swirlds.common.config.singleton.ConfigurationHolder;
 import com.swirlds.common.io.streams.SerializableDataInputStream;
@@ -27,8 +28,12 @@ import com.swirlds.merkledb.files.FilesTestType;
 import com.swirlds.merkledb.serialize.KeySerializer;
 import com.swirlds.merkledb.test.fixtures.ExampleLongKeyFixedSize;
 import com.swirlds.virtualmap.VirtualLongKey;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -183,6 +188,180 @@ class HalfDiskHashMapTest {
         checkData(testType, map, 600, 400, 1);
     }
 
+    @ParameterizedTest
+    @EnumSource(FilesTestType.class)
+    void getAllMatchesGet(FilesTestType testType) throws Exception {
+        final HalfDiskHashMap<VirtualLongKey> map = createNewTempMap(testType, 10_000);
+        // Two batches, so buckets are spread over multiple files
+        createSomeData(testType, map, 1, 5_000, 1);
+        createSomeData(testType, map, 5_001, 5_000, 1);
+        final Random random = new Random(4321);
+        final List<VirtualLongKey> keys = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            // Some keys are missing, some are duplicated
+            keys.add(testType.createVirtualLongKey(1 + random.nextInt(12_000)));
+        }
+        final long[] values = map.getAll(keys, -1);
+        assertEquals(keys.size(), values.length, "One value per key is expected");
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(map.get(keys.get(i), -1), values[i], "Wrong value for key " + keys.get(i));
+        }
+        assertEquals(0, map.getAll(List.of(), -1).length, "Empty batch should return no values");
+    }
+
+    @ParameterizedTest
+    @EnumSource(FilesTestType.class)
+    void bucketsAreSplitAsMapGrows(FilesTestType testType) throws Exception {
+        // sized for 1000 keys, i.e. 16 buckets
+        final HalfDiskHashMap<VirtualLongKey> map = createNewTempMap(testType, 1000);
+        final int initialBuckets = map.getNumOfBuckets();
+        assertEquals(16, initialBuckets, "A new map should start with few buckets");
+        // grow well beyond the initial size, in several batches
+        for (int start = 0; start < 20_000; start += 5_000) {
+            createSomeData(testType, map, start, 5_000, 1);
+            checkData(testType, map, 0, start + 5_000, 1);
+        }
+        assertEquals(20_000, map.getNumOfEntries(), "All added keys should be counted");
+        assertTrue(map.getNumOfBuckets() > initialBuckets, "Buckets should be split as keys are added");
+        assertEquals(
+                (20_000 + 31) / 32, map.getNumOfBuckets(), "Average bucket size should be close to 32 entries");
+        assertTrue(map.getLastFlushBucketSplits() > 0, "Last flush should split buckets");
+        assertTrue(map.getLastFlushMaxBucketEntries() > 0, "Last flush should write buckets");
+        final long[] values = map.getAll(
+                List.of(testType.createVirtualLongKey(1), testType.createVirtualLongKey(19_999)), -1);
+        assertEquals(1, values[0], "Wrong value for key 1");
+        assertEquals(19_999, values[1], "Wrong value for key 19999");
+        // deletes are counted, too
+        map.startWriting();
+        for (int i = 0; i < 1000; i++) {
+            map.delete(testType.createVirtualLongKey(i));
+        }
+        map.endWriting();
+        assertEquals(19_000, map.getNumOfEntries(), "Deleted keys should not be counted");
+        checkData(testType, map, 1000, 19_000, 1);
+        // the number of buckets and entries is restored from a snapshot
+        final Path snapshotDir = tempDirPath.resolve("bucketsAreSplitAsMapGrowsSnapshot_" + testType.name());
+        map.snapshot(snapshotDir);
+        try (final HalfDiskHashMap<VirtualLongKey> mapFromSnapshot = new HalfDiskHashMap<>(
+                ConfigurationHolder.getConfigData(MerkleDbConfig.class),
+                1000,
+                (KeySerializer<VirtualLongKey>) testType.keySerializer,
+                snapshotDir,
+                "HalfDiskHashMapTest",
+                null,
+                false)) {
+            assertEquals(map.getNumOfBuckets(), mapFromSnapshot.getNumOfBuckets(), "Wrong number of buckets");
+            assertEquals(19_000, mapFromSnapshot.getNumOfEntries(), "Wrong number of entries");
+            checkData(testType, mapFromSnapshot, 1000, 19_000, 1);
+        }
+        map.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(FilesTestType.class)
+    void newMapsStartSmall(FilesTestType testType) throws Exception {
+        final HalfDiskHashMap<VirtualLongKey> map = createNewTempMap(testType, 100_000_000);
+        assertEquals(4096, map.getNumOfBuckets(), "A new map should not be sized for its max number of keys");
+        map.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(FilesTestType.class)
+    void entriesAreCountedForOldMetadata(FilesTestType testType) throws Exception {
+        final HalfDiskHashMap<VirtualLongKey> map = createNewTempMap(testType, 1000);
+        createSomeData(testType, map, 0, 3_000, 1);
+        final Path snapshotDir = tempDirPath.resolve("entriesAreCountedForOldMetadata_" + testType.name());
+        map.snapshot(snapshotDir);
+        // rewrite the metadata in the format used before the number of entries was stored
+        try (final DataOutputStream metaOut = new DataOutputStream(
+                Files.newOutputStream(snapshotDir.resolve("HalfDiskHashMapTest_metadata.hdhm")))) {
+            metaOut.writeInt(1);
+            metaOut.writeInt(1000 / 32);
+            metaOut.writeInt(map.getNumOfBuckets());
+        }
+        try (final HalfDiskHashMap<VirtualLongKey> mapFromSnapshot = new HalfDiskHashMap<>(
+                ConfigurationHolder.getConfigData(MerkleDbConfig.class),
+                1000,
+                (KeySerializer<VirtualLongKey>) testType.keySerializer,
+                snapshotDir,
+                "HalfDiskHashMapTest",
+                null,
+                false)) {
+            assertEquals(3_000, mapFromSnapshot.getNumOfEntries(), "Entries should be counted from the buckets");
+            checkData(testType, mapFromSnapshot, 0, 3_000, 1);
+        }
+        map.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(FilesTestType.class)
+    void bucketFiltersSkipAbsentKeys(FilesTestType testType) throws Exception {
+        final HalfDiskHashMap<VirtualLongKey> map = createNewTempMap(testType, 10_000);
+        createSomeData(testType, map, 0, 10_000, 1);
+        map.resetFilterNegatives();
+        // present keys are never rejected by filters
+        checkData(testType, map, 0, 10_000, 1);
+        assertEquals(0, map.resetFilterNegatives(), "Present keys should not be rejected");
+        // most absent keys are rejected without reading their buckets
+        for (int i = 10_000; i < 20_000; i++) {
+            assertEquals(-1, map.get(testType.createVirtualLongKey(i), -1), "Key " + i + " should be absent");
+        }
+        final long negatives = map.resetFilterNegatives();
+        final long falsePositives = map.resetFilterFalsePositives();
+        // one filter long per bucket, about 40% of absent keys are false positives
+        assertTrue(negatives > 5_000, "Most absent keys should be rejected, but only " + negatives + " were");
+        assertEquals(10_000, negatives + falsePositives, "Every absent key is either rejected or a false positive");
+        // deleted keys are removed from filters
+        map.startWriting();
+        for (int i = 0; i < 1000; i++) {
+            map.delete(testType.createVirtualLongKey(i));
+        }
+        map.endWriting();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(-1, map.get(testType.createVirtualLongKey(i), -1), "Key " + i + " should be deleted");
+        }
+        assertTrue(map.resetFilterNegatives() > 500, "Most deleted keys should be rejected");
+        // filters are restored from a snapshot
+        final Path snapshotDir = tempDirPath.resolve("bucketFiltersSkipAbsentKeysSnapshot_" + testType.name());
+        map.snapshot(snapshotDir);
+        try (final HalfDiskHashMap<VirtualLongKey> mapFromSnapshot = new HalfDiskHashMap<>(
+                ConfigurationHolder.getConfigData(MerkleDbConfig.class),
+                10_000,
+                (KeySerializer<VirtualLongKey>) testType.keySerializer,
+                snapshotDir,
+                "HalfDiskHashMapTest",
+                null,
+                false)) {
+            checkData(testType, mapFromSnapshot, 1000, 9_000, 1);
+            assertEquals(0, mapFromSnapshot.resetFilterNegatives(), "Present keys should not be rejected");
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(-1, mapFromSnapshot.get(testType.createVirtualLongKey(i), -1), "Key should be deleted");
+            }
+            assertTrue(mapFromSnapshot.resetFilterNegatives() > 500, "Filters should be loaded from the snapshot");
+        }
+        map.close();
+    }
+
+    @Test
+    void getAllWithCollisions() throws IOException {
+        final FilesTestType testType = FilesTestType.fixed;
+        try (final HalfDiskHashMap<VirtualLongKey> map = createNewTempMap(testType, 1000)) {
+            map.startWriting();
+            for (int i = 100; i < 300; i++) {
+                map.put(new CollidableFixedLongKey(i), i);
+            }
+            map.endWriting();
+            final List<VirtualLongKey> keys = new ArrayList<>();
+            for (int i = 50; i < 350; i++) {
+                keys.add(new CollidableFixedLongKey(i));
+            }
+            final long[] values = map.getAll(keys, -1);
+            for (int i = 50; i < 350; i++) {
+                assertEquals((i >= 100) && (i < 300) ? i : -1, values[i - 50], "Wrong value for key " + i);
+            }
+        }
+    }
+
     @Test
     void testOverwritesWithCollision() throws IOException {
         final FilesTestType testType = FilesTestType.fixed;
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.logging;
+
+import com.swirlds.config.api.Configuration;
+import com.swirlds.config.api.ConfigurationBuilder;
+import com.swirlds.logging.api.Logger;
+import com.swirlds.logging.api.extensions.handler.LogHandler;
+import com.swirlds.logging.api.internal.LoggingSystem;
+import com.swirlds.logging.api.internal.configuration.ConfigLevelConverter;
+import com.swirlds.logging.api.internal.configuration.MarkerStateConverter;
+import com.swirlds.logging.file.AsyncFileHandler;
+import com.swirlds.logging.file.FileHandlerFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the synchronous {@link com.swirlds.logging.file.FileHandler} with the {@link AsyncFileHandler} under
+ * contention of many logging threads.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class FileHandlerBenchmark {
+
+    private static final String MESSAGE_WITH_PLACEHOLDERS = "Handled transaction {} of round {}";
+
+    @Param({"SYNC", "ASYNC_BLOCK", "ASYNC_DROP"})
+    public String handler;
+
+    private Path logFile;
+
+    private LoggingSystem loggingSystem;
+
+    private AsyncFileHandler asyncFileHandler;
+
+    private Logger logger;
+
+    @Setup(Level.Iteration)
+    public void setup() throws IOException {
+        logFile = Files.createTempFile("file-handler-benchmark", ".log");
+        final ConfigurationBuilder builder = ConfigurationBuilder.create()
+                .withConverter(new ConfigLevelConverter())
+                .withConverter(new MarkerStateConverter())
+                .withValue("logging.level", "trace")
+                .withValue("logging.handler.file.type", "file")
+                .withValue("logging.handler.file.active", "true")
+                .withValue("logging.handler.file.level", "trace")
+                .withValue("logging.handler.file.file", logFile.toString())
+                .withValue("logging.handler.file.append", "false");
+        if (Objects.equals(handler, "ASYNC_BLOCK")) {
+            builder.withValue("logging.handler.file.async", "true")
+                    .withValue("logging.handler.file.async.overflowPolicy", "BLOCK");
+        } else if (Objects.equals(handler, "ASYNC_DROP")) {
+            builder.withValue("logging.handler.file.async", "true")
+                    .withValue("logging.handler.file.async.overflowPolicy", "DROP");
+        }
+        final Configuration configuration = builder.build();
+        final LogHandler fileHandler = new FileHandlerFactory().create("file", configuration);
+        asyncFileHandler = fileHandler instanceof AsyncFileHandler async ? async : null;
+        loggingSystem = new LoggingSystem(configuration);
+        loggingSystem.addHandler(fileHandler);
+        logger = loggingSystem.getLogger(FileHandlerBenchmark.class.getName());
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        loggingSystem.stopAndFinalize();
+        if (asyncFileHandler != null && asyncFileHandler.getDroppedEventCount() > 0) {
+            System.out.println("Dropped events: " + asyncFileHandler.getDroppedEventCount());
+        }
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void executeLog() {
+        logger.info(MESSAGE_WITH_PLACEHOLDERS, 42L, 4711L);
+    }
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.logging.file;
+
+import com.swirlds.config.api.Configuration;
+import com.swirlds.logging.api.Level;
+import com.swirlds.logging.api.extensions.event.LogEvent;
+import com.swirlds.logging.api.extensions.handler.AbstractLogHandler;
+import com.swirlds.logging.api.internal.format.LineBasedFormat;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A file handler that writes log events to a file on a dedicated writer thread.
+ * <p>
+ * Logging threads only copy the {@link LogEvent} into a bounded ring buffer of pre-allocated events and return. The
+ * writer thread formats the queued events with the {@link LineBasedFormat} and writes them in batches to a
+ * {@link FileChannel}. Unlike the {@link FileHandler}, logging threads never wait for each other or for the file,
+ * unless the buffer is full and the {@link OverflowPolicy#BLOCK} policy is used.
+ * <p>
+ * The handler is used by the {@link FileHandlerFactory} if {@code async} is set. You can configure the following
+ * properties:
+ * <ul>
+ *     <li>{@code file} - the {@link Path} of the file</li>
+ *     <li>{@code append} - whether to append to the file or not</li>
+ *     <li>{@code async.bufferSize} - the number of events the buffer can hold, rounded up to a power of two</li>
+ *     <li>{@code async.overflowPolicy} - what to do if the buffer is full, see {@link OverflowPolicy}</li>
+ * </ul>
+ * Events that are logged concurrently to {@link #stopAndFinalize()} may be lost.
+ */
+public class AsyncFileHandler extends AbstractLogHandler {
+
+    private static final String FILE_NAME_PROPERTY = "%s.file";
+    private static final String APPEND_PROPERTY = "%s.append";
+    private static final String BUFFER_SIZE_PROPERTY = "%s.async.bufferSize";
+    private static final String OVERFLOW_POLICY_PROPERTY = "%s.async.overflowPolicy";
+    private static final String DEFAULT_FILE_NAME = "swirlds-log.log";
+
+    /**
+     * The default number of events the buffer can hold.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * The default policy if the buffer is full.
+     */
+    public static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.BLOCK;
+
+    /**
+     * The maximum number of events that are formatted before they are written.
+     */
+    private static final int BATCH_SIZE = 1024;
+
+    /**
+     * The number of formatted characters that are written at once, and the size of the byte buffer.
+     */
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The time the writer thread sleeps if there is nothing to write. Logging threads wake it up earlier.
+     */
+    private static final long IDLE_PARK_NANOS = 10_000_000L;
+
+    /**
+     * The shortest and the longest time a logging thread waits for a free slot with the {@link OverflowPolicy#BLOCK}
+     * policy before it tries again.
+     */
+    private static final long MIN_FULL_PARK_NANOS = 10_000L;
+
+    private static final long MAX_FULL_PARK_NANOS = 1_000_000L;
+
+    private final FileChannel fileChannel;
+    private final LogEventRingBuffer buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final Thread writerThread;
+    private final LongAdder droppedEvents = new LongAdder();
+
+    /**
+     * True if the handler is stopped, false otherwise.
+     */
+    private volatile boolean stopped = false;
+
+    /**
+     * True while the writer thread sleeps because there was nothing to write.
+     */
+    private volatile boolean writerIdle = false;
+
+    // only used by the writer thread, or after it has stopped
+    private StringBuilder text = new StringBuilder(WRITE_BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8
+            .newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+
+    /**
+     * Creates a new asynchronous file handler and starts its writer thread.
+     *
+     * @param configKey     the configuration key
+     * @param configuration the configuration
+     */
+    public AsyncFileHandler(@NonNull final String configKey, @NonNull final Configuration configuration) {
+        super(configKey, configuration);
+
+        final String propertyPrefix = PROPERTY_HANDLER.formatted(configKey);
+        final Path filePath = Objects.requireNonNullElse(
+                configuration.getValue(FILE_NAME_PROPERTY.formatted(propertyPrefix), Path.class, null),
+                Path.of(DEFAULT_FILE_NAME));
+        final boolean append = Objects.requireNonNullElse(
+                configuration.getValue(APPEND_PROPERTY.formatted(propertyPrefix), Boolean.class, null), true);
+        final int bufferSize = Objects.requireNonNullElse(
+                configuration.getValue(BUFFER_SIZE_PROPERTY.formatted(propertyPrefix), Integer.class, null),
+                DEFAULT_BUFFER_SIZE);
+        this.overflowPolicy = Objects.requireNonNullElse(
+                configuration.getValue(
+                        OVERFLOW_POLICY_PROPERTY.formatted(propertyPrefix), OverflowPolicy.class, null),
+                DEFAULT_OVERFLOW_POLICY);
+        this.buffer = new LogEventRingBuffer(bufferSize);
+
+        FileChannel fileChannel = null;
+        try {
+            if (!Files.exists(filePath) || Files.isWritable(filePath)) {
+                if (append) {
+                    fileChannel = FileChannel.open(
+                            filePath,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.APPEND,
+                            StandardOpenOption.WRITE,
+                            StandardOpenOption.DSYNC);
+                } else {
+                    fileChannel = FileChannel.open(
+                            filePath,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.TRUNCATE_EXISTING,
+                            StandardOpenOption.WRITE,
+                            StandardOpenOption.DSYNC);
+                }
+            } else {
+                EMERGENCY_LOGGER.log(Level.ERROR, "Log file could not be created or written to");
+            }
+        } catch (final Exception exception) {
+            EMERGENCY_LOGGER.log(Level.ERROR, "Failed to create AsyncFileHandler", exception);
+        }
+        this.fileChannel = fileChannel;
+
+        if (fileChannel != null) {
+            writerThread = new Thread(this::writeEvents, "logging-" + configKey + "-writer");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        } else {
+            writerThread = null;
+        }
+    }
+
+    /**
+     * Adds the event to the buffer. If the buffer is full, the event is either dropped or the call waits for a free
+     * slot, depending on the {@link OverflowPolicy}.
+     *
+     * @param event the log event
+     */
+    @Override
+    public void accept(@NonNull final LogEvent event) {
+        if (stopped) {
+            EMERGENCY_LOGGER.log(event);
+            return;
+        }
+        if (writerThread == null) {
+            // like the FileHandler, events are ignored if the file could not be opened
+            return;
+        }
+        long parkNanos = MIN_FULL_PARK_NANOS;
+        while (!buffer.offer(event)) {
+            if (overflowPolicy == OverflowPolicy.DROP) {
+                droppedEvents.increment();
+                return;
+            }
+            if (stopped) {
+                EMERGENCY_LOGGER.log(event);
+                return;
+            }
+            if (writerIdle) {
+                LockSupport.unpark(writerThread);
+            }
+            // back off, so waiting threads leave the CPU to the writer thread
+            LockSupport.parkNanos(parkNanos);
+            parkNanos = Math.min(parkNanos * 2, MAX_FULL_PARK_NANOS);
+        }
+        if (writerIdle) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * Returns the number of events that were dropped because the buffer was full.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Returns the number of events that are queued but not yet written.
+     *
+     * @return the number of queued events
+     */
+    public int getQueuedEventCount() {
+        return buffer.size();
+    }
+
+    /**
+     * Returns the number of events the buffer can hold.
+     *
+     * @return the capacity of the buffer
+     */
+    public int getBufferCapacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Stops the writer thread after it has written all queued events, and closes the file.
+     */
+    @Override
+    public synchronized void stopAndFinalize() {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+        if (writerThread == null) {
+            return;
+        }
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            EMERGENCY_LOGGER.log(Level.ERROR, "Interrupted while waiting for the log writer thread", e);
+        }
+        // events of logging threads that passed the stopped check while the writer thread finished
+        buffer.drain(this::format, Integer.MAX_VALUE);
+        write();
+        try {
+            fileChannel.close();
+        } catch (final Exception exception) {
+            EMERGENCY_LOGGER.log(Level.ERROR, "Failed to close file channel", exception);
+        }
+    }
+
+    /**
+     * The loop of the writer thread.
+     */
+    private void writeEvents() {
+        while (true) {
+            // read before draining, all events queued before the stop are drained below
+            final boolean stopping = stopped;
+            final int drained = buffer.drain(this::format, BATCH_SIZE);
+            if (drained > 0) {
+                // write full batches only if enough text is collected, or if the buffer is drained
+                if (drained < BATCH_SIZE || text.length() >= WRITE_BUFFER_SIZE) {
+                    write();
+                }
+            } else if (!buffer.isEmpty()) {
+                // a logging thread is in the middle of copying an event
+                Thread.onSpinWait();
+            } else if (stopping) {
+                write();
+                return;
+            } else {
+                write();
+                writerIdle = true;
+                if (buffer.isEmpty() && !stopped) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                writerIdle = false;
+            }
+        }
+    }
+
+    private void format(@NonNull final LogEvent event) {
+        LineBasedFormat.print(text, event);
+    }
+
+    /**
+     * Encodes the formatted text and writes it to the file.
+     */
+    private void write() {
+        if (text.isEmpty()) {
+            return;
+        }
+        try {
+            final CharBuffer chars = CharBuffer.wrap(text);
+            encoder.reset();
+            CoderResult result = encoder.encode(chars, bytes, true);
+            while (result.isOverflow()) {
+                writeBytes();
+                result = encoder.encode(chars, bytes, true);
+            }
+            while (encoder.flush(bytes).isOverflow()) {
+                writeBytes();
+            }
+            writeBytes();
+        } catch (final IOException exception) {
+            EMERGENCY_LOGGER.log(Level.ERROR, "Failed to write log events to file", exception);
+            bytes.clear();
+        }
+        if (text.capacity() > 4 * WRITE_BUFFER_SIZE) {
+            // do not keep the memory of a single huge event
+            text = new StringBuilder(WRITE_BUFFER_SIZE);
+        } else {
+            text.setLength(0);
+        }
+    }
+
+    private void writeBytes() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            fileChannel.write(bytes);
+        }
+        bytes.clear();
+    }
+}
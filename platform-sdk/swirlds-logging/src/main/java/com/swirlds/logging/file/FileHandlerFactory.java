@@ -28,9 +28,11 @@ import java.util.ServiceLoader;
  *
  * This is a {@link LogHandlerFactory} and is discovered by the {@link ServiceLoader} at runtime.
  * The factory creates new {@link FileHandler} instances with the specified {@link Configuration}.
+ * If the {@code logging.handler.NAME.async} property is {@code true}, an {@link AsyncFileHandler} is created instead.
  *
  * @see LogHandlerFactory
  * @see FileHandler
+ * @see AsyncFileHandler
  * @see ServiceLoader
  * @see Configuration
  */
@@ -42,18 +44,24 @@ public class FileHandlerFactory implements LogHandlerFactory {
      */
     public static final String FILE_HANDLER_TYPE = "file";
 
+    private static final String ASYNC_PROPERTY = "%s.async";
+
     /**
-     * Creates a new {@link FileHandler} instance with the specified {@link Configuration}.
+     * Creates a new {@link FileHandler} or {@link AsyncFileHandler} instance with the specified {@link Configuration}.
      *
      * @param configKey The name of the handler instance.
      * @param configuration The configuration for the new handler instance.
-     * @return A new {@link FileHandler} instance.
+     * @return A new {@link FileHandler} or {@link AsyncFileHandler} instance.
      *
      * @throws NullPointerException if the provided {@code configuration} is {@code null}.
      */
     @NonNull
     @Override
     public LogHandler create(@NonNull final String configKey, @NonNull final Configuration configuration) {
+        final String asyncProperty = ASYNC_PROPERTY.formatted(LogHandler.PROPERTY_HANDLER.formatted(configKey));
+        if (Boolean.TRUE.equals(configuration.getValue(asyncProperty, Boolean.class, null))) {
+            return new AsyncFileHandler(configKey, configuration);
+        }
         return new FileHandler(configKey, configuration);
     }
 
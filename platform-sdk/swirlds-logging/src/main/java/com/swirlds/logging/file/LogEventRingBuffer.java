@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.logging.file;
+
+import com.swirlds.logging.api.extensions.event.LogEvent;
+import com.swirlds.logging.api.extensions.event.LogMessage;
+import com.swirlds.logging.api.internal.event.MutableLogEvent;
+import com.swirlds.logging.api.internal.event.SimpleLogMessage;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded ring buffer of log events for many producers and a single consumer.
+ * <p>
+ * The buffer holds pre-allocated {@link MutableLogEvent} slots. A producer claims a slot by incrementing the tail,
+ * copies the event into the slot and publishes it by setting the sequence of the slot. The consumer reads published
+ * slots in order and hands them back to the producers by advancing their sequence by the capacity. Neither side takes
+ * a lock.
+ * <p>
+ * Events are copied because the events passed to a handler may be reused by the logging thread once the handler
+ * returns. Parameterized messages are formatted while copying, so later changes of the parameters don't change the
+ * logged message.
+ */
+final class LogEventRingBuffer {
+
+    /**
+     * The slots of the buffer.
+     */
+    private final MutableLogEvent[] slots;
+
+    /**
+     * The sequence of every slot. A slot at position {@code p} is free if its sequence is {@code p}, and published if
+     * its sequence is {@code p + 1}.
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * The capacity minus one, the capacity is a power of two.
+     */
+    private final int mask;
+
+    /**
+     * The position of the next slot that a producer claims.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * The position of the next slot that the consumer reads. Only written by the consumer.
+     */
+    private volatile long head;
+
+    /**
+     * Creates a new ring buffer.
+     *
+     * @param capacity the number of slots, rounded up to a power of two
+     * @throws IllegalArgumentException if the capacity is not positive or larger than {@code 2^30}
+     */
+    LogEventRingBuffer(final int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new MutableLogEvent[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new MutableLogEvent();
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return the capacity
+     */
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Returns the number of events that have been claimed but not yet consumed. The value is only a snapshot.
+     *
+     * @return the number of queued events
+     */
+    int size() {
+        final long queued = tail.get() - head;
+        return (int) Math.max(0L, Math.min(queued, slots.length));
+    }
+
+    /**
+     * Returns true if no event is queued and no producer is in the middle of adding one.
+     *
+     * @return true if the buffer is empty
+     */
+    boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+    /**
+     * Copies the event into a free slot. Can be called concurrently by any number of threads.
+     *
+     * @param event the event
+     * @return true if the event was added, false if the buffer is full
+     */
+    boolean offer(@NonNull final LogEvent event) {
+        // read everything before a slot is claimed, a claimed slot must always be published
+        final LogMessage message = snapshotOf(event.message());
+        final Map<String, String> context = Objects.requireNonNullElse(event.context(), Map.of());
+        long position = tail.get();
+        int index;
+        while (true) {
+            index = (int) position & mask;
+            final long difference = sequences.getAcquire(index) - position;
+            if (difference == 0L) {
+                if (tail.weakCompareAndSetVolatile(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0L) {
+                // the slot still holds the event one lap ago, which is not consumed yet
+                return false;
+            } else {
+                // another producer claimed the slot
+                position = tail.get();
+            }
+        }
+        slots[index].update(
+                event.level(),
+                event.loggerName(),
+                event.threadName(),
+                event.timestamp(),
+                message,
+                event.throwable(),
+                event.marker(),
+                context);
+        sequences.setRelease(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Passes published events in order to the consumer and frees their slots. Must only be called by a single thread.
+     *
+     * @param consumer  the consumer of the events, the events must not be used after the consumer returns
+     * @param maxEvents the maximum number of events to drain
+     * @return the number of drained events
+     */
+    int drain(@NonNull final Consumer<LogEvent> consumer, final int maxEvents) {
+        long position = head;
+        int drained = 0;
+        try {
+            while (drained < maxEvents) {
+                final int index = (int) position & mask;
+                if (sequences.getAcquire(index) != position + 1) {
+                    break;
+                }
+                consumer.accept(slots[index]);
+                sequences.setRelease(index, position + slots.length);
+                position++;
+                drained++;
+            }
+        } finally {
+            head = position;
+        }
+        return drained;
+    }
+
+    @NonNull
+    private static LogMessage snapshotOf(@NonNull final LogMessage message) {
+        if (message instanceof SimpleLogMessage) {
+            return message;
+        }
+        try {
+            return new SimpleLogMessage(message.getMessage());
+        } catch (final RuntimeException e) {
+            // the same placeholder the synchronous handlers print
+            return new SimpleLogMessage("BROKEN-MESSAGE");
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.logging.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.swirlds.config.api.Configuration;
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
+import com.swirlds.logging.api.Level;
+import com.swirlds.logging.api.extensions.handler.LogHandler;
+import com.swirlds.logging.api.internal.event.MutableLogEvent;
+import com.swirlds.logging.api.internal.event.ParameterizedLogMessage;
+import com.swirlds.logging.api.internal.event.SimpleLogMessage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AsyncFileHandlerTest {
+
+    private static final int THREADS = 8;
+    private static final int EVENTS_PER_THREAD = 5_000;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testFactoryCreatesAsyncHandlerOnlyIfConfigured() {
+        // given
+        final Path file = tempDir.resolve("factory.log");
+        final Configuration syncConfiguration = new TestConfigBuilder()
+                .withValue("logging.handler.file.file", file.toString())
+                .getOrCreateConfig();
+        final Configuration asyncConfiguration = new TestConfigBuilder()
+                .withValue("logging.handler.file.file", file.toString())
+                .withValue("logging.handler.file.async", true)
+                .getOrCreateConfig();
+
+        // when
+        final LogHandler syncHandler = new FileHandlerFactory().create("file", syncConfiguration);
+        final LogHandler asyncHandler = new FileHandlerFactory().create("file", asyncConfiguration);
+
+        // then
+        assertThat(syncHandler).isInstanceOf(FileHandler.class);
+        assertThat(asyncHandler).isInstanceOf(AsyncFileHandler.class);
+        assertThat(((AsyncFileHandler) asyncHandler).getBufferCapacity())
+                .isEqualTo(AsyncFileHandler.DEFAULT_BUFFER_SIZE);
+        syncHandler.stopAndFinalize();
+        asyncHandler.stopAndFinalize();
+    }
+
+    @Test
+    void testAllEventsAreWrittenInOrderWithBlockPolicy() throws Exception {
+        // given
+        final Path file = tempDir.resolve("block.log");
+        final AsyncFileHandler handler = createHandler(file, OverflowPolicy.BLOCK);
+
+        // when
+        logInParallel(handler);
+        handler.stopAndFinalize();
+
+        // then
+        final List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(THREADS * EVENTS_PER_THREAD);
+        assertThat(handler.getDroppedEventCount()).isZero();
+        assertThat(handler.getQueuedEventCount()).isZero();
+        assertOrderedPerThread(lines);
+    }
+
+    @Test
+    void testEventsAreDroppedOrWrittenWithDropPolicy() throws Exception {
+        // given
+        final Path file = tempDir.resolve("drop.log");
+        final AsyncFileHandler handler = createHandler(file, OverflowPolicy.DROP);
+
+        // when
+        logInParallel(handler);
+        handler.stopAndFinalize();
+
+        // then
+        final List<String> lines = Files.readAllLines(file);
+        assertThat(lines.size() + handler.getDroppedEventCount()).isEqualTo(THREADS * EVENTS_PER_THREAD);
+        assertOrderedPerThread(lines);
+    }
+
+    @Test
+    void testReusedEventIsWrittenAsLogged() throws IOException {
+        // given
+        final Path file = tempDir.resolve("reuse.log");
+        final AsyncFileHandler handler = createHandler(file, OverflowPolicy.BLOCK);
+        final MutableLogEvent event = new MutableLogEvent();
+
+        // when
+        event.update(Level.INFO, "logger", "main", 0L, new SimpleLogMessage("first"), null, null, Map.of());
+        handler.accept(event);
+        event.update(Level.WARN, "logger", "main", 0L, new SimpleLogMessage("second"), null, null, Map.of());
+        handler.accept(event);
+        handler.stopAndFinalize();
+
+        // then
+        final List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("INFO").endsWith("first");
+        assertThat(lines.get(1)).contains("WARN").endsWith("second");
+    }
+
+    @Test
+    void testEventsAfterStopAreNotWritten() throws IOException {
+        // given
+        final Path file = tempDir.resolve("stop.log");
+        final AsyncFileHandler handler = createHandler(file, OverflowPolicy.BLOCK);
+        final MutableLogEvent event = new MutableLogEvent();
+        event.update(Level.INFO, "logger", "main", 0L, new SimpleLogMessage("message"), null, null, Map.of());
+        handler.accept(event);
+
+        // when
+        handler.stopAndFinalize();
+        handler.accept(event);
+        handler.stopAndFinalize();
+
+        // then
+        assertThat(Files.readAllLines(file)).hasSize(1);
+    }
+
+    private AsyncFileHandler createHandler(final Path file, final OverflowPolicy overflowPolicy) {
+        final Configuration configuration = new TestConfigBuilder()
+                .withValue("logging.handler.file.file", file.toString())
+                .withValue("logging.handler.file.append", false)
+                .withValue("logging.handler.file.async", true)
+                .withValue("logging.handler.file.async.bufferSize", 64)
+                .withValue("logging.handler.file.async.overflowPolicy", overflowPolicy.name())
+                .getOrCreateConfig();
+        return (AsyncFileHandler) new FileHandlerFactory().create("file", configuration);
+    }
+
+    private static void logInParallel(final AsyncFileHandler handler) throws InterruptedException {
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final String threadName = "thread-" + t;
+            threads.add(new Thread(() -> {
+                final MutableLogEvent event = new MutableLogEvent();
+                for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+                    event.update(
+                            Level.INFO,
+                            "logger",
+                            threadName,
+                            System.currentTimeMillis(),
+                            new ParameterizedLogMessage("event {}", i),
+                            null,
+                            null,
+                            Map.of());
+                    handler.accept(event);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private static void assertOrderedPerThread(final List<String> lines) {
+        final Map<String, Integer> lastEventPerThread = new HashMap<>();
+        for (final String line : lines) {
+            final String threadName = line.substring(line.indexOf('[') + 1, line.indexOf(']'));
+            final int event = Integer.parseInt(line.substring(line.lastIndexOf(' ') + 1));
+            final Integer previous = lastEventPerThread.put(threadName, event);
+            if (previous != null) {
+                assertThat(event).isGreaterThan(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.logging.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.swirlds.logging.api.Level;
+import com.swirlds.logging.api.extensions.event.LogMessage;
+import com.swirlds.logging.api.internal.event.MutableLogEvent;
+import com.swirlds.logging.api.internal.event.ParameterizedLogMessage;
+import com.swirlds.logging.api.internal.event.SimpleLogMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class LogEventRingBufferTest {
+
+    @Test
+    void testCapacityIsRoundedUpToPowerOfTwo() {
+        assertThat(new LogEventRingBuffer(1).capacity()).isEqualTo(1);
+        assertThat(new LogEventRingBuffer(8).capacity()).isEqualTo(8);
+        assertThat(new LogEventRingBuffer(100).capacity()).isEqualTo(128);
+    }
+
+    @Test
+    void testIllegalCapacity() {
+        assertThatThrownBy(() -> new LogEventRingBuffer(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LogEventRingBuffer(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testOfferUntilFull() {
+        // given
+        final LogEventRingBuffer buffer = new LogEventRingBuffer(4);
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(event("message " + i))).isTrue();
+        }
+
+        // then
+        assertThat(buffer.offer(event("message 4"))).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+        assertThat(buffer.isEmpty()).isFalse();
+    }
+
+    @Test
+    void testDrainFreesSlotsInOrder() {
+        // given
+        final LogEventRingBuffer buffer = new LogEventRingBuffer(4);
+        final List<String> messages = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            buffer.offer(event("message " + i));
+        }
+
+        // when
+        final int drained = buffer.drain(e -> messages.add(e.message().getMessage()), 3);
+
+        // then
+        assertThat(drained).isEqualTo(3);
+        assertThat(messages).containsExactly("message 0", "message 1", "message 2");
+        assertThat(buffer.size()).isEqualTo(1);
+        for (int i = 4; i < 7; i++) {
+            assertThat(buffer.offer(event("message " + i))).isTrue();
+        }
+        assertThat(buffer.offer(event("message 7"))).isFalse();
+
+        // when
+        messages.clear();
+        buffer.drain(e -> messages.add(e.message().getMessage()), Integer.MAX_VALUE);
+
+        // then
+        assertThat(messages).containsExactly("message 3", "message 4", "message 5", "message 6");
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testEventIsCopied() {
+        // given
+        final LogEventRingBuffer buffer = new LogEventRingBuffer(4);
+        final MutableLogEvent event = event("original");
+        final StringBuilder parameter = new StringBuilder("original");
+
+        // when
+        buffer.offer(event);
+        event.update(Level.ERROR, "other", "other", 0L, new SimpleLogMessage("changed"), null, null, Map.of());
+        buffer.offer(event(new ParameterizedLogMessage("parameter {}", parameter)));
+        parameter.append(" changed");
+
+        // then
+        final List<String> messages = new ArrayList<>();
+        final List<Level> levels = new ArrayList<>();
+        buffer.drain(
+                e -> {
+                    messages.add(e.message().getMessage());
+                    levels.add(e.level());
+                },
+                Integer.MAX_VALUE);
+        assertThat(messages).containsExactly("original", "parameter original");
+        assertThat(levels).containsExactly(Level.INFO, Level.INFO);
+    }
+
+    private static MutableLogEvent event(final String message) {
+        return event(new SimpleLogMessage(message));
+    }
+
+    private static MutableLogEvent event(final LogMessage message) {
+        final MutableLogEvent event = new MutableLogEvent();
+        event.update(Level.INFO, "logger", "thread", System.currentTimeMillis(), message, null, null, Map.of());
+        return event;
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.metrics.api;
+
+import static com.swirlds.metrics.api.Metric.ValueType.MAX;
+import static com.swirlds.metrics.api.Metric.ValueType.MIN;
+import static com.swirlds.metrics.api.Metric.ValueType.P50;
+import static com.swirlds.metrics.api.Metric.ValueType.P90;
+import static com.swirlds.metrics.api.Metric.ValueType.P99;
+import static com.swirlds.metrics.api.Metric.ValueType.P999;
+import static com.swirlds.metrics.api.Metric.ValueType.VALUE;
+
+import com.swirlds.base.utility.ToStringBuilder;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.EnumSet;
+import java.util.Objects;
+
+/**
+ * A {@code Histogram} records the distribution of non-negative {@code long}-values, e.g. latencies, to calculate
+ * percentiles.
+ * <p>
+ * It is reset in regular intervals. The exact timing depends on the implementation. The main value is the mean of
+ * the values recorded in the current interval. The percentiles are precise within a relative error of
+ * {@code 2^-(precisionBits-1)}, see {@link HistogramSnapshot}.
+ */
+public interface Histogram extends Metric {
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    default MetricType getMetricType() {
+        return MetricType.HISTOGRAM;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    default DataType getDataType() {
+        return DataType.FLOAT;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    default EnumSet<ValueType> getValueTypes() {
+        return EnumSet.of(VALUE, MAX, MIN, P50, P90, P99, P999);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    default Double get(@NonNull final ValueType valueType) {
+        Objects.requireNonNull(valueType, "valueType must not be null");
+        final HistogramSnapshot snapshot = getSnapshot();
+        return switch (valueType) {
+            case VALUE -> snapshot.getMean();
+            case MAX -> (double) snapshot.getMax();
+            case MIN -> (double) snapshot.getMin();
+            case P50 -> (double) snapshot.getValueAtPercentile(50.0);
+            case P90 -> (double) snapshot.getValueAtPercentile(90.0);
+            case P99 -> (double) snapshot.getValueAtPercentile(99.0);
+            case P999 -> (double) snapshot.getValueAtPercentile(99.9);
+            default -> throw new IllegalArgumentException("Unsupported ValueType: " + valueType);
+        };
+    }
+
+    /**
+     * Get the distribution of the values recorded in the current interval
+     *
+     * @return the current distribution
+     */
+    @NonNull
+    HistogramSnapshot getSnapshot();
+
+    /**
+     * Record a value. Negative values are recorded as {@code 0}, values above the
+     * {@link Config#getHighestTrackableValue() highestTrackableValue} are counted in the highest bucket.
+     *
+     * @param value the value to record
+     */
+    void update(final long value);
+
+    /**
+     * Configuration of a {@link Histogram}
+     */
+    final class Config extends MetricConfig<Histogram, Histogram.Config> {
+
+        /** The default number of precision bits, which gives a relative error of at most 3.2% */
+        public static final int DEFAULT_PRECISION_BITS = 6;
+
+        private final int precisionBits;
+        private final long highestTrackableValue;
+
+        /**
+         * Constructor of {@code Histogram.Config}
+         * <p>
+         * By default, the {@link #getPrecisionBits() precisionBits} are set to {@value #DEFAULT_PRECISION_BITS}, the
+         * {@link #getHighestTrackableValue() highestTrackableValue} is set to {@link Long#MAX_VALUE}, and the
+         * {@link #getFormat() format} is set to {@link FloatFormats#FORMAT_DECIMAL_3}.
+         *
+         * @param category the kind of metric (metrics are grouped or filtered by this)
+         * @param name     a short name for the metric
+         * @throws NullPointerException     if one of the parameters is {@code null}
+         * @throws IllegalArgumentException if one of the parameters consists only of whitespaces
+         */
+        public Config(@NonNull final String category, @NonNull final String name) {
+            super(category, name, FloatFormats.FORMAT_DECIMAL_3);
+            this.precisionBits = DEFAULT_PRECISION_BITS;
+            this.highestTrackableValue = Long.MAX_VALUE;
+        }
+
+        /**
+         * Constructor of {@code Histogram.Config}
+         *
+         * @param category              the kind of metric (metrics are grouped or filtered by this)
+         * @param name                  a short name for the metric
+         * @param description           metric description
+         * @param unit                  metric unit
+         * @param format                format for metric
+         * @param precisionBits         the precision of the bucket layout
+         * @param highestTrackableValue the highest value that is counted in its own bucket
+         * @throws NullPointerException     if one of the parameters is {@code null}
+         * @throws IllegalArgumentException if one of the parameters consists only of whitespaces, or if one of the
+         *                                  numbers is out of range
+         */
+        private Config(
+                @NonNull final String category,
+                @NonNull final String name,
+                @NonNull final String description,
+                @NonNull final String unit,
+                @NonNull final String format,
+                final int precisionBits,
+                final long highestTrackableValue) {
+
+            super(category, name, description, unit, format);
+            // validates both values
+            HistogramSnapshot.bucketCount(highestTrackableValue, precisionBits);
+            this.precisionBits = precisionBits;
+            this.highestTrackableValue = highestTrackableValue;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @NonNull
+        @Override
+        public Histogram.Config withDescription(@NonNull final String description) {
+            return new Histogram.Config(
+                    getCategory(),
+                    getName(),
+                    description,
+                    getUnit(),
+                    getFormat(),
+                    getPrecisionBits(),
+                    getHighestTrackableValue());
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @NonNull
+        @Override
+        public Histogram.Config withUnit(@NonNull final String unit) {
+            return new Histogram.Config(
+                    getCategory(),
+                    getName(),
+                    getDescription(),
+                    unit,
+                    getFormat(),
+                    getPrecisionBits(),
+                    getHighestTrackableValue());
+        }
+
+        /**
+         * Sets the {@link Metric#getFormat() Metric.format} in fluent style.
+         *
+         * @param format the format-string
+         * @return a new configuration-object with updated {@code format}
+         * @throws NullPointerException     if {@code format} is {@code null}
+         * @throws IllegalArgumentException if {@code format} consists only of whitespaces
+         */
+        @NonNull
+        public Histogram.Config withFormat(@NonNull final String format) {
+            return new Histogram.Config(
+                    getCategory(),
+                    getName(),
+                    getDescription(),
+                    getUnit(),
+                    format,
+                    getPrecisionBits(),
+                    getHighestTrackableValue());
+        }
+
+        /**
+         * Getter of the {@code precisionBits}
+         *
+         * @return the {@code precisionBits}
+         */
+        public int getPrecisionBits() {
+            return precisionBits;
+        }
+
+        /**
+         * Fluent-style setter of the precision. More bits give more precise percentiles, but need more memory.
+         *
+         * @param precisionBits the number of precision bits, between {@value HistogramSnapshot#MIN_PRECISION_BITS}
+         *                      and {@value HistogramSnapshot#MAX_PRECISION_BITS}
+         * @return a new configuration-object with updated {@code precisionBits}
+         * @throws IllegalArgumentException if {@code precisionBits} is out of range
+         */
+        @NonNull
+        public Histogram.Config withPrecisionBits(final int precisionBits) {
+            return new Histogram.Config(
+                    getCategory(),
+                    getName(),
+                    getDescription(),
+                    getUnit(),
+                    getFormat(),
+                    precisionBits,
+                    getHighestTrackableValue());
+        }
+
+        /**
+         * Getter of the {@code highestTrackableValue}
+         *
+         * @return the {@code highestTrackableValue}
+         */
+        public long getHighestTrackableValue() {
+            return highestTrackableValue;
+        }
+
+        /**
+         * Fluent-style setter of the highest trackable value. Larger values are counted in the highest bucket. A lower
+         * limit needs less memory.
+         *
+         * @param highestTrackableValue the highest value that is counted in its own bucket
+         * @return a new configuration-object with updated {@code highestTrackableValue}
+         * @throws IllegalArgumentException if {@code highestTrackableValue} is negative
+         */
+        @NonNull
+        public Histogram.Config withHighestTrackableValue(final long highestTrackableValue) {
+            return new Histogram.Config(
+                    getCategory(),
+                    getName(),
+                    getDescription(),
+                    getUnit(),
+                    getFormat(),
+                    getPrecisionBits(),
+                    highestTrackableValue);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @NonNull
+        @Override
+        public Class<Histogram> getResultClass() {
+            return Histogram.class;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @NonNull
+        public Histogram create(@NonNull final MetricsFactory factory) {
+            return factory.createHistogram(this);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this)
+                    .appendSuper(super.toString())
+                    .append("precisionBits", precisionBits)
+                    .append("highestTrackableValue", highestTrackableValue)
+                    .toString();
+        }
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.metrics.api;
+
+import com.swirlds.base.utility.ToStringBuilder;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An immutable distribution of the values recorded by a {@link Histogram}.
+ * <p>
+ * Values are counted in buckets with a log-linear layout, similar to an HDR histogram. Values below
+ * {@code 2^precisionBits} have a bucket each. Above that, every power of two is split into {@code 2^(precisionBits-1)}
+ * buckets of equal width. The width of a bucket is therefore at most {@code 2^-(precisionBits-1)} of its lowest value,
+ * which is the maximum relative error of a percentile.
+ */
+public final class HistogramSnapshot {
+
+    /** The smallest supported number of precision bits */
+    public static final int MIN_PRECISION_BITS = 1;
+
+    /** The largest supported number of precision bits */
+    public static final int MAX_PRECISION_BITS = 12;
+
+    private final int precisionBits;
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+
+    /**
+     * Constructor of {@code HistogramSnapshot}
+     *
+     * @param precisionBits the precision of the bucket layout
+     * @param counts        the number of values per bucket, the array is not copied
+     * @param sum           the sum of all values
+     * @param min           the smallest value, ignored if there are no values
+     * @param max           the largest value, ignored if there are no values
+     * @throws NullPointerException     if {@code counts} is {@code null}
+     * @throws IllegalArgumentException if {@code precisionBits} is out of range
+     */
+    public HistogramSnapshot(
+            final int precisionBits, @NonNull final long[] counts, final long sum, final long min, final long max) {
+        checkPrecisionBits(precisionBits);
+        this.precisionBits = precisionBits;
+        this.counts = Objects.requireNonNull(counts, "counts must not be null");
+        long total = 0L;
+        for (final long bucketCount : counts) {
+            total += bucketCount;
+        }
+        this.count = total;
+        this.sum = total == 0L ? 0L : sum;
+        this.min = total == 0L ? 0L : min;
+        this.max = total == 0L ? 0L : max;
+    }
+
+    /**
+     * Returns the index of the bucket that counts the given value.
+     *
+     * @param value         the value, negative values are counted as {@code 0}
+     * @param precisionBits the precision of the bucket layout
+     * @return the index of the bucket
+     */
+    public static int bucketIndexOf(final long value, final int precisionBits) {
+        if (value < (1L << precisionBits)) {
+            return value < 0L ? 0 : (int) value;
+        }
+        final int shift = 64 - Long.numberOfLeadingZeros(value) - precisionBits;
+        return (shift << (precisionBits - 1)) + (int) (value >>> shift);
+    }
+
+    /**
+     * Returns the lowest value counted by the bucket with the given index.
+     *
+     * @param index         the index of the bucket
+     * @param precisionBits the precision of the bucket layout
+     * @return the lowest value of the bucket
+     */
+    public static long lowestValueOf(final int index, final int precisionBits) {
+        if (index < (1 << precisionBits)) {
+            return index;
+        }
+        final int shift = (index >>> (precisionBits - 1)) - 1;
+        final long mantissa = index - ((long) shift << (precisionBits - 1));
+        return mantissa << shift;
+    }
+
+    /**
+     * Returns the highest value counted by the bucket with the given index.
+     *
+     * @param index         the index of the bucket
+     * @param precisionBits the precision of the bucket layout
+     * @return the highest value of the bucket
+     */
+    public static long highestValueOf(final int index, final int precisionBits) {
+        final long next = lowestValueOf(index + 1, precisionBits);
+        // the bucket of Long.MAX_VALUE is the last bucket, the lowest value of its successor overflows
+        return next <= 0L ? Long.MAX_VALUE : next - 1L;
+    }
+
+    /**
+     * Returns the number of buckets needed to count all values up to {@code highestValue}.
+     *
+     * @param highestValue  the highest value to count in its own bucket
+     * @param precisionBits the precision of the bucket layout
+     * @return the number of buckets
+     * @throws IllegalArgumentException if {@code precisionBits} is out of range or {@code highestValue} is negative
+     */
+    public static int bucketCount(final long highestValue, final int precisionBits) {
+        checkPrecisionBits(precisionBits);
+        if (highestValue < 0L) {
+            throw new IllegalArgumentException("highestValue must not be negative");
+        }
+        return bucketIndexOf(highestValue, precisionBits) + 1;
+    }
+
+    private static void checkPrecisionBits(final int precisionBits) {
+        if (precisionBits < MIN_PRECISION_BITS || precisionBits > MAX_PRECISION_BITS) {
+            throw new IllegalArgumentException(
+                    "precisionBits must be between " + MIN_PRECISION_BITS + " and " + MAX_PRECISION_BITS);
+        }
+    }
+
+    /**
+     * Getter of the precision of the bucket layout
+     *
+     * @return the number of precision bits
+     */
+    public int getPrecisionBits() {
+        return precisionBits;
+    }
+
+    /**
+     * Returns the number of buckets
+     *
+     * @return the number of buckets
+     */
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    /**
+     * Returns the number of values counted by the bucket with the given index
+     *
+     * @param index the index of the bucket
+     * @return the number of values in the bucket
+     * @throws IndexOutOfBoundsException if there is no bucket with the given index
+     */
+    public long getCount(final int index) {
+        return counts[index];
+    }
+
+    /**
+     * Returns the number of values
+     *
+     * @return the number of values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the sum of all values
+     *
+     * @return the sum of all values, {@code 0} if there are no values
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * Returns the smallest value
+     *
+     * @return the smallest value, {@code 0} if there are no values
+     */
+    public long getMin() {
+        return min;
+    }
+
+    /**
+     * Returns the largest value
+     *
+     * @return the largest value, {@code 0} if there are no values
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the mean of all values
+     *
+     * @return the mean, {@code 0.0} if there are no values
+     */
+    public double getMean() {
+        return count == 0L ? 0.0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the value at the given percentile. The result is the highest value of the bucket in which the
+     * percentile falls, but never more than {@link #getMax() max}.
+     *
+     * @param percentile the percentile, between {@code 0.0} and {@code 100.0}
+     * @return the value at the percentile, {@code 0} if there are no values
+     * @throws IllegalArgumentException if {@code percentile} is out of range
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (!(percentile >= 0.0 && percentile <= 100.0)) {
+            throw new IllegalArgumentException("percentile must be between 0.0 and 100.0");
+        }
+        if (count == 0L) {
+            return 0L;
+        }
+        final long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(min, Math.min(max, highestValueOf(i, precisionBits)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Combines this distribution with another one that has the same bucket layout.
+     *
+     * @param other the other distribution
+     * @return a new {@code HistogramSnapshot} that contains the values of both
+     * @throws NullPointerException     if {@code other} is {@code null}
+     * @throws IllegalArgumentException if {@code other} has a different bucket layout
+     */
+    @NonNull
+    public HistogramSnapshot plus(@NonNull final HistogramSnapshot other) {
+        Objects.requireNonNull(other, "other must not be null");
+        if (other.precisionBits != precisionBits || other.counts.length != counts.length) {
+            throw new IllegalArgumentException("Cannot combine histograms with different bucket layouts");
+        }
+        if (other.count == 0L) {
+            return this;
+        }
+        if (count == 0L) {
+            return other;
+        }
+        final long[] combined = new long[counts.length];
+        for (int i = 0; i < combined.length; i++) {
+            combined[i] = counts[i] + other.counts[i];
+        }
+        return new HistogramSnapshot(
+                precisionBits, combined, sum + other.sum, Math.min(min, other.min), Math.max(max, other.max));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof HistogramSnapshot that)) {
+            return false;
+        }
+        return precisionBits == that.precisionBits
+                && sum == that.sum
+                && min == that.min
+                && max == that.max
+                && Arrays.equals(counts, that.counts);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(precisionBits, sum, min, max, Arrays.hashCode(counts));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("count", count)
+                .append("sum", sum)
+                .append("min", min)
+                .append("max", max)
+                .toString();
+    }
+}
@@ -31,7 +31,15 @@ public interface Metric {
         VALUE,
         MAX,
         MIN,
-        STD_DEV
+        STD_DEV,
+        /** The median of a distribution */
+        P50,
+        /** The 90th percentile of a distribution */
+        P90,
+        /** The 99th percentile of a distribution */
+        P99,
+        /** The 99.9th percentile of a distribution */
+        P999
     }
 
     enum DataType {
@@ -37,6 +37,11 @@ public enum MetricType {
      */
     GAUGE,
 
+    /**
+     * A histogram is a metric that records the distribution of values, e.g. to calculate percentiles.
+     */
+    HISTOGRAM,
+
     /**
      * A running average is a metric that calculates trends over short periods of time using a set of data.
      */
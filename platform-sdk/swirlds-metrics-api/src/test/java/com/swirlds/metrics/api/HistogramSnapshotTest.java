@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.metrics.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HistogramSnapshotTest {
+
+    private static HistogramSnapshot snapshotOf(final int precisionBits, final long... values) {
+        final long[] counts = new long[HistogramSnapshot.bucketCount(Long.MAX_VALUE, precisionBits)];
+        long sum = 0L;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (final long value : values) {
+            counts[HistogramSnapshot.bucketIndexOf(value, precisionBits)]++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return new HistogramSnapshot(precisionBits, counts, sum, min, max);
+    }
+
+    @Test
+    @DisplayName("Buckets should cover all values without gaps and within the relative error")
+    void testBucketLayout() {
+        for (final int precisionBits : new int[] {1, 2, 6, 12}) {
+            final int bucketCount = HistogramSnapshot.bucketCount(Long.MAX_VALUE, precisionBits);
+            final double maxRelativeError = 1.0 / (1 << (precisionBits - 1));
+            assertThat(HistogramSnapshot.lowestValueOf(0, precisionBits)).isZero();
+            assertThat(HistogramSnapshot.highestValueOf(bucketCount - 1, precisionBits)).isEqualTo(Long.MAX_VALUE);
+            for (int i = 0; i < bucketCount - 1; i++) {
+                final long lowest = HistogramSnapshot.lowestValueOf(i, precisionBits);
+                final long highest = HistogramSnapshot.highestValueOf(i, precisionBits);
+                assertThat(HistogramSnapshot.lowestValueOf(i + 1, precisionBits)).isEqualTo(highest + 1);
+                assertThat(HistogramSnapshot.bucketIndexOf(lowest, precisionBits)).isEqualTo(i);
+                assertThat(HistogramSnapshot.bucketIndexOf(highest, precisionBits)).isEqualTo(i);
+                if (lowest > 0) {
+                    assertThat((double) (highest - lowest + 1) / lowest).isLessThanOrEqualTo(maxRelativeError);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Negative values should be counted in the first bucket")
+    void testNegativeValue() {
+        assertThat(HistogramSnapshot.bucketIndexOf(-1L, 6)).isZero();
+        assertThat(HistogramSnapshot.bucketIndexOf(Long.MIN_VALUE, 6)).isZero();
+    }
+
+    @Test
+    @DisplayName("Statistics of an empty snapshot should be zero")
+    void testEmptySnapshot() {
+        final HistogramSnapshot snapshot = snapshotOf(6);
+        assertThat(snapshot.getCount()).isZero();
+        assertThat(snapshot.getSum()).isZero();
+        assertThat(snapshot.getMin()).isZero();
+        assertThat(snapshot.getMax()).isZero();
+        assertThat(snapshot.getMean()).isZero();
+        assertThat(snapshot.getValueAtPercentile(99.0)).isZero();
+    }
+
+    @Test
+    @DisplayName("Percentiles should be within the relative error")
+    void testPercentiles() {
+        final long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (i + 1) * 1_000L;
+        }
+        final HistogramSnapshot snapshot = snapshotOf(6, values);
+
+        assertThat(snapshot.getCount()).isEqualTo(10_000L);
+        assertThat(snapshot.getMean()).isEqualTo(5_000_500.0);
+        assertThat(snapshot.getValueAtPercentile(0.0)).isBetween(1_000L, 1_000L + 1_000L / 32);
+        assertThat(snapshot.getValueAtPercentile(50.0)).isBetween(5_000_000L, 5_000_000L + 5_000_000L / 32);
+        assertThat(snapshot.getValueAtPercentile(99.0)).isBetween(9_900_000L, 9_900_000L + 9_900_000L / 32);
+        assertThat(snapshot.getValueAtPercentile(99.9)).isBetween(9_990_000L, 10_000_000L);
+        assertThat(snapshot.getValueAtPercentile(100.0)).isEqualTo(10_000_000L);
+        assertThatThrownBy(() -> snapshot.getValueAtPercentile(-1.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> snapshot.getValueAtPercentile(100.1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> snapshot.getValueAtPercentile(Double.NaN))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Combined snapshots should contain the values of both")
+    void testPlus() {
+        final HistogramSnapshot first = snapshotOf(6, 1L, 2L, 3L);
+        final HistogramSnapshot second = snapshotOf(6, 100L, 200L);
+
+        final HistogramSnapshot result = first.plus(second);
+
+        assertThat(result).isEqualTo(snapshotOf(6, 1L, 2L, 3L, 100L, 200L));
+        assertThat(result.getCount()).isEqualTo(5L);
+        assertThat(result.getSum()).isEqualTo(306L);
+        assertThat(result.getMin()).isEqualTo(1L);
+        assertThat(result.getMax()).isEqualTo(200L);
+        assertThat(first.plus(snapshotOf(6))).isSameAs(first);
+        assertThatThrownBy(() -> first.plus(snapshotOf(5, 1L))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> first.plus(null)).isInstanceOf(NullPointerException.class);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.core.jmh;
+
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.test.fixtures.WeightGenerators;
+import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
+import com.swirlds.platform.gossip.shadowgraph.ShadowEvent;
+import com.swirlds.platform.gossip.shadowgraph.Shadowgraph;
+import com.swirlds.platform.test.event.emitter.StandardEventEmitter;
+import com.swirlds.platform.test.event.source.EventSourceFactory;
+import com.swirlds.platform.test.fixtures.event.IndexedEvent;
+import com.swirlds.platform.test.fixtures.event.generator.StandardGraphGenerator;
+import com.swirlds.platform.test.fixtures.event.source.EventSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Simulates many concurrent syncs reading the shadowgraph. Every sync reads the tips and looks up the tip hashes
+ * received from a peer, like the first steps of {@code ShadowgraphSynchronizer}.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class ShadowgraphBenchmark {
+
+    @Param({"39"})
+    public int numNodes;
+
+    @Param({"50000"})
+    public int numEvents;
+
+    @Param({"1", "8", "32"})
+    public int concurrentSyncs;
+
+    @Param({"1000"})
+    public int syncsPerThread;
+
+    @Param({"0"})
+    public long seed;
+
+    private Shadowgraph shadowgraph;
+    private List<Hash> hashes;
+    private ExecutorService executor;
+
+    @Setup
+    public void setup() throws Exception {
+        final List<EventSource<?>> eventSources =
+                EventSourceFactory.newStandardEventSources(WeightGenerators.balancedNodeWeights(numNodes));
+        final StandardGraphGenerator generator = new StandardGraphGenerator(seed, eventSources);
+        final StandardEventEmitter emitter = new StandardEventEmitter(generator);
+        final List<IndexedEvent> events = emitter.emitEvents(numEvents);
+
+        shadowgraph = new Shadowgraph(
+                TestPlatformContextBuilder.create().build(), emitter.getGraphGenerator().getAddressBook());
+        hashes = new ArrayList<>(numEvents);
+        for (final IndexedEvent event : events) {
+            shadowgraph.addEvent(event);
+            hashes.add(event.getBaseHash());
+        }
+        executor = Executors.newFixedThreadPool(concurrentSyncs);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void concurrentSyncs(final Blackhole bh) throws Exception {
+        final List<Future<Integer>> futures = new ArrayList<>(concurrentSyncs);
+        for (int t = 0; t < concurrentSyncs; t++) {
+            final Random random = new Random(seed + t);
+            final Callable<Integer> syncs = () -> {
+                int found = 0;
+                final List<Hash> theirTips = new ArrayList<>(numNodes);
+                for (int i = 0; i < syncsPerThread; i++) {
+                    final List<ShadowEvent> myTips = shadowgraph.getTips();
+                    theirTips.clear();
+                    for (int j = 0; j < numNodes; j++) {
+                        theirTips.add(hashes.get(random.nextInt(hashes.size())));
+                    }
+                    final List<ShadowEvent> shadows = shadowgraph.shadows(theirTips);
+                    found += myTips.size() + shadows.size();
+                }
+                return found;
+            };
+            futures.add(executor.submit(syncs));
+        }
+        for (final Future<Integer> future : futures) {
+            bh.consume(future.get());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.core.jmh;
+
+import com.swirlds.common.crypto.Cryptography;
+import com.swirlds.common.crypto.TransactionSignature;
+import com.swirlds.common.test.fixtures.crypto.SignaturePool;
+import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares verifying a batch of Ed25519 signatures through the asynchronous batch path of the crypto engine with
+ * verifying the same signatures one by one.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SignatureVerificationBenchmark {
+
+    @Param({"64", "256", "1024", "4096"})
+    public int batchSize;
+
+    @Param({"100"})
+    public int messageSize;
+
+    private Cryptography cryptography;
+    private SignaturePool signaturePool;
+    private List<TransactionSignature> signatures;
+
+    @Setup
+    public void setup() {
+        cryptography = TestPlatformContextBuilder.create().build().getCryptography();
+        signaturePool = new SignaturePool(batchSize, messageSize, true);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        // fresh signatures, so futures of previous invocations are not reused
+        signatures = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            signatures.add(signaturePool.next());
+        }
+    }
+
+    @Benchmark
+    public void verifyBatch(final Blackhole bh) throws Exception {
+        cryptography.verifyAsync(signatures);
+        for (final TransactionSignature signature : signatures) {
+            signature.waitForFuture().get();
+            bh.consume(signature.getSignatureStatus());
+        }
+    }
+
+    @Benchmark
+    public void verifyOneByOne(final Blackhole bh) {
+        for (final TransactionSignature signature : signatures) {
+            bh.consume(cryptography.verifySync(signature));
+        }
+    }
+}
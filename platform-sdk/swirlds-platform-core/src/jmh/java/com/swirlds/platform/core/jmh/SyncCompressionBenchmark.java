@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.core.jmh;
+
+import com.swirlds.common.constructable.ConstructableRegistry;
+import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.io.IOIterator;
+import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
+import com.swirlds.platform.event.GossipEvent;
+import com.swirlds.platform.event.preconsensus.PcesFile;
+import com.swirlds.platform.gossip.sync.SyncCompression;
+import com.swirlds.platform.gossip.sync.SyncInputStream;
+import com.swirlds.platform.gossip.sync.SyncOutputStream;
+import com.swirlds.platform.test.fixtures.event.TestingEventBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the codecs of sync streams by writing events to a stream and reading them back, flushing after every batch
+ * of events the way a sync does. The events are read from the PCES files in {@link #pcesDirectory}, or generated if
+ * no directory is given.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SyncCompressionBenchmark {
+
+    @Param({"NONE", "DEFLATE", "DEFLATE_FAST"})
+    public SyncCompression compression;
+
+    /** a directory with recorded PCES files, events are generated if empty */
+    @Param({""})
+    public String pcesDirectory;
+
+    @Param({"10000"})
+    public int numEvents;
+
+    /** the number of events sent per sync */
+    @Param({"20"})
+    public int batchSize;
+
+    @Param({"8192"})
+    public int bufferSize;
+
+    @Param({"0"})
+    public long seed;
+
+    private PlatformContext platformContext;
+    private List<GossipEvent> events;
+    private byte[] compressed;
+
+    @Setup
+    public void setup() throws Exception {
+        ConstructableRegistry.getInstance().registerConstructables("com.swirlds");
+        platformContext = TestPlatformContextBuilder.create().build();
+        events = pcesDirectory.isEmpty() ? generateEvents() : readEvents(Path.of(pcesDirectory));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        write(bytes);
+        compressed = bytes.toByteArray();
+        System.out.printf("%s: %d events, %d bytes%n", compression, events.size(), compressed.length);
+    }
+
+    @Benchmark
+    public void compress(final Blackhole bh) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(compressed.length);
+        write(bytes);
+        bh.consume(bytes.size());
+    }
+
+    @Benchmark
+    public void decompress(final Blackhole bh) throws IOException {
+        final SyncInputStream in = SyncInputStream.createSyncInputStream(
+                platformContext, new ByteArrayInputStream(compressed), bufferSize, compression);
+        for (int i = 0; i < events.size(); i++) {
+            bh.consume(in.readEventData());
+        }
+    }
+
+    private void write(final ByteArrayOutputStream bytes) throws IOException {
+        final SyncOutputStream out =
+                SyncOutputStream.createSyncOutputStream(platformContext, bytes, bufferSize, compression);
+        for (int i = 0; i < events.size(); i++) {
+            out.writeSerializable(events.get(i), false);
+            if ((i + 1) % batchSize == 0) {
+                out.flush();
+            }
+        }
+        out.flush();
+    }
+
+    private List<GossipEvent> readEvents(final Path directory) throws IOException {
+        final List<Path> files;
+        try (final Stream<Path> paths = Files.walk(directory)) {
+            files = paths.filter(path -> path.toString().endsWith(".pces"))
+                    .sorted()
+                    .toList();
+        }
+
+        final List<GossipEvent> recorded = new ArrayList<>(numEvents);
+        for (final Path file : files) {
+            if (recorded.size() == numEvents) {
+                break;
+            }
+            try (final IOIterator<GossipEvent> iterator = PcesFile.of(file).iterator(Long.MIN_VALUE)) {
+                while (iterator.hasNext() && recorded.size() < numEvents) {
+                    recorded.add(iterator.next());
+                }
+            }
+        }
+        if (recorded.isEmpty()) {
+            throw new IllegalStateException("No events found in " + directory);
+        }
+        return recorded;
+    }
+
+    private List<GossipEvent> generateEvents() {
+        final Random random = new Random(seed);
+        final int numNodes = 10;
+        final GossipEvent[] lastEvents = new GossipEvent[numNodes];
+        final List<GossipEvent> generated = new ArrayList<>(numEvents);
+        for (int i = 0; i < numEvents; i++) {
+            final int creator = random.nextInt(numNodes);
+            final int otherCreator = random.nextInt(numNodes);
+            final GossipEvent event = TestingEventBuilder.builder()
+                    .setRandom(random)
+                    .setCreatorId(creator)
+                    .setNumberOfTransactions(random.nextInt(10))
+                    .setTransactionSize(100)
+                    .setSelfParent(lastEvents[creator])
+                    .setOtherParent(lastEvents[otherCreator])
+                    .buildGossipEvent();
+            lastEvents[creator] = event;
+            generated.add(event);
+        }
+        return generated;
+    }
+}
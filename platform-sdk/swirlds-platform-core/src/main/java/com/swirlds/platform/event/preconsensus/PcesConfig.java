@@ -77,6 +77,14 @@ import java.time.Duration;
  * @param compactLastFileOnStartup            if true, then compact the last file's span on startup.
  * @param forceIgnorePcesSignatures           if true, then ignore the signatures on preconsensus events. Note: This is
  *                                            a TEST ONLY setting. It must never be enabled in production.
+ * @param writeBufferSize                     the size of the direct buffer events are serialized into before they are
+ *                                            written to the current file, in bytes
+ * @param preallocateFiles                    if true, then the size of a new file is set to the preferred file size
+ *                                            up front, so appending events doesn't change the file size. Files are
+ *                                            truncated to the written size when closed.
+ * @param syncOnFlush                         if true, then flushing events forces them to the storage device, so they
+ *                                            survive an operating system crash or a power loss. If false, then flushed
+ *                                            events are only handed to the operating system.
  */
 @ConfigData("event.preconsensus")
 public record PcesConfig(
@@ -94,4 +102,7 @@ public record PcesConfig(
         @ConfigProperty(defaultValue = "8") int replayHashPoolSize,
         @ConfigProperty(defaultValue = "true") boolean copyRecentStreamToStateSnapshots,
         @ConfigProperty(defaultValue = "true") boolean compactLastFileOnStartup,
-        @ConfigProperty(defaultValue = "false") boolean forceIgnorePcesSignatures) {}
+        @ConfigProperty(defaultValue = "false") boolean forceIgnorePcesSignatures,
+        @Min(1024) @ConfigProperty(defaultValue = "262144") int writeBufferSize,
+        @ConfigProperty(defaultValue = "true") boolean preallocateFiles,
+        @ConfigProperty(defaultValue = "true") boolean syncOnFlush) {}
@@ -403,6 +403,20 @@ public final class PcesFile implements Comparable<PcesFile> {
         return new PcesMutableFile(this);
     }
 
+    /**
+     * Get an object that can be used to write events to this file. Throws if there already exists a file on disk with
+     * the same path.
+     *
+     * @param writeBufferSize  the size of the write buffer, in bytes
+     * @param preallocatedSize the size to set for the file up front, in bytes, or 0 if the file should not be
+     *                         preallocated
+     * @return a writer for this file
+     */
+    @NonNull
+    public PcesMutableFile getMutableFile(final int writeBufferSize, final long preallocatedSize) throws IOException {
+        return new PcesMutableFile(this, writeBufferSize, preallocatedSize);
+    }
+
     /**
      * Delete a file (permanently). Automatically deletes parent directories if empty up until the root directory is
      * reached, which is never deleted.
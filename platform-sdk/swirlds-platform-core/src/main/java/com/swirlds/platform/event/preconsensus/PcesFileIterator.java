@@ -32,6 +32,10 @@ import java.util.Objects;
 
 /**
  * Iterates over the events in a single preconsensus event file.
+ * <p>
+ * A preallocated file that was not closed properly, e.g. because the node crashed, ends with zero padding after the
+ * last event written. The padding is skipped. Zero is never a valid event version, so padding can't be mistaken for an
+ * event.
  */
 public class PcesFileIterator implements IOIterator<GossipEvent> {
 
@@ -65,7 +69,11 @@ public class PcesFileIterator implements IOIterator<GossipEvent> {
 
         try {
             final int fileVersion = stream.readInt();
-            if (fileVersion != PcesMutableFile.FILE_VERSION) {
+            if (fileVersion == 0 && isRemainderZeroPadding()) {
+                // Preallocated file, the node crashed before the header was written.
+                stream.close();
+                streamClosed = true;
+            } else if (fileVersion != PcesMutableFile.FILE_VERSION) {
                 throw new IOException("unsupported file version: " + fileVersion);
             }
         } catch (final EOFException e) {
@@ -96,8 +104,36 @@ public class PcesFileIterator implements IOIterator<GossipEvent> {
                 }
                 stream.close();
                 streamClosed = true;
+            } catch (final IOException e) {
+                if (!isRemainderZeroPadding()) {
+                    throw e;
+                }
+                if (counter.getCount() - initialCount > Integer.BYTES) {
+                    // The event version was written, but the rest of the event was not.
+                    hasPartialEvent = true;
+                }
+                stream.close();
+                streamClosed = true;
+            }
+        }
+    }
+
+    /**
+     * Check if the rest of the file is zero padding left by preallocation. Consumes the rest of the stream.
+     *
+     * @return true if all remaining bytes are zero
+     */
+    private boolean isRemainderZeroPadding() throws IOException {
+        final byte[] buffer = new byte[8192];
+        int count;
+        while ((count = stream.read(buffer)) != -1) {
+            for (int i = 0; i < count; i++) {
+                if (buffer[i] != 0) {
+                    return false;
+                }
             }
         }
+        return true;
     }
 
     /**
@@ -303,6 +303,16 @@ public class PcesFileManager {
         updateFileSizeMetrics();
     }
 
+    /**
+     * Get the metrics of the preconsensus event stream, shared with the writer.
+     *
+     * @return the metrics
+     */
+    @NonNull
+    PcesMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Update metrics with the latest data on file size.
      */
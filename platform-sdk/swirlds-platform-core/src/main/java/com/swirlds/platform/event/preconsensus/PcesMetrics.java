@@ -83,6 +83,18 @@ public class PcesMetrics {
             .withDescription("The age of the oldest preconsensus event file, in seconds.");
     private final LongGauge preconsensusEventFileOldestSeconds;
 
+    private static final RunningAverageMetric.Config PRECONSENSUS_EVENT_SYNC_MILLISECONDS_CONFIG =
+            new RunningAverageMetric.Config(CATEGORY, "preconsensusEventSyncMilliseconds")
+                    .withUnit("milliseconds")
+                    .withDescription("The average time it takes to force preconsensus events to disk.");
+    private final RunningAverageMetric preconsensusEventSyncMilliseconds;
+
+    private static final RunningAverageMetric.Config PRECONSENSUS_EVENTS_PER_SYNC_CONFIG =
+            new RunningAverageMetric.Config(CATEGORY, "preconsensusEventsPerSync")
+                    .withUnit("count")
+                    .withDescription("The average number of preconsensus events forced to disk by a single sync.");
+    private final RunningAverageMetric preconsensusEventsPerSync;
+
     /**
      * Construct preconsensus event metrics.
      *
@@ -100,6 +112,8 @@ public class PcesMetrics {
         preconsensusEventFileYoungestIdentifier =
                 metrics.getOrCreate(PRECONSENSUS_EVENT_FILE_YOUNGEST_IDENTIFIER_CONFIG);
         preconsensusEventFileOldestSeconds = metrics.getOrCreate(PRECONSENSUS_EVENT_FILE_OLDEST_SECONDS_CONFIG);
+        preconsensusEventSyncMilliseconds = metrics.getOrCreate(PRECONSENSUS_EVENT_SYNC_MILLISECONDS_CONFIG);
+        preconsensusEventsPerSync = metrics.getOrCreate(PRECONSENSUS_EVENTS_PER_SYNC_CONFIG);
     }
 
     /**
@@ -164,4 +178,18 @@ public class PcesMetrics {
     public LongGauge getPreconsensusEventFileOldestSeconds() {
         return preconsensusEventFileOldestSeconds;
     }
+
+    /**
+     * Get the metric tracking the time it takes to force preconsensus events to disk, in milliseconds.
+     */
+    public RunningAverageMetric getPreconsensusEventSyncMilliseconds() {
+        return preconsensusEventSyncMilliseconds;
+    }
+
+    /**
+     * Get the metric tracking the number of preconsensus events forced to disk by a single sync.
+     */
+    public RunningAverageMetric getPreconsensusEventsPerSync() {
+        return preconsensusEventsPerSync;
+    }
 }
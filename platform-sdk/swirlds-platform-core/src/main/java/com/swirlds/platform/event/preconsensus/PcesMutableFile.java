@@ -21,20 +21,33 @@ import com.swirlds.common.io.extendable.extensions.CountingStreamExtension;
 import com.swirlds.common.io.streams.SerializableDataOutputStream;
 import com.swirlds.platform.event.GossipEvent;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.io.BufferedOutputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Represents a preconsensus event file that can be written to.
+ * <p>
+ * Events are serialized into a direct buffer, which is written to a {@link FileChannel} when it is full or when the
+ * file is flushed. The file may be preallocated, i.e. its size is set up front, so appending events doesn't change the
+ * file size, and forcing events to disk doesn't need to update file size metadata. A preallocated file is truncated to
+ * the written size when it is closed. If the node crashes before that, the rest of the file is zero padding, which is
+ * skipped by {@link PcesFileIterator}.
  */
 public class PcesMutableFile {
     /** the file version to write at the beginning of the file. atm, this is just a placeholder for future changes */
     public static final int FILE_VERSION = 1;
 
+    /**
+     * The default size of the write buffer, in bytes.
+     */
+    private static final int DEFAULT_WRITE_BUFFER_SIZE = 256 * 1024;
+
     /**
      * Describes the file that is being written to.
      */
@@ -50,6 +63,21 @@ public class PcesMutableFile {
      */
     private long highestAncientIdentifierInFile;
 
+    /**
+     * The channel events are written to.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Events are serialized into this buffer before they are written to the channel.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * True if the file size was set up front, and the file must be truncated when closed.
+     */
+    private final boolean preallocated;
+
     /**
      * The output stream to write to.
      */
@@ -61,6 +89,19 @@ public class PcesMutableFile {
      * @param descriptor a description of the file
      */
     PcesMutableFile(@NonNull final PcesFile descriptor) throws IOException {
+        this(descriptor, DEFAULT_WRITE_BUFFER_SIZE, 0);
+    }
+
+    /**
+     * Create a new preconsensus event file that can be written to.
+     *
+     * @param descriptor       a description of the file
+     * @param writeBufferSize  the size of the write buffer, in bytes
+     * @param preallocatedSize the size to set for the file up front, in bytes, or 0 if the file should not be
+     *                         preallocated
+     */
+    PcesMutableFile(@NonNull final PcesFile descriptor, final int writeBufferSize, final long preallocatedSize)
+            throws IOException {
         if (Files.exists(descriptor.getPath())) {
             throw new IOException("File " + descriptor.getPath() + " already exists");
         }
@@ -68,11 +109,15 @@ public class PcesMutableFile {
         Files.createDirectories(descriptor.getPath().getParent());
 
         this.descriptor = descriptor;
+        channel = FileChannel.open(descriptor.getPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        preallocated = preallocatedSize > 0;
+        if (preallocated) {
+            // writing the last byte sets the file size, the channel position is not changed
+            channel.write(ByteBuffer.allocate(1), preallocatedSize - 1);
+        }
+        buffer = ByteBuffer.allocateDirect(writeBufferSize);
         counter = new CountingStreamExtension(false);
-        out = new SerializableDataOutputStream(new ExtendableOutputStream(
-                new BufferedOutputStream(
-                        new FileOutputStream(descriptor.getPath().toFile())),
-                counter));
+        out = new SerializableDataOutputStream(new ExtendableOutputStream(new ChannelOutputStream(), counter));
         out.writeInt(FILE_VERSION);
         highestAncientIdentifierInFile = descriptor.getLowerBound();
     }
@@ -130,17 +175,34 @@ public class PcesMutableFile {
     }
 
     /**
-     * Flush the file.
+     * Flush the file. Written events are handed to the operating system, but may not be on the storage device yet.
      */
     public void flush() throws IOException {
         out.flush();
     }
 
     /**
-     * Close the file.
+     * Flush the file, and force all written events to the storage device.
+     */
+    public void sync() throws IOException {
+        out.flush();
+        // file size metadata is not needed, unless the events didn't fit the preallocated size
+        channel.force(false);
+    }
+
+    /**
+     * Close the file. All written events are forced to the storage device.
      */
     public void close() throws IOException {
-        out.close();
+        try {
+            out.flush();
+            if (preallocated) {
+                channel.truncate(counter.getCount());
+            }
+            channel.force(true);
+        } finally {
+            out.close();
+        }
     }
 
     /**
@@ -182,4 +244,64 @@ public class PcesMutableFile {
     public String toString() {
         return descriptor.toString();
     }
+
+    /**
+     * An output stream that writes to {@link #buffer}, and writes the buffer to {@link #channel} when it is full or
+     * flushed.
+     */
+    private class ChannelOutputStream extends OutputStream {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void write(final int b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                writeBuffer();
+            }
+            buffer.put((byte) b);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void write(@NonNull final byte[] bytes, final int offset, final int length) throws IOException {
+            int position = offset;
+            int remaining = length;
+            while (remaining > 0) {
+                if (!buffer.hasRemaining()) {
+                    writeBuffer();
+                }
+                final int count = Math.min(remaining, buffer.remaining());
+                buffer.put(bytes, position, count);
+                position += count;
+                remaining -= count;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void flush() throws IOException {
+            writeBuffer();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private void writeBuffer() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
 }
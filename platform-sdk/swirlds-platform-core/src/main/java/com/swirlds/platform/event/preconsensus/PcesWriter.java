@@ -20,6 +20,7 @@ import static com.swirlds.common.units.DataUnit.UNIT_BYTES;
 import static com.swirlds.common.units.DataUnit.UNIT_MEGABYTES;
 import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
 
+import com.swirlds.base.time.Time;
 import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.utility.LongRunningAverage;
 import com.swirlds.platform.consensus.NonAncientEventWindow;
@@ -145,6 +146,29 @@ public class PcesWriter {
      */
     private final Deque<Long> flushRequests = new ArrayDeque<>();
 
+    /**
+     * The size of the write buffer of each file, in bytes.
+     */
+    private final int writeBufferSize;
+
+    /**
+     * The size to preallocate for each file, in bytes, or 0 if files are not preallocated.
+     */
+    private final long preallocatedFileSize;
+
+    /**
+     * If true, flushed events are forced to the storage device before they are considered durable.
+     */
+    private final boolean syncOnFlush;
+
+    /**
+     * The number of events written since the last flush.
+     */
+    private long eventsSinceLastFlush;
+
+    private final PcesMetrics metrics;
+    private final Time time;
+
     /**
      * Constructor
      *
@@ -163,8 +187,15 @@ public class PcesWriter {
         bootstrapSpanOverlapFactor = config.bootstrapSpanOverlapFactor();
         spanOverlapFactor = config.spanOverlapFactor();
         minimumSpan = config.minimumSpan();
+        writeBufferSize = config.writeBufferSize();
+        preallocatedFileSize = config.preallocateFiles()
+                ? (long) UNIT_MEGABYTES.convertTo(preferredFileSizeMegabytes, UNIT_BYTES)
+                : 0;
+        syncOnFlush = config.syncOnFlush();
 
         this.fileManager = fileManager;
+        metrics = fileManager.getMetrics();
+        time = platformContext.getTime();
 
         fileType = platformContext
                         .getConfiguration()
@@ -190,6 +221,10 @@ public class PcesWriter {
 
     /**
      * Consider outstanding flush requests and perform a flush if needed.
+     * <p>
+     * A single flush makes all events written so far durable, so it satisfies every outstanding flush request for
+     * those events. Events are only forced to disk when there is a request for it, and a burst of requests results in a
+     * single sync.
      *
      * @return true if a flush was performed, otherwise false
      */
@@ -209,12 +244,20 @@ public class PcesWriter {
             }
 
             try {
-                currentMutableFile.flush();
+                if (syncOnFlush) {
+                    final long start = time.nanoTime();
+                    currentMutableFile.sync();
+                    metrics.getPreconsensusEventSyncMilliseconds().update((time.nanoTime() - start) / 1_000_000.0);
+                    metrics.getPreconsensusEventsPerSync().update(eventsSinceLastFlush);
+                } else {
+                    currentMutableFile.flush();
+                }
             } catch (final IOException e) {
                 throw new UncheckedIOException(e);
             }
 
             lastFlushedEvent = lastWrittenEvent;
+            eventsSinceLastFlush = 0;
         }
 
         return flushRequired;
@@ -249,6 +292,7 @@ public class PcesWriter {
             final boolean fileClosed = prepareOutputStream(event);
             currentMutableFile.writeEvent(event);
             lastWrittenEvent = event.getStreamSequenceNumber();
+            eventsSinceLastFlush++;
 
             final boolean flushPerformed = processFlushRequests();
 
@@ -354,6 +398,7 @@ public class PcesWriter {
             }
             currentMutableFile.close();
             lastFlushedEvent = lastWrittenEvent;
+            eventsSinceLastFlush = 0;
 
             fileManager.finishedWritingFile(currentMutableFile);
             currentMutableFile = null;
@@ -418,7 +463,7 @@ public class PcesWriter {
 
             currentMutableFile = fileManager
                     .getNextFileDescriptor(nonAncientBoundary, upperBound)
-                    .getMutableFile();
+                    .getMutableFile(writeBufferSize, preallocatedFileSize);
         }
 
         return fileClosed;
@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.shadowgraph;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Event IDs from a {@link ShadowEventIndex}, grouped in buckets by ancient indicator.
+ *
+ * <p>Buckets are primitive int arrays, kept in a ring that covers a contiguous range of ancient indicators. Unexpired
+ * indicators are contiguous too, so the ring is about as long as the number of unexpired indicators, and expiring the
+ * oldest indicator just moves the start of the ring. Bucket arrays are reused after they are emptied.
+ *
+ * <p>This class is not thread safe.
+ */
+final class AncientIndicatorBuckets {
+
+    /** The minimum number of buckets in the ring */
+    private static final int MIN_RING_SIZE = 64;
+
+    /** The initial size of a bucket array */
+    private static final int MIN_BUCKET_SIZE = 8;
+
+    /** The maximum number of buckets in the ring */
+    private static final int MAX_RING_SIZE = 1 << 30;
+
+    /** Bucket arrays, a power of two of them. Arrays are allocated when first needed. */
+    private int[][] buckets;
+
+    /** The number of IDs in every bucket */
+    private int[] sizes;
+
+    /** The ancient indicator of the bucket at {@link #head} */
+    private long firstIndicator;
+
+    /** The position of the first bucket in the ring */
+    private int head;
+
+    /** The number of IDs in all buckets */
+    private long count;
+
+    /**
+     * Create empty buckets.
+     *
+     * @param firstIndicator the oldest ancient indicator expected to be added
+     */
+    AncientIndicatorBuckets(final long firstIndicator) {
+        clear(firstIndicator);
+    }
+
+    /**
+     * Add an event ID to the bucket of the given ancient indicator.
+     *
+     * @param indicator the ancient indicator
+     * @param id        the event ID
+     */
+    void add(final long indicator, final int id) {
+        if (count == 0) {
+            // nothing to keep, start the ring at the given indicator
+            firstIndicator = indicator;
+            head = 0;
+        } else if (!covers(indicator)) {
+            grow(indicator);
+        }
+        final int position = position(indicator);
+        int[] bucket = buckets[position];
+        if (bucket == null) {
+            bucket = new int[MIN_BUCKET_SIZE];
+            buckets[position] = bucket;
+        } else if (sizes[position] == bucket.length) {
+            bucket = Arrays.copyOf(bucket, bucket.length * 2);
+            buckets[position] = bucket;
+        }
+        bucket[sizes[position]++] = id;
+        count++;
+    }
+
+    /**
+     * Remove all event IDs with the given ancient indicator, and pass them to the given consumer. If the indicator is
+     * the oldest in the ring, the ring start is moved to the next indicator.
+     *
+     * @param indicator  the ancient indicator
+     * @param idConsumer the consumer of removed IDs
+     * @return true if any IDs were removed, false if the bucket was empty
+     */
+    boolean remove(final long indicator, @NonNull final IntConsumer idConsumer) {
+        if (!covers(indicator)) {
+            return false;
+        }
+        final int position = position(indicator);
+        final int size = sizes[position];
+        final int[] bucket = buckets[position];
+        for (int i = 0; i < size; i++) {
+            idConsumer.accept(bucket[i]);
+        }
+        sizes[position] = 0;
+        count -= size;
+        if (indicator == firstIndicator) {
+            // the emptied bucket becomes the last one in the ring
+            firstIndicator++;
+            head = (head + 1) & (buckets.length - 1);
+        }
+        return size > 0;
+    }
+
+    /**
+     * Pass all event IDs with the given ancient indicator to the given consumer.
+     *
+     * @param indicator  the ancient indicator
+     * @param idConsumer the consumer of IDs
+     */
+    void forEach(final long indicator, @NonNull final IntConsumer idConsumer) {
+        if (!covers(indicator)) {
+            return;
+        }
+        final int position = position(indicator);
+        final int size = sizes[position];
+        final int[] bucket = buckets[position];
+        for (int i = 0; i < size; i++) {
+            idConsumer.accept(bucket[i]);
+        }
+    }
+
+    /**
+     * Remove all event IDs.
+     *
+     * @param firstIndicator the oldest ancient indicator expected to be added
+     */
+    void clear(final long firstIndicator) {
+        buckets = new int[MIN_RING_SIZE][];
+        sizes = new int[MIN_RING_SIZE];
+        this.firstIndicator = firstIndicator;
+        head = 0;
+        count = 0;
+    }
+
+    private boolean covers(final long indicator) {
+        return (indicator >= firstIndicator) && (indicator - firstIndicator < buckets.length);
+    }
+
+    private int position(final long indicator) {
+        return (head + (int) (indicator - firstIndicator)) & (buckets.length - 1);
+    }
+
+    /**
+     * Grow the ring, so it covers both the current range and the given indicator. The ring is rebuilt starting at
+     * position 0.
+     */
+    private void grow(final long indicator) {
+        final long newFirstIndicator = Math.min(firstIndicator, indicator);
+        final long newLastIndicator = Math.max(firstIndicator + buckets.length - 1, indicator);
+        final long required = newLastIndicator - newFirstIndicator + 1;
+        if (required > MAX_RING_SIZE) {
+            throw new IllegalStateException("Ancient indicator " + indicator + " is too far from the oldest indicator "
+                    + firstIndicator + " in the shadowgraph");
+        }
+        int ringSize = buckets.length;
+        while (ringSize < required) {
+            ringSize *= 2;
+        }
+        final int[][] newBuckets = new int[ringSize][];
+        final int[] newSizes = new int[ringSize];
+        final int shift = (int) (firstIndicator - newFirstIndicator);
+        for (int i = 0; i < buckets.length; i++) {
+            final int position = (head + i) & (buckets.length - 1);
+            newBuckets[shift + i] = buckets[position];
+            newSizes[shift + i] = sizes[position];
+        }
+        buckets = newBuckets;
+        sizes = newSizes;
+        firstIndicator = newFirstIndicator;
+        head = 0;
+    }
+}
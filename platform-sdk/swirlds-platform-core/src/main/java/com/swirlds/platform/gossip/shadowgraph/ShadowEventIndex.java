@@ -0,0 +1,285 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.shadowgraph;
+
+import com.swirlds.common.crypto.Hash;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * An index of shadow events by event base hash, with lock-free reads. Every event in the index is assigned a compact
+ * int ID. IDs of removed events are reused, so IDs stay below the maximum number of events ever in the index at the
+ * same time.
+ *
+ * <p>Hashes are interned in an open addressing hash table of primitive arrays, where every slot holds an event ID and
+ * the hash code of the event hash. Events are stored in an array by ID. Unlike a {@link java.util.HashMap}, no objects
+ * are allocated per entry.
+ *
+ * <p>This class is thread safe for a single writer and multiple readers. Writers must be synchronized externally.
+ * Readers never block. Slots and events are published with release writes, and the hash table and the event array are
+ * replaced rather than modified, when they grow. A reader may miss an event being added concurrently, or find an event
+ * being removed concurrently, as if the read happened before the write.
+ */
+final class ShadowEventIndex {
+
+    /** The minimum number of hash table slots, and the initial size of the event array */
+    private static final int MIN_CAPACITY = 1024;
+
+    /** Slot value of a slot that has never been used */
+    private static final int EMPTY = 0;
+
+    /** Slot value of a slot whose event was removed */
+    private static final int REMOVED = -1;
+
+    private static final VarHandle INT_ARRAY = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle EVENT_ARRAY = MethodHandles.arrayElementVarHandle(ShadowEvent[].class);
+
+    /**
+     * Hash table. A slot holds an event ID plus one, {@link #EMPTY} or {@link #REMOVED}. Slots are never emptied, so
+     * probe sequences are never broken for readers. Hash codes are stored next to slots, so most mismatches are
+     * detected without loading events.
+     */
+    private record Table(int[] slots, int[] hashCodes) {
+
+        Table(final int capacity) {
+            this(new int[capacity], new int[capacity]);
+        }
+
+        int mask() {
+            return slots.length - 1;
+        }
+    }
+
+    /** The current hash table */
+    private volatile Table table;
+
+    /** Events by ID */
+    private volatile ShadowEvent[] events;
+
+    /** The number of events in the index. Writer only. */
+    private int size;
+
+    /** The number of slots that are not empty, including removed slots. Writer only. */
+    private int usedSlots;
+
+    /** All IDs below this value have been assigned at least once. Writer only. */
+    private int nextId;
+
+    /** A stack of IDs of removed events, to be reused. Writer only. */
+    private int[] freeIds;
+
+    /** The number of IDs in {@link #freeIds}. Writer only. */
+    private int freeIdCount;
+
+    /**
+     * Create an empty index.
+     */
+    ShadowEventIndex() {
+        clear();
+    }
+
+    /**
+     * Find the shadow event of the event with the given base hash. May be called by any thread.
+     *
+     * @param hash the event base hash
+     * @return the shadow event, or null if the index doesn't contain an event with the hash
+     */
+    @Nullable
+    ShadowEvent get(@NonNull final Hash hash) {
+        final int hashCode = hash.hashCode();
+        final Table t = table;
+        final int mask = t.mask();
+        for (int i = spread(hashCode) & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+            final int slot = (int) INT_ARRAY.getAcquire(t.slots, i);
+            if (slot == EMPTY) {
+                return null;
+            }
+            if ((slot != REMOVED) && (t.hashCodes[i] == hashCode)) {
+                // the ID may have been reused since the slot was read, the event hash is the final check
+                final ShadowEvent shadow = getById(slot - 1);
+                if ((shadow != null) && hash.equals(shadow.getEventBaseHash())) {
+                    return shadow;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the shadow event with the given ID. May be called by any thread.
+     *
+     * @param id the event ID
+     * @return the shadow event, or null if there is no event with the ID
+     */
+    @Nullable
+    ShadowEvent getById(final int id) {
+        final ShadowEvent[] e = events;
+        return (id >= 0) && (id < e.length) ? (ShadowEvent) EVENT_ARRAY.getAcquire(e, id) : null;
+    }
+
+    /**
+     * Add a shadow event to the index. The index must not contain an event with the same hash. Writer only.
+     *
+     * @param shadow the shadow event
+     * @return the ID assigned to the event
+     */
+    int add(@NonNull final ShadowEvent shadow) {
+        Objects.requireNonNull(shadow);
+        final int id = allocateId();
+        // the event must be visible before the slot that refers to it
+        EVENT_ARRAY.setRelease(events, id, shadow);
+
+        Table t = table;
+        if ((usedSlots + 1) * 2 > t.slots.length) {
+            t = rehash();
+        }
+        final int hashCode = shadow.getEventBaseHash().hashCode();
+        final int mask = t.mask();
+        int i = spread(hashCode) & mask;
+        while ((t.slots[i] != EMPTY) && (t.slots[i] != REMOVED)) {
+            i = (i + 1) & mask;
+        }
+        if (t.slots[i] == EMPTY) {
+            usedSlots++;
+        }
+        t.hashCodes[i] = hashCode;
+        INT_ARRAY.setRelease(t.slots, i, id + 1);
+        size++;
+        return id;
+    }
+
+    /**
+     * Remove the shadow event with the given ID from the index. The ID may be reused by a later {@link #add}. Writer
+     * only.
+     *
+     * @param id the event ID
+     * @return the removed shadow event, or null if there was no event with the ID
+     */
+    @Nullable
+    ShadowEvent remove(final int id) {
+        final ShadowEvent shadow = getById(id);
+        if (shadow == null) {
+            return null;
+        }
+        final Table t = table;
+        final int mask = t.mask();
+        for (int i = spread(shadow.getEventBaseHash().hashCode()) & mask; t.slots[i] != EMPTY; i = (i + 1) & mask) {
+            if (t.slots[i] == id + 1) {
+                INT_ARRAY.setRelease(t.slots, i, REMOVED);
+                break;
+            }
+        }
+        EVENT_ARRAY.setRelease(events, id, null);
+        if (freeIdCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+        }
+        freeIds[freeIdCount++] = id;
+        size--;
+        return shadow;
+    }
+
+    /**
+     * Get the number of events in the index. Writer only.
+     *
+     * @return the number of events
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Pass every shadow event in the index to the given consumer. May be called by any thread, but events added or
+     * removed concurrently may or may not be visited.
+     *
+     * @param consumer the consumer
+     */
+    void forEach(@NonNull final Consumer<ShadowEvent> consumer) {
+        final ShadowEvent[] e = events;
+        for (int id = 0; id < e.length; id++) {
+            final ShadowEvent shadow = (ShadowEvent) EVENT_ARRAY.getAcquire(e, id);
+            if (shadow != null) {
+                consumer.accept(shadow);
+            }
+        }
+    }
+
+    /**
+     * Remove all events from the index. Writer only.
+     */
+    void clear() {
+        table = new Table(MIN_CAPACITY);
+        events = new ShadowEvent[MIN_CAPACITY];
+        freeIds = new int[MIN_CAPACITY];
+        size = 0;
+        usedSlots = 0;
+        nextId = 0;
+        freeIdCount = 0;
+    }
+
+    private int allocateId() {
+        if (freeIdCount > 0) {
+            return freeIds[--freeIdCount];
+        }
+        final int id = nextId++;
+        if (id == events.length) {
+            // readers may still use the old array, it's never modified again
+            events = Arrays.copyOf(events, events.length * 2);
+        }
+        return id;
+    }
+
+    /**
+     * Replace the hash table with a new one without removed slots, at most a quarter full.
+     */
+    private Table rehash() {
+        final Table old = table;
+        int capacity = MIN_CAPACITY;
+        while (capacity < (size + 1) * 4) {
+            capacity *= 2;
+        }
+        final Table t = new Table(capacity);
+        final int mask = t.mask();
+        for (int j = 0; j < old.slots.length; j++) {
+            final int slot = old.slots[j];
+            if ((slot != EMPTY) && (slot != REMOVED)) {
+                int i = spread(old.hashCodes[j]) & mask;
+                while (t.slots[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                t.slots[i] = slot;
+                t.hashCodes[i] = old.hashCodes[j];
+            }
+        }
+        usedSlots = size;
+        // the volatile write publishes the new table with all its slots
+        table = t;
+        return t;
+    }
+
+    /**
+     * Spread hash code bits, so consecutive table slots are not taken by similar hash codes.
+     */
+    private static int spread(final int hashCode) {
+        final int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
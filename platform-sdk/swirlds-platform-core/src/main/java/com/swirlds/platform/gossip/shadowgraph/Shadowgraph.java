@@ -34,14 +34,11 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -52,6 +49,11 @@ import org.apache.logging.log4j.Logger;
 /**
  * The primary purpose of the shadowgraph is to unlink events when it is safe to do so. In order to decide when it is
  * safe to unlink an event, it allows for batches of events (by ancient indicator) to be reserved.
+ *
+ * <p>Methods that modify the shadowgraph are synchronized. Lookups by hash and reads of the tips and the event window
+ * don't lock, so gossip threads syncing with many peers at once don't contend with each other or with event intake.
+ * Events are indexed by a {@link ShadowEventIndex}, which interns event hashes into compact int IDs, and event IDs are
+ * grouped by ancient indicator in {@link AncientIndicatorBuckets}.</p>
  */
 public class Shadowgraph implements Clearable {
 
@@ -63,24 +65,29 @@ public class Shadowgraph implements Clearable {
     public static final int NO_RESERVATION = -1;
 
     /**
-     * The shadowgraph represented in a map from has to shadow event.
+     * The shadowgraph represented in an index from hash to shadow event. Read without locking.
      */
-    private final HashMap<Hash, ShadowEvent> hashToShadowEvent;
+    private final ShadowEventIndex hashToShadowEvent;
 
     /**
-     * Map from ancient indicator to all shadow events with that ancient indicator.
+     * IDs of all shadow events in {@link #hashToShadowEvent}, by ancient indicator.
      */
-    private final Map<Long /* ancient indicator */, Set<ShadowEvent>> indicatorToShadowEvent;
+    private final AncientIndicatorBuckets indicatorToShadowEvent;
 
     /**
      * The set of all tips for the shadowgraph. A tip is an event with no self child (could have other children)
      */
     private final HashSet<ShadowEvent> tips;
 
+    /**
+     * An immutable copy of {@link #tips}, published whenever the tips change. Read without locking.
+     */
+    private volatile List<ShadowEvent> tipsSnapshot;
+
     /**
      * The oldest ancient indicator that has not yet been expired
      */
-    private long oldestUnexpiredIndicator;
+    private volatile long oldestUnexpiredIndicator;
 
     /**
      * The list of all currently reserved indicators and their number of reservations.
@@ -105,7 +112,7 @@ public class Shadowgraph implements Clearable {
     /**
      * The most recent event window we know about.
      */
-    private NonAncientEventWindow eventWindow;
+    private volatile NonAncientEventWindow eventWindow;
 
     /**
      * Constructor.
@@ -125,8 +132,9 @@ public class Shadowgraph implements Clearable {
         eventWindow = NonAncientEventWindow.getGenesisNonAncientEventWindow(ancientMode);
         oldestUnexpiredIndicator = ancientMode.getGenesisIndicator();
         tips = new HashSet<>();
-        hashToShadowEvent = new HashMap<>();
-        indicatorToShadowEvent = new HashMap<>();
+        tipsSnapshot = List.of();
+        hashToShadowEvent = new ShadowEventIndex();
+        indicatorToShadowEvent = new AncientIndicatorBuckets(oldestUnexpiredIndicator);
         reservationList = new LinkedList<>();
     }
 
@@ -152,8 +160,9 @@ public class Shadowgraph implements Clearable {
         oldestUnexpiredIndicator = ancientMode.getGenesisIndicator();
         disconnectShadowEvents();
         tips.clear();
+        tipsSnapshot = List.of();
         hashToShadowEvent.clear();
-        indicatorToShadowEvent.clear();
+        indicatorToShadowEvent.clear(oldestUnexpiredIndicator);
         reservationList.clear();
     }
 
@@ -161,10 +170,10 @@ public class Shadowgraph implements Clearable {
      * Disconnect all shadow events to help the garbage collector.
      */
     private void disconnectShadowEvents() {
-        for (final ShadowEvent shadow : hashToShadowEvent.values()) {
+        hashToShadowEvent.forEach(shadow -> {
             shadow.disconnect();
             shadow.getEvent().clear();
-        }
+        });
     }
 
     /**
@@ -208,7 +217,7 @@ public class Shadowgraph implements Clearable {
      * Get the latest event window known to the shadowgraph.
      */
     @NonNull
-    public synchronized NonAncientEventWindow getEventWindow() {
+    public NonAncientEventWindow getEventWindow() {
         return eventWindow;
     }
 
@@ -220,8 +229,8 @@ public class Shadowgraph implements Clearable {
      * @deprecated still used by tests, planned for removal. Do not add new uses.
      */
     @Deprecated(forRemoval = true)
-    public synchronized boolean isHashInGraph(final Hash hash) {
-        return hashToShadowEvent.containsKey(hash);
+    public boolean isHashInGraph(final Hash hash) {
+        return hashToShadowEvent.get(hash) != null;
     }
 
     /**
@@ -235,9 +244,9 @@ public class Shadowgraph implements Clearable {
      *     <li>adding events to the the graph does not affect ancestors</li>
      *     <li>checks for expired parent events are atomic</li>
      * </ol>
-     * <p>Note: This method is always accessed after a call to a synchronized {@link Shadowgraph} method, like
-     * {@link #getTips()}, which acts as a memory gate and causes the calling thread to read the latest values for all
-     * variables from memory, including {@link ShadowEvent} links.</p>
+     * <p>Note: This method is always accessed after a call to a {@link Shadowgraph} method, like {@link #getTips()},
+     * that reads a volatile field or a synchronized method. This acts as a memory gate and causes the calling thread
+     * to read the latest values for all variables from memory, including {@link ShadowEvent} links.</p>
      *
      * @param events    the event to find ancestors of
      * @param predicate determines whether or not to add the ancestor to the return list
@@ -320,10 +329,12 @@ public class Shadowgraph implements Clearable {
             return result;
         }
         for (long indicator = lowerBound; indicator < upperBound; indicator++) {
-            indicatorToShadowEvent.getOrDefault(indicator, Collections.emptySet()).stream()
-                    .map(ShadowEvent::getEvent)
-                    .filter(predicate)
-                    .forEach(result::add);
+            indicatorToShadowEvent.forEach(indicator, id -> {
+                final EventImpl event = hashToShadowEvent.getById(id).getEvent();
+                if (predicate.test(event)) {
+                    result.add(event);
+                }
+            });
         }
         return result;
     }
@@ -373,19 +384,20 @@ public class Shadowgraph implements Clearable {
 
         final long minimumIndicatorToKeep = Math.min(eventWindow.getExpiredThreshold(), oldestReservedIndicator);
 
+        final int tipsBefore = tips.size();
         while (oldestUnexpiredIndicator < minimumIndicatorToKeep) {
-            final Set<ShadowEvent> shadowsToExpire = indicatorToShadowEvent.remove(oldestUnexpiredIndicator);
-            // shadowsToExpire should never be null, but check just in case.
-            if (shadowsToExpire == null) {
+            // there should always be events to expire, but check just in case.
+            if (!indicatorToShadowEvent.remove(oldestUnexpiredIndicator, this::expire)) {
                 logger.error(
                         EXCEPTION.getMarker(),
                         "There were no events with ancient indicator {} to expire.",
                         oldestUnexpiredIndicator);
-            } else {
-                shadowsToExpire.forEach(this::expire);
             }
             oldestUnexpiredIndicator++;
         }
+        if (tips.size() != tipsBefore) {
+            tipsSnapshot = List.copyOf(tips);
+        }
     }
 
     /**
@@ -423,11 +435,11 @@ public class Shadowgraph implements Clearable {
     /**
      * Expires a single {@link ShadowEvent} from the shadowgraph.
      *
-     * @param shadow the shadow event to expire
+     * @param id the ID of the shadow event to expire
      */
-    private void expire(final ShadowEvent shadow) {
+    private void expire(final int id) {
         // Remove the shadow from the shadowgraph
-        hashToShadowEvent.remove(shadow.getEventBaseHash());
+        final ShadowEvent shadow = hashToShadowEvent.remove(id);
         // Remove references to parent shadows so this event gets garbage collected
         shadow.disconnect();
         shadow.getEvent().clear();
@@ -440,7 +452,7 @@ public class Shadowgraph implements Clearable {
      * @param e The event.
      * @return the shadow event that references an event, or null is {@code e} is null
      */
-    public synchronized ShadowEvent shadow(final EventImpl e) {
+    public ShadowEvent shadow(final EventImpl e) {
         if (e == null) {
             return null;
         }
@@ -454,7 +466,7 @@ public class Shadowgraph implements Clearable {
      * @param hashes The event hashes to get shadow events for
      * @return the shadow events that reference the events with the given hashes
      */
-    public synchronized List<ShadowEvent> shadows(final List<Hash> hashes) {
+    public List<ShadowEvent> shadows(final List<Hash> hashes) {
         Objects.requireNonNull(hashes);
         final List<ShadowEvent> shadows = new ArrayList<>(hashes.size());
         for (final Hash hash : hashes) {
@@ -470,7 +482,7 @@ public class Shadowgraph implements Clearable {
      * @return the hashgraph event, if there is one in {@code this} shadowgraph, else `null`
      */
     @Nullable
-    public synchronized EventImpl hashgraphEvent(final Hash h) {
+    public EventImpl hashgraphEvent(final Hash h) {
         final ShadowEvent shadow = shadow(h);
         if (shadow == null) {
             return null;
@@ -486,8 +498,8 @@ public class Shadowgraph implements Clearable {
      * @return an unmodifiable copy of the tips
      */
     @NonNull
-    public synchronized List<ShadowEvent> getTips() {
-        return new ArrayList<>(tips);
+    public List<ShadowEvent> getTips() {
+        return tipsSnapshot;
     }
 
     /**
@@ -505,6 +517,7 @@ public class Shadowgraph implements Clearable {
             final ShadowEvent s = insert(e);
             tips.add(s);
             tips.remove(s.getSelfParent());
+            tipsSnapshot = List.copyOf(tips);
 
             if (numberOfNodes > 0 && tips.size() > numberOfNodes && tips.size() > tipsBefore) {
                 // It is possible that we have more tips than nodes even if there is no fork.
@@ -561,7 +574,7 @@ public class Shadowgraph implements Clearable {
      * @param h the hash of the event
      * @return the event that has the hash provided, or null if none exists
      */
-    public synchronized EventImpl getEvent(final Hash h) {
+    public EventImpl getEvent(final Hash h) {
         final ShadowEvent shadowEvent = hashToShadowEvent.get(h);
         return shadowEvent == null ? null : shadowEvent.getEvent();
     }
@@ -579,13 +592,10 @@ public class Shadowgraph implements Clearable {
 
         final ShadowEvent se = new ShadowEvent(e, sp, op);
 
-        hashToShadowEvent.put(se.getEventBaseHash(), se);
+        final int id = hashToShadowEvent.add(se);
 
         final long ancientIndicator = e.getBaseEvent().getAncientIndicator(ancientMode);
-        if (!indicatorToShadowEvent.containsKey(ancientIndicator)) {
-            indicatorToShadowEvent.put(ancientIndicator, new HashSet<>());
-        }
-        indicatorToShadowEvent.get(ancientIndicator).add(se);
+        indicatorToShadowEvent.add(ancientIndicator, id);
 
         return se;
     }
@@ -686,12 +696,9 @@ public class Shadowgraph implements Clearable {
     /**
      * @return all events stored in the shadowgraph
      */
-    @SuppressWarnings("unchecked")
     public EventImpl[] getAllEvents() {
-        final HashMap<Hash, ShadowEvent> clone;
-        synchronized (this) {
-            clone = (HashMap<Hash, ShadowEvent>) hashToShadowEvent.clone();
-        }
-        return clone.values().stream().map(ShadowEvent::getEvent).toArray(EventImpl[]::new);
+        final List<EventImpl> events = new ArrayList<>();
+        hashToShadowEvent.forEach(shadow -> events.add(shadow.getEvent()));
+        return events.toArray(EventImpl[]::new);
     }
 }
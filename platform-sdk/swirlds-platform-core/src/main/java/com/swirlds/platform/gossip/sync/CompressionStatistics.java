@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.sync;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the work done by the codec of a sync stream. The counters are updated by the thread using the stream and
+ * read and reset by the metrics.
+ */
+public class CompressionStatistics {
+    private final AtomicLong uncompressedBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final AtomicLong codecNanos = new AtomicLong();
+
+    void addUncompressedBytes(final long bytes) {
+        uncompressedBytes.addAndGet(bytes);
+    }
+
+    void addCompressedBytes(final long bytes) {
+        compressedBytes.addAndGet(bytes);
+    }
+
+    void addCodecNanos(final long nanos) {
+        codecNanos.addAndGet(nanos);
+    }
+
+    /**
+     * @return the number of bytes before compression or after decompression since the last call
+     */
+    public long getAndResetUncompressedBytes() {
+        return uncompressedBytes.getAndSet(0);
+    }
+
+    /**
+     * @return the number of bytes after compression or before decompression since the last call
+     */
+    public long getAndResetCompressedBytes() {
+        return compressedBytes.getAndSet(0);
+    }
+
+    /**
+     * @return the time spent in the codec since the last call, in nanoseconds
+     */
+    public long getAndResetCodecNanos() {
+        return codecNanos.getAndSet(0);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.sync;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * A {@link DeflaterOutputStream} that sync flushes on every flush and records its work in
+ * {@link CompressionStatistics}. Only the time spent in the deflater is counted, not the time spent writing to the
+ * underlying stream.
+ */
+class MeteredDeflaterOutputStream extends DeflaterOutputStream {
+    private final CompressionStatistics statistics;
+
+    /**
+     * @param out        the stream to write the compressed data to
+     * @param deflater   the deflater to use, it is ended when this stream is closed
+     * @param bufferSize the size of the output buffer
+     * @param statistics the statistics to update
+     */
+    MeteredDeflaterOutputStream(
+            @NonNull final OutputStream out,
+            @NonNull final Deflater deflater,
+            final int bufferSize,
+            @NonNull final CompressionStatistics statistics) {
+        super(out, deflater, bufferSize, true);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void write(@NonNull final byte[] b, final int off, final int len) throws IOException {
+        statistics.addUncompressedBytes(len);
+        super.write(b, off, len);
+    }
+
+    @Override
+    protected void deflate() throws IOException {
+        final long start = System.nanoTime();
+        final int length = def.deflate(buf, 0, buf.length);
+        statistics.addCodecNanos(System.nanoTime() - start);
+        if (length > 0) {
+            statistics.addCompressedBytes(length);
+            out.write(buf, 0, length);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (!def.finished()) {
+            int length;
+            do {
+                final long start = System.nanoTime();
+                length = def.deflate(buf, 0, buf.length, Deflater.SYNC_FLUSH);
+                statistics.addCodecNanos(System.nanoTime() - start);
+                if (length > 0) {
+                    statistics.addCompressedBytes(length);
+                    out.write(buf, 0, length);
+                }
+            } while (length == buf.length);
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            def.end();
+        }
+    }
+}
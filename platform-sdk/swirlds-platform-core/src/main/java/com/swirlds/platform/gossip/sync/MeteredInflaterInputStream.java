@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.sync;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * An {@link InflaterInputStream} that records its work in {@link CompressionStatistics}. Only the time spent in the
+ * inflater is counted, not the time spent waiting for the underlying stream.
+ */
+class MeteredInflaterInputStream extends InflaterInputStream {
+    private final CompressionStatistics statistics;
+
+    /** the time spent reading from the underlying stream during the current read */
+    private long fillNanos;
+
+    /**
+     * @param in         the stream to read the compressed data from
+     * @param inflater   the inflater to use, it is ended when this stream is closed
+     * @param bufferSize the size of the input buffer
+     * @param statistics the statistics to update
+     */
+    MeteredInflaterInputStream(
+            @NonNull final InputStream in,
+            @NonNull final Inflater inflater,
+            final int bufferSize,
+            @NonNull final CompressionStatistics statistics) {
+        super(in, inflater, bufferSize);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public int read(@NonNull final byte[] b, final int off, final int length) throws IOException {
+        fillNanos = 0;
+        final long start = System.nanoTime();
+        try {
+            final int read = super.read(b, off, length);
+            if (read > 0) {
+                statistics.addUncompressedBytes(read);
+            }
+            return read;
+        } finally {
+            statistics.addCodecNanos(System.nanoTime() - start - fillNanos);
+        }
+    }
+
+    @Override
+    protected void fill() throws IOException {
+        final long start = System.nanoTime();
+        super.fill();
+        fillNanos += System.nanoTime() - start;
+        statistics.addCompressedBytes(len);
+    }
+
+    /**
+     * Always returns 0. Data left in the inflater does not guarantee that any more bytes can be inflated without
+     * blocking, e.g. if it is the end of a sync flush, so a buffering stream on top of this one must never be told
+     * otherwise.
+     */
+    @Override
+    public int available() {
+        return 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            inf.end();
+        }
+    }
+}
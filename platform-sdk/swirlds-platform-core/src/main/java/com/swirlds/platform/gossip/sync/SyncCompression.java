@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.sync;
+
+import com.swirlds.platform.network.SocketConfig;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The codecs that can be used to compress the data of a sync connection. Both peers of a connection must use the same
+ * codec, it is agreed on when the connection is established.
+ */
+public enum SyncCompression {
+    /**
+     * The data is not compressed, only buffered.
+     */
+    NONE((byte) 0) {
+        @Override
+        @NonNull
+        public OutputStream compress(
+                @NonNull final OutputStream out, final int bufferSize, @NonNull final CompressionStatistics statistics) {
+            return new BufferedOutputStream(out, bufferSize);
+        }
+
+        @Override
+        @NonNull
+        public InputStream decompress(
+                @NonNull final InputStream in, final int bufferSize, @NonNull final CompressionStatistics statistics) {
+            return new BufferedInputStream(in, bufferSize);
+        }
+    },
+    /**
+     * Raw deflate with the default compression level.
+     */
+    DEFLATE((byte) 1) {
+        @Override
+        @NonNull
+        public OutputStream compress(
+                @NonNull final OutputStream out, final int bufferSize, @NonNull final CompressionStatistics statistics) {
+            return deflate(out, Deflater.DEFAULT_COMPRESSION, bufferSize, statistics);
+        }
+
+        @Override
+        @NonNull
+        public InputStream decompress(
+                @NonNull final InputStream in, final int bufferSize, @NonNull final CompressionStatistics statistics) {
+            return inflate(in, bufferSize, statistics);
+        }
+    },
+    /**
+     * Raw deflate with the fastest compression level. It uses a fraction of the CPU time of {@link #DEFLATE}, at the
+     * cost of a somewhat lower ratio.
+     */
+    DEFLATE_FAST((byte) 2) {
+        @Override
+        @NonNull
+        public OutputStream compress(
+                @NonNull final OutputStream out, final int bufferSize, @NonNull final CompressionStatistics statistics) {
+            return deflate(out, Deflater.BEST_SPEED, bufferSize, statistics);
+        }
+
+        @Override
+        @NonNull
+        public InputStream decompress(
+                @NonNull final InputStream in, final int bufferSize, @NonNull final CompressionStatistics statistics) {
+            return inflate(in, bufferSize, statistics);
+        }
+    };
+
+    /**
+     * The identifier of the codec on the wire. It must never change for an existing codec.
+     */
+    private final byte id;
+
+    SyncCompression(final byte id) {
+        this.id = id;
+    }
+
+    /**
+     * Get the identifier of this codec that is sent to the peer when negotiating the codec.
+     *
+     * @return the identifier of this codec
+     */
+    public byte getId() {
+        return id;
+    }
+
+    /**
+     * Get the codec with the given identifier.
+     *
+     * @param id the identifier of the codec
+     * @return the codec, or null if this node doesn't know a codec with this identifier
+     */
+    @Nullable
+    public static SyncCompression fromId(final byte id) {
+        for (final SyncCompression compression : values()) {
+            if (compression.id == id) {
+                return compression;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the codecs this node is willing to use, ordered by preference. If compression is disabled, this is only
+     * {@link #NONE}, otherwise it is the configured codecs followed by {@link #NONE}.
+     *
+     * @param socketConfig the socket configuration
+     * @return the supported codecs, the most preferred first
+     */
+    @NonNull
+    public static List<SyncCompression> getSupported(@NonNull final SocketConfig socketConfig) {
+        Objects.requireNonNull(socketConfig, "socketConfig must not be null");
+        if (!socketConfig.gzipCompression() || socketConfig.compressionCodecs() == null) {
+            return List.of(NONE);
+        }
+        final List<SyncCompression> supported = new ArrayList<>();
+        for (final SyncCompression compression : socketConfig.compressionCodecs()) {
+            if (!supported.contains(compression)) {
+                supported.add(compression);
+            }
+        }
+        if (!supported.contains(NONE)) {
+            supported.add(NONE);
+        }
+        return List.copyOf(supported);
+    }
+
+    /**
+     * Wrap a stream so that the data written to it is compressed with this codec.
+     *
+     * @param out        the stream the compressed data is written to
+     * @param bufferSize the size of the buffers to use
+     * @param statistics the statistics to update
+     * @return a stream to write the uncompressed data to
+     */
+    @NonNull
+    public abstract OutputStream compress(
+            @NonNull OutputStream out, int bufferSize, @NonNull CompressionStatistics statistics);
+
+    /**
+     * Wrap a stream so that the data read from it is decompressed with this codec.
+     *
+     * @param in         the stream the compressed data is read from
+     * @param bufferSize the size of the buffers to use
+     * @param statistics the statistics to update
+     * @return a stream to read the uncompressed data from
+     */
+    @NonNull
+    public abstract InputStream decompress(
+            @NonNull InputStream in, int bufferSize, @NonNull CompressionStatistics statistics);
+
+    /**
+     * Deflate the data written to a stream. The data is buffered before it is passed to the deflater, a sync stream
+     * consists mostly of tiny writes, and passing each of them to the deflater separately is expensive.
+     */
+    @NonNull
+    private static OutputStream deflate(
+            @NonNull final OutputStream out,
+            final int level,
+            final int bufferSize,
+            @NonNull final CompressionStatistics statistics) {
+        return new BufferedOutputStream(
+                new MeteredDeflaterOutputStream(out, new Deflater(level, true), bufferSize, statistics), bufferSize);
+    }
+
+    /**
+     * Inflate the data read from a stream. The inflated data is buffered, so that reading small values doesn't
+     * require a call to the inflater each.
+     */
+    @NonNull
+    private static InputStream inflate(
+            @NonNull final InputStream in, final int bufferSize, @NonNull final CompressionStatistics statistics) {
+        return new BufferedInputStream(
+                new MeteredInflaterInputStream(in, new Inflater(true), bufferSize, statistics), bufferSize);
+    }
+}
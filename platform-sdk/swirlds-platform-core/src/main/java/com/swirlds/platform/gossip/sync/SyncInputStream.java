@@ -25,12 +25,10 @@ import com.swirlds.common.io.streams.SerializableDataInputStream;
 import com.swirlds.platform.event.GossipEvent;
 import com.swirlds.platform.network.SocketConfig;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
-import java.util.zip.Inflater;
-import java.util.zip.InflaterInputStream;
+import java.util.Objects;
 
 public class SyncInputStream extends SerializableDataInputStream {
 
@@ -38,38 +36,67 @@ public class SyncInputStream extends SerializableDataInputStream {
     private static final int MAX_TIPS_PER_NODE = 1000;
 
     private final CountingStreamExtension syncByteCounter;
+    private final CompressionStatistics compressionStatistics;
 
-    private SyncInputStream(InputStream in, CountingStreamExtension syncByteCounter) {
+    private SyncInputStream(
+            @NonNull final InputStream in,
+            @NonNull final CountingStreamExtension syncByteCounter,
+            @NonNull final CompressionStatistics compressionStatistics) {
         super(in);
         this.syncByteCounter = syncByteCounter;
+        this.compressionStatistics = compressionStatistics;
     }
 
+    /**
+     * Create a stream that decompresses with the most preferred codec of this node. Both peers must use the same
+     * configuration, use {@link #createSyncInputStream(PlatformContext, InputStream, int, SyncCompression)} with a
+     * negotiated codec otherwise.
+     */
     public static SyncInputStream createSyncInputStream(
             @NonNull final PlatformContext platformContext, @NonNull final InputStream in, final int bufferSize) {
+        final SocketConfig socketConfig = platformContext.getConfiguration().getConfigData(SocketConfig.class);
+        return createSyncInputStream(
+                platformContext, in, bufferSize, SyncCompression.getSupported(socketConfig).get(0));
+    }
 
-        final CountingStreamExtension syncCounter = new CountingStreamExtension();
+    /**
+     * Create a stream that decompresses with the given codec.
+     *
+     * @param platformContext the platform context
+     * @param in              the stream to read from
+     * @param bufferSize      the size of the buffers
+     * @param compression     the codec, must be the same the peer compresses with
+     * @return the new stream
+     */
+    public static SyncInputStream createSyncInputStream(
+            @NonNull final PlatformContext platformContext,
+            @NonNull final InputStream in,
+            final int bufferSize,
+            @NonNull final SyncCompression compression) {
+        Objects.requireNonNull(platformContext);
+        Objects.requireNonNull(compression);
 
-        final boolean compress = platformContext
-                .getConfiguration()
-                .getConfigData(SocketConfig.class)
-                .gzipCompression();
+        final CountingStreamExtension syncCounter = new CountingStreamExtension();
+        final CompressionStatistics compressionStatistics = new CompressionStatistics();
 
         final InputStream meteredStream = extendInputStream(in, syncCounter);
+        final InputStream wrappedStream = compression.decompress(meteredStream, bufferSize, compressionStatistics);
 
-        final InputStream wrappedStream;
-        if (compress) {
-            wrappedStream = new InflaterInputStream(meteredStream, new Inflater(true), bufferSize);
-        } else {
-            wrappedStream = new BufferedInputStream(meteredStream, bufferSize);
-        }
-
-        return new SyncInputStream(wrappedStream, syncCounter);
+        return new SyncInputStream(wrappedStream, syncCounter, compressionStatistics);
     }
 
     public CountingStreamExtension getSyncByteCounter() {
         return syncByteCounter;
     }
 
+    /**
+     * @return the work done by the codec of this stream
+     */
+    @NonNull
+    public CompressionStatistics getCompressionStatistics() {
+        return compressionStatistics;
+    }
+
     /**
      * Read the other node's tip hashes
      *
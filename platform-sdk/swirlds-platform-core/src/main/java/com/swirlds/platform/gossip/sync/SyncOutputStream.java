@@ -25,50 +25,69 @@ import com.swirlds.common.io.streams.SerializableDataOutputStream;
 import com.swirlds.platform.internal.EventImpl;
 import com.swirlds.platform.network.SocketConfig;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.zip.Deflater;
-import java.util.zip.DeflaterOutputStream;
 
 public class SyncOutputStream extends SerializableDataOutputStream {
     private final CountingStreamExtension syncByteCounter;
     private final CountingStreamExtension connectionByteCounter;
     private final AtomicReference<Instant> requestSent;
+    private final CompressionStatistics compressionStatistics;
 
     protected SyncOutputStream(
-            OutputStream out, CountingStreamExtension syncByteCounter, CountingStreamExtension connectionByteCounter) {
+            @NonNull final OutputStream out,
+            @NonNull final CountingStreamExtension syncByteCounter,
+            @NonNull final CountingStreamExtension connectionByteCounter,
+            @NonNull final CompressionStatistics compressionStatistics) {
         super(out);
         this.syncByteCounter = syncByteCounter;
         this.connectionByteCounter = connectionByteCounter;
+        this.compressionStatistics = compressionStatistics;
         this.requestSent = new AtomicReference<>(null);
     }
 
+    /**
+     * Create a stream that compresses with the most preferred codec of this node. Both peers must use the same
+     * configuration, use {@link #createSyncOutputStream(PlatformContext, OutputStream, int, SyncCompression)} with a
+     * negotiated codec otherwise.
+     */
     public static SyncOutputStream createSyncOutputStream(
             @NonNull final PlatformContext platformContext, @NonNull final OutputStream out, final int bufferSize) {
+        final SocketConfig socketConfig = platformContext.getConfiguration().getConfigData(SocketConfig.class);
+        return createSyncOutputStream(
+                platformContext, out, bufferSize, SyncCompression.getSupported(socketConfig).get(0));
+    }
+
+    /**
+     * Create a stream that compresses with the given codec.
+     *
+     * @param platformContext the platform context
+     * @param out             the stream to write to
+     * @param bufferSize      the size of the buffers
+     * @param compression     the codec, must be the same the peer decompresses with
+     * @return the new stream
+     */
+    public static SyncOutputStream createSyncOutputStream(
+            @NonNull final PlatformContext platformContext,
+            @NonNull final OutputStream out,
+            final int bufferSize,
+            @NonNull final SyncCompression compression) {
+        Objects.requireNonNull(platformContext);
+        Objects.requireNonNull(compression);
         CountingStreamExtension syncByteCounter = new CountingStreamExtension();
         CountingStreamExtension connectionByteCounter = new CountingStreamExtension();
-
-        final boolean compress = platformContext
-                .getConfiguration()
-                .getConfigData(SocketConfig.class)
-                .gzipCompression();
+        final CompressionStatistics compressionStatistics = new CompressionStatistics();
 
         final OutputStream meteredStream = extendOutputStream(out, connectionByteCounter);
 
-        final OutputStream wrappedStream;
-        if (compress) {
-            wrappedStream = new DeflaterOutputStream(
-                    meteredStream, new Deflater(Deflater.DEFAULT_COMPRESSION, true), bufferSize, true);
-        } else {
-            wrappedStream = new BufferedOutputStream(meteredStream, bufferSize);
-        }
-
         // we write the data to the buffer first, for efficiency
-        return new SyncOutputStream(wrappedStream, syncByteCounter, connectionByteCounter);
+        final OutputStream wrappedStream = compression.compress(meteredStream, bufferSize, compressionStatistics);
+
+        return new SyncOutputStream(wrappedStream, syncByteCounter, connectionByteCounter, compressionStatistics);
     }
 
     public CountingStreamExtension getSyncByteCounter() {
@@ -79,6 +98,14 @@ public class SyncOutputStream extends SerializableDataOutputStream {
         return connectionByteCounter;
     }
 
+    /**
+     * @return the work done by the codec of this stream
+     */
+    @NonNull
+    public CompressionStatistics getCompressionStatistics() {
+        return compressionStatistics;
+    }
+
     /**
      * Write to the {@link SyncOutputStream} the hashes of the tip events from this node's shadow graph
      *
@@ -18,6 +18,8 @@ package com.swirlds.platform.network;
 
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
+import com.swirlds.platform.gossip.sync.SyncCompression;
+import java.util.List;
 
 /**
  * Configuration for sockets
@@ -35,7 +37,11 @@ import com.swirlds.config.api.ConfigProperty;
  * @param useLoopbackIp              should be set to true when using the internet simulator
  * @param tcpNoDelay                 if true, then Nagel's algorithm is disabled, which helps latency, hurts bandwidth
  *                                   usage
- * @param gzipCompression            whether to use gzip compression over the network
+ * @param gzipCompression            whether to compress the data of sync connections. The codec is negotiated with
+ *                                   the peer when a connection is established, so all nodes must agree on this
+ *                                   setting
+ * @param compressionCodecs          the codecs this node offers for sync connections, the most preferred first. If
+ *                                   the peer supports none of them, the data is not compressed
  */
 @ConfigData("socket")
 public record SocketConfig(
@@ -47,4 +53,5 @@ public record SocketConfig(
         @ConfigProperty(defaultValue = "true") boolean useTLS,
         @ConfigProperty(defaultValue = "false") boolean useLoopbackIp,
         @ConfigProperty(defaultValue = "true") boolean tcpNoDelay,
-        @ConfigProperty(defaultValue = "false") boolean gzipCompression) {}
+        @ConfigProperty(defaultValue = "false") boolean gzipCompression,
+        @ConfigProperty(defaultValue = "DEFLATE_FAST,DEFLATE") List<SyncCompression> compressionCodecs) {}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.network.communication.handshake;
+
+import com.swirlds.platform.gossip.sync.SyncCompression;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Agrees on the {@link SyncCompression} codec of a new connection. This is done on the raw streams of the socket,
+ * before the compressing streams are created. The side that creates the connection offers its codecs, ordered by
+ * preference, and the side that accepts it picks the first one it supports. {@link SyncCompression#NONE} is always
+ * acceptable.
+ * <p>
+ * The streams are not buffered, nothing beyond the negotiation is read from the socket.
+ */
+public final class CompressionNegotiation {
+
+    private CompressionNegotiation() {}
+
+    /**
+     * Offer codecs to the peer and read its choice. Called by the side that creates the connection.
+     *
+     * @param in     the input stream of the socket
+     * @param out    the output stream of the socket
+     * @param offers the codecs to offer, the most preferred first
+     * @return the codec chosen by the peer
+     * @throws IOException        if an I/O error occurs
+     * @throws HandshakeException if the peer chose a codec that was not offered
+     */
+    @NonNull
+    public static SyncCompression offer(
+            @NonNull final InputStream in, @NonNull final OutputStream out, @NonNull final List<SyncCompression> offers)
+            throws IOException, HandshakeException {
+        Objects.requireNonNull(in, "in must not be null");
+        Objects.requireNonNull(out, "out must not be null");
+        Objects.requireNonNull(offers, "offers must not be null");
+        if (offers.isEmpty() || offers.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("the number of offered codecs must be from 1 to " + Byte.MAX_VALUE);
+        }
+
+        final byte[] message = new byte[offers.size() + 1];
+        message[0] = (byte) offers.size();
+        for (int i = 0; i < offers.size(); i++) {
+            message[i + 1] = offers.get(i).getId();
+        }
+        out.write(message);
+        out.flush();
+
+        final byte id = new DataInputStream(in).readByte();
+        final SyncCompression chosen = SyncCompression.fromId(id);
+        if (chosen == null || !offers.contains(chosen)) {
+            throw new HandshakeException(
+                    String.format("Peer chose compression codec %d, which was not offered. Offered: %s", id, offers));
+        }
+        return chosen;
+    }
+
+    /**
+     * Read the codecs offered by the peer and reply with the one to use. Called by the side that accepts the
+     * connection.
+     *
+     * @param in        the input stream of the socket
+     * @param out       the output stream of the socket
+     * @param supported the codecs this node supports
+     * @return the chosen codec, {@link SyncCompression#NONE} if none of the offered codecs is supported
+     * @throws IOException if an I/O error occurs
+     */
+    @NonNull
+    public static SyncCompression choose(
+            @NonNull final InputStream in,
+            @NonNull final OutputStream out,
+            @NonNull final List<SyncCompression> supported)
+            throws IOException {
+        Objects.requireNonNull(in, "in must not be null");
+        Objects.requireNonNull(out, "out must not be null");
+        Objects.requireNonNull(supported, "supported must not be null");
+
+        final DataInputStream dis = new DataInputStream(in);
+        final int count = dis.readUnsignedByte();
+        final byte[] offers = new byte[count];
+        dis.readFully(offers);
+
+        SyncCompression chosen = SyncCompression.NONE;
+        for (final byte id : offers) {
+            // codecs this node doesn't know are skipped, a newer peer may offer them
+            final SyncCompression offered = SyncCompression.fromId(id);
+            if (offered != null && supported.contains(offered)) {
+                chosen = offered;
+                break;
+            }
+        }
+
+        out.write(chosen.getId());
+        out.flush();
+        return chosen;
+    }
+}
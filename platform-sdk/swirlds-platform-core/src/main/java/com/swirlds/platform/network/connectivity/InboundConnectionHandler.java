@@ -26,6 +26,7 @@ import com.swirlds.common.io.streams.SerializableDataOutputStream;
 import com.swirlds.common.platform.NodeId;
 import com.swirlds.common.threading.interrupt.InterruptableConsumer;
 import com.swirlds.common.utility.throttle.RateLimitedLogger;
+import com.swirlds.platform.gossip.sync.SyncCompression;
 import com.swirlds.platform.gossip.sync.SyncInputStream;
 import com.swirlds.platform.gossip.sync.SyncOutputStream;
 import com.swirlds.platform.network.ByteConstants;
@@ -34,6 +35,7 @@ import com.swirlds.platform.network.ConnectionTracker;
 import com.swirlds.platform.network.NetworkUtils;
 import com.swirlds.platform.network.SocketConfig;
 import com.swirlds.platform.network.SocketConnection;
+import com.swirlds.platform.network.communication.handshake.CompressionNegotiation;
 import com.swirlds.platform.system.SoftwareVersion;
 import com.swirlds.platform.system.address.AddressBook;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -99,10 +101,18 @@ public class InboundConnectionHandler {
             clientSocket.setTcpNoDelay(socketConfig.tcpNoDelay());
             clientSocket.setSoTimeout(socketConfig.timeoutSyncClientSocket());
 
+            // the codec is agreed on before anything is compressed
+            final SyncCompression compression = socketConfig.gzipCompression()
+                    ? CompressionNegotiation.choose(
+                            clientSocket.getInputStream(),
+                            clientSocket.getOutputStream(),
+                            SyncCompression.getSupported(socketConfig))
+                    : SyncCompression.NONE;
+
             final SyncInputStream sis = SyncInputStream.createSyncInputStream(
-                    platformContext, clientSocket.getInputStream(), socketConfig.bufferSize());
+                    platformContext, clientSocket.getInputStream(), socketConfig.bufferSize(), compression);
             final SyncOutputStream sos = SyncOutputStream.createSyncOutputStream(
-                    platformContext, clientSocket.getOutputStream(), socketConfig.bufferSize());
+                    platformContext, clientSocket.getOutputStream(), socketConfig.bufferSize(), compression);
 
             dis = new SerializableDataInputStream(sis);
             dos = new SerializableDataOutputStream(sos);
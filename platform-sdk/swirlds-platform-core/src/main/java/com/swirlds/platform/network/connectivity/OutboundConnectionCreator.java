@@ -23,6 +23,7 @@ import static com.swirlds.logging.legacy.LogMarker.TCP_CONNECT_EXCEPTIONS;
 
 import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.platform.NodeId;
+import com.swirlds.platform.gossip.sync.SyncCompression;
 import com.swirlds.platform.gossip.sync.SyncInputStream;
 import com.swirlds.platform.gossip.sync.SyncOutputStream;
 import com.swirlds.platform.network.ByteConstants;
@@ -31,6 +32,8 @@ import com.swirlds.platform.network.ConnectionTracker;
 import com.swirlds.platform.network.NetworkUtils;
 import com.swirlds.platform.network.SocketConfig;
 import com.swirlds.platform.network.SocketConnection;
+import com.swirlds.platform.network.communication.handshake.CompressionNegotiation;
+import com.swirlds.platform.network.communication.handshake.HandshakeException;
 import com.swirlds.platform.network.connection.NotConnectedConnection;
 import com.swirlds.platform.state.address.AddressBookNetworkUtils;
 import com.swirlds.platform.system.SoftwareVersion;
@@ -100,10 +103,18 @@ public class OutboundConnectionCreator {
         try {
             clientSocket = socketFactory.createClientSocket(hostname, port);
 
+            // the codec is agreed on before anything is compressed
+            final SyncCompression compression = socketConfig.gzipCompression()
+                    ? CompressionNegotiation.offer(
+                            clientSocket.getInputStream(),
+                            clientSocket.getOutputStream(),
+                            SyncCompression.getSupported(socketConfig))
+                    : SyncCompression.NONE;
+
             dos = SyncOutputStream.createSyncOutputStream(
-                    platformContext, clientSocket.getOutputStream(), socketConfig.bufferSize());
+                    platformContext, clientSocket.getOutputStream(), socketConfig.bufferSize(), compression);
             dis = SyncInputStream.createSyncInputStream(
-                    platformContext, clientSocket.getInputStream(), socketConfig.bufferSize());
+                    platformContext, clientSocket.getInputStream(), socketConfig.bufferSize(), compression);
 
             if (doVersionCheck) {
                 dos.writeSerializable(softwareVersion, true);
@@ -144,7 +155,7 @@ public class OutboundConnectionCreator {
             // who isn't running yet. So don't worry about it.
             // Also ignore the other socket-related errors (SocketException) in case it times out while
             // connecting.
-        } catch (final IOException e) {
+        } catch (final IOException | HandshakeException e) {
             NetworkUtils.close(clientSocket, dis, dos);
             // log the SSL connection exception which is caused by socket exceptions as warning.
             String formattedException = NetworkUtils.formatException(e);
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.shadowgraph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AncientIndicatorBuckets Tests")
+class AncientIndicatorBucketsTests {
+
+    private static List<Integer> idsOf(final AncientIndicatorBuckets buckets, final long indicator) {
+        final List<Integer> ids = new ArrayList<>();
+        buckets.forEach(indicator, ids::add);
+        return ids;
+    }
+
+    @Test
+    @DisplayName("IDs are grouped by indicator")
+    void addAndForEach() {
+        final AncientIndicatorBuckets buckets = new AncientIndicatorBuckets(1);
+        // more IDs per bucket than the initial bucket size, and more indicators than the initial ring size
+        for (int i = 0; i < 1000; i++) {
+            buckets.add(1 + i % 100, i);
+        }
+        for (long indicator = 1; indicator <= 100; indicator++) {
+            final List<Integer> ids = idsOf(buckets, indicator);
+            assertEquals(10, ids.size(), "Wrong number of IDs for indicator " + indicator);
+            for (final int id : ids) {
+                assertEquals(indicator, 1 + id % 100, "Wrong indicator for ID " + id);
+            }
+        }
+        assertTrue(idsOf(buckets, 0).isEmpty(), "Indicator before the range should be empty");
+        assertTrue(idsOf(buckets, 101).isEmpty(), "Indicator after the range should be empty");
+    }
+
+    @Test
+    @DisplayName("Removing the oldest buckets moves the ring")
+    void removeOldest() {
+        final AncientIndicatorBuckets buckets = new AncientIndicatorBuckets(10);
+        int nextId = 0;
+        long nextIndicator = 10;
+        // add and expire indicators many times around the ring
+        for (int round = 0; round < 500; round++) {
+            buckets.add(nextIndicator, nextId++);
+            buckets.add(nextIndicator, nextId++);
+            nextIndicator++;
+            if (round >= 20) {
+                final long oldest = nextIndicator - 21;
+                final List<Integer> removed = new ArrayList<>();
+                assertTrue(buckets.remove(oldest, removed::add), "Bucket " + oldest + " should not be empty");
+                assertEquals(List.of(2 * (int) (oldest - 10), 2 * (int) (oldest - 10) + 1), removed, "Wrong IDs");
+                assertTrue(idsOf(buckets, oldest).isEmpty(), "Removed bucket should be empty");
+            }
+        }
+        assertEquals(2, idsOf(buckets, nextIndicator - 1).size(), "Newest bucket should be kept");
+        assertFalse(buckets.remove(nextIndicator + 5, id -> {}), "Empty bucket should not be removed");
+    }
+
+    @Test
+    @DisplayName("Ring grows to older indicators and restarts when empty")
+    void growAndRestart() {
+        final AncientIndicatorBuckets buckets = new AncientIndicatorBuckets(0);
+        buckets.add(1_000_000, 1);
+        buckets.add(999_990, 2);
+        assertEquals(List.of(1), idsOf(buckets, 1_000_000), "Wrong IDs");
+        assertEquals(List.of(2), idsOf(buckets, 999_990), "Wrong IDs");
+        buckets.remove(999_990, id -> {});
+        buckets.remove(1_000_000, id -> {});
+        // the ring is empty, so it may start anywhere
+        buckets.add(5, 3);
+        assertEquals(List.of(3), idsOf(buckets, 5), "Wrong IDs");
+        buckets.clear(0);
+        assertTrue(idsOf(buckets, 5).isEmpty(), "Cleared bucket should be empty");
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.shadowgraph;
+
+import static com.swirlds.common.test.fixtures.RandomUtils.getRandomPrintSeed;
+import static com.swirlds.common.test.fixtures.RandomUtils.randomHash;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.platform.internal.EventImpl;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ShadowEventIndex Tests")
+class ShadowEventIndexTests {
+
+    private static ShadowEvent newShadow(final Hash hash) {
+        final EventImpl event = mock(EventImpl.class);
+        when(event.getBaseHash()).thenReturn(hash);
+        return new ShadowEvent(event);
+    }
+
+    @Test
+    @DisplayName("Events can be found by hash and by ID")
+    void addAndGet() {
+        final Random random = getRandomPrintSeed();
+        final ShadowEventIndex index = new ShadowEventIndex();
+        final List<ShadowEvent> shadows = new ArrayList<>();
+        final Set<Integer> ids = new HashSet<>();
+        // enough events to grow both the hash table and the event array
+        for (int i = 0; i < 5000; i++) {
+            final ShadowEvent shadow = newShadow(randomHash(random));
+            final int id = index.add(shadow);
+            assertTrue(ids.add(id), "IDs must be unique");
+            assertSame(shadow, index.getById(id), "Wrong event for ID");
+            shadows.add(shadow);
+        }
+        assertEquals(5000, index.size(), "Wrong index size");
+        for (final ShadowEvent shadow : shadows) {
+            assertSame(shadow, index.get(new Hash(shadow.getEventBaseHash())), "Event not found by hash");
+        }
+        assertNull(index.get(randomHash(random)), "Unknown hash should not be found");
+    }
+
+    @Test
+    @DisplayName("Removed events are not found, and their IDs are reused")
+    void removeAndReuse() {
+        final Random random = getRandomPrintSeed();
+        final ShadowEventIndex index = new ShadowEventIndex();
+        final List<ShadowEvent> shadows = new ArrayList<>();
+        final List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final ShadowEvent shadow = newShadow(randomHash(random));
+            shadows.add(shadow);
+            ids.add(index.add(shadow));
+        }
+        for (int i = 0; i < 50; i++) {
+            assertSame(shadows.get(i), index.remove(ids.get(i)), "Wrong event removed");
+            assertNull(index.get(shadows.get(i).getEventBaseHash()), "Removed event should not be found");
+            assertNull(index.getById(ids.get(i)), "Removed event should not be found");
+        }
+        assertNull(index.remove(ids.get(0)), "Event should not be removed twice");
+        assertEquals(50, index.size(), "Wrong index size");
+        for (int i = 50; i < 100; i++) {
+            assertSame(shadows.get(i), index.get(shadows.get(i).getEventBaseHash()), "Event not found by hash");
+        }
+        // removed IDs are reused before new IDs are assigned
+        for (int i = 0; i < 50; i++) {
+            final int id = index.add(newShadow(randomHash(random)));
+            assertTrue(id < 100, "ID " + id + " should have been reused");
+        }
+        final List<ShadowEvent> visited = new ArrayList<>();
+        index.forEach(visited::add);
+        assertEquals(100, visited.size(), "All events should be visited");
+    }
+
+    @Test
+    @DisplayName("Cleared index is empty")
+    void clear() {
+        final Random random = getRandomPrintSeed();
+        final ShadowEventIndex index = new ShadowEventIndex();
+        final ShadowEvent shadow = newShadow(randomHash(random));
+        final int id = index.add(shadow);
+        index.clear();
+        assertEquals(0, index.size(), "Index should be empty");
+        assertNull(index.get(shadow.getEventBaseHash()), "Event should not be found after clear");
+        assertNull(index.getById(id), "Event should not be found after clear");
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.sync;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
+import com.swirlds.platform.network.SocketConfig;
+import com.swirlds.platform.network.communication.handshake.CompressionNegotiation;
+import com.swirlds.platform.network.communication.handshake.HandshakeException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class SyncCompressionTests {
+
+    private final PlatformContext platformContext = TestPlatformContextBuilder.create().build();
+
+    @ParameterizedTest
+    @EnumSource(SyncCompression.class)
+    @DisplayName("Data written with a codec is read back unchanged")
+    void roundTrip(final SyncCompression compression) throws IOException {
+        final Random random = new Random(0);
+        final byte[][] messages = new byte[50][];
+        for (int i = 0; i < messages.length; i++) {
+            // half random, half repetitive, so that deflate has something to compress
+            messages[i] = new byte[random.nextInt(1000)];
+            for (int j = 0; j < messages[i].length / 2; j++) {
+                messages[i][j] = (byte) random.nextInt();
+            }
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final SyncOutputStream out = SyncOutputStream.createSyncOutputStream(platformContext, bytes, 100, compression);
+        for (final byte[] message : messages) {
+            out.writeInt(message.length);
+            out.write(message);
+            out.flush();
+        }
+
+        final SyncInputStream in = SyncInputStream.createSyncInputStream(
+                platformContext, new ByteArrayInputStream(bytes.toByteArray()), 100, compression);
+        for (final byte[] message : messages) {
+            final byte[] read = new byte[in.readInt()];
+            in.readFully(read);
+            assertArrayEquals(message, read, "the data read should match the data written");
+        }
+
+        final CompressionStatistics sent = out.getCompressionStatistics();
+        final CompressionStatistics received = in.getCompressionStatistics();
+        if (compression == SyncCompression.NONE) {
+            assertEquals(0, sent.getAndResetCompressedBytes(), "no compression should be recorded");
+        } else {
+            final long uncompressed = sent.getAndResetUncompressedBytes();
+            final long compressed = sent.getAndResetCompressedBytes();
+            assertEquals(bytes.size(), compressed, "all compressed bytes should be counted");
+            assertTrue(compressed < uncompressed, "the data should have been compressed");
+            assertEquals(uncompressed, received.getAndResetUncompressedBytes(), "all inflated bytes should be counted");
+            assertTrue(received.getAndResetCompressedBytes() > 0, "the received bytes should be counted");
+        }
+    }
+
+    @Test
+    @DisplayName("A sync flush is readable without waiting for more data")
+    void readAfterFlush() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final SyncOutputStream out =
+                SyncOutputStream.createSyncOutputStream(platformContext, bytes, 100, SyncCompression.DEFLATE);
+        out.writeInt(42);
+        out.flush();
+
+        // the stream fails if it reads more than the flushed data
+        final InputStream flushedOnly = new ByteArrayInputStream(bytes.toByteArray()) {
+            @Override
+            public synchronized int read(final byte[] b, final int off, final int len) {
+                final int read = super.read(b, off, len);
+                if (read == -1) {
+                    throw new IllegalStateException("read beyond the flushed data");
+                }
+                return read;
+            }
+        };
+        final SyncInputStream in =
+                SyncInputStream.createSyncInputStream(platformContext, flushedOnly, 100, SyncCompression.DEFLATE);
+        assertEquals(42, in.readInt(), "the flushed value should be read");
+    }
+
+    @Test
+    @DisplayName("The configured codecs are offered, followed by no compression")
+    void supportedCodecs() {
+        final SocketConfig enabled = new TestConfigBuilder()
+                .withValue("socket.gzipCompression", true)
+                .withValue("socket.compressionCodecs", "DEFLATE,DEFLATE_FAST")
+                .getOrCreateConfig()
+                .getConfigData(SocketConfig.class);
+        assertEquals(
+                List.of(SyncCompression.DEFLATE, SyncCompression.DEFLATE_FAST, SyncCompression.NONE),
+                SyncCompression.getSupported(enabled));
+
+        final SocketConfig disabled = new TestConfigBuilder()
+                .withValue("socket.gzipCompression", false)
+                .getOrCreateConfig()
+                .getConfigData(SocketConfig.class);
+        assertEquals(List.of(SyncCompression.NONE), SyncCompression.getSupported(disabled));
+    }
+
+    @Test
+    @DisplayName("The first offered codec that is supported is chosen")
+    void negotiate() throws IOException, HandshakeException {
+        final ByteArrayOutputStream offer = new ByteArrayOutputStream();
+        // the reply is not known yet, it is checked separately below
+        assertThrows(
+                IOException.class,
+                () -> CompressionNegotiation.offer(
+                        new ByteArrayInputStream(new byte[0]),
+                        offer,
+                        List.of(SyncCompression.DEFLATE_FAST, SyncCompression.DEFLATE, SyncCompression.NONE)));
+
+        final ByteArrayOutputStream reply = new ByteArrayOutputStream();
+        final SyncCompression chosen = CompressionNegotiation.choose(
+                new ByteArrayInputStream(offer.toByteArray()),
+                reply,
+                List.of(SyncCompression.DEFLATE, SyncCompression.NONE));
+        assertEquals(SyncCompression.DEFLATE, chosen, "the first supported offer should be chosen");
+
+        assertEquals(
+                SyncCompression.DEFLATE,
+                CompressionNegotiation.offer(
+                        new ByteArrayInputStream(reply.toByteArray()),
+                        new ByteArrayOutputStream(),
+                        List.of(SyncCompression.DEFLATE_FAST, SyncCompression.DEFLATE, SyncCompression.NONE)),
+                "the offering side should accept the choice");
+    }
+
+    @Test
+    @DisplayName("Unknown offers are skipped and no compression is the fallback")
+    void negotiateFallback() throws IOException {
+        final ByteArrayOutputStream reply = new ByteArrayOutputStream();
+        final SyncCompression chosen = CompressionNegotiation.choose(
+                new ByteArrayInputStream(new byte[] {2, 100, SyncCompression.DEFLATE_FAST.getId()}),
+                reply,
+                List.of(SyncCompression.DEFLATE, SyncCompression.NONE));
+        assertEquals(SyncCompression.NONE, chosen, "no compression should be chosen");
+        assertArrayEquals(new byte[] {SyncCompression.NONE.getId()}, reply.toByteArray());
+    }
+
+    @Test
+    @DisplayName("A choice that was not offered fails the handshake")
+    void invalidChoice() {
+        assertThrows(
+                HandshakeException.class,
+                () -> CompressionNegotiation.offer(
+                        new ByteArrayInputStream(new byte[] {SyncCompression.DEFLATE.getId()}),
+                        new ByteArrayOutputStream(),
+                        List.of(SyncCompression.DEFLATE_FAST, SyncCompression.NONE)));
+    }
+}
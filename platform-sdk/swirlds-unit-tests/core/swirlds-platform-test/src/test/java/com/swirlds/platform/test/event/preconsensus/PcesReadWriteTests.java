@@ -150,6 +150,65 @@ class PcesReadWriteTests {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("buildArguments")
+    @DisplayName("Preallocated File Test")
+    void preallocatedFileTest(@NonNull final AncientMode ancientMode) throws IOException {
+        final Random random = RandomUtils.getRandomPrintSeed();
+
+        final int numEvents = 100;
+
+        final StandardGraphGenerator generator = new StandardGraphGenerator(
+                random.nextLong(),
+                new StandardEventSource(),
+                new StandardEventSource(),
+                new StandardEventSource(),
+                new StandardEventSource());
+
+        final List<GossipEvent> events = new ArrayList<>();
+        for (int i = 0; i < numEvents; i++) {
+            events.add(generator.generateEvent().getBaseEvent());
+        }
+
+        long upperBound = Long.MIN_VALUE;
+        for (final GossipEvent event : events) {
+            upperBound = Math.max(upperBound, event.getAncientIndicator(ancientMode));
+        }
+
+        final PcesFile file = PcesFile.of(
+                ancientMode,
+                RandomUtils.randomInstant(random),
+                random.nextInt(0, 100),
+                0,
+                upperBound,
+                0,
+                testDirectory);
+
+        final long preallocatedSize = 1024 * 1024;
+        // a small buffer, so events are split across several writes
+        final PcesMutableFile mutableFile = file.getMutableFile(1024, preallocatedSize);
+        assertEquals(preallocatedSize, Files.size(file.getPath()));
+        for (final GossipEvent event : events) {
+            mutableFile.writeEvent(event);
+        }
+        mutableFile.sync();
+
+        // the file is still open, as if the node crashed, so the rest of the file is zero padding
+        final PcesFileIterator openFileIterator = file.iterator(Long.MIN_VALUE);
+        final List<GossipEvent> eventsFromOpenFile = new ArrayList<>();
+        openFileIterator.forEachRemaining(eventsFromOpenFile::add);
+        assertFalse(openFileIterator.hasPartialEvent());
+        assertEquals(events, eventsFromOpenFile);
+
+        mutableFile.close();
+        assertEquals(mutableFile.fileSize(), Files.size(file.getPath()));
+
+        final IOIterator<GossipEvent> iterator = file.iterator(Long.MIN_VALUE);
+        final List<GossipEvent> deserializedEvents = new ArrayList<>();
+        iterator.forEachRemaining(deserializedEvents::add);
+        assertEquals(events, deserializedEvents);
+    }
+
     @ParameterizedTest
     @MethodSource("buildArguments")
     @DisplayName("Read Files After Minimum Test")
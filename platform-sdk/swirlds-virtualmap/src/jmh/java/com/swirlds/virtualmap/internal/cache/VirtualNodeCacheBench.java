@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.cache; // NOSONAR: Needed to benchmark internal classes
+
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.virtualmap.test.fixtures.TestKey;
+import com.swirlds.virtualmap.test.fixtures.TestValue;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for path indices in {@link VirtualNodeCache}. Every benchmark operation is a single
+ * round: a number of dirty paths are added to the index (or the cache), then removed.
+ *
+ * <p>{@code pathIndexBoxed} and {@code pathIndexPrimitive} compare the former boxed
+ * {@code ConcurrentHashMap<Long, ...>} index with {@link ConcurrentLongObjectMap} used now.
+ * {@code copyPutHashMerge} measures a full cache round trip: copy, put hashes, seal, merge and
+ * release. Run with the JMH {@code gc} profiler to get allocation rates per operation.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class VirtualNodeCacheBench {
+
+    @Param({"10000", "100000"})
+    public int pathsPerRound;
+
+    private long[] paths;
+    private Hash[] hashes;
+
+    private Map<Long, Mutation> boxedIndex;
+    private ConcurrentLongObjectMap<Mutation> primitiveIndex;
+
+    private VirtualNodeCache<TestKey, TestValue> cache;
+    private VirtualNodeCache<TestKey, TestValue> older;
+
+    /**
+     * A stand-in for mutations in {@link VirtualNodeCache}, which are private. Benchmarks measure the
+     * index overhead only, so the same mutation object is created in both cases.
+     */
+    private static final class Mutation {
+        final long path;
+        Mutation next;
+
+        Mutation(final long path, final Mutation next) {
+            this.path = path;
+            this.next = next;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random random = new Random(12345);
+        paths = new long[pathsPerRound];
+        hashes = new Hash[pathsPerRound];
+        // Dirty paths in a round are scattered over a large tree
+        for (int i = 0; i < pathsPerRound; i++) {
+            paths[i] = random.nextLong(pathsPerRound * 100L);
+            final byte[] bytes = new byte[48];
+            random.nextBytes(bytes);
+            hashes[i] = new Hash(bytes);
+        }
+        boxedIndex = new ConcurrentHashMap<>();
+        primitiveIndex = new ConcurrentLongObjectMap<>();
+        cache = new VirtualNodeCache<>();
+        older = null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (older != null) {
+            older.release();
+        }
+        cache.seal();
+        cache.release();
+    }
+
+    @Benchmark
+    public void pathIndexBoxed(final Blackhole blackhole) {
+        for (final long path : paths) {
+            boxedIndex.compute(path, (key, mutation) -> new Mutation(key, mutation));
+        }
+        for (final long path : paths) {
+            blackhole.consume(boxedIndex.get(path));
+        }
+        for (final long path : paths) {
+            boxedIndex.compute(path, (key, mutation) -> null);
+        }
+    }
+
+    @Benchmark
+    public void pathIndexPrimitive(final Blackhole blackhole) {
+        for (final long path : paths) {
+            primitiveIndex.compute(path, (key, mutation) -> new Mutation(key, mutation));
+        }
+        for (final long path : paths) {
+            blackhole.consume(primitiveIndex.get(path));
+        }
+        for (final long path : paths) {
+            primitiveIndex.compute(path, (key, mutation) -> null);
+        }
+    }
+
+    @Benchmark
+    public void copyPutHashMerge(final Blackhole blackhole) {
+        final VirtualNodeCache<TestKey, TestValue> next = cache.copy();
+        for (int i = 0; i < pathsPerRound; i++) {
+            cache.putHash(paths[i], hashes[i]);
+        }
+        for (final long path : paths) {
+            blackhole.consume(cache.lookupHashByPath(path, false));
+        }
+        cache.seal();
+        if (older == null) {
+            older = cache;
+        } else {
+            // Merge the older copy into the just sealed one, then release the merged copy, so the
+            // shared indices are purged and don't grow from round to round
+            older.merge();
+            cache.release();
+            older = null;
+        }
+        cache = next;
+    }
+}
@@ -42,6 +42,7 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
@@ -508,4 +509,14 @@ public final class VirtualMap<K extends VirtualKey, V extends VirtualValue> exte
     public void warm(final K key) {
         root.warm(key);
     }
+
+    /**
+     * Same as {@link #warm(VirtualKey)}, but for a batch of keys. Keys are deduplicated, and all keys not
+     * found in memory are loaded from the data source in a single pass, which lets the data source
+     * sort them by their disk locations and avoid random reads.
+     *  @param keys keys of the leaves to warm
+     */
+    public void warmAll(final Collection<K> keys) {
+        root.warmAll(keys);
+    }
 }
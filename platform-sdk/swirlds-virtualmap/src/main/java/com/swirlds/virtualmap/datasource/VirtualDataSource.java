@@ -23,6 +23,7 @@ import com.swirlds.virtualmap.VirtualKey;
 import com.swirlds.virtualmap.VirtualValue;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.stream.Stream;
 
 /**
@@ -155,6 +156,25 @@ public interface VirtualDataSource<K extends VirtualKey, V extends VirtualValue>
      */
     long findKey(final K key) throws IOException;
 
+    /**
+     * Loads leaf records for a batch of keys, so subsequent reads of the same keys are served from
+     * data source caches or the OS file cache. Implementations may reorder the keys to reduce random
+     * disk access, for example, to read them in the order of their locations on disk. Keys that are
+     * not stored in the data source are ignored.
+     *
+     * <p>The default implementation loads the records one by one.
+     *
+     * @param keys
+     * 		the keys to warm, must not contain duplicates
+     * @throws IOException
+     * 		If there was a problem reading the leaf records
+     */
+    default void warmLeafRecords(final List<K> keys) throws IOException {
+        for (final K key : keys) {
+            loadLeafRecord(key);
+        }
+    }
+
     /**
      * Load a virtual node hash by path.
      *
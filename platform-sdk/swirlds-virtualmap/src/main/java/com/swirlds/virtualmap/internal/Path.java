@@ -184,6 +184,20 @@ public final class Path {
         return (path - (1L << levels) + 1) >> levels;
     }
 
+    /**
+     * Checks whether a node is in the subtree below another node, or is that node itself.
+     *
+     * @param path
+     * 		The path of the node. Must be valid.
+     * @param subtreeRootPath
+     * 		The path of the root of the subtree. Must be valid.
+     * @return true if the node is in the subtree
+     */
+    public static boolean isInSubtree(final long path, final long subtreeRootPath) {
+        final int levels = getRank(path) - getRank(subtreeRootPath);
+        return levels >= 0 && getGrandParentPath(path, levels) == subtreeRootPath;
+    }
+
     /**
      * Gets the path of a child of the given {@code parentPath} at index {@code childIndex}.
      *
@@ -0,0 +1,356 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.cache;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A concurrent map from non-negative primitive long keys to object values. It's used by
+ * {@link VirtualNodeCache} to index dirty leaves and hashes by path, where a regular
+ * {@code ConcurrentHashMap<Long, ...>} would allocate a boxed key and a map node for every entry.
+ *
+ * <p>The map is split into a fixed number of segments, a segment is selected by key hash. Every
+ * segment is an open addressing hash table with linear probing, which stores keys in a long array
+ * and values in a parallel object array, so no objects are allocated per entry. Keys are stored
+ * incremented by one, zero marks an empty slot. When an entry is removed, its value is set to null,
+ * but the key is kept in the slot as a tombstone, so probe sequences of other keys aren't broken.
+ * Tombstone slots are reused for new entries and dropped when the segment is rehashed.
+ *
+ * <p>Reads are lock free. Updates lock the segment, so updates to different segments don't block
+ * each other. {@link #compute(long, RemappingFunction)} is atomic per key, the same way as in
+ * {@code ConcurrentHashMap}. Iteration with {@link #forEach(EntryConsumer)} is weakly consistent,
+ * it never fails with an exception, but may or may not reflect concurrent updates.
+ *
+ * @param <V> value type
+ */
+final class ConcurrentLongObjectMap<V> {
+
+    /** Default number of segments, must be a power of two */
+    static final int DEFAULT_SEGMENTS = 64;
+
+    /** Default initial number of slots in every segment, must be a power of two */
+    static final int DEFAULT_SEGMENT_CAPACITY = 16;
+
+    /** Max ratio of used slots, including tombstones, to segment capacity */
+    private static final double MAX_FILL_RATIO = 0.6;
+
+    /** Key stored in empty slots */
+    private static final long EMPTY = 0;
+
+    /** Number of bits to shift a key hash right to get a segment index */
+    private final int segmentShift;
+
+    private final Segment<V>[] segments;
+
+    /**
+     * A function to compute a new value for a key.
+     *
+     * @param <V> value type
+     */
+    @FunctionalInterface
+    interface RemappingFunction<V> {
+        /**
+         * Computes a new value.
+         *
+         * @param key the key
+         * @param value the current value, or null if the key isn't in the map
+         * @return the new value, or null to remove the key from the map
+         */
+        @Nullable
+        V apply(long key, @Nullable V value);
+    }
+
+    /**
+     * An action to perform on map entries.
+     *
+     * @param <V> value type
+     */
+    @FunctionalInterface
+    interface EntryConsumer<V> {
+        void accept(long key, @NonNull V value);
+    }
+
+    /**
+     * Creates a new map with default number of segments and default segment capacity.
+     */
+    ConcurrentLongObjectMap() {
+        this(DEFAULT_SEGMENTS, DEFAULT_SEGMENT_CAPACITY);
+    }
+
+    /**
+     * Creates a new map.
+     *
+     * @param numSegments number of segments, must be a power of two
+     * @param segmentCapacity initial number of slots in every segment, must be a power of two
+     */
+    @SuppressWarnings("unchecked")
+    ConcurrentLongObjectMap(final int numSegments, final int segmentCapacity) {
+        if ((numSegments <= 0) || (Integer.bitCount(numSegments) != 1)) {
+            throw new IllegalArgumentException("Number of segments must be a positive power of two");
+        }
+        if ((segmentCapacity <= 1) || (Integer.bitCount(segmentCapacity) != 1)) {
+            throw new IllegalArgumentException("Segment capacity must be a power of two greater than one");
+        }
+        segmentShift = Long.SIZE - Integer.numberOfTrailingZeros(numSegments);
+        segments = new Segment[numSegments];
+        for (int i = 0; i < numSegments; i++) {
+            segments[i] = new Segment<>(segmentCapacity);
+        }
+    }
+
+    /**
+     * Returns the value for the given key.
+     *
+     * @param key the key, must not be negative
+     * @return the value, or null if the key isn't in the map
+     */
+    @Nullable
+    V get(final long key) {
+        final long hash = hash(checkKey(key));
+        return segmentFor(hash).get(key + 1, (int) hash);
+    }
+
+    /**
+     * Associates the given value with the given key.
+     *
+     * @param key the key, must not be negative
+     * @param value the value, must not be null
+     * @return the previous value, or null if the key wasn't in the map
+     */
+    @Nullable
+    V put(final long key, @NonNull final V value) {
+        Objects.requireNonNull(value);
+        return compute(key, (k, v) -> value, true);
+    }
+
+    /**
+     * Atomically computes a new value for the given key. The function is called under the segment
+     * lock, it must be short and must not update this map.
+     *
+     * @param key the key, must not be negative
+     * @param function the function to compute a new value, it gets the current value or null
+     * @return the new value, or null if the key was removed or not added
+     */
+    @Nullable
+    V compute(final long key, @NonNull final RemappingFunction<V> function) {
+        return compute(key, function, false);
+    }
+
+    /**
+     * Returns the number of entries in the map. If the map is updated concurrently, the result
+     * may not reflect all the updates.
+     */
+    int size() {
+        int size = 0;
+        for (final Segment<V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Performs the given action for every entry in the map. Concurrent updates may or may not be
+     * visible to the action.
+     *
+     * @param action the action
+     */
+    void forEach(@NonNull final EntryConsumer<V> action) {
+        for (final Segment<V> segment : segments) {
+            segment.forEach(action);
+        }
+    }
+
+    private V compute(final long key, final RemappingFunction<V> function, final boolean returnOld) {
+        final long hash = hash(checkKey(key));
+        return segmentFor(hash).compute(key, (int) hash, function, returnOld);
+    }
+
+    private Segment<V> segmentFor(final long hash) {
+        // Segment is selected by the highest bits of the hash, slots by the lowest bits
+        return segments[segmentShift == Long.SIZE ? 0 : (int) (hash >>> segmentShift)];
+    }
+
+    private static long checkKey(final long key) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Key must not be negative: " + key);
+        }
+        return key;
+    }
+
+    private static long hash(final long key) {
+        // Paths are dense sequential numbers, spread them over all segments and slots
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * A segment table. Tables are never resized in place: a new table is created and published
+     * instead, so readers holding a reference to the old table always see a consistent state.
+     */
+    private static final class Table<V> {
+        /** Stored keys, key + 1 for used slots, or {@link #EMPTY} */
+        final AtomicLongArray keys;
+
+        /** Values, null for empty and removed slots */
+        final AtomicReferenceArray<V> values;
+
+        final int mask;
+
+        Table(final int capacity) {
+            keys = new AtomicLongArray(capacity);
+            values = new AtomicReferenceArray<>(capacity);
+            mask = capacity - 1;
+        }
+    }
+
+    private static final class Segment<V> {
+
+        private volatile Table<V> table;
+
+        /** Number of slots with non-null values. Guarded by this */
+        private int size;
+
+        /** Number of slots with keys, including tombstones. Guarded by this */
+        private int used;
+
+        Segment(final int capacity) {
+            table = new Table<>(capacity);
+        }
+
+        V get(final long storedKey, final int hash) {
+            final Table<V> t = table;
+            final AtomicLongArray keys = t.keys;
+            final int mask = t.mask;
+            for (int i = hash & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+                final long k = keys.get(i);
+                if (k == storedKey) {
+                    final V value = t.values.get(i);
+                    // The slot may be a tombstone reused for another key after the key check above. Keys
+                    // are set before values, so if the key is still the same, the value belongs to it
+                    return (keys.get(i) == storedKey) ? value : null;
+                }
+                if (k == EMPTY) {
+                    return null;
+                }
+            }
+            return null;
+        }
+
+        synchronized V compute(
+                final long key, final int hash, final RemappingFunction<V> function, final boolean returnOld) {
+            final long storedKey = key + 1;
+            Table<V> t = table;
+            int slot = -1;
+            int freeSlot = -1;
+            final int mask = t.mask;
+            for (int i = hash & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+                final long k = t.keys.get(i);
+                if (k == storedKey) {
+                    slot = i;
+                    break;
+                }
+                if (k == EMPTY) {
+                    if (freeSlot == -1) {
+                        freeSlot = i;
+                    }
+                    break;
+                }
+                if ((freeSlot == -1) && (t.values.get(i) == null)) {
+                    freeSlot = i;
+                }
+            }
+            final V oldValue = (slot != -1) ? t.values.get(slot) : null;
+            final V newValue = function.apply(key, oldValue);
+            if (slot != -1) {
+                if ((oldValue != null) && (newValue == null)) {
+                    size--;
+                } else if ((oldValue == null) && (newValue != null)) {
+                    size++;
+                }
+                t.values.set(slot, newValue);
+            } else if (newValue != null) {
+                if ((freeSlot == -1) || ((t.keys.get(freeSlot) == EMPTY) && (used + 1 > maxUsed(t)))) {
+                    t = rehash(t);
+                    freeSlot = findEmptySlot(t, hash);
+                }
+                if (t.keys.get(freeSlot) == EMPTY) {
+                    used++;
+                }
+                size++;
+                // Key first, then value, see get()
+                t.keys.set(freeSlot, storedKey);
+                t.values.set(freeSlot, newValue);
+            }
+            return returnOld ? oldValue : newValue;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        void forEach(final EntryConsumer<V> action) {
+            final Table<V> t = table;
+            for (int i = 0; i <= t.mask; i++) {
+                final long k = t.keys.get(i);
+                if (k != EMPTY) {
+                    final V value = t.values.get(i);
+                    if ((value != null) && (t.keys.get(i) == k)) {
+                        action.accept(k - 1, value);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Copies all live entries to a new table and publishes it. The new table is twice as large,
+         * unless most used slots are tombstones, in which case the capacity is kept the same.
+         */
+        private Table<V> rehash(final Table<V> old) {
+            final int oldCapacity = old.mask + 1;
+            final int newCapacity = (size + 1 > maxUsed(old) / 2) ? oldCapacity * 2 : oldCapacity;
+            final Table<V> t = new Table<>(newCapacity);
+            for (int i = 0; i < oldCapacity; i++) {
+                final V value = old.values.get(i);
+                if (value != null) {
+                    final long storedKey = old.keys.get(i);
+                    final int slot = findEmptySlot(t, (int) hash(storedKey - 1));
+                    t.keys.set(slot, storedKey);
+                    t.values.set(slot, value);
+                }
+            }
+            used = size;
+            table = t;
+            return t;
+        }
+
+        private static int maxUsed(final Table<?> t) {
+            return (int) ((t.mask + 1) * MAX_FILL_RATIO);
+        }
+
+        private static int findEmptySlot(final Table<?> t, final int hash) {
+            int i = hash & t.mask;
+            while (t.keys.get(i) != EMPTY) {
+                i = (i + 1) & t.mask;
+            }
+            return i;
+        }
+    }
+}
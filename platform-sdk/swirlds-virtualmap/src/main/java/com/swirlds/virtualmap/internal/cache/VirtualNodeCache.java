@@ -49,6 +49,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -217,14 +218,14 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * <p>
      * <strong>ONE PER CHAIN OF CACHES</strong>.
      */
-    private final Map<Long, Mutation<Long, K>> pathToDirtyLeafIndex;
+    private final ConcurrentLongObjectMap<Mutation<Long, K>> pathToDirtyLeafIndex;
 
     /**
      * A shared index of paths to internals, via {@link Mutation}s. Works the same as {@link #keyToDirtyLeafIndex}.
      * <p>
      * <strong>ONE PER CHAIN OF CACHES</strong>.
      */
-    private final Map<Long, Mutation<Long, Hash>> pathToDirtyHashIndex;
+    private final ConcurrentLongObjectMap<Mutation<Long, Hash>> pathToDirtyHashIndex;
 
     /**
      * Whether this instance is released. A released cache is often the last in the
@@ -319,8 +320,8 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      */
     public VirtualNodeCache() {
         this.keyToDirtyLeafIndex = new ConcurrentHashMap<>();
-        this.pathToDirtyLeafIndex = new ConcurrentHashMap<>();
-        this.pathToDirtyHashIndex = new ConcurrentHashMap<>();
+        this.pathToDirtyLeafIndex = new ConcurrentLongObjectMap<>();
+        this.pathToDirtyHashIndex = new ConcurrentLongObjectMap<>();
         this.releaseLock = new ReentrantLock();
         this.lastReleased = new AtomicLong(-1L);
     }
@@ -433,9 +434,9 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
         // Fire off the cleaning threads to go and clear out data in the indexes that doesn't need
         // to be there anymore.
         CLEANING_POOL.execute(() -> {
-            purge(dirtyLeaves, keyToDirtyLeafIndex);
-            purge(dirtyLeafPaths, pathToDirtyLeafIndex);
-            purge(dirtyHashes, pathToDirtyHashIndex);
+            purge(dirtyLeaves, MutationIndex.of(keyToDirtyLeafIndex));
+            purge(dirtyLeafPaths, MutationIndex.of(pathToDirtyLeafIndex));
+            purge(dirtyHashes, MutationIndex.of(pathToDirtyHashIndex));
 
             dirtyLeaves = null;
             dirtyLeafPaths = null;
@@ -1070,10 +1071,17 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
         synchronized (lastReleased) {
             final VirtualNodeCache<K, V> newSnapshot = new VirtualNodeCache<>();
             setMapSnapshotAndArray(
-                    this.pathToDirtyHashIndex, newSnapshot.pathToDirtyHashIndex, newSnapshot.dirtyHashes);
+                    MutationIndex.of(this.pathToDirtyHashIndex),
+                    MutationIndex.of(newSnapshot.pathToDirtyHashIndex),
+                    newSnapshot.dirtyHashes);
             setMapSnapshotAndArray(
-                    this.pathToDirtyLeafIndex, newSnapshot.pathToDirtyLeafIndex, newSnapshot.dirtyLeafPaths);
-            setMapSnapshotAndArray(this.keyToDirtyLeafIndex, newSnapshot.keyToDirtyLeafIndex, newSnapshot.dirtyLeaves);
+                    MutationIndex.of(this.pathToDirtyLeafIndex),
+                    MutationIndex.of(newSnapshot.pathToDirtyLeafIndex),
+                    newSnapshot.dirtyLeafPaths);
+            setMapSnapshotAndArray(
+                    MutationIndex.of(this.keyToDirtyLeafIndex),
+                    MutationIndex.of(newSnapshot.keyToDirtyLeafIndex),
+                    newSnapshot.dirtyLeaves);
             newSnapshot.snapshot.set(true);
             newSnapshot.fastCopyVersion.set(this.fastCopyVersion.get());
             newSnapshot.seal();
@@ -1165,7 +1173,7 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
     private <V1> void updatePaths(
             final V1 value,
             final long path,
-            final Map<Long, Mutation<Long, V1>> index,
+            final ConcurrentLongObjectMap<Mutation<Long, V1>> index,
             final ConcurrentArray<Mutation<Long, V1>> dirtyPaths) {
         index.compute(path, (key, mutation) -> {
             // If there is no mutation or the mutation isn't for this version, then we need to create a new mutation.
@@ -1275,6 +1283,8 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * Called by one of the purge threads to purge entries from the index that no longer have a referent
      * for the mutation list. This can be called concurrently.
      *
+     * @param array
+     * 		The array of mutations to purge from the index
      * @param index
      * 		The index to look through for entries to purge
      * @param <K>
@@ -1282,10 +1292,10 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * @param <V>
      * 		The value type referenced by the mutation list
      */
-    private static <K, V> void purge(final ConcurrentArray<Mutation<K, V>> array, final Map<K, Mutation<K, V>> index) {
+    private static <K, V> void purge(final ConcurrentArray<Mutation<K, V>> array, final MutationIndex<K, V> index) {
         array.parallelTraverse(
                 CLEANING_POOL,
-                element -> index.compute(element.key, (key, mutation) -> {
+                element -> index.compute(element.key, mutation -> {
                     if (mutation == null || element.equals(mutation)) {
                         // Already removed for a more recent mutation
                         return null;
@@ -1344,34 +1354,37 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * </ul>
      *
      * @param src
-     * 		Map that contains the original mutations
+     * 		Index that contains the original mutations
      * @param dst
-     * 		Map that acts as the destination of mutations
+     * 		Index that acts as the destination of mutations
+     * @param array
+     * 		Array the copied mutations are added to
      * @param <K2>
      * 		Key type
      * @param <L2>
      * 		Value type
      */
     private <K2, L2> void setMapSnapshotAndArray(
-            final Map<K2, Mutation<K2, L2>> src,
-            final Map<K2, Mutation<K2, L2>> dst,
+            final MutationIndex<K2, L2> src,
+            final MutationIndex<K2, L2> dst,
             final ConcurrentArray<Mutation<K2, L2>> array) {
         final long accepted = fastCopyVersion.get();
         final long rejected = lastReleased.get();
-        for (final Map.Entry<K2, Mutation<K2, L2>> entry : src.entrySet()) {
-            Mutation<K2, L2> mutation = entry.getValue();
+        src.forEachMutation(head -> {
+            Mutation<K2, L2> mutation = head;
 
             while (mutation != null && mutation.version > accepted) {
                 mutation = mutation.next;
             }
 
             if (mutation == null || mutation.version <= rejected) {
-                continue;
+                return;
             }
 
-            dst.put(entry.getKey(), mutation);
+            // All mutations of a list have the key the list is indexed by
+            dst.put(mutation.key, mutation);
             array.add(mutation);
-        }
+        });
     }
 
     /**
@@ -1385,20 +1398,31 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * 		If something fails.
      */
     private void serializePathToDirtyHashIndex(
-            final Map<Long, Mutation<Long, Hash>> map, final SerializableDataOutputStream out) throws IOException {
+            final ConcurrentLongObjectMap<Mutation<Long, Hash>> map, final SerializableDataOutputStream out)
+            throws IOException {
         assert snapshot.get() : "Only snapshots can be serialized";
         out.writeInt(map.size());
-        for (final Map.Entry<Long, Mutation<Long, Hash>> entry : map.entrySet()) {
-            out.writeLong(entry.getKey());
-            final Mutation<Long, Hash> mutation = entry.getValue();
-            assert mutation != null : "Mutations cannot be null in a snapshot";
+        // Snapshots are immutable, so the map size is consistent with the entries below
+        final IOException[] error = new IOException[1];
+        map.forEach((path, mutation) -> {
+            if (error[0] != null) {
+                return;
+            }
             assert mutation.version <= this.fastCopyVersion.get()
                     : "Trying to serialize pathToDirtyInternalIndex with a version ahead";
-            out.writeLong(mutation.version);
-            out.writeBoolean(mutation.isDeleted());
-            if (!mutation.isDeleted()) {
-                out.writeSerializable(mutation.value, true);
+            try {
+                out.writeLong(path);
+                out.writeLong(mutation.version);
+                out.writeBoolean(mutation.isDeleted());
+                if (!mutation.isDeleted()) {
+                    out.writeSerializable(mutation.value, true);
+                }
+            } catch (final IOException e) {
+                error[0] = e;
             }
+        });
+        if (error[0] != null) {
+            throw error[0];
         }
     }
 
@@ -1413,7 +1437,9 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * 		In case of trouble.
      */
     private void deserializePathToDirtyHashIndex(
-            final Map<Long, Mutation<Long, Hash>> map, final SerializableDataInputStream in, final int version)
+            final ConcurrentLongObjectMap<Mutation<Long, Hash>> map,
+            final SerializableDataInputStream in,
+            final int version)
             throws IOException {
         final int sizeOfMap = in.readInt();
         for (int index = 0; index < sizeOfMap; index++) {
@@ -1446,19 +1472,28 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * 		If something fails.
      */
     private void serializePathToDirtyLeafIndex(
-            final Map<Long, Mutation<Long, K>> map, final SerializableDataOutputStream out) throws IOException {
+            final ConcurrentLongObjectMap<Mutation<Long, K>> map, final SerializableDataOutputStream out)
+            throws IOException {
         assert snapshot.get() : "Only snapshots can be serialized";
         out.writeInt(map.size());
-        for (final Map.Entry<Long, Mutation<Long, K>> entry : map.entrySet()) {
-            out.writeLong(entry.getKey());
-            final Mutation<Long, K> mutation = entry.getValue();
-            assert mutation != null : "Mutations cannot be null in a snapshot";
+        final IOException[] error = new IOException[1];
+        map.forEach((path, mutation) -> {
+            if (error[0] != null) {
+                return;
+            }
             assert mutation.version <= this.fastCopyVersion.get()
                     : "Trying to serialize pathToDirtyLeafIndex with a version ahead";
-
-            out.writeSerializable(mutation.value, true);
-            out.writeLong(mutation.version);
-            out.writeBoolean(mutation.isDeleted());
+            try {
+                out.writeLong(path);
+                out.writeSerializable(mutation.value, true);
+                out.writeLong(mutation.version);
+                out.writeBoolean(mutation.isDeleted());
+            } catch (final IOException e) {
+                error[0] = e;
+            }
+        });
+        if (error[0] != null) {
+            throw error[0];
         }
     }
 
@@ -1473,10 +1508,11 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * 		In case of trouble.
      */
     private void deserializePathToDirtyLeafIndex(
-            final Map<Long, Mutation<Long, K>> map, final SerializableDataInputStream in) throws IOException {
+            final ConcurrentLongObjectMap<Mutation<Long, K>> map, final SerializableDataInputStream in)
+            throws IOException {
         final int sizeOfMap = in.readInt();
         for (int index = 0; index < sizeOfMap; index++) {
-            final Long path = in.readLong();
+            final long path = in.readLong();
             final K key = in.readSerializable();
             final long mutationVersion = in.readLong();
             final boolean deleted = in.readBoolean();
@@ -1622,36 +1658,98 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
         }
     }
 
+    /**
+     * The operations on an index of mutation lists that are the same for all indices of this cache. The
+     * {@link #keyToDirtyLeafIndex} is a {@link Map}, while the indices keyed by path are
+     * {@link ConcurrentLongObjectMap}s, so that paths don't have to be boxed.
+     *
+     * @param <K> The key type of the index
+     * @param <V> The type of data held by the mutations
+     */
+    private interface MutationIndex<K, V> {
+        /**
+         * Atomically replaces the mutation list of a key.
+         *
+         * @param key the key
+         * @param remapping computes the new list from the current one, either may be null if there is no list
+         */
+        void compute(K key, UnaryOperator<Mutation<K, V>> remapping);
+
+        /**
+         * Sets the mutation list of a key.
+         *
+         * @param key the key
+         * @param mutation the head of the list
+         */
+        void put(K key, Mutation<K, V> mutation);
+
+        /**
+         * Performs an action on the head of every mutation list in the index.
+         *
+         * @param action the action
+         */
+        void forEachMutation(Consumer<Mutation<K, V>> action);
+
+        static <K, V> MutationIndex<K, V> of(final Map<K, Mutation<K, V>> map) {
+            return new MutationIndex<>() {
+                @Override
+                public void compute(final K key, final UnaryOperator<Mutation<K, V>> remapping) {
+                    map.compute(key, (k, mutation) -> remapping.apply(mutation));
+                }
+
+                @Override
+                public void put(final K key, final Mutation<K, V> mutation) {
+                    map.put(key, mutation);
+                }
+
+                @Override
+                public void forEachMutation(final Consumer<Mutation<K, V>> action) {
+                    map.values().forEach(action);
+                }
+            };
+        }
+
+        static <V> MutationIndex<Long, V> of(final ConcurrentLongObjectMap<Mutation<Long, V>> map) {
+            return new MutationIndex<>() {
+                @Override
+                public void compute(final Long key, final UnaryOperator<Mutation<Long, V>> remapping) {
+                    map.compute(key, (k, mutation) -> remapping.apply(mutation));
+                }
+
+                @Override
+                public void put(final Long key, final Mutation<Long, V> mutation) {
+                    map.put(key, mutation);
+                }
+
+                @Override
+                public void forEachMutation(final Consumer<Mutation<Long, V>> action) {
+                    map.forEach((path, mutation) -> action.accept(mutation));
+                }
+            };
+        }
+    }
+
     /**
      * Given some cache, print out the contents of all the data structures and mark specially the set of mutations
      * that apply to this cache.
      *
      * @return A string representation of all the data structures of this cache.
      */
-    @SuppressWarnings("rawtypes")
     public String toDebugString() {
         //noinspection StringBufferReplaceableByString
         final StringBuilder builder = new StringBuilder();
         builder.append("VirtualNodeCache ").append(this).append("\n");
         builder.append("===================================\n");
         builder.append(toDebugStringChain()).append("\n");
-        //noinspection unchecked
-        builder.append(toDebugStringIndex("keyToDirtyLeafIndex", (Map<Object, Mutation>) (Object) keyToDirtyLeafIndex))
+        builder.append(toDebugStringIndex("keyToDirtyLeafIndex", MutationIndex.of(keyToDirtyLeafIndex)))
                 .append("\n");
-        //noinspection unchecked
-        builder.append(toDebugStringIndex(
-                        "pathToDirtyLeafIndex", (Map<Object, Mutation>) (Object) pathToDirtyLeafIndex))
+        builder.append(toDebugStringIndex("pathToDirtyLeafIndex", MutationIndex.of(pathToDirtyLeafIndex)))
                 .append("\n");
-        //noinspection unchecked
-        builder.append(toDebugStringIndex(
-                        "pathToDirtyHashIndex", (Map<Object, Mutation>) (Object) pathToDirtyHashIndex))
+        builder.append(toDebugStringIndex("pathToDirtyHashIndex", MutationIndex.of(pathToDirtyHashIndex)))
                 .append("\n");
-        //noinspection unchecked
-        builder.append(toDebugStringArray("dirtyLeaves", (ConcurrentArray<Mutation>) (Object) dirtyLeaves));
-        //noinspection unchecked
-        builder.append(toDebugStringArray("dirtyLeafPaths", (ConcurrentArray<Mutation>) (Object) dirtyLeafPaths));
-        //noinspection unchecked
-        builder.append(toDebugStringArray("dirtyHashes", (ConcurrentArray<Mutation>) (Object) dirtyHashes));
+        builder.append(toDebugStringArray("dirtyLeaves", dirtyLeaves));
+        builder.append(toDebugStringArray("dirtyLeafPaths", dirtyLeafPaths));
+        builder.append(toDebugStringArray("dirtyHashes", dirtyHashes));
         return builder.toString();
     }
 
@@ -1677,34 +1775,32 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
         return builder.toString();
     }
 
-    private String toDebugStringIndex(
-            final String indexName, @SuppressWarnings("rawtypes") final Map<Object, Mutation> index) {
+    private <K1, V1> String toDebugStringIndex(final String indexName, final MutationIndex<K1, V1> index) {
         final StringBuilder builder = new StringBuilder();
         builder.append(indexName).append(":\n");
-
-        index.forEach((key, mutation) -> {
-            builder.append("\t").append(key).append(":==> ");
-            while (mutation != null) {
-                builder.append("[")
-                        .append(mutation.key)
-                        .append(",")
-                        .append(mutation.value)
-                        .append(",")
-                        .append(mutation.isDeleted() ? "D," : "")
-                        .append("V")
-                        .append(mutation.version)
-                        .append(mutation.version == this.fastCopyVersion.get() ? "*" : "")
-                        .append("]->");
-                mutation = mutation.next;
-            }
-            builder.append("\n");
-        });
-
+        index.forEachMutation(mutation -> toDebugStringIndexEntry(builder, mutation));
         return builder.toString();
     }
 
-    private String toDebugStringArray(
-            final String name, @SuppressWarnings("rawtypes") final ConcurrentArray<Mutation> arr) {
+    private <K1, V1> void toDebugStringIndexEntry(final StringBuilder builder, Mutation<K1, V1> mutation) {
+        builder.append("\t").append(mutation.key).append(":==> ");
+        while (mutation != null) {
+            builder.append("[")
+                    .append(mutation.key)
+                    .append(",")
+                    .append(mutation.value)
+                    .append(",")
+                    .append(mutation.isDeleted() ? "D," : "")
+                    .append("V")
+                    .append(mutation.version)
+                    .append(mutation.version == this.fastCopyVersion.get() ? "*" : "")
+                    .append("]->");
+            mutation = mutation.next;
+        }
+        builder.append("\n");
+    }
+
+    private <K1, V1> String toDebugStringArray(final String name, final ConcurrentArray<Mutation<K1, V1>> arr) {
         final StringBuilder builder = new StringBuilder();
         builder.append(name).append(":\n");
 
@@ -520,4 +520,19 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
         final Hash NULL_HASH = CryptographyHolder.get().getNullHash();
         return ChunkHashTask.hash(ROOT_PATH, NULL_HASH, NULL_HASH);
     }
+
+    /**
+     * Hash an internal node, or the root, from the hashes of its children.
+     *
+     * @param path
+     * 		The path of the node
+     * @param left
+     * 		The hash of the left child
+     * @param right
+     * 		The hash of the right child
+     * @return The hash of the node
+     */
+    public static Hash hashInternal(final long path, final Hash left, final Hash right) {
+        return ChunkHashTask.hash(path, left, right);
+    }
 }
@@ -171,15 +171,18 @@ public abstract class AbstractHashListener<K extends VirtualKey, V extends Virtu
             @NonNull final List<VirtualLeafRecord<K, V>> leavesToFlush) {
         assert flushInProgress.get() : "Flush in progress flag must be set";
         try {
-            // flush it down
+            // flush it down. When a virtual map is reconnected in ranges, the listeners of all ranges
+            // flush to the same data source, which doesn't support concurrent saves
             try {
-                dataSource.saveRecords(
-                        firstLeafPath,
-                        lastLeafPath,
-                        hashesToFlush.stream(),
-                        leavesToFlush.stream(),
-                        findLeavesToRemove(),
-                        true);
+                synchronized (dataSource) {
+                    dataSource.saveRecords(
+                            firstLeafPath,
+                            lastLeafPath,
+                            hashesToFlush.stream(),
+                            leavesToFlush.stream(),
+                            findLeavesToRemove(),
+                            true);
+                }
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
             }
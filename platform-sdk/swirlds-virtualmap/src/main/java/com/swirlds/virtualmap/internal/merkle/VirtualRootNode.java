@@ -33,6 +33,7 @@ import static com.swirlds.virtualmap.internal.Path.getRank;
 import static com.swirlds.virtualmap.internal.Path.getRightChildPath;
 import static com.swirlds.virtualmap.internal.Path.getSiblingPath;
 import static com.swirlds.virtualmap.internal.Path.isFarRight;
+import static com.swirlds.virtualmap.internal.Path.isInSubtree;
 import static com.swirlds.virtualmap.internal.Path.isLeft;
 import static com.swirlds.virtualmap.internal.merkle.VirtualMapState.MAX_LABEL_LENGTH;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -40,6 +41,7 @@ import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 import com.swirlds.common.config.singleton.ConfigurationHolder;
+import com.swirlds.common.crypto.CryptographyHolder;
 import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.io.ExternalSelfSerializable;
 import com.swirlds.common.io.streams.SerializableDataInputStream;
@@ -74,6 +76,7 @@ import com.swirlds.virtualmap.internal.pipeline.VirtualPipeline;
 import com.swirlds.virtualmap.internal.pipeline.VirtualRoot;
 import com.swirlds.virtualmap.internal.reconnect.ConcurrentBlockingIterator;
 import com.swirlds.virtualmap.internal.reconnect.ReconnectHashListener;
+import com.swirlds.virtualmap.internal.reconnect.ReconnectRangeHashListener;
 import com.swirlds.virtualmap.internal.reconnect.ReconnectState;
 import com.swirlds.virtualmap.internal.reconnect.VirtualLearnerTreeView;
 import com.swirlds.virtualmap.internal.reconnect.VirtualTeacherTreeView;
@@ -83,14 +86,22 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongFunction;
 import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -308,6 +319,20 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
      */
     private RecordAccessor<K, V> reconnectRecords;
 
+    /**
+     * If the map is received in ranges during reconnect as a <strong>learner</strong>, the hashes of the
+     * roots of the ranges by path. Each range is hashed by its own thread, see
+     * {@link #startReconnectRangeHashing(long)}.
+     */
+    private Map<Long, CompletableFuture<Hash>> reconnectRangeHashes;
+
+    /**
+     * The first and last leaf paths of the map that is received during reconnect as a <strong>learner</strong>.
+     */
+    private volatile long reconnectFirstLeafPath;
+
+    private volatile long reconnectLastLeafPath;
+
     private VirtualStateAccessor fullyReconnectedState;
 
     private VirtualLearnerTreeView<K, V> learnerTreeView;
@@ -368,6 +393,7 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
         this.reconnectHashingStarted = null;
         this.reconnectIterator = null;
         this.reconnectRecords = null;
+        this.reconnectRangeHashes = null;
         this.fullyReconnectedState = null;
         this.learnerTreeView = null;
         this.maxSizeReachedTriggeringWarning = source.maxSizeReachedTriggeringWarning;
@@ -1404,6 +1430,7 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
                 new ConcurrentBlockingIterator<>(MAX_RECONNECT_HASHING_BUFFER_SIZE, Integer.MAX_VALUE, MILLISECONDS);
         reconnectHashingFuture = new CompletableFuture<>();
         reconnectHashingStarted = new AtomicBoolean(false);
+        reconnectRangeHashes = new ConcurrentHashMap<>();
 
         final VirtualStateAccessor reconnectState = new ReconnectState(-1, -1);
         reconnectRecords = new RecordAccessorImpl<>(reconnectState, snapshotCache, dataSource);
@@ -1453,8 +1480,22 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
      * 		describes a leaf
      */
     public void handleReconnectLeaf(final VirtualLeafRecord<K, V> leafRecord) {
+        handleReconnectLeaf(reconnectIterator, leafRecord);
+    }
+
+    /**
+     * This method is passed all leaf nodes of a range that are deserialized during a reconnect operation.
+     *
+     * @param rangeIterator
+     * 		the iterator of the range, see {@link #startReconnectRangeHashing(long)}
+     * @param leafRecord
+     * 		describes a leaf
+     */
+    public void handleReconnectLeaf(
+            final ConcurrentBlockingIterator<VirtualLeafRecord<K, V>> rangeIterator,
+            final VirtualLeafRecord<K, V> leafRecord) {
         try {
-            reconnectIterator.supply(leafRecord);
+            rangeIterator.supply(leafRecord);
         } catch (final MerkleSynchronizationException e) {
             throw e;
         } catch (final InterruptedException e) {
@@ -1471,6 +1512,9 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
     }
 
     public void prepareReconnectHashing(final long firstLeafPath, final long lastLeafPath) {
+        reconnectFirstLeafPath = firstLeafPath;
+        reconnectLastLeafPath = lastLeafPath;
+
         // The hash listener will be responsible for flushing stuff to the reconnect data source
         final ReconnectHashListener<K, V> hashListener = new ReconnectHashListener<>(
                 firstLeafPath, lastLeafPath, reconnectRecords.getDataSource(), learnerTreeView.getNodeRemover());
@@ -1496,10 +1540,106 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
         reconnectHashingStarted.set(true);
     }
 
+    /**
+     * Start hashing a range of the map that is received during reconnect as a <strong>learner</strong>. The range
+     * is hashed concurrently to the other ranges, the nodes above the ranges are hashed once all ranges are received.
+     *
+     * @param rangeRootPath
+     * 		the path of the root of the range
+     * @return the iterator to pass the leaves of the range to, it must be closed once all leaves are passed
+     */
+    public ConcurrentBlockingIterator<VirtualLeafRecord<K, V>> startReconnectRangeHashing(final long rangeRootPath) {
+        final ConcurrentBlockingIterator<VirtualLeafRecord<K, V>> rangeIterator = new ConcurrentBlockingIterator<>(
+                MAX_RECONNECT_HASHING_BUFFER_SIZE, MAX_RECONNECT_HASHING_BUFFER_TIMEOUT, SECONDS);
+        final CompletableFuture<Hash> rangeHashFuture = new CompletableFuture<>();
+        reconnectRangeHashes.put(rangeRootPath, rangeHashFuture);
+
+        final long firstLeafPath = reconnectFirstLeafPath;
+        final long lastLeafPath = reconnectLastLeafPath;
+        final ReconnectRangeHashListener<K, V> hashListener = new ReconnectRangeHashListener<>(
+                firstLeafPath,
+                lastLeafPath,
+                reconnectRecords.getDataSource(),
+                learnerTreeView.getNodeRemover(),
+                rangeRootPath);
+        // Hashes of nodes outside the range are not known yet. The hasher still needs them to hash
+        // the route to the root of the map, but these hashes are ignored by the listener
+        final Hash nullHash = CryptographyHolder.get().getNullHash();
+        final LongFunction<Hash> hashReader =
+                path -> isInSubtree(path, rangeRootPath) ? reconnectRecords.findHash(path) : nullHash;
+
+        new ThreadConfiguration(getStaticThreadManager())
+                .setComponent("virtualmap")
+                .setThreadName("range-hasher")
+                .setRunnable(() -> {
+                    // A hasher can only hash one tree at a time
+                    new VirtualHasher<K, V>()
+                            .hash(hashReader, rangeIterator, firstLeafPath, lastLeafPath, hashListener);
+                    rangeHashFuture.complete(hashListener.getRangeRootHash());
+                })
+                .setExceptionHandler((thread, exception) -> {
+                    // Shut down the iterator. This will cause reconnect to terminate.
+                    rangeIterator.close();
+                    final var message = "VirtualMap@" + getRoute() + " failed to hash range " + rangeRootPath
+                            + " during reconnect";
+                    logger.error(EXCEPTION.getMarker(), message, exception);
+                    rangeHashFuture.completeExceptionally(new MerkleSynchronizationException(message, exception));
+                })
+                .build()
+                .start();
+
+        return rangeIterator;
+    }
+
+    /**
+     * Hash the nodes above the ranges, once all ranges are received and hashed, and flush them to the data source.
+     *
+     * @return the hash of the root
+     */
+    private Hash hashAboveReconnectRanges() throws ExecutionException, InterruptedException {
+        final int rangeRank = getRank(reconnectRangeHashes.keySet().iterator().next());
+        final long firstRangePath = getPathForRankAndIndex(rangeRank, 0);
+        Hash[] hashes = new Hash[1 << rangeRank];
+        for (int i = 0; i < hashes.length; i++) {
+            final long path = firstRangePath + i;
+            final CompletableFuture<Hash> rangeHashFuture = reconnectRangeHashes.get(path);
+            // If the range was not received, the learner already had it
+            hashes[i] = rangeHashFuture != null ? rangeHashFuture.get() : reconnectRecords.findHash(path);
+            if (hashes[i] == null) {
+                throw new MerkleSynchronizationException("No hash for the root of range " + path);
+            }
+        }
+
+        final ReconnectHashListener<K, V> hashListener = new ReconnectHashListener<>(
+                reconnectFirstLeafPath,
+                reconnectLastLeafPath,
+                reconnectRecords.getDataSource(),
+                learnerTreeView.getNodeRemover());
+        // This also flushes the leaves to remove that were found after the last flush of the ranges
+        hashListener.onHashingStarted();
+        for (int rank = rangeRank - 1; rank >= 0; rank--) {
+            final long firstPathInRank = getPathForRankAndIndex(rank, 0);
+            final Hash[] parentHashes = new Hash[1 << rank];
+            for (int i = 0; i < parentHashes.length; i++) {
+                parentHashes[i] = VirtualHasher.hashInternal(firstPathInRank + i, hashes[2 * i], hashes[2 * i + 1]);
+                hashListener.onNodeHashed(firstPathInRank + i, parentHashes[i]);
+            }
+            hashes = parentHashes;
+        }
+        hashListener.onHashingCompleted();
+        return hashes[0];
+    }
+
     public void endLearnerReconnect() {
         try {
             reconnectIterator.close();
-            if (reconnectHashingStarted.get()) {
+            if (reconnectRangeHashes != null && !reconnectRangeHashes.isEmpty()) {
+                // All leaves were passed to the ranges, the hashing thread has nothing to hash
+                if (reconnectHashingStarted.get()) {
+                    reconnectHashingFuture.get();
+                }
+                setHashPrivate(hashAboveReconnectRanges());
+            } else if (reconnectHashingStarted.get()) {
                 // Only block on future if the hashing thread is known to have been started.
                 setHashPrivate(reconnectHashingFuture.get());
             } else {
@@ -1529,6 +1669,30 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
         records.findLeafRecord(key, false);
     }
 
+    /**
+     * Loads leaf records for a batch of keys. Duplicate keys and keys already in the node cache
+     * are skipped, the rest are passed to the data source in a single call, so it can read them
+     * from disk in one pass. See {@link VirtualDataSource#warmLeafRecords(List)}.
+     * @param keys keys to the leaf nodes
+     */
+    public void warmAll(final Collection<K> keys) {
+        final Set<K> uniqueKeys = new HashSet<>(keys.size() * 2);
+        final List<K> keysToLoad = new ArrayList<>(keys.size());
+        for (final K key : keys) {
+            if (uniqueKeys.add(key) && (cache.lookupLeafByKey(key, false) == null)) {
+                keysToLoad.add(key);
+            }
+        }
+        if (keysToLoad.isEmpty()) {
+            return;
+        }
+        try {
+            dataSource.warmLeafRecords(keysToLoad);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to warm leaf records in the data source", e);
+        }
+    }
+
     ////////////////////////
 
     /**
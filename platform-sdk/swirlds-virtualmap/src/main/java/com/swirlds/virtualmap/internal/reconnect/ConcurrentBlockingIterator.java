@@ -43,6 +43,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public class ConcurrentBlockingIterator<T> implements Iterator<T> {
 
+    /**
+     * The maximum time to wait for an element before checking again if the iterator has been closed.
+     */
+    private static final long POLL_INTERVAL_MILLIS = 1;
+
     /**
      * The underlying buffer of items into which elements are placed prior to removal.
      */
@@ -103,18 +108,22 @@ public class ConcurrentBlockingIterator<T> implements Iterator<T> {
             return true;
         }
 
-        // Busy loop. This will lead to really high performance at the cost of a CPU, but since
-        // we're in the middle of some pretty serious reconnect stuff, we should allow that.
-
-        // if closed and buffer.poll != null || !closed
+        // Wait on the buffer in short intervals, so that closing the iterator is noticed. Several iterators may be
+        // consumed at the same time when a virtual map is reconnected in ranges, so this must not spin on a CPU.
         final long waitMillis = maxWaitTimeUnit.toMillis(maxWaitTime);
         final long timeOutWhenMillisAre = System.currentTimeMillis() + waitMillis;
-        boolean isOpen = !closed.get();
-        while (((next = buffer.poll()) == null) && isOpen) {
-            if (System.currentTimeMillis() > timeOutWhenMillisAre) {
-                throw new RuntimeException(new TimeoutException("Timed out trying to read from buffer"));
+        try {
+            // read before polling, so elements supplied before the iterator was closed are not missed
+            boolean isOpen = !closed.get();
+            while (((next = buffer.poll(POLL_INTERVAL_MILLIS, MILLISECONDS)) == null) && isOpen) {
+                if (System.currentTimeMillis() > timeOutWhenMillisAre) {
+                    throw new RuntimeException(new TimeoutException("Timed out trying to read from buffer"));
+                }
+                isOpen = !closed.get();
             }
-            isOpen = !closed.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while trying to read from buffer", e);
         }
 
         return next != null;
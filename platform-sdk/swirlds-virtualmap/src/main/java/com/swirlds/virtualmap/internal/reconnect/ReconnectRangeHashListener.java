@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.reconnect;
+
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.virtualmap.VirtualKey;
+import com.swirlds.virtualmap.VirtualValue;
+import com.swirlds.virtualmap.datasource.VirtualDataSource;
+import com.swirlds.virtualmap.internal.Path;
+
+/**
+ * A {@link ReconnectHashListener} for a range of a virtual map, which is hashed concurrently to the other ranges
+ * during reconnect on the learner. The hasher also computes the nodes between the root of the range and the root of
+ * the map, but their hashes are wrong, since the other ranges aren't known. These nodes are ignored, they are hashed
+ * once all ranges are received.
+ *
+ * @param <K>
+ * 		The key
+ * @param <V>
+ * 		The value
+ */
+public class ReconnectRangeHashListener<K extends VirtualKey, V extends VirtualValue>
+        extends ReconnectHashListener<K, V> {
+
+    private final long rangeRootPath;
+
+    private volatile Hash rangeRootHash;
+
+    /**
+     * Create a new {@link ReconnectRangeHashListener}.
+     *
+     * @param firstLeafPath
+     * 		The first leaf path. Must be a valid path.
+     * @param lastLeafPath
+     * 		The last leaf path. Must be a valid path.
+     * @param dataSource
+     * 		The data source. Cannot be null.
+     * @param nodeRemover
+     * 		The node remover shared by all ranges.
+     * @param rangeRootPath
+     * 		The path of the root of the range.
+     */
+    public ReconnectRangeHashListener(
+            final long firstLeafPath,
+            final long lastLeafPath,
+            final VirtualDataSource<K, V> dataSource,
+            final ReconnectNodeRemover<K, V> nodeRemover,
+            final long rangeRootPath) {
+        super(firstLeafPath, lastLeafPath, dataSource, nodeRemover);
+        this.rangeRootPath = rangeRootPath;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onNodeHashed(final long path, final Hash hash) {
+        if (!Path.isInSubtree(path, rangeRootPath)) {
+            return;
+        }
+        if (path == rangeRootPath) {
+            rangeRootHash = hash;
+        }
+        super.onNodeHashed(path, hash);
+    }
+
+    /**
+     * Get the hash of the root of the range.
+     *
+     * @return the hash, or null if the range has not been hashed
+     */
+    public Hash getRangeRootHash() {
+        return rangeRootHash;
+    }
+}
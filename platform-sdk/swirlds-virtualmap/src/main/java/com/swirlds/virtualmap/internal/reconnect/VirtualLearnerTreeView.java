@@ -16,6 +16,7 @@
 
 package com.swirlds.virtualmap.internal.reconnect;
 
+import static com.swirlds.virtualmap.internal.Path.INVALID_PATH;
 import static com.swirlds.virtualmap.internal.Path.ROOT_PATH;
 import static com.swirlds.virtualmap.internal.Path.getChildPath;
 import static com.swirlds.virtualmap.internal.Path.getParentPath;
@@ -26,6 +27,7 @@ import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.io.streams.SerializableDataInputStream;
 import com.swirlds.common.merkle.MerkleNode;
 import com.swirlds.common.merkle.synchronization.internal.ExpectedLesson;
+import com.swirlds.common.merkle.synchronization.internal.ReconnectNodeCount;
 import com.swirlds.common.merkle.synchronization.utility.MerkleSynchronizationException;
 import com.swirlds.common.merkle.synchronization.views.LearnerTreeView;
 import com.swirlds.common.threading.manager.ThreadManager;
@@ -98,6 +100,29 @@ public final class VirtualLearnerTreeView<K extends VirtualKey, V extends Virtua
      */
     private boolean firstLeaf = true;
 
+    /**
+     * The path of the node this view starts with. This is the root of the map, or the root of a range.
+     */
+    private final long rootPath;
+
+    /**
+     * The path of the node this view starts with in the original tree, or null if the original tree doesn't have
+     * this node.
+     */
+    private final Long originalRootPath;
+
+    /**
+     * If this view receives a range, the iterator the leaves of the range are passed to for hashing. Null until
+     * the first leaf is received.
+     */
+    private volatile ConcurrentBlockingIterator<VirtualLeafRecord<K, V>> rangeLeaves;
+
+    /**
+     * If the map is received in bulk, the hash of the root sent by the teacher. Null if the map is received
+     * in lessons or if it is empty.
+     */
+    private Hash expectedRootHash;
+
     /**
      * Create a new {@link VirtualLearnerTreeView}.
      *
@@ -122,6 +147,25 @@ public final class VirtualLearnerTreeView<K extends VirtualKey, V extends Virtua
 
         super(root, originalState, reconnectState);
         this.originalRecords = Objects.requireNonNull(originalRecords);
+        this.rootPath = ROOT_PATH;
+        this.originalRootPath = ROOT_PATH;
+    }
+
+    /**
+     * Create a view for the range below a node.
+     *
+     * @param tree
+     * 		The view of the whole map.
+     * @param rangeRoot
+     * 		The lesson that was expected for the root of the range.
+     */
+    private VirtualLearnerTreeView(final VirtualLearnerTreeView<K, V> tree, final ExpectedLesson<Long> rangeRoot) {
+        super(tree.root, tree.originalState, tree.reconnectState);
+        this.originalRecords = tree.originalRecords;
+        // Nodes removed by the range are tracked for the whole map
+        this.nodeRemover = tree.nodeRemover;
+        this.rootPath = getChildPath(rangeRoot.getParent(), rangeRoot.getPositionInParent());
+        this.originalRootPath = rangeRoot.getOriginalNode();
     }
 
     /**
@@ -137,7 +181,7 @@ public final class VirtualLearnerTreeView<K extends VirtualKey, V extends Virtua
      */
     @Override
     public Long getOriginalRoot() {
-        return ROOT_PATH;
+        return originalRootPath;
     }
 
     /**
@@ -173,7 +217,7 @@ public final class VirtualLearnerTreeView<K extends VirtualKey, V extends Virtua
     @Override
     public void expectLessonFor(
             final Long parent, final int childIndex, final Long original, final boolean nodeAlreadyPresent) {
-        expectedChildren.add(parent == null ? 0 : getChildPath(parent, childIndex));
+        expectedChildren.add(parent == null ? rootPath : getChildPath(parent, childIndex));
         expectedNodeAlreadyPresent.add(nodeAlreadyPresent);
         expectedOriginalExists.add(original != null);
     }
@@ -209,13 +253,22 @@ public final class VirtualLearnerTreeView<K extends VirtualKey, V extends Virtua
     @Override
     public Long deserializeLeaf(final SerializableDataInputStream in) throws IOException {
         if (firstLeaf) {
-            root.prepareForFirstLeaf();
+            if (rootPath == ROOT_PATH) {
+                root.prepareForFirstLeaf();
+            } else {
+                rangeLeaves = root.startReconnectRangeHashing(rootPath);
+            }
             firstLeaf = false;
         }
 
         final VirtualLeafRecord<K, V> leaf = in.readSerializable(false, VirtualLeafRecord::new);
         nodeRemover.newLeafNode(leaf.getPath(), leaf.getKey());
-        root.handleReconnectLeaf(leaf); // may block if hashing is slower than ingest
+        // may block if hashing is slower than ingest
+        if (rangeLeaves == null) {
+            root.handleReconnectLeaf(leaf);
+        } else {
+            root.handleReconnectLeaf(rangeLeaves, leaf);
+        }
         return leaf.getPath();
     }
 
@@ -243,6 +296,63 @@ public final class VirtualLearnerTreeView<K extends VirtualKey, V extends Virtua
         return node;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isBulkTransferSupported() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The map is received in bulk if the original map is empty, there are no hashes to compare then.
+     */
+    @Override
+    public boolean isBulkTransferPreferred() {
+        return originalState.getLastLeafPath() == INVALID_PATH;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long receiveBulk(final SerializableDataInputStream in, final ReconnectNodeCount nodeCount)
+            throws IOException {
+        final long firstLeafPath = in.readLong();
+        final long lastLeafPath = in.readLong();
+        reconnectState.setFirstLeafPath(firstLeafPath);
+        reconnectState.setLastLeafPath(lastLeafPath);
+        // There are no lessons, so the threads are never started
+        nodeRemover = new ReconnectNodeRemover<>(
+                originalRecords, originalState.getFirstLeafPath(), originalState.getLastLeafPath());
+        nodeRemover.setPathInformation(firstLeafPath, lastLeafPath);
+        root.prepareReconnectHashing(firstLeafPath, lastLeafPath);
+        if (lastLeafPath == INVALID_PATH) {
+            return ROOT_PATH;
+        }
+
+        for (long path = ROOT_PATH; path < firstLeafPath; path++) {
+            nodeRemover.newInternalNode(path);
+        }
+        root.prepareForFirstLeaf();
+        for (long path = firstLeafPath; path <= lastLeafPath; path++) {
+            final VirtualLeafRecord<K, V> leaf = in.readSerializable(false, VirtualLeafRecord::new);
+            if (leaf.getPath() != path) {
+                throw new MerkleSynchronizationException(
+                        "Expected leaf at path " + path + ", received leaf at path " + leaf.getPath());
+            }
+            nodeRemover.newLeafNode(path, leaf.getKey());
+            // may block if hashing is slower than ingest
+            root.handleReconnectLeaf(leaf);
+            nodeCount.incrementLeafCount();
+        }
+        expectedRootHash = in.readSerializable(false, Hash::new);
+        return ROOT_PATH;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -256,6 +366,10 @@ public final class VirtualLearnerTreeView<K extends VirtualKey, V extends Virtua
      */
     @Override
     public void startThreads(final ThreadManager threadManager, final StandardWorkGroup workGroup) {
+        if (rootPath != ROOT_PATH) {
+            // Ranges share the node remover of the whole map
+            return;
+        }
         nodeRemover = new ReconnectNodeRemover<>(
                 originalRecords, originalState.getFirstLeafPath(), originalState.getLastLeafPath());
     }
@@ -265,7 +379,26 @@ public final class VirtualLearnerTreeView<K extends VirtualKey, V extends Virtua
      */
     @Override
     public void close() {
+        if (rootPath != ROOT_PATH) {
+            // The map is hashed once the view of the whole map is closed, after all ranges are received
+            if (rangeLeaves != null) {
+                rangeLeaves.close();
+            }
+            return;
+        }
         root.endLearnerReconnect();
+        if (expectedRootHash != null && !expectedRootHash.equals(root.getHash())) {
+            throw new MerkleSynchronizationException("Hash of the map received in bulk is " + root.getHash()
+                    + ", but the teacher sent " + expectedRootHash);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LearnerTreeView<Long> buildRangeView(final ExpectedLesson<Long> rangeRoot) {
+        return new VirtualLearnerTreeView<>(this, rangeRoot);
     }
 
     /**
@@ -20,6 +20,7 @@ import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
 import static com.swirlds.virtualmap.internal.Path.INVALID_PATH;
 import static com.swirlds.virtualmap.internal.Path.ROOT_PATH;
 import static com.swirlds.virtualmap.internal.Path.getLeftChildPath;
+import static com.swirlds.virtualmap.internal.Path.getRank;
 import static com.swirlds.virtualmap.internal.Path.getRightChildPath;
 
 import com.swirlds.common.crypto.Hash;
@@ -80,6 +81,16 @@ public final class VirtualTeacherTreeView<K extends VirtualKey, V extends Virtua
      */
     private final CountDownLatch ready = new CountDownLatch(1);
 
+    /**
+     * The path of the node this view starts with. This is the root of the map, or the root of a range.
+     */
+    private final long rootPath;
+
+    /**
+     * The rank of the roots of the ranges, or 0 if the map is not split into ranges.
+     */
+    private int rangeRank;
+
     /**
      * Create a new {@link VirtualTeacherTreeView}.
      *
@@ -100,6 +111,7 @@ public final class VirtualTeacherTreeView<K extends VirtualKey, V extends Virtua
 
         // There is no distinction between originalState and reconnectState in this implementation
         super(root, state, state);
+        this.rootPath = ROOT_PATH;
 
         new ThreadConfiguration(threadManager)
                 .setRunnable(() -> {
@@ -112,6 +124,22 @@ public final class VirtualTeacherTreeView<K extends VirtualKey, V extends Virtua
                 .start();
     }
 
+    /**
+     * Create a view for the range below a node.
+     *
+     * @param tree
+     * 		The view of the whole map.
+     * @param rangeRoot
+     * 		The path of the root of the range.
+     */
+    private VirtualTeacherTreeView(final VirtualTeacherTreeView<K, V> tree, final long rangeRoot) {
+        super(tree.root, tree.reconnectState, tree.reconnectState);
+        this.rootPath = rangeRoot;
+        // Ranges are only built once the view of the whole map is ready
+        this.records = tree.records;
+        ready.countDown();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -125,7 +153,7 @@ public final class VirtualTeacherTreeView<K extends VirtualKey, V extends Virtua
      */
     @Override
     public Long getRoot() {
-        return ROOT_PATH;
+        return rootPath;
     }
 
     /**
@@ -273,11 +301,81 @@ public final class VirtualTeacherTreeView<K extends VirtualKey, V extends Virtua
         return node == ROOT_PATH;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The roots of the ranges are the nodes of the deepest rank that has no more than {@code maxRanges} nodes and no
+     * leaves. The map is not split if it is too small.
+     */
+    @Override
+    public void splitIntoRanges(final int maxRanges) {
+        final long firstLeafPath = reconnectState.getFirstLeafPath();
+        final int firstLeafRank = firstLeafPath > 0 ? getRank(firstLeafPath) : 0;
+        final int maxRangeRank = 31 - Integer.numberOfLeadingZeros(Math.max(maxRanges, 1));
+        rangeRank = Math.max(0, Math.min(maxRangeRank, firstLeafRank - 1));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRangeRoot(final Long node) {
+        return rangeRank > 0 && getRank(node) == rangeRank;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TeacherTreeView<Long> buildRangeView(final Long rangeRoot) {
+        checkValidInternal(rangeRoot, reconnectState);
+        return new VirtualTeacherTreeView<>(this, rangeRoot);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isBulkTransferSupported() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The first and last leaf paths are sent first, then all leaf records in the order of their paths, and finally
+     * the hash of the root, unless the map is empty. The learner hashes the leaves and compares the hashes.
+     */
+    @Override
+    public void sendBulk(final SerializableDataOutputStream out) throws IOException {
+        final long firstLeafPath = reconnectState.getFirstLeafPath();
+        final long lastLeafPath = reconnectState.getLastLeafPath();
+        out.writeLong(firstLeafPath);
+        out.writeLong(lastLeafPath);
+        if (lastLeafPath == INVALID_PATH) {
+            return;
+        }
+        for (long path = firstLeafPath; path <= lastLeafPath; path++) {
+            serializeLeaf(out, path);
+        }
+        final Hash rootHash = records.findHash(ROOT_PATH);
+        if (rootHash == null) {
+            throw new MerkleSynchronizationException("Null hash for the root");
+        }
+        out.writeSerializable(rootHash, false);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void close() {
+        if (rootPath != ROOT_PATH) {
+            // The data source is shared with the view of the whole map, which closes it
+            return;
+        }
         try {
             waitUntilReady();
             records.getDataSource().close();
@@ -152,6 +152,23 @@ class VirtualMapTests extends VirtualTestBase {
         fcm.release();
     }
 
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("Warm")})
+    @DisplayName("Warming a batch of keys doesn't change the map")
+    void warmAllKeys() {
+        final VirtualMap<TestKey, TestValue> fcm = createMap();
+        fcm.put(A_KEY, APPLE);
+        fcm.put(B_KEY, BANANA);
+        // Duplicate and missing keys are fine
+        fcm.warmAll(List.of(A_KEY, B_KEY, A_KEY, C_KEY));
+        fcm.warmAll(List.of());
+        assertEquals(2, fcm.size(), "Warming keys should not change map size");
+        assertEquals(APPLE, fcm.get(A_KEY), "Wrong value");
+        assertEquals(BANANA, fcm.get(B_KEY), "Wrong value");
+        assertNull(fcm.get(C_KEY), "Key should not be added to the map");
+        fcm.release();
+    }
+
     /*
      * Test the fast copy implementation
      **/
@@ -165,6 +165,27 @@ class PathTests {
         }
     }
 
+    @Test
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Check if a path is in a subtree")
+    void testIsInSubtree() {
+        for (long path = 0; path < 2048; path++) {
+            for (long subtreeRoot = 0; subtreeRoot < 64; subtreeRoot++) {
+                boolean expected = false;
+                for (long p = path; p != Path.INVALID_PATH; p = Path.getParentPath(p)) {
+                    if (p == subtreeRoot) {
+                        expected = true;
+                        break;
+                    }
+                }
+                assertEquals(
+                        expected,
+                        Path.isInSubtree(path, subtreeRoot),
+                        "Wrong subtree check path=" + path + " subtreeRoot=" + subtreeRoot);
+            }
+        }
+    }
+
     @Test
     @Tag(TestComponentTags.VMAP)
     @DisplayName("Check left child path computation")
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Tags;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentLongObjectMapTest {
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Invalid constructor arguments and keys are rejected")
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLongObjectMap<String>(0, 16));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLongObjectMap<String>(3, 16));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLongObjectMap<String>(4, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLongObjectMap<String>(4, 12));
+        final ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>();
+        assertThrows(IllegalArgumentException.class, () -> map.get(-1));
+        assertThrows(IllegalArgumentException.class, () -> map.put(-1, "a"));
+        assertThrows(NullPointerException.class, () -> map.put(1, null));
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Put, get, and remove")
+    void putGetRemove() {
+        final ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>();
+        assertNull(map.get(0), "Map is empty");
+        assertNull(map.put(0, "zero"), "No previous value expected");
+        assertNull(map.put(Long.MAX_VALUE, "max"), "No previous value expected");
+        assertEquals("zero", map.put(0, "ZERO"), "Previous value should be returned");
+        assertEquals("ZERO", map.get(0), "Wrong value");
+        assertEquals("max", map.get(Long.MAX_VALUE), "Wrong value");
+        assertEquals(2, map.size(), "Wrong size");
+        assertNull(map.compute(0, (key, value) -> null), "Key should be removed");
+        assertNull(map.get(0), "Removed key should not be found");
+        assertEquals(1, map.size(), "Wrong size");
+        assertNull(map.compute(5, (key, value) -> null), "Removing missing key is a no-op");
+        assertEquals(1, map.size(), "Wrong size");
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Compute gets the current value")
+    void compute() {
+        final ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<>();
+        for (int i = 0; i < 10; i++) {
+            map.compute(7, (key, value) -> value == null ? key : value + 1);
+        }
+        assertEquals(16, map.get(7), "Compute should be applied to the current value");
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Random operations match HashMap, including rehashes and tombstones")
+    void matchesHashMap() {
+        // A single small segment to force many rehashes and tombstone reuses
+        final ConcurrentLongObjectMap<Integer> map = new ConcurrentLongObjectMap<>(1, 2);
+        final Map<Long, Integer> expected = new HashMap<>();
+        final Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            final long key = random.nextInt(2_000);
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.put(key, i), map.put(key, i), "Wrong previous value");
+                case 1 -> {
+                    expected.remove(key);
+                    map.compute(key, (k, v) -> null);
+                }
+                default -> assertEquals(expected.get(key), map.get(key), "Wrong value for key " + key);
+            }
+        }
+        assertEquals(expected.size(), map.size(), "Wrong size");
+        final Map<Long, Integer> iterated = new HashMap<>();
+        map.forEach((key, value) -> assertNull(iterated.put(key, value), "Duplicate key " + key));
+        assertEquals(expected, iterated, "Iterated entries should match");
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Concurrent updates and reads")
+    void concurrentAccess() {
+        final ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<>(4, 2);
+        final int threads = 8;
+        final long keys = 200_000;
+        final AtomicBoolean failed = new AtomicBoolean(false);
+        IntStream.range(0, threads * 2).parallel().forEach(thread -> {
+            if (thread < threads) {
+                // Writers, every writer updates its own subset of keys
+                for (long key = thread; key < keys; key += threads) {
+                    map.put(key, key);
+                    map.compute(key, (k, v) -> v + 1);
+                    if (key % 3 == 0) {
+                        map.compute(key, (k, v) -> null);
+                    }
+                }
+            } else {
+                // Readers, a value is either not there yet, or one of the values set by writers
+                final ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 500_000; i++) {
+                    final long key = random.nextLong(keys);
+                    final Long value = map.get(key);
+                    if ((value != null) && (value != key) && (value != key + 1)) {
+                        failed.set(true);
+                    }
+                }
+            }
+        });
+        assertFalse(failed.get(), "Readers got a value of a different key");
+        long expectedSize = 0;
+        for (long key = 0; key < keys; key++) {
+            if (key % 3 == 0) {
+                assertNull(map.get(key), "Removed key should not be found");
+            } else {
+                assertEquals(key + 1, map.get(key), "Wrong value for key " + key);
+                expectedSize++;
+            }
+        }
+        assertEquals(expectedSize, map.size(), "Wrong size");
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.reconnect;
+
+import static com.swirlds.common.test.fixtures.junit.tags.TestQualifierTags.TIMING_SENSITIVE;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+
+import com.swirlds.common.merkle.synchronization.config.ReconnectConfig_;
+import com.swirlds.common.test.fixtures.junit.tags.TestQualifierTags;
+import com.swirlds.config.api.Configuration;
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
+import com.swirlds.virtualmap.datasource.VirtualDataSourceBuilder;
+import com.swirlds.virtualmap.test.fixtures.InMemoryBuilder;
+import com.swirlds.virtualmap.test.fixtures.TestKey;
+import com.swirlds.virtualmap.test.fixtures.TestValue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Tags;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@DisplayName("Virtual Map Bulk Reconnect Test")
+@Tag(TIMING_SENSITIVE)
+class VirtualMapBulkReconnectTest extends VirtualMapReconnectTestBase {
+
+    @Override
+    protected VirtualDataSourceBuilder<TestKey, TestValue> createBuilder() {
+        return new InMemoryBuilder();
+    }
+
+    @Override
+    protected Configuration createConfiguration() {
+        return new TestConfigBuilder()
+                .withValue(ReconnectConfig_.BULK_TRANSFER, true)
+                .getOrCreateConfig();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 3, 7, 1_000, 10_000})
+    @Tags({@Tag("VirtualMerkle"), @Tag("Reconnect")})
+    @DisplayName("Reconnect an empty learner in bulk")
+    @Tag(TestQualifierTags.TIME_CONSUMING)
+    void reconnectInBulk(final int teacherSize) {
+        for (int i = 0; i < teacherSize; i++) {
+            teacherMap.put(new TestKey(i), new TestValue(i));
+        }
+
+        assertDoesNotThrow(this::reconnect, "Should not throw a Exception");
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("Reconnect")})
+    @DisplayName("Reconnect an empty learner in bulk if the teacher has removed leaves")
+    @Tag(TestQualifierTags.TIME_CONSUMING)
+    void reconnectInBulkAfterRemovals() {
+        for (int i = 0; i < 1_000; i++) {
+            teacherMap.put(new TestKey(i), new TestValue(i));
+        }
+        for (int i = 0; i < 1_000; i += 3) {
+            teacherMap.remove(new TestKey(i));
+        }
+
+        assertDoesNotThrow(this::reconnect, "Should not throw a Exception");
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("Reconnect")})
+    @DisplayName("Reconnect in bulk aborts 2 times before success")
+    @Tag(TestQualifierTags.TIME_CONSUMING)
+    void multipleAbortedReconnectsInBulkCanSucceed() {
+        for (int i = 0; i < 1_000; i++) {
+            teacherMap.put(new TestKey(i), new TestValue(i));
+        }
+
+        learnerBuilder.setNumCallsBeforeThrow(500);
+        learnerBuilder.setNumTimesToBreak(2);
+
+        assertDoesNotThrow(() -> reconnectMultipleTimes(3), "Should not throw a Exception");
+    }
+}
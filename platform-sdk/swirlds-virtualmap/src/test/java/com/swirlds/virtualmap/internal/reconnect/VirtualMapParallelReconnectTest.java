@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.reconnect;
+
+import static com.swirlds.common.test.fixtures.junit.tags.TestQualifierTags.TIMING_SENSITIVE;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+
+import com.swirlds.common.merkle.synchronization.config.ReconnectConfig_;
+import com.swirlds.common.test.fixtures.junit.tags.TestQualifierTags;
+import com.swirlds.config.api.Configuration;
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
+import com.swirlds.virtualmap.datasource.VirtualDataSourceBuilder;
+import com.swirlds.virtualmap.test.fixtures.InMemoryBuilder;
+import com.swirlds.virtualmap.test.fixtures.TestKey;
+import com.swirlds.virtualmap.test.fixtures.TestValue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Tags;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+@DisplayName("Virtual Map Parallel Reconnect Test")
+@Tag(TIMING_SENSITIVE)
+class VirtualMapParallelReconnectTest extends VirtualMapReconnectTestBase {
+
+    private static final int PARALLEL_RANGES = 4;
+
+    @Override
+    protected VirtualDataSourceBuilder<TestKey, TestValue> createBuilder() {
+        return new InMemoryBuilder();
+    }
+
+    @Override
+    protected Configuration createConfiguration() {
+        return new TestConfigBuilder()
+                .withValue(ReconnectConfig_.PARALLEL_RANGES, PARALLEL_RANGES)
+                .getOrCreateConfig();
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideTreePermutations")
+    @Tags({@Tag("VirtualMerkle"), @Tag("Reconnect")})
+    @DisplayName("Reconnect in ranges")
+    @Tag(TestQualifierTags.TIME_CONSUMING)
+    void reconnectInRanges(int teacherStart, int teacherEnd, int learnerStart, int learnerEnd) {
+        for (int i = teacherStart; i < teacherEnd; i++) {
+            teacherMap.put(new TestKey(i), new TestValue(i));
+        }
+
+        for (int i = learnerStart; i < learnerEnd; i++) {
+            learnerMap.put(new TestKey(i), new TestValue(i));
+        }
+
+        assertDoesNotThrow(this::reconnect, "Should not throw a Exception");
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("Reconnect")})
+    @DisplayName("Reconnect in ranges if the learner already has some ranges")
+    @Tag(TestQualifierTags.TIME_CONSUMING)
+    void learnerHasSomeRanges() {
+        for (int i = 0; i < 1_000; i++) {
+            teacherMap.put(new TestKey(i), new TestValue(i));
+            learnerMap.put(new TestKey(i), new TestValue(i));
+        }
+
+        // At most three of the four ranges are different
+        teacherMap.put(new TestKey(10), new TestValue(1_010));
+        teacherMap.put(new TestKey(500), new TestValue(1_500));
+        teacherMap.put(new TestKey(990), new TestValue(1_990));
+
+        assertDoesNotThrow(this::reconnect, "Should not throw a Exception");
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideTreePermutations")
+    @Tags({@Tag("VirtualMerkle"), @Tag("Reconnect")})
+    @DisplayName("Reconnect in ranges aborts 2 times before success")
+    @Tag(TestQualifierTags.TIME_CONSUMING)
+    void multipleAbortedReconnectsInRangesCanSucceed(
+            int teacherStart, int teacherEnd, int learnerStart, int learnerEnd) {
+        for (int i = teacherStart; i < teacherEnd; i++) {
+            teacherMap.put(new TestKey(i), new TestValue(i));
+        }
+
+        for (int i = learnerStart; i < learnerEnd; i++) {
+            learnerMap.put(new TestKey(i), new TestValue(i));
+        }
+
+        learnerBuilder.setNumCallsBeforeThrow((teacherEnd - teacherStart) / 2);
+        learnerBuilder.setNumTimesToBreak(2);
+
+        assertDoesNotThrow(() -> reconnectMultipleTimes(3), "Should not throw a Exception");
+    }
+
+    static Stream<Arguments> provideTreePermutations() {
+        final List<Arguments> args = new ArrayList<>();
+        // Trees too small to be split into ranges
+        args.add(Arguments.of(0, 3, 0, 0));
+        args.add(Arguments.of(0, 7, 2, 5));
+        // Two large leaf trees that have no intersection
+        args.add(Arguments.of(0, 2_000, 2_000, 4_000));
+        // Two large leaf trees that intersect
+        args.add(Arguments.of(0, 2_000, 1_000, 3_000));
+        // A smaller tree and larger tree that do not intersect
+        args.add(Arguments.of(0, 10, 1_000, 2_000));
+        args.add(Arguments.of(1_000, 2_000, 0, 10));
+        // A smaller tree and larger tree that do intersect
+        args.add(Arguments.of(0, 10, 5, 1_005));
+        args.add(Arguments.of(5, 1_005, 0, 10));
+        return args.stream();
+    }
+}
@@ -87,11 +87,19 @@ public abstract class VirtualMapReconnectTestBase {
     protected BrokenBuilder teacherBuilder;
     protected BrokenBuilder learnerBuilder;
 
-    protected final Configuration configuration = new TestConfigBuilder().getOrCreateConfig();
+    protected final Configuration configuration = createConfiguration();
     protected final ReconnectConfig reconnectConfig = configuration.getConfigData(ReconnectConfig.class);
 
     protected abstract VirtualDataSourceBuilder<TestKey, TestValue> createBuilder();
 
+    /**
+     * Create the configuration used for reconnects. Called during construction, before the fields of subclasses
+     * are initialized.
+     */
+    protected Configuration createConfiguration() {
+        return new TestConfigBuilder().getOrCreateConfig();
+    }
+
     @BeforeEach
     void setupEach() {
         final VirtualDataSourceBuilder<TestKey, TestValue> dataSourceBuilder = createBuilder();